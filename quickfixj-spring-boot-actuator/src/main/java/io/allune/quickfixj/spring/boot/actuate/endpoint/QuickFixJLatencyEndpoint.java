@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.endpoint;
+
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker;
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker.LatencySnapshot;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link Endpoint} to expose the percentiles of the latencies measured by the {@link LatencyTracker}s, keyed by
+ * connector.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Endpoint(id = "quickfixjlatency")
+public class QuickFixJLatencyEndpoint {
+
+	private final List<LatencyTracker> latencyTrackers;
+
+	public QuickFixJLatencyEndpoint(List<LatencyTracker> latencyTrackers) {
+		this.latencyTrackers = latencyTrackers;
+	}
+
+	@ReadOperation
+	public Map<String, Object> readLatency() {
+		Map<String, Object> report = new LinkedHashMap<>();
+		for (LatencyTracker latencyTracker : latencyTrackers) {
+			List<LatencySnapshot> snapshots = latencyTracker.snapshot();
+			Map<String, Object> latency = new LinkedHashMap<>();
+			latency.put("unit", "microseconds");
+			latency.put("pending", latencyTracker.getPending());
+			latency.put("discarded", latencyTracker.getDiscarded());
+			latency.put("latencies", snapshots);
+			report.put(latencyTracker.getConnector(), latency);
+		}
+		return report;
+	}
+}
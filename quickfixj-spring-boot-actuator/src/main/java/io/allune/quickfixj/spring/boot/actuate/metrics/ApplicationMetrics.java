@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.Value;
+import org.springframework.util.Assert;
+import quickfix.Application;
+import quickfix.ApplicationExtended;
+import quickfix.DoNotSend;
+import quickfix.FieldNotFound;
+import quickfix.IncorrectDataFormat;
+import quickfix.IncorrectTagValue;
+import quickfix.Message;
+import quickfix.RejectLogon;
+import quickfix.SessionID;
+import quickfix.UnsupportedMessageType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static io.allune.quickfixj.spring.boot.actuate.metrics.MeterTags.NONE;
+
+/**
+ * {@link Application} decorator recording how long each callback of the decorated application takes, and how many
+ * sessions are created, logged on and logged out, once bound to a {@link MeterRegistry}.
+ * <p>
+ * The {@code quickfixj.application.callback} timer is tagged with the connector, the callback, the
+ * {@link SessionID} components, the MsgType of the message and the simple name of the exception thrown, if any. The
+ * number of distinct MsgType tag values is bounded, further message types are recorded as {@code OTHER}. The
+ * {@code quickfixj.session.events} counter is tagged with the connector, the event and the {@link SessionID}
+ * components.
+ * <p>
+ * The {@link ApplicationExtended} callbacks are delegated when the decorated application implements them, and
+ * otherwise behave as QuickFIX/J does for a plain {@link Application}: every logon is allowed.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class ApplicationMetrics implements ApplicationExtended, MeterBinder {
+
+	public static final int DEFAULT_MAX_MSG_TYPES = 100;
+
+	static final String CALLBACK_TIMER = "quickfixj.application.callback";
+
+	static final String SESSION_EVENTS_COUNTER = "quickfixj.session.events";
+
+	private final Application delegate;
+
+	private final MeterTags meterTags;
+
+	private final Map<MeterKey, Timer> timers = new ConcurrentHashMap<>();
+
+	private final Map<MeterKey, Counter> counters = new ConcurrentHashMap<>();
+
+	private volatile MeterRegistry registry;
+
+	public ApplicationMetrics(Application delegate, String connector) {
+		this(delegate, connector, DEFAULT_MAX_MSG_TYPES);
+	}
+
+	public ApplicationMetrics(Application delegate, String connector, int maxMsgTypes) {
+		Assert.notNull(delegate, "'delegate' must not be null");
+		this.delegate = delegate;
+		this.meterTags = new MeterTags(connector, maxMsgTypes);
+	}
+
+	public Application getDelegate() {
+		return delegate;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public boolean canLogon(SessionID sessionID) {
+		return !(delegate instanceof ApplicationExtended) || ((ApplicationExtended) delegate).canLogon(sessionID);
+	}
+
+	@Override
+	public void onBeforeSessionReset(SessionID sessionID) {
+		if (delegate instanceof ApplicationExtended) {
+			((ApplicationExtended) delegate).onBeforeSessionReset(sessionID);
+		}
+	}
+
+	@Override
+	public void onCreate(SessionID sessionId) {
+		delegate.onCreate(sessionId);
+		count("create", sessionId);
+	}
+
+	@Override
+	public void onLogon(SessionID sessionId) {
+		delegate.onLogon(sessionId);
+		count("logon", sessionId);
+	}
+
+	@Override
+	public void onLogout(SessionID sessionId) {
+		delegate.onLogout(sessionId);
+		count("logout", sessionId);
+	}
+
+	@Override
+	public void toAdmin(Message message, SessionID sessionId) {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			delegate.toAdmin(message, sessionId);
+			return;
+		}
+		long start = registry.config().clock().monotonicTime();
+		String exception = NONE;
+		try {
+			delegate.toAdmin(message, sessionId);
+		} catch (RuntimeException e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			record(registry, "toAdmin", message, sessionId, exception, start);
+		}
+	}
+
+	@Override
+	public void fromAdmin(Message message, SessionID sessionId)
+			throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, RejectLogon {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			delegate.fromAdmin(message, sessionId);
+			return;
+		}
+		long start = registry.config().clock().monotonicTime();
+		String exception = NONE;
+		try {
+			delegate.fromAdmin(message, sessionId);
+		} catch (Exception e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			record(registry, "fromAdmin", message, sessionId, exception, start);
+		}
+	}
+
+	@Override
+	public void toApp(Message message, SessionID sessionId) throws DoNotSend {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			delegate.toApp(message, sessionId);
+			return;
+		}
+		long start = registry.config().clock().monotonicTime();
+		String exception = NONE;
+		try {
+			delegate.toApp(message, sessionId);
+		} catch (Exception e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			record(registry, "toApp", message, sessionId, exception, start);
+		}
+	}
+
+	@Override
+	public void fromApp(Message message, SessionID sessionId)
+			throws FieldNotFound, IncorrectDataFormat, IncorrectTagValue, UnsupportedMessageType {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			delegate.fromApp(message, sessionId);
+			return;
+		}
+		long start = registry.config().clock().monotonicTime();
+		String exception = NONE;
+		try {
+			delegate.fromApp(message, sessionId);
+		} catch (Exception e) {
+			exception = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			record(registry, "fromApp", message, sessionId, exception, start);
+		}
+	}
+
+	private void record(MeterRegistry registry, String callback, Message message, SessionID sessionId, String exception, long start) {
+		long duration = registry.config().clock().monotonicTime() - start;
+		MeterKey key = MeterKey.of(callback, sessionId, meterTags.msgType(message), exception);
+		timers.computeIfAbsent(key, k -> Timer.builder(CALLBACK_TIMER)
+						.description("The time spent in the QuickFIX/J application callbacks")
+						.tags(meterTags.sessionTags(k.getSessionId()))
+						.tag("callback", k.getName())
+						.tag("msgType", k.getMsgType())
+						.tag("exception", k.getException())
+						.register(registry))
+				.record(duration, TimeUnit.NANOSECONDS);
+	}
+
+	private void count(String event, SessionID sessionId) {
+		MeterRegistry registry = this.registry;
+		if (registry == null) {
+			return;
+		}
+		counters.computeIfAbsent(MeterKey.of(event, sessionId, NONE, NONE), k -> Counter.builder(SESSION_EVENTS_COUNTER)
+						.description("The number of QuickFIX/J session events")
+						.tags(meterTags.sessionTags(k.getSessionId()))
+						.tag("event", k.getName())
+						.register(registry))
+				.increment();
+	}
+
+	@Value(staticConstructor = "of")
+	private static class MeterKey {
+
+		String name;
+
+		SessionID sessionId;
+
+		String msgType;
+
+		String exception;
+	}
+}
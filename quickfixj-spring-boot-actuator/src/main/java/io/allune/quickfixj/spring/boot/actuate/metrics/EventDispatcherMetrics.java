@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.RingBufferEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.ShardedEventDispatcher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * {@link MeterBinder} exposing the ring buffer size, occupancy and dropped events of a
+ * {@link RingBufferEventDispatcher}, or of each shard of a {@link ShardedEventDispatcher} tagged with the index of
+ * the shard. Other {@link EventDispatcher} implementations are ignored.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class EventDispatcherMetrics implements MeterBinder {
+
+	private final EventDispatcher eventDispatcher;
+
+	private final Tags tags;
+
+	public EventDispatcherMetrics(EventDispatcher eventDispatcher, String connector) {
+		this.eventDispatcher = eventDispatcher;
+		this.tags = Tags.of(Tag.of("connector", connector));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		if (eventDispatcher instanceof RingBufferEventDispatcher) {
+			bindTo(registry, (RingBufferEventDispatcher) eventDispatcher, tags);
+		} else if (eventDispatcher instanceof ShardedEventDispatcher) {
+			int shard = 0;
+			for (RingBufferEventDispatcher ringBufferEventDispatcher : ((ShardedEventDispatcher) eventDispatcher).getShards()) {
+				bindTo(registry, ringBufferEventDispatcher, tags.and("shard", String.valueOf(shard++)));
+			}
+		}
+	}
+
+	private static void bindTo(MeterRegistry registry, RingBufferEventDispatcher eventDispatcher, Tags tags) {
+		Gauge.builder("quickfixj.events.ring.size", eventDispatcher, RingBufferEventDispatcher::getRingSize)
+				.tags(tags)
+				.description("The number of slots of the event ring buffer")
+				.register(registry);
+
+		Gauge.builder("quickfixj.events.ring.occupancy", eventDispatcher, RingBufferEventDispatcher::getOccupancy)
+				.tags(tags)
+				.description("The number of events waiting to be published")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.events.dropped", eventDispatcher, RingBufferEventDispatcher::getDroppedEvents)
+				.tags(tags)
+				.description("The number of events dropped because the event ring buffer was full")
+				.register(registry);
+	}
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.application.ReceiveListener;
+import io.allune.quickfixj.spring.boot.starter.template.SendListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.Value;
+import org.springframework.util.Assert;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Measures the latency between an inbound application message and the first message with the same correlation
+ * field value sent through the {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate} to the same
+ * session, by default the {@link ClOrdID}.
+ * <p>
+ * The latencies are recorded in the {@code quickfixj.latency} timer, tagged with the connector, the {@link SessionID}
+ * components and the MsgType of the outbound message, publishing the 50th, 90th, 99th and 99.9th percentiles. Inbound
+ * messages waiting for an outbound message are bounded, and once the limit is reached the ones older than the maximum
+ * age are discarded, oldest first. The inbound MsgTypes can be restricted to the requests, so that responses to the
+ * messages sent by the application, such as the ExecutionReports received by an initiator, are not kept waiting.
+ * <p>
+ * The inbound time is taken when the
+ * {@link io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter} is notified of the
+ * message, before the {@link io.allune.quickfixj.spring.boot.starter.model.FromApp} event is published or dispatched,
+ * so that it is recorded before any listener sends the response and includes the time spent in the dispatcher.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class LatencyTracker implements ReceiveListener, SendListener, MeterBinder {
+
+	public static final int DEFAULT_MAX_PENDING = 10_000;
+
+	public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(1);
+
+	static final String LATENCY_TIMER = "quickfixj.latency";
+
+	private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+
+	private final String connector;
+
+	private final MeterTags meterTags;
+
+	private final int correlationField;
+
+	private final int maxPending;
+
+	private final long maxAgeNanos;
+
+	private final Map<PendingKey, Long> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * The inbound messages in the order they were received, including the ones already correlated or replaced.
+	 */
+	private final Queue<PendingEntry> received = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger receivedSize = new AtomicInteger();
+
+	private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+	private final AtomicLong discarded = new AtomicLong();
+
+	private volatile MeterRegistry registry;
+
+	private Predicate<SessionID> sessionFilter = sessionId -> true;
+
+	private Set<String> inboundMsgTypes = Set.of();
+
+	public LatencyTracker(String connector) {
+		this(connector, ClOrdID.FIELD, DEFAULT_MAX_PENDING, DEFAULT_MAX_AGE, ApplicationMetrics.DEFAULT_MAX_MSG_TYPES);
+	}
+
+	public LatencyTracker(String connector, int correlationField, int maxPending, Duration maxAge, int maxMsgTypes) {
+		Assert.isTrue(maxPending > 0, "'maxPending' must be greater than zero");
+		this.connector = connector;
+		this.meterTags = new MeterTags(connector, maxMsgTypes);
+		this.correlationField = correlationField;
+		this.maxPending = maxPending;
+		this.maxAgeNanos = maxAge.toNanos();
+	}
+
+	/**
+	 * Restricts the tracking to the sessions matching the given filter, used to tell apart the sessions of the
+	 * client and the server when both run in the same application.
+	 *
+	 * @param sessionFilter the filter of the tracked sessions
+	 */
+	public void setSessionFilter(Predicate<SessionID> sessionFilter) {
+		Assert.notNull(sessionFilter, "'sessionFilter' must not be null");
+		this.sessionFilter = sessionFilter;
+	}
+
+	/**
+	 * Restricts the tracked inbound messages to the given MsgTypes, all the MsgTypes being tracked by default.
+	 *
+	 * @param inboundMsgTypes the MsgTypes of the tracked inbound messages, or an empty set to track all of them
+	 */
+	public void setInboundMsgTypes(Set<String> inboundMsgTypes) {
+		Assert.notNull(inboundMsgTypes, "'inboundMsgTypes' must not be null");
+		this.inboundMsgTypes = Set.copyOf(inboundMsgTypes);
+	}
+
+	public String getConnector() {
+		return connector;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Override
+	public void onReceive(Message message, SessionID sessionID) {
+		MeterRegistry registry = this.registry;
+		String correlationId = correlationId(message);
+		if (registry == null || correlationId == null || !isTrackedMsgType(message) || !sessionFilter.test(sessionID)) {
+			return;
+		}
+		long now = registry.config().clock().monotonicTime();
+		if (pending.size() >= maxPending) {
+			evictOlderThan(now - maxAgeNanos);
+			if (pending.size() >= maxPending) {
+				discarded.incrementAndGet();
+				return;
+			}
+		}
+		PendingKey key = PendingKey.of(sessionID, correlationId);
+		pending.put(key, now);
+		received.add(new PendingEntry(key, now));
+		if (receivedSize.incrementAndGet() > 2 * maxPending) {
+			// Only reached after as many inserts as there are pending messages, so linear in the number of inserts
+			removeCorrelated();
+		}
+	}
+
+	@Override
+	public void onSend(Message message, SessionID sessionID, boolean sent) {
+		MeterRegistry registry = this.registry;
+		if (!sent || registry == null || pending.isEmpty() || !sessionFilter.test(sessionID)) {
+			return;
+		}
+		String correlationId = correlationId(message);
+		Long start = correlationId != null ? pending.remove(PendingKey.of(sessionID, correlationId)) : null;
+		if (start == null) {
+			return;
+		}
+		long latency = registry.config().clock().monotonicTime() - start;
+		timers.computeIfAbsent(TimerKey.of(sessionID, meterTags.msgType(message)), k -> Timer.builder(LATENCY_TIMER)
+						.description("The latency between an inbound message and the correlated outbound message")
+						.tags(meterTags.sessionTags(k.getSessionId()))
+						.tag("msgType", k.getMsgType())
+						.publishPercentiles(PERCENTILES)
+						.register(registry))
+				.record(latency, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Return the number of inbound messages waiting for a correlated outbound message.
+	 */
+	public int getPending() {
+		return pending.size();
+	}
+
+	/**
+	 * Return the number of inbound messages not tracked because too many were waiting for an outbound message.
+	 */
+	public long getDiscarded() {
+		return discarded.get();
+	}
+
+	/**
+	 * Take a snapshot of the latencies recorded for each session and MsgType.
+	 *
+	 * @return the latency snapshots, in microseconds
+	 */
+	public List<LatencySnapshot> snapshot() {
+		List<LatencySnapshot> snapshots = new ArrayList<>();
+		timers.forEach((key, timer) -> {
+			HistogramSnapshot snapshot = timer.takeSnapshot();
+			Map<String, Double> percentiles = new LinkedHashMap<>();
+			for (ValueAtPercentile valueAtPercentile : snapshot.percentileValues()) {
+				percentiles.put(String.valueOf(valueAtPercentile.percentile()), valueAtPercentile.value(TimeUnit.MICROSECONDS));
+			}
+			snapshots.add(LatencySnapshot.of(key.getSessionId().toString(), key.getMsgType(), snapshot.count(),
+					snapshot.mean(TimeUnit.MICROSECONDS), snapshot.max(TimeUnit.MICROSECONDS), percentiles));
+		});
+		return snapshots;
+	}
+
+	/**
+	 * Discard the oldest pending messages received before the given time, stopping at the first one received after.
+	 */
+	private void evictOlderThan(long time) {
+		PendingEntry entry;
+		while ((entry = received.peek()) != null && (!isPending(entry) || entry.start < time)) {
+			if (received.remove(entry)) {
+				receivedSize.decrementAndGet();
+				pending.remove(entry.key, entry.start);
+			}
+		}
+	}
+
+	private void removeCorrelated() {
+		for (Iterator<PendingEntry> iterator = received.iterator(); iterator.hasNext(); ) {
+			if (!isPending(iterator.next())) {
+				iterator.remove();
+				receivedSize.decrementAndGet();
+			}
+		}
+	}
+
+	private boolean isPending(PendingEntry entry) {
+		Long start = pending.get(entry.key);
+		return start != null && start == entry.start;
+	}
+
+	private boolean isTrackedMsgType(Message message) {
+		Set<String> msgTypes = inboundMsgTypes;
+		if (msgTypes.isEmpty()) {
+			return true;
+		}
+		try {
+			return msgTypes.contains(message.getHeader().getString(MsgType.FIELD));
+		} catch (FieldNotFound e) {
+			return false;
+		}
+	}
+
+	private String correlationId(Message message) {
+		if (!message.isSetField(correlationField)) {
+			return null;
+		}
+		try {
+			return message.getString(correlationField);
+		} catch (FieldNotFound e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Snapshot of the latencies recorded for a session and MsgType.
+	 */
+	@Value(staticConstructor = "of")
+	public static class LatencySnapshot {
+
+		String sessionId;
+
+		String msgType;
+
+		long count;
+
+		double mean;
+
+		double max;
+
+		Map<String, Double> percentiles;
+	}
+
+	@Value(staticConstructor = "of")
+	private static class PendingKey {
+
+		SessionID sessionId;
+
+		String correlationId;
+	}
+
+	private static final class PendingEntry {
+
+		private final PendingKey key;
+
+		private final long start;
+
+		PendingEntry(PendingKey key, long start) {
+			this.key = key;
+			this.start = start;
+		}
+	}
+
+	@Value(staticConstructor = "of")
+	private static class TimerKey {
+
+		SessionID sessionId;
+
+		String msgType;
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.template.MessagePool;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * {@link MeterBinder} exposing the messages taken from the {@link MessagePool} (hits), the messages created because
+ * the pool was empty (misses) and the messages currently pooled.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class MessagePoolMetrics implements MeterBinder {
+
+	private final MessagePool messagePool;
+
+	public MessagePoolMetrics(MessagePool messagePool) {
+		this.messagePool = messagePool;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("quickfixj.template.pool.hits", messagePool, MessagePool::getHits)
+				.description("The number of messages taken from the message pool")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.template.pool.misses", messagePool, MessagePool::getMisses)
+				.description("The number of messages created because the message pool had none of the MsgType")
+				.register(registry);
+
+		Gauge.builder("quickfixj.template.pool.messages", messagePool, MessagePool::getPooledMessages)
+				.description("The number of messages currently in the message pool")
+				.register(registry);
+	}
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.WriteBehindStoreFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import quickfix.MessageStoreFactory;
+
+/**
+ * {@link MeterBinder} exposing the depth of the write queue and the flushed messages of a
+ * {@link WriteBehindStoreFactory}, and the messages kept in memory and the reads served from memory (hits) or from the
+ * spill files (misses) of a {@link TieredStoreFactory} and the direct memory allocated by an {@link OffHeapStoreFactory},
+ * including when they are decorated by a {@link WriteBehindStoreFactory}.
+ * Other {@link MessageStoreFactory} implementations are ignored.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class MessageStoreMetrics implements MeterBinder {
+
+	private final MessageStoreFactory messageStoreFactory;
+
+	private final Tags tags;
+
+	public MessageStoreMetrics(MessageStoreFactory messageStoreFactory, String connector) {
+		this.messageStoreFactory = messageStoreFactory;
+		this.tags = Tags.of(Tag.of("connector", connector));
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		MessageStoreFactory factory = messageStoreFactory;
+		if (factory instanceof WriteBehindStoreFactory) {
+			bindTo(registry, (WriteBehindStoreFactory) factory, tags);
+			factory = ((WriteBehindStoreFactory) factory).getDelegate();
+		}
+		if (factory instanceof TieredStoreFactory) {
+			bindTo(registry, (TieredStoreFactory) factory, tags);
+		} else if (factory instanceof OffHeapStoreFactory) {
+			Gauge.builder("quickfixj.store.offheap.bytes", (OffHeapStoreFactory) factory, OffHeapStoreFactory::getAllocatedBytes)
+					.tags(tags)
+					.baseUnit("bytes")
+					.description("The direct memory allocated by the off-heap message store")
+					.register(registry);
+		}
+	}
+
+	private static void bindTo(MeterRegistry registry, WriteBehindStoreFactory messageStoreFactory, Tags tags) {
+		Gauge.builder("quickfixj.store.pending.messages", messageStoreFactory, WriteBehindStoreFactory::getPendingMessages)
+				.tags(tags)
+				.description("The number of messages waiting to be written to the message store")
+				.register(registry);
+
+		Gauge.builder("quickfixj.store.pending.bytes", messageStoreFactory, WriteBehindStoreFactory::getPendingBytes)
+				.tags(tags)
+				.baseUnit("bytes")
+				.description("The size of the messages waiting to be written to the message store")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.store.flushed", messageStoreFactory, WriteBehindStoreFactory::getFlushedMessages)
+				.tags(tags)
+				.description("The number of messages written to the message store by the write-behind flusher")
+				.register(registry);
+	}
+
+	private static void bindTo(MeterRegistry registry, TieredStoreFactory messageStoreFactory, Tags tags) {
+		Gauge.builder("quickfixj.store.tiered.memory.messages", messageStoreFactory, TieredStoreFactory::getResidentMessages)
+				.tags(tags)
+				.description("The number of messages kept in memory by the tiered message store")
+				.register(registry);
+
+		Gauge.builder("quickfixj.store.tiered.memory.bytes", messageStoreFactory, TieredStoreFactory::getResidentBytes)
+				.tags(tags)
+				.baseUnit("bytes")
+				.description("The size of the messages kept in memory by the tiered message store")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.store.tiered.hits", messageStoreFactory, TieredStoreFactory::getHits)
+				.tags(tags)
+				.description("The number of messages resent from memory by the tiered message store")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.store.tiered.misses", messageStoreFactory, TieredStoreFactory::getMisses)
+				.tags(tags)
+				.description("The number of messages resent from the spill files by the tiered message store")
+				.register(registry);
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.MsgType;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the tags of the QuickFIX/J meters, bounding the number of distinct MsgType values so that unexpected
+ * message types cannot grow the number of meters indefinitely.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class MeterTags {
+
+	static final String NONE = "none";
+
+	static final String OTHER = "OTHER";
+
+	static final String UNKNOWN = "UNKNOWN";
+
+	private final String connector;
+
+	private final int maxMsgTypes;
+
+	private final Set<String> msgTypes = ConcurrentHashMap.newKeySet();
+
+	MeterTags(String connector, int maxMsgTypes) {
+		this.connector = connector;
+		this.maxMsgTypes = maxMsgTypes;
+	}
+
+	Tags sessionTags(SessionID sessionId) {
+		return Tags.of(
+				"connector", connector,
+				"beginString", sessionId.getBeginString(),
+				"senderCompID", sessionId.getSenderCompID(),
+				"targetCompID", sessionId.getTargetCompID(),
+				"sessionQualifier", sessionId.getSessionQualifier().isEmpty() ? NONE : sessionId.getSessionQualifier());
+	}
+
+	String msgType(Message message) {
+		if (!message.getHeader().isSetField(MsgType.FIELD)) {
+			return UNKNOWN;
+		}
+		String msgType;
+		try {
+			msgType = message.getHeader().getString(MsgType.FIELD);
+		} catch (FieldNotFound e) {
+			return UNKNOWN;
+		}
+		if (msgTypes.contains(msgType)) {
+			return msgType;
+		}
+		synchronized (msgTypes) {
+			if (msgTypes.size() < maxMsgTypes) {
+				msgTypes.add(msgType);
+				return msgType;
+			}
+		}
+		return OTHER;
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.template.SendRateLimiter;
+import io.allune.quickfixj.spring.boot.starter.template.TokenBucket;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import quickfix.SessionID;
+
+/**
+ * {@link MeterBinder} exposing, for each {@link TokenBucket} of a {@link SendRateLimiter}, the tokens currently
+ * available and the messages that waited for a token (throttled) or were rejected. The meters are tagged with the
+ * {@link SessionID} components and the MsgType of the bucket, {@code all} for the buckets limiting all the messages
+ * of a session, and registered when the buckets are created.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class SendRateLimiterMetrics implements MeterBinder {
+
+	static final String ALL_MSG_TYPES = "all";
+
+	private final SendRateLimiter sendRateLimiter;
+
+	public SendRateLimiterMetrics(SendRateLimiter sendRateLimiter) {
+		this.sendRateLimiter = sendRateLimiter;
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		sendRateLimiter.setBucketListener(bucket -> bindTo(registry, bucket));
+		sendRateLimiter.getBuckets().forEach(bucket -> bindTo(registry, bucket));
+	}
+
+	private static void bindTo(MeterRegistry registry, TokenBucket bucket) {
+		Tags tags = tags(bucket);
+
+		Gauge.builder("quickfixj.template.ratelimit.tokens", bucket, TokenBucket::getAvailableTokens)
+				.tags(tags)
+				.description("The number of messages that can currently be sent without waiting for the rate limit")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.template.ratelimit.throttled", bucket, TokenBucket::getThrottled)
+				.tags(tags)
+				.description("The number of messages that waited for the rate limit")
+				.register(registry);
+
+		FunctionCounter.builder("quickfixj.template.ratelimit.rejected", bucket, TokenBucket::getRejected)
+				.tags(tags)
+				.description("The number of messages rejected by the rate limit")
+				.register(registry);
+	}
+
+	private static Tags tags(TokenBucket bucket) {
+		SessionID sessionID = bucket.getSessionID();
+		return Tags.of(
+				"beginString", sessionID.getBeginString(),
+				"senderCompID", sessionID.getSenderCompID(),
+				"targetCompID", sessionID.getTargetCompID(),
+				"sessionQualifier", sessionID.getSessionQualifier().isEmpty() ? MeterTags.NONE : sessionID.getSessionQualifier(),
+				"msgType", bucket.getMsgType() != null ? bucket.getMsgType() : ALL_MSG_TYPES);
+	}
+}
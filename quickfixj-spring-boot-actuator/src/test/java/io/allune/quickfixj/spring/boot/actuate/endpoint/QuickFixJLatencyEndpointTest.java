@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.endpoint;
+
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.MAP;
+
+public class QuickFixJLatencyEndpointTest {
+
+	@Test
+	public void shouldReadLatencyByConnector() {
+		LatencyTracker clientLatencyTracker = new LatencyTracker("client");
+		LatencyTracker serverLatencyTracker = new LatencyTracker("server");
+		serverLatencyTracker.bindTo(new SimpleMeterRegistry());
+		SessionID sessionID = new SessionID("FIX.4.4", "EXEC", "BANZAI");
+		serverLatencyTracker.onReceive(message("D"), sessionID);
+		serverLatencyTracker.onSend(message("8"), sessionID, true);
+		QuickFixJLatencyEndpoint endpoint = new QuickFixJLatencyEndpoint(List.of(clientLatencyTracker, serverLatencyTracker));
+
+		Map<String, Object> latency = endpoint.readLatency();
+
+		assertThat(latency).containsOnlyKeys("client", "server");
+		assertThat(latency.get("client")).asInstanceOf(MAP)
+				.containsEntry("unit", "microseconds")
+				.containsEntry("latencies", List.of());
+		assertThat(latency.get("server")).asInstanceOf(MAP)
+				.containsEntry("pending", 0)
+				.extractingByKey("latencies").asList().hasSize(1);
+	}
+
+	private static Message message(String msgType) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		message.setString(ClOrdID.FIELD, "order-1");
+		return message;
+	}
+}
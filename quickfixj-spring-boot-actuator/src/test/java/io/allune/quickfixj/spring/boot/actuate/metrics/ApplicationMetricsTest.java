@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import quickfix.Application;
+import quickfix.ApplicationExtended;
+import quickfix.DoNotSend;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.MsgType;
+
+import static io.allune.quickfixj.spring.boot.actuate.metrics.ApplicationMetrics.CALLBACK_TIMER;
+import static io.allune.quickfixj.spring.boot.actuate.metrics.ApplicationMetrics.SESSION_EVENTS_COUNTER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+@ExtendWith(MockitoExtension.class)
+public class ApplicationMetricsTest {
+
+	private final SessionID sessionID = new SessionID("FIX.4.2", "SENDER", "TARGET");
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+
+	@Mock
+	private Application delegate;
+
+	private ApplicationMetrics applicationMetrics;
+
+	@BeforeEach
+	public void setUp() {
+		applicationMetrics = new ApplicationMetrics(delegate, "client", 2);
+	}
+
+	@Test
+	public void shouldOnlyDelegateWhenNotBound() throws Exception {
+		// Given
+		Message message = message("D");
+
+		// When
+		applicationMetrics.fromApp(message, sessionID);
+
+		// Then
+		verify(delegate).fromApp(message, sessionID);
+		assertThat(registry.getMeters()).isEmpty();
+	}
+
+	@Test
+	public void shouldRecordCallbackTaggedBySessionAndMsgType() throws Exception {
+		// Given
+		applicationMetrics.bindTo(registry);
+		Message message = message("D");
+
+		// When
+		applicationMetrics.fromApp(message, sessionID);
+		applicationMetrics.fromApp(message, sessionID);
+
+		// Then
+		verify(delegate, times(2)).fromApp(message, sessionID);
+		assertThat(registry.get(CALLBACK_TIMER)
+				.tags("connector", "client", "callback", "fromApp", "msgType", "D", "exception", "none")
+				.tags("beginString", "FIX.4.2", "senderCompID", "SENDER", "targetCompID", "TARGET")
+				.timer().count()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldRecordExceptionAndRethrowIt() throws Exception {
+		// Given
+		applicationMetrics.bindTo(registry);
+		Message message = message("D");
+		willThrow(new DoNotSend()).given(delegate).toApp(message, sessionID);
+
+		// When
+		assertThatExceptionOfType(DoNotSend.class).isThrownBy(() -> applicationMetrics.toApp(message, sessionID));
+
+		// Then
+		assertThat(registry.get(CALLBACK_TIMER).tags("callback", "toApp", "exception", "DoNotSend").timer().count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	public void shouldBoundMsgTypeCardinality() throws Exception {
+		// Given
+		applicationMetrics.bindTo(registry);
+
+		// When
+		applicationMetrics.toAdmin(message("0"), sessionID);
+		applicationMetrics.toAdmin(message("A"), sessionID);
+		applicationMetrics.toAdmin(message("5"), sessionID);
+		applicationMetrics.toAdmin(new Message(), sessionID);
+
+		// Then
+		assertThat(registry.get(CALLBACK_TIMER).tag("msgType", "0").timer().count()).isEqualTo(1);
+		assertThat(registry.get(CALLBACK_TIMER).tag("msgType", "A").timer().count()).isEqualTo(1);
+		assertThat(registry.get(CALLBACK_TIMER).tag("msgType", "OTHER").timer().count()).isEqualTo(1);
+		assertThat(registry.get(CALLBACK_TIMER).tag("msgType", "UNKNOWN").timer().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldCountSessionEvents() {
+		// Given
+		applicationMetrics.bindTo(registry);
+
+		// When
+		applicationMetrics.onCreate(sessionID);
+		applicationMetrics.onLogon(sessionID);
+		applicationMetrics.onLogout(sessionID);
+		applicationMetrics.onLogon(sessionID);
+
+		// Then
+		verify(delegate).onCreate(sessionID);
+		assertThat(registry.get(SESSION_EVENTS_COUNTER).tags("connector", "client", "event", "logon").counter().count())
+				.isEqualTo(2);
+		assertThat(registry.get(SESSION_EVENTS_COUNTER).tag("event", "logout").counter().count()).isEqualTo(1);
+		assertThat(registry.get(SESSION_EVENTS_COUNTER).tag("event", "create").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldDelegateApplicationExtendedCallbacks() {
+		// Given
+		ApplicationExtended extendedDelegate = mock(ApplicationExtended.class);
+		given(extendedDelegate.canLogon(sessionID)).willReturn(false);
+		ApplicationMetrics extendedMetrics = new ApplicationMetrics(extendedDelegate, "client");
+
+		// When
+		boolean canLogon = extendedMetrics.canLogon(sessionID);
+		extendedMetrics.onBeforeSessionReset(sessionID);
+
+		// Then
+		assertThat(canLogon).isFalse();
+		verify(extendedDelegate).onBeforeSessionReset(sessionID);
+	}
+
+	@Test
+	public void shouldAllowLogonGivenPlainApplication() {
+		// When
+		boolean canLogon = applicationMetrics.canLogon(sessionID);
+		applicationMetrics.onBeforeSessionReset(sessionID);
+
+		// Then
+		assertThat(canLogon).isTrue();
+		verifyNoInteractions(delegate);
+	}
+
+	private static Message message(String msgType) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		return message;
+	}
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.application.RingBufferEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.ShardedEventDispatcher;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class EventDispatcherMetricsTest {
+
+	@Test
+	public void shouldBindRingBufferMetrics() {
+		// Given
+		RingBufferEventDispatcher eventDispatcher = new RingBufferEventDispatcher(event -> {
+		}, 100);
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		// When
+		new EventDispatcherMetrics(eventDispatcher, "client").bindTo(registry);
+
+		// Then
+		assertThat(registry.get("quickfixj.events.ring.size").tag("connector", "client").gauge().value())
+				.isEqualTo(128);
+		assertThat(registry.get("quickfixj.events.ring.occupancy").tag("connector", "client").gauge().value())
+				.isZero();
+		assertThat(registry.get("quickfixj.events.dropped").tag("connector", "client").functionCounter().count())
+				.isZero();
+	}
+
+	@Test
+	public void shouldBindMetricsOfEachShard() {
+		// Given
+		ShardedEventDispatcher eventDispatcher = new ShardedEventDispatcher(event -> {
+		}, 2, 16);
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		// When
+		new EventDispatcherMetrics(eventDispatcher, "server").bindTo(registry);
+
+		// Then
+		assertThat(registry.get("quickfixj.events.ring.size").tag("connector", "server").gauges()).hasSize(2);
+		assertThat(registry.get("quickfixj.events.ring.occupancy").tags("connector", "server", "shard", "1").gauge().value())
+				.isZero();
+	}
+}
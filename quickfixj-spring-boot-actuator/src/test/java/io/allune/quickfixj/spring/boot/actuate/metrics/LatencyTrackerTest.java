@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker.LatencySnapshot;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker.LATENCY_TIMER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class LatencyTrackerTest {
+
+	private final SessionID sessionID = new SessionID("FIX.4.4", "EXEC", "BANZAI");
+
+	private final MockClock clock = new MockClock();
+
+	private final SimpleMeterRegistry registry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+
+	private LatencyTracker latencyTracker;
+
+	@BeforeEach
+	public void setUp() {
+		latencyTracker = new LatencyTracker("server", ClOrdID.FIELD, 2, Duration.ofSeconds(1), 10);
+		latencyTracker.bindTo(registry);
+	}
+
+	@Test
+	public void shouldRecordLatencyOfCorrelatedMessage() {
+		// Given
+		latencyTracker.onReceive(message("D", "order-1"), sessionID);
+		clock.add(250, TimeUnit.MICROSECONDS);
+
+		// When
+		latencyTracker.onSend(message("8", "order-1"), sessionID, true);
+		latencyTracker.onSend(message("8", "order-1"), sessionID, true);
+
+		// Then
+		assertThat(registry.get(LATENCY_TIMER)
+				.tags("connector", "server", "msgType", "8", "senderCompID", "EXEC", "targetCompID", "BANZAI")
+				.timer().totalTime(TimeUnit.MICROSECONDS)).isEqualTo(250);
+		assertThat(registry.get(LATENCY_TIMER).timer().count()).isEqualTo(1);
+		assertThat(latencyTracker.getPending()).isZero();
+	}
+
+	@Test
+	public void shouldIgnoreMessagesNotSentOrNotCorrelated() {
+		// Given
+		latencyTracker.onReceive(message("D", "order-1"), sessionID);
+
+		// When
+		latencyTracker.onSend(message("8", "order-2"), sessionID, true);
+		latencyTracker.onSend(message("8", "order-1"), sessionID, false);
+		latencyTracker.onSend(new Message(), sessionID, true);
+
+		// Then
+		assertThat(registry.find(LATENCY_TIMER).timer()).isNull();
+		assertThat(latencyTracker.getPending()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldEvictExpiredMessagesWhenFull() {
+		// Given
+		latencyTracker.onReceive(message("D", "order-1"), sessionID);
+		latencyTracker.onReceive(message("D", "order-2"), sessionID);
+		latencyTracker.onReceive(message("D", "order-3"), sessionID);
+		clock.add(2, TimeUnit.SECONDS);
+
+		// When
+		latencyTracker.onReceive(message("D", "order-4"), sessionID);
+
+		// Then
+		assertThat(latencyTracker.getDiscarded()).isEqualTo(1);
+		assertThat(latencyTracker.getPending()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldEvictOldestExpiredMessagesFirstWhenFull() {
+		// Given
+		latencyTracker.onReceive(message("D", "order-1"), sessionID);
+		clock.add(600, TimeUnit.MILLISECONDS);
+		latencyTracker.onReceive(message("D", "order-2"), sessionID);
+		clock.add(600, TimeUnit.MILLISECONDS);
+
+		// When
+		latencyTracker.onReceive(message("D", "order-3"), sessionID);
+		latencyTracker.onSend(message("8", "order-2"), sessionID, true);
+
+		// Then
+		assertThat(latencyTracker.getDiscarded()).isZero();
+		assertThat(latencyTracker.getPending()).isEqualTo(1);
+		assertThat(registry.get(LATENCY_TIMER).timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(600);
+	}
+
+	@Test
+	public void shouldKeepTrackingGivenCorrelatedMessagesWereEvictedFromTheQueue() {
+		// Given
+		for (int i = 0; i < 10; i++) {
+			latencyTracker.onReceive(message("D", "order-" + i), sessionID);
+			latencyTracker.onSend(message("8", "order-" + i), sessionID, true);
+		}
+
+		// When
+		latencyTracker.onReceive(message("D", "order-10"), sessionID);
+		latencyTracker.onReceive(message("D", "order-11"), sessionID);
+
+		// Then
+		assertThat(latencyTracker.getDiscarded()).isZero();
+		assertThat(latencyTracker.getPending()).isEqualTo(2);
+		assertThat(registry.get(LATENCY_TIMER).timer().count()).isEqualTo(10);
+	}
+
+	@Test
+	public void shouldOnlyTrackInboundMsgTypes() {
+		// Given
+		latencyTracker.setInboundMsgTypes(Set.of("D"));
+
+		// When
+		latencyTracker.onReceive(message("8", "order-1"), sessionID);
+		latencyTracker.onReceive(message("D", "order-2"), sessionID);
+
+		// Then
+		assertThat(latencyTracker.getPending()).isEqualTo(1);
+		latencyTracker.onSend(message("8", "order-1"), sessionID, true);
+		assertThat(registry.find(LATENCY_TIMER).timer()).isNull();
+	}
+
+	@Test
+	public void shouldOnlyTrackFilteredSessions() {
+		// Given
+		latencyTracker.setSessionFilter(sessionID::equals);
+		SessionID otherSessionID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+		// When
+		latencyTracker.onReceive(message("D", "order-1"), otherSessionID);
+
+		// Then
+		assertThat(latencyTracker.getPending()).isZero();
+	}
+
+	@Test
+	public void shouldCorrelateMessagesOfSameSession() {
+		// Given
+		SessionID otherSessionID = new SessionID("FIX.4.4", "EXEC", "OTHER");
+		latencyTracker.onReceive(message("D", "order-1"), sessionID);
+		clock.add(100, TimeUnit.MICROSECONDS);
+		latencyTracker.onReceive(message("D", "order-1"), otherSessionID);
+		clock.add(100, TimeUnit.MICROSECONDS);
+
+		// When
+		latencyTracker.onSend(message("8", "order-1"), otherSessionID, true);
+		latencyTracker.onSend(message("8", "order-1"), sessionID, true);
+
+		// Then
+		assertThat(registry.get(LATENCY_TIMER).tag("targetCompID", "OTHER")
+				.timer().totalTime(TimeUnit.MICROSECONDS)).isEqualTo(100);
+		assertThat(registry.get(LATENCY_TIMER).tag("targetCompID", "BANZAI")
+				.timer().totalTime(TimeUnit.MICROSECONDS)).isEqualTo(200);
+		assertThat(latencyTracker.getPending()).isZero();
+	}
+
+	@Test
+	public void shouldTakeSnapshotWithPercentiles() {
+		// Given
+		latencyTracker.onReceive(message("D", "order-1"), sessionID);
+		clock.add(100, TimeUnit.MICROSECONDS);
+		latencyTracker.onSend(message("8", "order-1"), sessionID, true);
+
+		// When
+		List<LatencySnapshot> snapshots = latencyTracker.snapshot();
+
+		// Then
+		assertThat(snapshots).hasSize(1);
+		LatencySnapshot snapshot = snapshots.get(0);
+		assertThat(snapshot.getSessionId()).isEqualTo(sessionID.toString());
+		assertThat(snapshot.getMsgType()).isEqualTo("8");
+		assertThat(snapshot.getCount()).isEqualTo(1);
+		assertThat(snapshot.getMax()).isEqualTo(100);
+		assertThat(snapshot.getPercentiles()).containsOnlyKeys("0.5", "0.9", "0.99", "0.999");
+	}
+
+	private static Message message(String msgType, String clOrdID) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		if (clOrdID != null) {
+			message.setString(ClOrdID.FIELD, clOrdID);
+		}
+		return message;
+	}
+}
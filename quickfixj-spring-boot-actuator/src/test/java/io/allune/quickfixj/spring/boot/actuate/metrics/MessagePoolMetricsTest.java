@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.template.MessagePool;
+import io.allune.quickfixj.spring.boot.starter.template.PooledMessage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import quickfix.field.MsgType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class MessagePoolMetricsTest {
+
+	@Test
+	public void shouldBindMessagePoolMetrics() {
+		// Given
+		MessagePool messagePool = new MessagePool();
+		MeterRegistry registry = new SimpleMeterRegistry();
+		new MessagePoolMetrics(messagePool).bindTo(registry);
+
+		// When
+		PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.close();
+		messagePool.borrow(MsgType.ORDER_SINGLE);
+		messagePool.borrow(MsgType.ORDER_SINGLE).close();
+
+		// Then
+		assertThat(registry.get("quickfixj.template.pool.hits").functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("quickfixj.template.pool.misses").functionCounter().count()).isEqualTo(2);
+		assertThat(registry.get("quickfixj.template.pool.messages").gauge().value()).isEqualTo(1);
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.WriteBehindStoreFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quickfix.FileStoreFactory;
+import quickfix.MemoryStoreFactory;
+import quickfix.MessageStore;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class MessageStoreMetricsTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldBindWriteBehindMetrics() throws Exception {
+		// Given
+		WriteBehindStoreFactory messageStoreFactory = new WriteBehindStoreFactory(new MemoryStoreFactory());
+		messageStoreFactory.setFlushInterval(Duration.ofHours(1));
+		MessageStore messageStore = messageStoreFactory.create(new SessionID("FIX.4.4", "SENDER", "TARGET"));
+		messageStore.set(1, "8=FIX.4.4");
+		messageStore.set(2, "8=FIX.4.4");
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		// When
+		new MessageStoreMetrics(messageStoreFactory, "client").bindTo(registry);
+
+		// Then
+		assertThat(registry.get("quickfixj.store.pending.messages").tag("connector", "client").gauge().value())
+				.isEqualTo(2);
+		assertThat(registry.get("quickfixj.store.pending.bytes").tag("connector", "client").gauge().value())
+				.isPositive();
+		assertThat(registry.get("quickfixj.store.flushed").tag("connector", "client").functionCounter().count())
+				.isZero();
+
+		messageStoreFactory.close();
+
+		assertThat(registry.get("quickfixj.store.pending.messages").tag("connector", "client").gauge().value())
+				.isZero();
+		assertThat(registry.get("quickfixj.store.flushed").tag("connector", "client").functionCounter().count())
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void shouldBindTieredMetricsGivenDecoratedTieredStoreFactory() throws Exception {
+		// Given
+		SessionID sessionID = new SessionID("FIX.4.4", "SENDER", "TARGET");
+		SessionSettings settings = new SessionSettings();
+		settings.setString(sessionID, FileStoreFactory.SETTING_FILE_STORE_PATH, directory.toString());
+		settings.setLong(sessionID, TieredStoreFactory.SETTING_TIERED_STORE_MAX_MESSAGES, 1);
+		TieredStoreFactory tieredStoreFactory = new TieredStoreFactory(settings);
+		WriteBehindStoreFactory messageStoreFactory = new WriteBehindStoreFactory(tieredStoreFactory);
+		messageStoreFactory.setRecentMessages(1);
+		MessageStore messageStore = messageStoreFactory.create(sessionID);
+		messageStore.set(1, "8=FIX.4.4");
+		messageStore.set(2, "8=FIX.4.4");
+		messageStore.get(1, 2, new ArrayList<>());
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		// When
+		new MessageStoreMetrics(messageStoreFactory, "server").bindTo(registry);
+
+		// Then
+		assertThat(registry.get("quickfixj.store.pending.messages").tag("connector", "server").gauge().value())
+				.isZero();
+		assertThat(registry.get("quickfixj.store.tiered.memory.messages").tag("connector", "server").gauge().value())
+				.isEqualTo(1);
+		assertThat(registry.get("quickfixj.store.tiered.hits").tag("connector", "server").functionCounter().count())
+				.isEqualTo(1);
+		assertThat(registry.get("quickfixj.store.tiered.misses").tag("connector", "server").functionCounter().count())
+				.isEqualTo(1);
+		messageStoreFactory.close();
+	}
+
+	@Test
+	public void shouldBindOffHeapMetrics() throws Exception {
+		// Given
+		SessionID sessionID = new SessionID("FIX.4.4", "SENDER", "TARGET");
+		OffHeapStoreFactory messageStoreFactory = new OffHeapStoreFactory(new SessionSettings());
+		messageStoreFactory.create(sessionID).set(1, "8=FIX.4.4");
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		// When
+		new MessageStoreMetrics(messageStoreFactory, "client").bindTo(registry);
+
+		// Then
+		assertThat(registry.get("quickfixj.store.offheap.bytes").tag("connector", "client").gauge().value())
+				.isEqualTo(OffHeapStoreFactory.DEFAULT_SLAB_SIZE);
+		messageStoreFactory.close();
+	}
+
+	@Test
+	public void shouldIgnoreOtherMessageStoreFactories() {
+		// Given
+		MeterRegistry registry = new SimpleMeterRegistry();
+
+		// When
+		new MessageStoreMetrics(new MemoryStoreFactory(), "server").bindTo(registry);
+
+		// Then
+		assertThat(registry.getMeters()).isEmpty();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.actuate.metrics;
+
+import io.allune.quickfixj.spring.boot.starter.exception.SendRejectedException;
+import io.allune.quickfixj.spring.boot.starter.template.RateLimit;
+import io.allune.quickfixj.spring.boot.starter.template.SendRateLimiter;
+import io.allune.quickfixj.spring.boot.starter.template.ThrottlePolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.MsgType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class SendRateLimiterMetricsTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	@Test
+	public void shouldBindTokenBucketMetrics() {
+		// Given
+		// Slow refill, and everything created upfront so that no token is added back before the assertions
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.REJECT);
+		rateLimiter.setDefaultLimit(RateLimit.of(1, 3));
+		rateLimiter.setMsgTypeLimit(MsgType.ORDER_SINGLE, RateLimit.of(1));
+		MeterRegistry registry = new SimpleMeterRegistry();
+		Message cancel = newMessage(MsgType.ORDER_CANCEL_REQUEST);
+		Message order = newMessage(MsgType.ORDER_SINGLE);
+		rateLimiter.acquire(cancel, SESSION_ID);
+		new SendRateLimiterMetrics(rateLimiter).bindTo(registry);
+
+		// When
+		rateLimiter.acquire(order, SESSION_ID);
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> rateLimiter.acquire(order, SESSION_ID));
+
+		// Then
+		assertThat(registry.get("quickfixj.template.ratelimit.tokens").tag("msgType", "all").tag("targetCompID", "EXEC")
+				.gauge().value()).isEqualTo(1);
+		assertThat(registry.get("quickfixj.template.ratelimit.tokens").tag("msgType", MsgType.ORDER_SINGLE)
+				.gauge().value()).isZero();
+		assertThat(registry.get("quickfixj.template.ratelimit.rejected").tag("msgType", MsgType.ORDER_SINGLE)
+				.functionCounter().count()).isEqualTo(1);
+		assertThat(registry.get("quickfixj.template.ratelimit.throttled").tag("msgType", "all")
+				.functionCounter().count()).isZero();
+	}
+
+	private static Message newMessage(String msgType) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		return message;
+	}
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import io.allune.quickfixj.spring.boot.starter.application.OverflowPolicy;
+import lombok.Data;
+
+/**
+ * Defines the asynchronous decoration of the log factory, moving the message and event logging off the session
+ * threads.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class AsyncLog {
+
+	/**
+	 * Whether to decorate the log factory so that the messages and events are written to the logs by a background
+	 * thread instead of on the session threads.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Maximum number of log entries waiting to be written.
+	 */
+	private int queueSize = 65536;
+
+	/**
+	 * Maximum number of log entries written by the background thread in one batch.
+	 */
+	private int batchSize = 256;
+
+	/**
+	 * What to do when an entry is logged and the queue is full, either block the session thread or drop the entry.
+	 * FAIL is not supported.
+	 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+}
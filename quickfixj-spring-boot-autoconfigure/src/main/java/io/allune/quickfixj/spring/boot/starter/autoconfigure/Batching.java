@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Defines the {@link io.allune.quickfixj.spring.boot.starter.template.OutboundBatching} of the messages written to the
+ * connections of the client and server connectors.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class Batching {
+
+	/**
+	 * Whether to gather the messages written to the connections of the connectors into batches.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Size of the buffered messages of a connection, in bytes, above which they are written at once.
+	 */
+	private int maxBatchSize = 16 * 1024;
+
+	/**
+	 * Maximum time a message waits in the buffer of its connection before being written.
+	 */
+	private Duration maxDelay = Duration.ofNanos(100_000);
+}
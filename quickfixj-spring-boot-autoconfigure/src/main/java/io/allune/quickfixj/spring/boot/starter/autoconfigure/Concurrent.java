@@ -37,6 +37,12 @@ public class Concurrent {
 	 */
 	private boolean useDefaultExecutorFactory = false;
 
+	/**
+	 * The type of threads of the default {@link quickfix.ExecutorFactory}. Using {@code virtual} threads implies
+	 * {@code useDefaultExecutorFactory=true} and ignores the thread pool options.
+	 */
+	private ExecutorType executor = ExecutorType.PLATFORM;
+
 	/**
 	 * Queue capacity. An unbounded capacity does not increase the pool and therefore
 	 * ignores the "max-size" property.
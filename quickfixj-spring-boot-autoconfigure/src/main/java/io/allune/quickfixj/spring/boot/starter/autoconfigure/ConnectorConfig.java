@@ -19,6 +19,8 @@ import io.allune.quickfixj.spring.boot.starter.connection.ConnectorManager;
 import lombok.Data;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 
+import java.time.Duration;
+
 /**
  * Defines the configuration for the {@link ConnectorManager} for the Client (Initiator) and Server (Acceptor).
  *
@@ -63,6 +65,12 @@ public class ConnectorConfig {
 	@NestedConfigurationProperty
 	private Concurrent concurrent = new Concurrent();
 
+	/**
+	 * Configures how the QuickFIX/J events are dispatched to the application listeners.
+	 */
+	@NestedConfigurationProperty
+	private Events events = new Events();
+
 	/**
 	 * Configures the message store factory to use.
 	 */
@@ -73,14 +81,50 @@ public class ConnectorConfig {
 	 */
 	private LogMethod logMethod = LogMethod.SCREEN;
 
+	/**
+	 * Configures the asynchronous decoration of the log factory.
+	 */
+	@NestedConfigurationProperty
+	private AsyncLog asyncLog = new AsyncLog();
+
+	/**
+	 * Configures the parallel initialization of the sessions when the connector is started.
+	 */
+	@NestedConfigurationProperty
+	private ParallelStartup parallelStartup = new ParallelStartup();
+
 	/**
 	 * Configures if sessions should be disconnected forcibly when the connector is stopped.
 	 */
 	private boolean forceDisconnect = false;
 
+	/**
+	 * Maximum time to wait for the sessions to log out when the connector is stopped asynchronously, before they are
+	 * disconnected.
+	 */
+	private Duration stopTimeout = Duration.ofSeconds(10);
+
+	/**
+	 * Configures the write-behind decoration of the message store.
+	 */
+	@NestedConfigurationProperty
+	private WriteBehind writeBehind = new WriteBehind();
+
 	/**
 	 * Configures the actuator health options.
 	 */
 	@NestedConfigurationProperty
 	private Health health = new Health();
+
+	/**
+	 * Configures the Micrometer instrumentation of the application callbacks.
+	 */
+	@NestedConfigurationProperty
+	private Metrics metrics = new Metrics();
+
+	/**
+	 * Configures the tracking of the latency between inbound and outbound application messages.
+	 */
+	@NestedConfigurationProperty
+	private Latency latency = new Latency();
 }
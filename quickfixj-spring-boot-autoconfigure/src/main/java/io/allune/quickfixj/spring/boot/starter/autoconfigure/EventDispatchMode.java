@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+/**
+ * Defines how the {@link io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter} should
+ * publish the QuickFIX/J events to the application listeners.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum EventDispatchMode {
+
+	/**
+	 * The events are published on the QuickFIX/J session thread.
+	 */
+	SYNC,
+
+	/**
+	 * The inbound application events are handed over to a dedicated thread through a ring buffer.
+	 */
+	ASYNC,
+
+	/**
+	 * The inbound application events are spread by session over several threads, each one with its own ring buffer.
+	 */
+	SHARDED
+}
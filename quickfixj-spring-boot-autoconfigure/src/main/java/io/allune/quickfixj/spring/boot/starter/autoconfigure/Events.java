@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import io.allune.quickfixj.spring.boot.starter.application.OverflowPolicy;
+import io.allune.quickfixj.spring.boot.starter.application.WaitStrategy;
+import lombok.Data;
+
+/**
+ * Defines how the QuickFIX/J events should be dispatched to the application listeners.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class Events {
+
+	/**
+	 * Whether the inbound application events should be published on the QuickFIX/J session thread ({@code sync}),
+	 * handed over to a dedicated thread ({@code async}) or spread by session over several threads ({@code sharded}).
+	 * The administrative and session lifecycle events are always published on the session thread.
+	 */
+	private EventDispatchMode mode = EventDispatchMode.SYNC;
+
+	/**
+	 * Number of threads the events are spread over. Only used in {@code sharded} mode.
+	 */
+	private int shards = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Number of slots of the ring buffer (of each shard in {@code sharded} mode), rounded up to the next power of
+	 * two.
+	 */
+	private int ringSize = 1024;
+
+	/**
+	 * How the dispatcher threads wait for new events.
+	 */
+	private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+	/**
+	 * What to do when an event is dispatched and the ring buffer is full.
+	 */
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	/**
+	 * Prefix to use for the names of the dispatcher threads.
+	 */
+	private String threadNamePrefix = "QuickFixJ Spring Boot Starter events-";
+}
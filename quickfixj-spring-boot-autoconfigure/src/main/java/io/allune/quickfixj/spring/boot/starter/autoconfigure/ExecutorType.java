@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+/**
+ * Defines which type of threads the default {@link quickfix.ExecutorFactory} should run the connector tasks on.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum ExecutorType {
+
+	/**
+	 * A {@link org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor} of platform threads.
+	 */
+	PLATFORM,
+
+	/**
+	 * A new virtual thread per task. Requires Java 21 or later.
+	 */
+	VIRTUAL
+}
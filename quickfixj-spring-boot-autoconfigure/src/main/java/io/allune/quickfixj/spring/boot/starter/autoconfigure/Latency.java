@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Defines the tracking of the latency between an inbound application message and the correlated outbound message.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class Latency {
+
+	/**
+	 * Whether to record the latency between an inbound application message and the first outbound message sent
+	 * through the QuickFixJTemplate with the same correlation field value, when the actuator autoconfiguration is
+	 * enabled.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * The tag number of the field correlating the inbound and outbound messages, ClOrdID (11) by default.
+	 */
+	private int correlationTag = 11;
+
+	/**
+	 * The MsgTypes of the tracked inbound messages, e.g. D,F,G, all of them by default. Restricting them to the
+	 * requests keeps the responses to the messages sent by the application from waiting for an outbound message.
+	 */
+	private Set<String> inboundMsgTypes = new HashSet<>();
+
+	/**
+	 * Maximum number of inbound messages waiting for a correlated outbound message.
+	 */
+	private int maxPending = 10_000;
+
+	/**
+	 * Maximum time an inbound message is kept waiting for a correlated outbound message once the maximum number of
+	 * pending messages is reached.
+	 */
+	private Duration maxAge = Duration.ofMinutes(1);
+}
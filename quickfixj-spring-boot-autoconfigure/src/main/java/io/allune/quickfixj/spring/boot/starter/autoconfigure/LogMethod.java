@@ -22,6 +22,8 @@ package io.allune.quickfixj.spring.boot.starter.autoconfigure;
  */
 public enum LogMethod {
 
+	BINARY,
+
 	FILE,
 
 	JDBC,
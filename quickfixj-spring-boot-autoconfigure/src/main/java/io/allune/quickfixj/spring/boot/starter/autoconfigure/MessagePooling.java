@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Defines the {@link io.allune.quickfixj.spring.boot.starter.template.MessagePool} of reusable messages used with the
+ * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class MessagePooling {
+
+	/**
+	 * Whether to create a pool of reusable messages.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Maximum number of messages kept in the pool for each MsgType without a specific size.
+	 */
+	private int defaultSize = 64;
+
+	/**
+	 * Maximum number of messages kept in the pool, by MsgType.
+	 */
+	private Map<String, Integer> sizes = new HashMap<>();
+}
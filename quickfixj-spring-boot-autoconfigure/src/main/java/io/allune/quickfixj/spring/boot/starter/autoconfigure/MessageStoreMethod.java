@@ -28,9 +28,17 @@ public enum MessageStoreMethod {
 
 	JDBC,
 
+	JOURNAL,
+
 	MEMORY,
 
+	MMAP,
+
 	NOOP,
 
-	SLEEPYCAT
+	OFFHEAP,
+
+	SLEEPYCAT,
+
+	TIERED
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+/**
+ * Defines the Micrometer instrumentation of the QuickFIX/J application callbacks.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class Metrics {
+
+	/**
+	 * Whether to record the time spent in the {@link quickfix.Application} callbacks and count the session events,
+	 * when the actuator autoconfiguration is enabled. The application bean is then replaced with the decorator
+	 * recording them.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Maximum number of distinct MsgType tag values, further message types are tagged as {@code OTHER}.
+	 */
+	private int maxMsgTypes = 100;
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+/**
+ * Defines the rate limit of the messages of a MsgType sent to each session by the
+ * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class MsgTypeRateLimit {
+
+	/**
+	 * Number of messages of the MsgType per second sent to each session.
+	 */
+	private int messagesPerSecond;
+
+	/**
+	 * Number of messages of the MsgType that can be sent at once to each session after an idle period. Defaults to
+	 * the messages per second.
+	 */
+	private Integer burst;
+}
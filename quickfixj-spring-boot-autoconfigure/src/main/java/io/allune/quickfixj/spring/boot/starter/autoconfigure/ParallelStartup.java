@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+/**
+ * Defines the parallel initialization of the message stores and logs of the sessions when the connector is started.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class ParallelStartup {
+
+	/**
+	 * Whether to create the message stores and logs of all the sessions in parallel before the connector is started,
+	 * instead of one after another while the connector creates its sessions.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Number of threads creating the message stores and logs. Defaults to the number of available processors.
+	 */
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+}
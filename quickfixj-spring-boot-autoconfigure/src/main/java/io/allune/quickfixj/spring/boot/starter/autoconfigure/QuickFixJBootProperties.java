@@ -36,4 +36,7 @@ public class QuickFixJBootProperties {
 
 	@NestedConfigurationProperty
 	private ConnectorConfig server = new ConnectorConfig();
+
+	@NestedConfigurationProperty
+	private Template template = new Template();
 }
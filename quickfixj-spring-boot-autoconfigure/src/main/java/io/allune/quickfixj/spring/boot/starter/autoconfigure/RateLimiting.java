@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import io.allune.quickfixj.spring.boot.starter.template.ThrottlePolicy;
+import lombok.Data;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Defines the {@link io.allune.quickfixj.spring.boot.starter.template.SendRateLimiter} pacing the messages sent by the
+ * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class RateLimiting {
+
+	/**
+	 * Whether to limit the rate of the messages sent to each session.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * What to do with a message sent when the rate limit is reached.
+	 */
+	private ThrottlePolicy policy = ThrottlePolicy.BLOCK;
+
+	/**
+	 * Maximum time a message waits for the rate limit with the {@code queue} policy.
+	 */
+	private Duration maxWait = Duration.ofSeconds(1);
+
+	/**
+	 * Number of messages per second sent to each session without a {@code SendRateLimit} setting. Not limited when
+	 * not set.
+	 */
+	private Integer messagesPerSecond;
+
+	/**
+	 * Number of messages that can be sent at once to each session after an idle period. Defaults to the messages per
+	 * second.
+	 */
+	private Integer burst;
+
+	/**
+	 * Rate limits of the messages of each session, by MsgType.
+	 */
+	private Map<String, MsgTypeRateLimit> msgTypes = new LinkedHashMap<>();
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines a session group the {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate} spreads the
+ * messages over.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class SessionGroupConfig {
+
+	/**
+	 * IDs of the sessions of the group, in the {@code BeginString:SenderCompID->TargetCompID:Qualifier} form of
+	 * {@link quickfix.SessionID#toString()}.
+	 */
+	private List<String> sessions = new ArrayList<>();
+
+	/**
+	 * How the session of each message is chosen.
+	 */
+	private SessionSelection selection = SessionSelection.ROUND_ROBIN;
+
+	/**
+	 * Tag of the body field the session is chosen by, when the selection is {@code sticky-by-key}. Defaults to the
+	 * Symbol.
+	 */
+	private int keyField = 55;
+}
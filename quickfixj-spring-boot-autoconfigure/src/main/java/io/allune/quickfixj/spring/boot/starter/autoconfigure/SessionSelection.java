@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+/**
+ * Defines how the session of each message sent to a session group by the
+ * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate} is chosen.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum SessionSelection {
+
+	/**
+	 * The sessions are chosen in turn.
+	 */
+	ROUND_ROBIN,
+
+	/**
+	 * The session with the fewest messages being sent or queued for an asynchronous send is chosen.
+	 */
+	LEAST_OUTSTANDING,
+
+	/**
+	 * The session with the lowest recent send latency is chosen.
+	 */
+	LOWEST_LATENCY,
+
+	/**
+	 * The messages with the same value of the {@code key-field} are sent to the same session.
+	 */
+	STICKY_BY_KEY
+}
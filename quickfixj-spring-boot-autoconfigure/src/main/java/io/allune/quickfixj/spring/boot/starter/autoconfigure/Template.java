@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.NestedConfigurationProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Defines the configuration of the {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class Template {
+
+	/**
+	 * Whether to cache the sessions located by the template, evicting them when they are created, log on or log out.
+	 */
+	private boolean cacheSessionLookup = false;
+
+	@NestedConfigurationProperty
+	private Validation validation = new Validation();
+
+	@NestedConfigurationProperty
+	private MessagePooling messagePool = new MessagePooling();
+
+	@NestedConfigurationProperty
+	private RateLimiting rateLimit = new RateLimiting();
+
+	@NestedConfigurationProperty
+	private Batching batching = new Batching();
+
+	/**
+	 * Session groups the messages are spread over, by name.
+	 */
+	private Map<String, SessionGroupConfig> sessionGroups = new LinkedHashMap<>();
+}
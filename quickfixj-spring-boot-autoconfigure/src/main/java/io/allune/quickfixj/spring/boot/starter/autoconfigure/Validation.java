@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Defines the validation of the messages sent by the
+ * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class Validation {
+
+	/**
+	 * Whether to validate the messages against the data dictionary of the session before sending them.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Which of the messages are validated.
+	 */
+	private ValidationMode mode = ValidationMode.ALL;
+
+	/**
+	 * Number of messages per validated message of each session, when the mode is {@code sampled}.
+	 */
+	private int sampleRate = 10;
+
+	/**
+	 * Number of messages of each MsgType validated after each logon, when the mode is {@code first-messages}.
+	 */
+	private int firstMessages = 100;
+
+	/**
+	 * MsgTypes validated when the mode is {@code msg-types}. With the {@code sampled} and {@code first-messages} modes,
+	 * the messages of these MsgTypes are always validated.
+	 */
+	private List<String> msgTypes = new ArrayList<>();
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+/**
+ * Defines which of the messages sent by the {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}
+ * are validated against the data dictionary.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum ValidationMode {
+
+	/**
+	 * Every message is validated.
+	 */
+	ALL,
+
+	/**
+	 * One message out of every {@code sample-rate} messages of each session is validated.
+	 */
+	SAMPLED,
+
+	/**
+	 * The first {@code first-messages} messages of each MsgType are validated after each logon of a session.
+	 */
+	FIRST_MESSAGES,
+
+	/**
+	 * Only the messages of the configured {@code msg-types} are validated.
+	 */
+	MSG_TYPES
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure;
+
+import lombok.Data;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Defines the write-behind decoration of the message store, moving the store writes off the send path.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Data
+public class WriteBehind {
+
+	/**
+	 * Whether to decorate the message store factory so that messages and sequence numbers are written to the
+	 * underlying store by a background flusher instead of on the send path.
+	 */
+	private boolean enabled = false;
+
+	/**
+	 * Maximum size of the messages waiting to be written before the sending thread flushes them itself.
+	 */
+	private DataSize maxInFlight = DataSize.ofMegabytes(16);
+
+	/**
+	 * Interval between two background flushes of the pending writes.
+	 */
+	private Duration flushInterval = Duration.ofMillis(10);
+
+	/**
+	 * Number of recently sent messages per session kept in memory to serve resend requests without a flush.
+	 */
+	private int recentMessages = 1024;
+}
@@ -16,7 +16,22 @@
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.client;
 
 import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJClientEndpoint;
+import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJLatencyEndpoint;
 import io.allune.quickfixj.spring.boot.actuate.health.QuickFixJSessionHealthIndicator;
+import io.allune.quickfixj.spring.boot.actuate.metrics.ApplicationMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.EventDispatcherMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker;
+import io.allune.quickfixj.spring.boot.actuate.metrics.MessageStoreMetrics;
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.application.ReceiveListener;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.Latency;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.QuickFixJBootProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.actuate.endpoint.Sanitizer;
@@ -28,11 +43,18 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import quickfix.Application;
 import quickfix.DefaultSessionScheduleFactory;
 import quickfix.Initiator;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
 import quickfix.SessionScheduleFactory;
 import quickfix.SessionSettings;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for {@link QuickFixJClientEndpoint}.
  *
@@ -67,6 +89,107 @@ public class QuickFixJClientActuatorAutoConfiguration {
 		return new QuickFixJSessionHealthIndicator(clientInitiator, sessionSchedule, clientSessionSettings);
 	}
 
+	@Bean
+	@ConditionalOnBean(name = "clientEventDispatcher")
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnMissingBean(name = "clientEventDispatcherMetrics")
+	public EventDispatcherMetrics clientEventDispatcherMetrics(EventDispatcher clientEventDispatcher) {
+		return new EventDispatcherMetrics(clientEventDispatcher, "client");
+	}
+
+	@Bean
+	@ConditionalOnBean(name = "clientMessageStoreFactory")
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnMissingBean(name = "clientMessageStoreMetrics")
+	public MessageStoreMetrics clientMessageStoreMetrics(MessageStoreFactory clientMessageStoreFactory) {
+		return new MessageStoreMetrics(clientMessageStoreFactory, "client");
+	}
+
+	/**
+	 * Decorates the client's {@link Application} with an {@link ApplicationMetrics} recording the time spent in
+	 * each callback, when {@code quickfixj.client.metrics.enabled} is set to {@code true}. The {@code clientApplication}
+	 * bean is replaced with the decorator, so it can no longer be injected by its own type
+	 *
+	 * @param properties The {@link QuickFixJBootProperties} properties, resolved lazily
+	 * @return The {@link BeanPostProcessor} decorating the {@code clientApplication} bean
+	 */
+	@Bean
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "quickfixj.client.metrics", name = "enabled", havingValue = "true")
+	public static BeanPostProcessor clientApplicationMetricsPostProcessor(ObjectProvider<QuickFixJBootProperties> properties) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if ("clientApplication".equals(beanName) && bean instanceof Application && !(bean instanceof ApplicationMetrics)) {
+					int maxMsgTypes = properties.getObject().getClient().getMetrics().getMaxMsgTypes();
+					return new ApplicationMetrics((Application) bean, "client", maxMsgTypes);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "quickfixj.client.latency", name = "enabled", havingValue = "true")
+	static class LatencyConfiguration {
+
+		/**
+		 * Creates the {@link LatencyTracker} recording the latency between the inbound application messages of the
+		 * client sessions and the correlated messages sent through the
+		 * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}
+		 *
+		 * @param properties            The {@link QuickFixJBootProperties} properties
+		 * @param clientSessionSettings The client's {@link SessionSettings}
+		 * @return The client's {@link LatencyTracker}
+		 */
+		@Bean
+		@ConditionalOnBean(name = "clientSessionSettings")
+		@ConditionalOnMissingBean(name = "clientLatencyTracker")
+		public LatencyTracker clientLatencyTracker(QuickFixJBootProperties properties, SessionSettings clientSessionSettings) {
+			Latency latency = properties.getClient().getLatency();
+			int maxMsgTypes = properties.getClient().getMetrics().getMaxMsgTypes();
+			LatencyTracker latencyTracker = new LatencyTracker("client", latency.getCorrelationTag(),
+					latency.getMaxPending(), latency.getMaxAge(), maxMsgTypes);
+			Set<SessionID> sessionIds = new HashSet<>();
+			clientSessionSettings.sectionIterator().forEachRemaining(sessionIds::add);
+			latencyTracker.setSessionFilter(sessionIds::contains);
+			latencyTracker.setInboundMsgTypes(latency.getInboundMsgTypes());
+			return latencyTracker;
+		}
+
+		/**
+		 * Registers the {@code clientLatencyTracker} as the {@link ReceiveListener} of the client's
+		 * {@link EventPublisherApplicationAdapter}, so that the inbound time of each message is taken on the session
+		 * thread before any {@link io.allune.quickfixj.spring.boot.starter.model.FromApp} listener runs
+		 *
+		 * @param beanFactory The {@link BeanFactory} the {@code clientLatencyTracker} is looked up from
+		 * @return The {@link BeanPostProcessor} registering the {@link ReceiveListener} on the {@code clientApplication} bean
+		 */
+		@Bean
+		public static BeanPostProcessor clientLatencyReceiveListenerPostProcessor(BeanFactory beanFactory) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessBeforeInitialization(Object bean, String beanName) {
+					if ("clientApplication".equals(beanName) && bean instanceof EventPublisherApplicationAdapter
+							&& beanFactory.containsBean("clientLatencyTracker")) {
+						((EventPublisherApplicationAdapter) bean)
+								.setReceiveListener(beanFactory.getBean("clientLatencyTracker", LatencyTracker.class));
+					}
+					return bean;
+				}
+			};
+		}
+
+		@Bean
+		@ConditionalOnBean(LatencyTracker.class)
+		@ConditionalOnMissingBean
+		@ConditionalOnAvailableEndpoint
+		public QuickFixJLatencyEndpoint quickfixjLatencyEndpoint(ObjectProvider<LatencyTracker> latencyTrackers) {
+			return new QuickFixJLatencyEndpoint(latencyTrackers.orderedStream().toList());
+		}
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public SessionScheduleFactory sessionSchedule() {
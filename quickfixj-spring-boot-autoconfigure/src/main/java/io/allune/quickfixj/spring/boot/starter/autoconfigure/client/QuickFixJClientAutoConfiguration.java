@@ -15,13 +15,30 @@
  */
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.client;
 
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
 import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.application.RingBufferEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.ShardedEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.AsyncLog;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.Events;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.ParallelStartup;
 import io.allune.quickfixj.spring.boot.starter.autoconfigure.QuickFixJBootProperties;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.WriteBehind;
 import io.allune.quickfixj.spring.boot.starter.connection.ConnectorManager;
+import io.allune.quickfixj.spring.boot.starter.connection.ParallelSessionInitializer;
 import io.allune.quickfixj.spring.boot.starter.connection.SessionSettingsLocator;
 import io.allune.quickfixj.spring.boot.starter.exception.ConfigurationException;
+import io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory;
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLogFactory;
+import io.allune.quickfixj.spring.boot.starter.store.JournalStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.MappedFileStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.WriteBehindStoreFactory;
 import org.quickfixj.jmx.JmxExporter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
@@ -34,6 +51,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import quickfix.Application;
 import quickfix.CachedFileStoreFactory;
@@ -112,12 +130,74 @@ public class QuickFixJClientAutoConfiguration {
 	 * {@link Initiator initiator} connector
 	 *
 	 * @param applicationEventPublisher Spring's default {@link ApplicationEventPublisher}
+	 * @param clientEventDispatcher     Optional client's {@link EventDispatcher}
 	 * @return The default client's {@link Application application} bean
 	 */
 	@Bean
 	@ConditionalOnMissingBean
-	public Application clientApplication(ApplicationEventPublisher applicationEventPublisher) {
-		return new EventPublisherApplicationAdapter(applicationEventPublisher);
+	public Application clientApplication(
+			ApplicationEventPublisher applicationEventPublisher,
+			@Qualifier("clientEventDispatcher") ObjectProvider<EventDispatcher> clientEventDispatcher
+	) {
+		return new EventPublisherApplicationAdapter(applicationEventPublisher, clientEventDispatcher.getIfAvailable());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class AsyncEventDispatcherConfiguration {
+
+		/**
+		 * Creates the client's {@link EventDispatcher} of type {@link RingBufferEventDispatcher} if
+		 * {@code quickfixj.client.events.mode} is set to {@code async}, used by the client's {@link Application}
+		 * to publish the events outside the session thread
+		 *
+		 * @param applicationEventPublisher Spring's default {@link ApplicationEventPublisher}
+		 * @param properties                The {@link QuickFixJBootProperties} properties
+		 * @return The client's {@link RingBufferEventDispatcher}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "clientEventDispatcher")
+		@ConditionalOnProperty(prefix = "quickfixj.client.events", name = "mode", havingValue = "async")
+		public RingBufferEventDispatcher clientEventDispatcher(
+				ApplicationEventPublisher applicationEventPublisher,
+				QuickFixJBootProperties properties
+		) {
+			Events events = properties.getClient().getEvents();
+			RingBufferEventDispatcher eventDispatcher =
+					new RingBufferEventDispatcher(applicationEventPublisher::publishEvent, events.getRingSize());
+			eventDispatcher.setWaitStrategy(events.getWaitStrategy());
+			eventDispatcher.setOverflowPolicy(events.getOverflowPolicy());
+			eventDispatcher.setThreadName(events.getThreadNamePrefix() + "client");
+			return eventDispatcher;
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ShardedEventDispatcherConfiguration {
+
+		/**
+		 * Creates the client's {@link EventDispatcher} of type {@link ShardedEventDispatcher} if
+		 * {@code quickfixj.client.events.mode} is set to {@code sharded}, used by the client's {@link Application}
+		 * to publish the events of different sessions in parallel
+		 *
+		 * @param applicationEventPublisher Spring's default {@link ApplicationEventPublisher}
+		 * @param properties                The {@link QuickFixJBootProperties} properties
+		 * @return The client's {@link ShardedEventDispatcher}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "clientEventDispatcher")
+		@ConditionalOnProperty(prefix = "quickfixj.client.events", name = "mode", havingValue = "sharded")
+		public ShardedEventDispatcher clientEventDispatcher(
+				ApplicationEventPublisher applicationEventPublisher,
+				QuickFixJBootProperties properties
+		) {
+			Events events = properties.getClient().getEvents();
+			ShardedEventDispatcher eventDispatcher = new ShardedEventDispatcher(
+					applicationEventPublisher::publishEvent, events.getShards(), events.getRingSize());
+			eventDispatcher.setWaitStrategy(events.getWaitStrategy());
+			eventDispatcher.setOverflowPolicy(events.getOverflowPolicy());
+			eventDispatcher.setThreadNamePrefix(events.getThreadNamePrefix() + "client-");
+			return eventDispatcher;
+		}
 	}
 
 	/**
@@ -235,6 +315,135 @@ public class QuickFixJClientAutoConfiguration {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class MappedFileMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the client's {@link MessageStoreFactory} of type {@link MappedFileStoreFactory} if
+		 * {@code quickfixj.client.message-store-factory} is set to {@code mmap}, used in the creation of the
+		 * {@link Initiator initiator} connector
+		 *
+		 * @param clientSessionSettings The client's {@link SessionSettings session settings} bean
+		 * @return The client's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.client", name = "message-store-factory", havingValue = "mmap")
+		public MessageStoreFactory clientMessageStoreFactory(SessionSettings clientSessionSettings) {
+			return new MappedFileStoreFactory(clientSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class JournalMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the client's {@link MessageStoreFactory} of type {@link JournalStoreFactory} if
+		 * {@code quickfixj.client.message-store-factory} is set to {@code journal}, used in the creation of the
+		 * {@link Initiator initiator} connector
+		 *
+		 * @param clientSessionSettings The client's {@link SessionSettings session settings} bean
+		 * @return The client's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.client", name = "message-store-factory", havingValue = "journal")
+		public MessageStoreFactory clientMessageStoreFactory(SessionSettings clientSessionSettings) {
+			return new JournalStoreFactory(clientSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class TieredMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the client's {@link MessageStoreFactory} of type {@link TieredStoreFactory} if
+		 * {@code quickfixj.client.message-store-factory} is set to {@code tiered}, used in the creation of the
+		 * {@link Initiator initiator} connector
+		 *
+		 * @param clientSessionSettings The client's {@link SessionSettings session settings} bean
+		 * @return The client's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.client", name = "message-store-factory", havingValue = "tiered")
+		public MessageStoreFactory clientMessageStoreFactory(SessionSettings clientSessionSettings) {
+			return new TieredStoreFactory(clientSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class OffHeapMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the client's {@link MessageStoreFactory} of type {@link OffHeapStoreFactory} if
+		 * {@code quickfixj.client.message-store-factory} is set to {@code offheap}, used in the creation of the
+		 * {@link Initiator initiator} connector
+		 *
+		 * @param clientSessionSettings The client's {@link SessionSettings session settings} bean
+		 * @return The client's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.client", name = "message-store-factory", havingValue = "offheap")
+		public MessageStoreFactory clientMessageStoreFactory(SessionSettings clientSessionSettings) {
+			return new OffHeapStoreFactory(clientSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.client.write-behind", name = "enabled", havingValue = "true")
+	static class WriteBehindMessageStoreFactoryConfiguration {
+
+		/**
+		 * Decorates the client's {@link MessageStoreFactory} with a {@link WriteBehindStoreFactory} if
+		 * {@code quickfixj.client.write-behind.enabled} is set to {@code true}, moving the writes to the underlying
+		 * message store off the send path of the {@link Initiator initiator} connector
+		 *
+		 * @param properties The {@link QuickFixJBootProperties} properties, resolved lazily
+		 * @return The {@link BeanPostProcessor} decorating the {@code clientMessageStoreFactory} bean
+		 */
+		@Bean
+		public static BeanPostProcessor clientWriteBehindMessageStoreFactoryPostProcessor(
+				ObjectProvider<QuickFixJBootProperties> properties
+		) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if ("clientMessageStoreFactory".equals(beanName) && bean instanceof MessageStoreFactory
+							&& !(bean instanceof WriteBehindStoreFactory)) {
+						WriteBehind writeBehind = properties.getObject().getClient().getWriteBehind();
+						WriteBehindStoreFactory writeBehindStoreFactory = new WriteBehindStoreFactory((MessageStoreFactory) bean);
+						writeBehindStoreFactory.setMaxPendingBytes(writeBehind.getMaxInFlight().toBytes());
+						writeBehindStoreFactory.setFlushInterval(writeBehind.getFlushInterval());
+						writeBehindStoreFactory.setRecentMessages(writeBehind.getRecentMessages());
+						return writeBehindStoreFactory;
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class BinaryLogFactoryConfiguration {
+
+		/**
+		 * Creates the client's {@link LogFactory} of type {@link BinaryLogFactory} if
+		 * {@code quickfixj.client.log-factory} is set to {@code binary}, used in the creation of the
+		 * {@link Initiator initiator} connector
+		 *
+		 * @param clientSessionSettings The client's {@link SessionSettings session settings} bean
+		 * @return The client's {@link LogFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.client", name = "log-factory", havingValue = "binary")
+		public LogFactory clientLogFactory(SessionSettings clientSessionSettings) {
+			return new BinaryLogFactory(clientSessionSettings);
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class FileLogFactoryConfiguration {
 
@@ -335,6 +544,38 @@ public class QuickFixJClientAutoConfiguration {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.client.async-log", name = "enabled", havingValue = "true")
+	static class AsyncLogFactoryConfiguration {
+
+		/**
+		 * Decorates the client's {@link LogFactory} with an {@link AsyncLogFactory} if
+		 * {@code quickfixj.client.async-log.enabled} is set to {@code true}, moving the logging off the session
+		 * threads of the {@link Initiator initiator} connector
+		 *
+		 * @param properties The {@link QuickFixJBootProperties} properties, resolved lazily
+		 * @return The {@link BeanPostProcessor} decorating the {@code clientLogFactory} bean
+		 */
+		@Bean
+		public static BeanPostProcessor clientAsyncLogFactoryPostProcessor(ObjectProvider<QuickFixJBootProperties> properties) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if ("clientLogFactory".equals(beanName) && bean instanceof LogFactory && !(bean instanceof AsyncLogFactory)) {
+						AsyncLog asyncLog = properties.getObject().getClient().getAsyncLog();
+						AsyncLogFactory asyncLogFactory = new AsyncLogFactory((LogFactory) bean);
+						asyncLogFactory.setQueueSize(asyncLog.getQueueSize());
+						asyncLogFactory.setBatchSize(asyncLog.getBatchSize());
+						asyncLogFactory.setOverflowPolicy(asyncLog.getOverflowPolicy());
+						asyncLogFactory.setThreadName("QuickFixJ-async-log-client");
+						return asyncLogFactory;
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
 	/**
 	 * Creates the default client's {@link MessageFactory}
 	 *
@@ -346,6 +587,37 @@ public class QuickFixJClientAutoConfiguration {
 		return new DefaultMessageFactory();
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.client.parallel-startup", name = "enabled", havingValue = "true")
+	static class ParallelStartupConfiguration {
+
+		/**
+		 * Creates the client's {@link ParallelSessionInitializer} if {@code quickfixj.client.parallel-startup.enabled} is
+		 * set to {@code true}, creating the message stores and logs of the sessions of the {@link Initiator initiator}
+		 * connector in parallel before it is started
+		 *
+		 * @param clientSessionSettings     The client's {@link SessionSettings}
+		 * @param clientMessageStoreFactory The client's {@link MessageStoreFactory}
+		 * @param clientLogFactory          The client's {@link LogFactory}
+		 * @param properties                The {@link QuickFixJBootProperties} properties
+		 * @return The client's {@link ParallelSessionInitializer}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "clientSessionInitializer")
+		public ParallelSessionInitializer clientSessionInitializer(
+				SessionSettings clientSessionSettings,
+				MessageStoreFactory clientMessageStoreFactory,
+				LogFactory clientLogFactory,
+				QuickFixJBootProperties properties
+		) {
+			ParallelStartup parallelStartup = properties.getClient().getParallelStartup();
+			ParallelSessionInitializer sessionInitializer =
+					new ParallelSessionInitializer(clientSessionSettings, clientMessageStoreFactory, clientLogFactory);
+			sessionInitializer.setParallelism(parallelStartup.getParallelism());
+			return sessionInitializer;
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	public static class SocketInitiatorConfiguration {
 
@@ -358,6 +630,7 @@ public class QuickFixJClientAutoConfiguration {
 		 * @param clientLogFactory          The client's {@link LogFactory}
 		 * @param clientMessageFactory      The client's {@link MessageFactory}
 		 * @param clientExecutorFactory     Optional client's {@link ExecutorFactory}
+		 * @param clientSessionInitializer  Optional client's {@link ParallelSessionInitializer}
 		 * @return The client's {@link Initiator}
 		 * @throws ConfigError exception thrown when a configuration error is detected
 		 */
@@ -370,13 +643,20 @@ public class QuickFixJClientAutoConfiguration {
 				SessionSettings clientSessionSettings,
 				LogFactory clientLogFactory,
 				MessageFactory clientMessageFactory,
-				Optional<ExecutorFactory> clientExecutorFactory
+				Optional<ExecutorFactory> clientExecutorFactory,
+				Optional<ParallelSessionInitializer> clientSessionInitializer
 		) throws ConfigError {
+			MessageStoreFactory messageStoreFactory = clientSessionInitializer
+					.map(ParallelSessionInitializer::getMessageStoreFactory)
+					.orElse(clientMessageStoreFactory);
+			LogFactory logFactory = clientSessionInitializer
+					.map(ParallelSessionInitializer::getLogFactory)
+					.orElse(clientLogFactory);
 			SocketInitiator socketInitiator = SocketInitiator.newBuilder()
 					.withApplication(clientApplication)
-					.withMessageStoreFactory(clientMessageStoreFactory)
+					.withMessageStoreFactory(messageStoreFactory)
 					.withSettings(clientSessionSettings)
-					.withLogFactory(clientLogFactory)
+					.withLogFactory(logFactory)
 					.withMessageFactory(clientMessageFactory)
 					.build();
 			clientExecutorFactory.ifPresent(socketInitiator::setExecutorFactory);
@@ -396,6 +676,7 @@ public class QuickFixJClientAutoConfiguration {
 		 * @param clientLogFactory          The client's {@link LogFactory}
 		 * @param clientMessageFactory      The client's {@link MessageFactory}
 		 * @param clientExecutorFactory     Optional client's {@link ExecutorFactory}
+		 * @param clientSessionInitializer  Optional client's {@link ParallelSessionInitializer}
 		 * @return The client's {@link Initiator}
 		 * @throws ConfigError exception thrown when a configuration error is detected
 		 */
@@ -408,14 +689,21 @@ public class QuickFixJClientAutoConfiguration {
 				SessionSettings clientSessionSettings,
 				LogFactory clientLogFactory,
 				MessageFactory clientMessageFactory,
-				Optional<ExecutorFactory> clientExecutorFactory
+				Optional<ExecutorFactory> clientExecutorFactory,
+				Optional<ParallelSessionInitializer> clientSessionInitializer
 		) throws ConfigError {
+			MessageStoreFactory messageStoreFactory = clientSessionInitializer
+					.map(ParallelSessionInitializer::getMessageStoreFactory)
+					.orElse(clientMessageStoreFactory);
+			LogFactory logFactory = clientSessionInitializer
+					.map(ParallelSessionInitializer::getLogFactory)
+					.orElse(clientLogFactory);
 
 			ThreadedSocketInitiator socketInitiator = ThreadedSocketInitiator.newBuilder()
 					.withApplication(clientApplication)
-					.withMessageStoreFactory(clientMessageStoreFactory)
+					.withMessageStoreFactory(messageStoreFactory)
 					.withSettings(clientSessionSettings)
-					.withLogFactory(clientLogFactory)
+					.withLogFactory(logFactory)
 					.withMessageFactory(clientMessageFactory)
 					.build();
 			clientExecutorFactory.ifPresent(socketInitiator::setExecutorFactory);
@@ -423,24 +711,49 @@ public class QuickFixJClientAutoConfiguration {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.client.concurrent", name = "executor", havingValue = "virtual")
+	static class VirtualThreadExecutorFactoryConfiguration {
+
+		/**
+		 * Creates the client's {@link ExecutorFactory} running both the long and short lived tasks on virtual threads
+		 * if {@code quickfixj.client.concurrent.executor} is set to {@code virtual}
+		 *
+		 * @param clientTaskExecutor The client's virtual thread {@link Executor}
+		 * @return The client's {@link ExecutorFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public ExecutorFactory clientExecutorFactory(@Qualifier("clientTaskExecutor") Executor clientTaskExecutor) {
+			return executorFactory(clientTaskExecutor);
+		}
+
+		/**
+		 * Creates the client's {@link Executor} starting a new virtual thread per task
+		 *
+		 * @param properties The {@link QuickFixJBootProperties} properties
+		 * @return The client's {@link Executor}
+		 */
+		@Bean
+		public Executor clientTaskExecutor(QuickFixJBootProperties properties) {
+			try {
+				return new VirtualThreadTaskExecutor(properties.getClient().getConcurrent().getThreadNamePrefix());
+			} catch (UnsupportedOperationException e) {
+				throw new ConfigurationException("Virtual threads require Java 21 or later, the current version is "
+						+ Runtime.version(), e);
+			}
+		}
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnProperty(prefix = "quickfixj.client.concurrent", name = "useDefaultExecutorFactory", havingValue = "true")
 	public ExecutorFactory clientExecutorFactory(@Qualifier("clientTaskExecutor") Executor clientTaskExecutor) {
-		return new ExecutorFactory() {
-			@Override
-			public Executor getLongLivedExecutor() {
-				return clientTaskExecutor;
-			}
-
-			@Override
-			public Executor getShortLivedExecutor() {
-				return clientTaskExecutor;
-			}
-		};
+		return executorFactory(clientTaskExecutor);
 	}
 
 	@Bean
+	@ConditionalOnMissingBean(name = "clientTaskExecutor")
 	@ConditionalOnProperty(prefix = "quickfixj.client.concurrent", name = "useDefaultExecutorFactory", havingValue = "true")
 	public Executor clientTaskExecutor(QuickFixJBootProperties properties) {
 		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -455,24 +768,42 @@ public class QuickFixJClientAutoConfiguration {
 		return executor;
 	}
 
+	private static ExecutorFactory executorFactory(Executor taskExecutor) {
+		return new ExecutorFactory() {
+			@Override
+			public Executor getLongLivedExecutor() {
+				return taskExecutor;
+			}
+
+			@Override
+			public Executor getShortLivedExecutor() {
+				return taskExecutor;
+			}
+		};
+	}
+
 	/**
 	 * Creates the client's {@link ConnectorManager}
 	 *
-	 * @param clientInitiator The client's {@link Initiator}
-	 * @param properties      The {@link QuickFixJBootProperties} properties
+	 * @param clientInitiator          The client's {@link Initiator}
+	 * @param properties               The {@link QuickFixJBootProperties} properties
+	 * @param clientSessionInitializer Optional client's {@link ParallelSessionInitializer}
 	 * @return The client's {@link ConnectorManager}
 	 */
 	@Bean
 	public ConnectorManager clientConnectorManager(
 			Initiator clientInitiator,
-			QuickFixJBootProperties properties
+			QuickFixJBootProperties properties,
+			ObjectProvider<ParallelSessionInitializer> clientSessionInitializer
 	) {
 		ConnectorManager connectorManager = new ConnectorManager(clientInitiator);
 		if (properties.getClient() != null) {
 			connectorManager.setAutoStartup(properties.getClient().isAutoStartup());
 			connectorManager.setPhase(properties.getClient().getPhase());
 			connectorManager.setForceDisconnect(properties.getClient().isForceDisconnect());
+			connectorManager.setStopTimeout(properties.getClient().getStopTimeout());
 		}
+		clientSessionInitializer.ifAvailable(connectorManager::setSessionInitializer);
 		return connectorManager;
 	}
 
@@ -16,7 +16,22 @@
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.server;
 
 import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJServerEndpoint;
+import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJLatencyEndpoint;
 import io.allune.quickfixj.spring.boot.actuate.health.QuickFixJSessionHealthIndicator;
+import io.allune.quickfixj.spring.boot.actuate.metrics.ApplicationMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.EventDispatcherMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker;
+import io.allune.quickfixj.spring.boot.actuate.metrics.MessageStoreMetrics;
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.application.ReceiveListener;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.Latency;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.QuickFixJBootProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
 import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
 import org.springframework.boot.actuate.endpoint.Sanitizer;
@@ -28,11 +43,18 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import quickfix.Acceptor;
+import quickfix.Application;
 import quickfix.DefaultSessionScheduleFactory;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
 import quickfix.SessionScheduleFactory;
 import quickfix.SessionSettings;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for {@link QuickFixJServerEndpoint}.
  *
@@ -67,6 +89,107 @@ public class QuickFixJServerActuatorAutoConfiguration {
 		return new QuickFixJSessionHealthIndicator(serverAcceptor, sessionSchedule, clientSessionSettings);
 	}
 
+	@Bean
+	@ConditionalOnBean(name = "serverEventDispatcher")
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnMissingBean(name = "serverEventDispatcherMetrics")
+	public EventDispatcherMetrics serverEventDispatcherMetrics(EventDispatcher serverEventDispatcher) {
+		return new EventDispatcherMetrics(serverEventDispatcher, "server");
+	}
+
+	@Bean
+	@ConditionalOnBean(name = "serverMessageStoreFactory")
+	@ConditionalOnClass(MeterBinder.class)
+	@ConditionalOnMissingBean(name = "serverMessageStoreMetrics")
+	public MessageStoreMetrics serverMessageStoreMetrics(MessageStoreFactory serverMessageStoreFactory) {
+		return new MessageStoreMetrics(serverMessageStoreFactory, "server");
+	}
+
+	/**
+	 * Decorates the server's {@link Application} with an {@link ApplicationMetrics} recording the time spent in
+	 * each callback, when {@code quickfixj.server.metrics.enabled} is set to {@code true}. The {@code serverApplication}
+	 * bean is replaced with the decorator, so it can no longer be injected by its own type
+	 *
+	 * @param properties The {@link QuickFixJBootProperties} properties, resolved lazily
+	 * @return The {@link BeanPostProcessor} decorating the {@code serverApplication} bean
+	 */
+	@Bean
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "quickfixj.server.metrics", name = "enabled", havingValue = "true")
+	public static BeanPostProcessor serverApplicationMetricsPostProcessor(ObjectProvider<QuickFixJBootProperties> properties) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if ("serverApplication".equals(beanName) && bean instanceof Application && !(bean instanceof ApplicationMetrics)) {
+					int maxMsgTypes = properties.getObject().getServer().getMetrics().getMaxMsgTypes();
+					return new ApplicationMetrics((Application) bean, "server", maxMsgTypes);
+				}
+				return bean;
+			}
+		};
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(MeterRegistry.class)
+	@ConditionalOnProperty(prefix = "quickfixj.server.latency", name = "enabled", havingValue = "true")
+	static class LatencyConfiguration {
+
+		/**
+		 * Creates the {@link LatencyTracker} recording the latency between the inbound application messages of the
+		 * server sessions and the correlated messages sent through the
+		 * {@link io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate}
+		 *
+		 * @param properties            The {@link QuickFixJBootProperties} properties
+		 * @param serverSessionSettings The server's {@link SessionSettings}
+		 * @return The server's {@link LatencyTracker}
+		 */
+		@Bean
+		@ConditionalOnBean(name = "serverSessionSettings")
+		@ConditionalOnMissingBean(name = "serverLatencyTracker")
+		public LatencyTracker serverLatencyTracker(QuickFixJBootProperties properties, SessionSettings serverSessionSettings) {
+			Latency latency = properties.getServer().getLatency();
+			int maxMsgTypes = properties.getServer().getMetrics().getMaxMsgTypes();
+			LatencyTracker latencyTracker = new LatencyTracker("server", latency.getCorrelationTag(),
+					latency.getMaxPending(), latency.getMaxAge(), maxMsgTypes);
+			Set<SessionID> sessionIds = new HashSet<>();
+			serverSessionSettings.sectionIterator().forEachRemaining(sessionIds::add);
+			latencyTracker.setSessionFilter(sessionIds::contains);
+			latencyTracker.setInboundMsgTypes(latency.getInboundMsgTypes());
+			return latencyTracker;
+		}
+
+		/**
+		 * Registers the {@code serverLatencyTracker} as the {@link ReceiveListener} of the server's
+		 * {@link EventPublisherApplicationAdapter}, so that the inbound time of each message is taken on the session
+		 * thread before any {@link io.allune.quickfixj.spring.boot.starter.model.FromApp} listener runs
+		 *
+		 * @param beanFactory The {@link BeanFactory} the {@code serverLatencyTracker} is looked up from
+		 * @return The {@link BeanPostProcessor} registering the {@link ReceiveListener} on the {@code serverApplication} bean
+		 */
+		@Bean
+		public static BeanPostProcessor serverLatencyReceiveListenerPostProcessor(BeanFactory beanFactory) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessBeforeInitialization(Object bean, String beanName) {
+					if ("serverApplication".equals(beanName) && bean instanceof EventPublisherApplicationAdapter
+							&& beanFactory.containsBean("serverLatencyTracker")) {
+						((EventPublisherApplicationAdapter) bean)
+								.setReceiveListener(beanFactory.getBean("serverLatencyTracker", LatencyTracker.class));
+					}
+					return bean;
+				}
+			};
+		}
+
+		@Bean
+		@ConditionalOnBean(LatencyTracker.class)
+		@ConditionalOnMissingBean
+		@ConditionalOnAvailableEndpoint
+		public QuickFixJLatencyEndpoint quickfixjLatencyEndpoint(ObjectProvider<LatencyTracker> latencyTrackers) {
+			return new QuickFixJLatencyEndpoint(latencyTrackers.orderedStream().toList());
+		}
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	public SessionScheduleFactory sessionSchedule() {
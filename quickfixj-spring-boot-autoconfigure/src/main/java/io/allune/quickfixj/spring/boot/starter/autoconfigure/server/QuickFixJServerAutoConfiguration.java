@@ -15,13 +15,30 @@
  */
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.server;
 
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
 import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.application.RingBufferEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.ShardedEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.AsyncLog;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.Events;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.ParallelStartup;
 import io.allune.quickfixj.spring.boot.starter.autoconfigure.QuickFixJBootProperties;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.WriteBehind;
 import io.allune.quickfixj.spring.boot.starter.connection.ConnectorManager;
+import io.allune.quickfixj.spring.boot.starter.connection.ParallelSessionInitializer;
 import io.allune.quickfixj.spring.boot.starter.connection.SessionSettingsLocator;
 import io.allune.quickfixj.spring.boot.starter.exception.ConfigurationException;
+import io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory;
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLogFactory;
+import io.allune.quickfixj.spring.boot.starter.store.JournalStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.MappedFileStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.WriteBehindStoreFactory;
 import org.quickfixj.jmx.JmxExporter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
@@ -34,6 +51,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import quickfix.Acceptor;
 import quickfix.Application;
@@ -112,12 +130,74 @@ public class QuickFixJServerAutoConfiguration {
 	 * {@link Acceptor acceptor} connector
 	 *
 	 * @param applicationEventPublisher Spring's default {@link ApplicationEventPublisher}
+	 * @param serverEventDispatcher     Optional server's {@link EventDispatcher}
 	 * @return The default server's {@link Application application} bean
 	 */
 	@Bean
 	@ConditionalOnMissingBean
-	public Application serverApplication(ApplicationEventPublisher applicationEventPublisher) {
-		return new EventPublisherApplicationAdapter(applicationEventPublisher);
+	public Application serverApplication(
+			ApplicationEventPublisher applicationEventPublisher,
+			@Qualifier("serverEventDispatcher") ObjectProvider<EventDispatcher> serverEventDispatcher
+	) {
+		return new EventPublisherApplicationAdapter(applicationEventPublisher, serverEventDispatcher.getIfAvailable());
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class AsyncEventDispatcherConfiguration {
+
+		/**
+		 * Creates the server's {@link EventDispatcher} of type {@link RingBufferEventDispatcher} if
+		 * {@code quickfixj.server.events.mode} is set to {@code async}, used by the server's {@link Application}
+		 * to publish the events outside the session thread
+		 *
+		 * @param applicationEventPublisher Spring's default {@link ApplicationEventPublisher}
+		 * @param properties                The {@link QuickFixJBootProperties} properties
+		 * @return The server's {@link RingBufferEventDispatcher}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "serverEventDispatcher")
+		@ConditionalOnProperty(prefix = "quickfixj.server.events", name = "mode", havingValue = "async")
+		public RingBufferEventDispatcher serverEventDispatcher(
+				ApplicationEventPublisher applicationEventPublisher,
+				QuickFixJBootProperties properties
+		) {
+			Events events = properties.getServer().getEvents();
+			RingBufferEventDispatcher eventDispatcher =
+					new RingBufferEventDispatcher(applicationEventPublisher::publishEvent, events.getRingSize());
+			eventDispatcher.setWaitStrategy(events.getWaitStrategy());
+			eventDispatcher.setOverflowPolicy(events.getOverflowPolicy());
+			eventDispatcher.setThreadName(events.getThreadNamePrefix() + "server");
+			return eventDispatcher;
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class ShardedEventDispatcherConfiguration {
+
+		/**
+		 * Creates the server's {@link EventDispatcher} of type {@link ShardedEventDispatcher} if
+		 * {@code quickfixj.server.events.mode} is set to {@code sharded}, used by the server's {@link Application}
+		 * to publish the events of different sessions in parallel
+		 *
+		 * @param applicationEventPublisher Spring's default {@link ApplicationEventPublisher}
+		 * @param properties                The {@link QuickFixJBootProperties} properties
+		 * @return The server's {@link ShardedEventDispatcher}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "serverEventDispatcher")
+		@ConditionalOnProperty(prefix = "quickfixj.server.events", name = "mode", havingValue = "sharded")
+		public ShardedEventDispatcher serverEventDispatcher(
+				ApplicationEventPublisher applicationEventPublisher,
+				QuickFixJBootProperties properties
+		) {
+			Events events = properties.getServer().getEvents();
+			ShardedEventDispatcher eventDispatcher = new ShardedEventDispatcher(
+					applicationEventPublisher::publishEvent, events.getShards(), events.getRingSize());
+			eventDispatcher.setWaitStrategy(events.getWaitStrategy());
+			eventDispatcher.setOverflowPolicy(events.getOverflowPolicy());
+			eventDispatcher.setThreadNamePrefix(events.getThreadNamePrefix() + "server-");
+			return eventDispatcher;
+		}
 	}
 
 	/**
@@ -235,6 +315,135 @@ public class QuickFixJServerAutoConfiguration {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	static class MappedFileMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the server's {@link MessageStoreFactory} of type {@link MappedFileStoreFactory} if
+		 * {@code quickfixj.server.message-store-factory} is set to {@code mmap}, used in the creation of the
+		 * {@link Acceptor acceptor} connector
+		 *
+		 * @param serverSessionSettings The server's {@link SessionSettings session settings} bean
+		 * @return The server's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.server", name = "message-store-factory", havingValue = "mmap")
+		public MessageStoreFactory serverMessageStoreFactory(SessionSettings serverSessionSettings) {
+			return new MappedFileStoreFactory(serverSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class JournalMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the server's {@link MessageStoreFactory} of type {@link JournalStoreFactory} if
+		 * {@code quickfixj.server.message-store-factory} is set to {@code journal}, used in the creation of the
+		 * {@link Acceptor acceptor} connector
+		 *
+		 * @param serverSessionSettings The server's {@link SessionSettings session settings} bean
+		 * @return The server's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.server", name = "message-store-factory", havingValue = "journal")
+		public MessageStoreFactory serverMessageStoreFactory(SessionSettings serverSessionSettings) {
+			return new JournalStoreFactory(serverSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class TieredMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the server's {@link MessageStoreFactory} of type {@link TieredStoreFactory} if
+		 * {@code quickfixj.server.message-store-factory} is set to {@code tiered}, used in the creation of the
+		 * {@link Acceptor acceptor} connector
+		 *
+		 * @param serverSessionSettings The server's {@link SessionSettings session settings} bean
+		 * @return The server's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.server", name = "message-store-factory", havingValue = "tiered")
+		public MessageStoreFactory serverMessageStoreFactory(SessionSettings serverSessionSettings) {
+			return new TieredStoreFactory(serverSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class OffHeapMessageStoreFactoryConfiguration {
+
+		/**
+		 * Creates the server's {@link MessageStoreFactory} of type {@link OffHeapStoreFactory} if
+		 * {@code quickfixj.server.message-store-factory} is set to {@code offheap}, used in the creation of the
+		 * {@link Acceptor acceptor} connector
+		 *
+		 * @param serverSessionSettings The server's {@link SessionSettings session settings} bean
+		 * @return The server's {@link MessageStoreFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.server", name = "message-store-factory", havingValue = "offheap")
+		public MessageStoreFactory serverMessageStoreFactory(SessionSettings serverSessionSettings) {
+			return new OffHeapStoreFactory(serverSessionSettings);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.server.write-behind", name = "enabled", havingValue = "true")
+	static class WriteBehindMessageStoreFactoryConfiguration {
+
+		/**
+		 * Decorates the server's {@link MessageStoreFactory} with a {@link WriteBehindStoreFactory} if
+		 * {@code quickfixj.server.write-behind.enabled} is set to {@code true}, moving the writes to the underlying
+		 * message store off the send path of the {@link Acceptor acceptor} connector
+		 *
+		 * @param properties The {@link QuickFixJBootProperties} properties, resolved lazily
+		 * @return The {@link BeanPostProcessor} decorating the {@code serverMessageStoreFactory} bean
+		 */
+		@Bean
+		public static BeanPostProcessor serverWriteBehindMessageStoreFactoryPostProcessor(
+				ObjectProvider<QuickFixJBootProperties> properties
+		) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if ("serverMessageStoreFactory".equals(beanName) && bean instanceof MessageStoreFactory
+							&& !(bean instanceof WriteBehindStoreFactory)) {
+						WriteBehind writeBehind = properties.getObject().getServer().getWriteBehind();
+						WriteBehindStoreFactory writeBehindStoreFactory = new WriteBehindStoreFactory((MessageStoreFactory) bean);
+						writeBehindStoreFactory.setMaxPendingBytes(writeBehind.getMaxInFlight().toBytes());
+						writeBehindStoreFactory.setFlushInterval(writeBehind.getFlushInterval());
+						writeBehindStoreFactory.setRecentMessages(writeBehind.getRecentMessages());
+						return writeBehindStoreFactory;
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	static class BinaryLogFactoryConfiguration {
+
+		/**
+		 * Creates the server's {@link LogFactory} of type {@link BinaryLogFactory} if
+		 * {@code quickfixj.server.log-factory} is set to {@code binary}, used in the creation of the
+		 * {@link Acceptor acceptor} connector
+		 *
+		 * @param serverSessionSettings The server's {@link SessionSettings session settings} bean
+		 * @return The server's {@link LogFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		@ConditionalOnProperty(prefix = "quickfixj.server", name = "log-factory", havingValue = "binary")
+		public LogFactory serverLogFactory(SessionSettings serverSessionSettings) {
+			return new BinaryLogFactory(serverSessionSettings);
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	static class FileLogFactoryConfiguration {
 
@@ -335,6 +544,38 @@ public class QuickFixJServerAutoConfiguration {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.server.async-log", name = "enabled", havingValue = "true")
+	static class AsyncLogFactoryConfiguration {
+
+		/**
+		 * Decorates the server's {@link LogFactory} with an {@link AsyncLogFactory} if
+		 * {@code quickfixj.server.async-log.enabled} is set to {@code true}, moving the logging off the session
+		 * threads of the {@link Acceptor acceptor} connector
+		 *
+		 * @param properties The {@link QuickFixJBootProperties} properties, resolved lazily
+		 * @return The {@link BeanPostProcessor} decorating the {@code serverLogFactory} bean
+		 */
+		@Bean
+		public static BeanPostProcessor serverAsyncLogFactoryPostProcessor(ObjectProvider<QuickFixJBootProperties> properties) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					if ("serverLogFactory".equals(beanName) && bean instanceof LogFactory && !(bean instanceof AsyncLogFactory)) {
+						AsyncLog asyncLog = properties.getObject().getServer().getAsyncLog();
+						AsyncLogFactory asyncLogFactory = new AsyncLogFactory((LogFactory) bean);
+						asyncLogFactory.setQueueSize(asyncLog.getQueueSize());
+						asyncLogFactory.setBatchSize(asyncLog.getBatchSize());
+						asyncLogFactory.setOverflowPolicy(asyncLog.getOverflowPolicy());
+						asyncLogFactory.setThreadName("QuickFixJ-async-log-server");
+						return asyncLogFactory;
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
 	/**
 	 * Creates the default server's {@link MessageFactory}
 	 *
@@ -346,6 +587,37 @@ public class QuickFixJServerAutoConfiguration {
 		return new DefaultMessageFactory();
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.server.parallel-startup", name = "enabled", havingValue = "true")
+	static class ParallelStartupConfiguration {
+
+		/**
+		 * Creates the server's {@link ParallelSessionInitializer} if {@code quickfixj.server.parallel-startup.enabled} is
+		 * set to {@code true}, creating the message stores and logs of the sessions of the {@link Acceptor acceptor}
+		 * connector in parallel before it is started
+		 *
+		 * @param serverSessionSettings     The server's {@link SessionSettings}
+		 * @param serverMessageStoreFactory The server's {@link MessageStoreFactory}
+		 * @param serverLogFactory          The server's {@link LogFactory}
+		 * @param properties                The {@link QuickFixJBootProperties} properties
+		 * @return The server's {@link ParallelSessionInitializer}
+		 */
+		@Bean
+		@ConditionalOnMissingBean(name = "serverSessionInitializer")
+		public ParallelSessionInitializer serverSessionInitializer(
+				SessionSettings serverSessionSettings,
+				MessageStoreFactory serverMessageStoreFactory,
+				LogFactory serverLogFactory,
+				QuickFixJBootProperties properties
+		) {
+			ParallelStartup parallelStartup = properties.getServer().getParallelStartup();
+			ParallelSessionInitializer sessionInitializer =
+					new ParallelSessionInitializer(serverSessionSettings, serverMessageStoreFactory, serverLogFactory);
+			sessionInitializer.setParallelism(parallelStartup.getParallelism());
+			return sessionInitializer;
+		}
+	}
+
 	@Configuration(proxyBeanMethods = false)
 	public static class SocketAcceptorConfiguration {
 
@@ -358,6 +630,7 @@ public class QuickFixJServerAutoConfiguration {
 		 * @param serverLogFactory          The server's {@link LogFactory}
 		 * @param serverMessageFactory      The server's {@link MessageFactory}
 		 * @param serverExecutorFactory     Optional server's {@link ExecutorFactory}
+		 * @param serverSessionInitializer  Optional server's {@link ParallelSessionInitializer}
 		 * @return The server's {@link Acceptor acceptor}
 		 * @throws ConfigError exception thrown when a configuration error is detected
 		 */
@@ -370,13 +643,20 @@ public class QuickFixJServerAutoConfiguration {
 				SessionSettings serverSessionSettings,
 				LogFactory serverLogFactory,
 				MessageFactory serverMessageFactory,
-				Optional<ExecutorFactory> serverExecutorFactory
+				Optional<ExecutorFactory> serverExecutorFactory,
+				Optional<ParallelSessionInitializer> serverSessionInitializer
 		) throws ConfigError {
+			MessageStoreFactory messageStoreFactory = serverSessionInitializer
+					.map(ParallelSessionInitializer::getMessageStoreFactory)
+					.orElse(serverMessageStoreFactory);
+			LogFactory logFactory = serverSessionInitializer
+					.map(ParallelSessionInitializer::getLogFactory)
+					.orElse(serverLogFactory);
 			SocketAcceptor socketAcceptor = SocketAcceptor.newBuilder()
 					.withApplication(serverApplication)
-					.withMessageStoreFactory(serverMessageStoreFactory)
+					.withMessageStoreFactory(messageStoreFactory)
 					.withSettings(serverSessionSettings)
-					.withLogFactory(serverLogFactory)
+					.withLogFactory(logFactory)
 					.withMessageFactory(serverMessageFactory)
 					.build();
 			serverExecutorFactory.ifPresent(socketAcceptor::setExecutorFactory);
@@ -396,6 +676,7 @@ public class QuickFixJServerAutoConfiguration {
 		 * @param serverLogFactory          The server's {@link LogFactory}
 		 * @param serverMessageFactory      The server's {@link MessageFactory}
 		 * @param serverExecutorFactory     Optional server's {@link ExecutorFactory}
+		 * @param serverSessionInitializer  Optional server's {@link ParallelSessionInitializer}
 		 * @return The server's {@link Acceptor acceptor}
 		 * @throws ConfigError exception thrown when a configuration error is detected
 		 */
@@ -408,14 +689,21 @@ public class QuickFixJServerAutoConfiguration {
 				SessionSettings serverSessionSettings,
 				LogFactory serverLogFactory,
 				MessageFactory serverMessageFactory,
-				Optional<ExecutorFactory> serverExecutorFactory
+				Optional<ExecutorFactory> serverExecutorFactory,
+				Optional<ParallelSessionInitializer> serverSessionInitializer
 		) throws ConfigError {
+			MessageStoreFactory messageStoreFactory = serverSessionInitializer
+					.map(ParallelSessionInitializer::getMessageStoreFactory)
+					.orElse(serverMessageStoreFactory);
+			LogFactory logFactory = serverSessionInitializer
+					.map(ParallelSessionInitializer::getLogFactory)
+					.orElse(serverLogFactory);
 
 			ThreadedSocketAcceptor socketAcceptor = ThreadedSocketAcceptor.newBuilder()
 					.withApplication(serverApplication)
-					.withMessageStoreFactory(serverMessageStoreFactory)
+					.withMessageStoreFactory(messageStoreFactory)
 					.withSettings(serverSessionSettings)
-					.withLogFactory(serverLogFactory)
+					.withLogFactory(logFactory)
 					.withMessageFactory(serverMessageFactory)
 					.build();
 			serverExecutorFactory.ifPresent(socketAcceptor::setExecutorFactory);
@@ -423,24 +711,49 @@ public class QuickFixJServerAutoConfiguration {
 		}
 	}
 
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.server.concurrent", name = "executor", havingValue = "virtual")
+	static class VirtualThreadExecutorFactoryConfiguration {
+
+		/**
+		 * Creates the server's {@link ExecutorFactory} running both the long and short lived tasks on virtual threads
+		 * if {@code quickfixj.server.concurrent.executor} is set to {@code virtual}
+		 *
+		 * @param serverTaskExecutor The server's virtual thread {@link Executor}
+		 * @return The server's {@link ExecutorFactory}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public ExecutorFactory serverExecutorFactory(@Qualifier("serverTaskExecutor") Executor serverTaskExecutor) {
+			return executorFactory(serverTaskExecutor);
+		}
+
+		/**
+		 * Creates the server's {@link Executor} starting a new virtual thread per task
+		 *
+		 * @param properties The {@link QuickFixJBootProperties} properties
+		 * @return The server's {@link Executor}
+		 */
+		@Bean
+		public Executor serverTaskExecutor(QuickFixJBootProperties properties) {
+			try {
+				return new VirtualThreadTaskExecutor(properties.getServer().getConcurrent().getThreadNamePrefix());
+			} catch (UnsupportedOperationException e) {
+				throw new ConfigurationException("Virtual threads require Java 21 or later, the current version is "
+						+ Runtime.version(), e);
+			}
+		}
+	}
+
 	@Bean
 	@ConditionalOnMissingBean
 	@ConditionalOnProperty(prefix = "quickfixj.server.concurrent", name = "useDefaultExecutorFactory", havingValue = "true")
 	public ExecutorFactory serverExecutorFactory(@Qualifier("serverTaskExecutor") Executor serverTaskExecutor) {
-		return new ExecutorFactory() {
-			@Override
-			public Executor getLongLivedExecutor() {
-				return serverTaskExecutor;
-			}
-
-			@Override
-			public Executor getShortLivedExecutor() {
-				return serverTaskExecutor;
-			}
-		};
+		return executorFactory(serverTaskExecutor);
 	}
 
 	@Bean
+	@ConditionalOnMissingBean(name = "serverTaskExecutor")
 	@ConditionalOnProperty(prefix = "quickfixj.server.concurrent", name = "useDefaultExecutorFactory", havingValue = "true")
 	public Executor serverTaskExecutor(QuickFixJBootProperties properties) {
 		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
@@ -455,24 +768,42 @@ public class QuickFixJServerAutoConfiguration {
 		return executor;
 	}
 
+	private static ExecutorFactory executorFactory(Executor taskExecutor) {
+		return new ExecutorFactory() {
+			@Override
+			public Executor getLongLivedExecutor() {
+				return taskExecutor;
+			}
+
+			@Override
+			public Executor getShortLivedExecutor() {
+				return taskExecutor;
+			}
+		};
+	}
+
 	/**
 	 * Creates the server's {@link ConnectorManager}
 	 *
-	 * @param serverAcceptor The server's {@link Acceptor acceptor}
-	 * @param properties     The {@link QuickFixJBootProperties} properties
+	 * @param serverAcceptor           The server's {@link Acceptor acceptor}
+	 * @param properties               The {@link QuickFixJBootProperties} properties
+	 * @param serverSessionInitializer Optional server's {@link ParallelSessionInitializer}
 	 * @return The server's {@link ConnectorManager}
 	 */
 	@Bean
 	public ConnectorManager serverConnectorManager(
 			Acceptor serverAcceptor,
-			QuickFixJBootProperties properties
+			QuickFixJBootProperties properties,
+			ObjectProvider<ParallelSessionInitializer> serverSessionInitializer
 	) {
 		ConnectorManager connectorManager = new ConnectorManager(serverAcceptor);
 		if (properties.getServer() != null) {
 			connectorManager.setAutoStartup(properties.getServer().isAutoStartup());
 			connectorManager.setPhase(properties.getServer().getPhase());
 			connectorManager.setForceDisconnect(properties.getServer().isForceDisconnect());
+			connectorManager.setStopTimeout(properties.getServer().getStopTimeout());
 		}
+		serverSessionInitializer.ifAvailable(connectorManager::setSessionInitializer);
 		return connectorManager;
 	}
 
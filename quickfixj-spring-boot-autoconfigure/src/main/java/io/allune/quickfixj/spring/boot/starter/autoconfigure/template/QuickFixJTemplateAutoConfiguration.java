@@ -15,13 +15,47 @@
  */
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.template;
 
+import io.allune.quickfixj.spring.boot.actuate.metrics.MessagePoolMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.SendRateLimiterMetrics;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.Batching;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.MessagePooling;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.QuickFixJBootProperties;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.RateLimiting;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.SessionGroupConfig;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.Validation;
+import io.allune.quickfixj.spring.boot.starter.template.CachingSessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.DefaultSessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.MessagePool;
+import io.allune.quickfixj.spring.boot.starter.template.OutboundBatching;
 import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import io.allune.quickfixj.spring.boot.starter.template.RateLimit;
+import io.allune.quickfixj.spring.boot.starter.template.ReactiveQuickFixJTemplate;
+import io.allune.quickfixj.spring.boot.starter.template.SendListener;
+import io.allune.quickfixj.spring.boot.starter.template.SendRateLimiter;
+import io.allune.quickfixj.spring.boot.starter.template.SessionGroup;
+import io.allune.quickfixj.spring.boot.starter.template.SessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.SessionSelectionStrategy;
+import io.allune.quickfixj.spring.boot.starter.template.ValidationPolicy;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
 import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.mina.SessionConnector;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * {@link EnableAutoConfiguration Auto-configuration} for {@link QuickFixJTemplate}.
@@ -30,16 +64,275 @@ import quickfix.Session;
  */
 @AutoConfiguration
 @ConditionalOnClass(Session.class)
+@EnableConfigurationProperties(QuickFixJBootProperties.class)
 public class QuickFixJTemplateAutoConfiguration {
 
+	/**
+	 * Creates the {@link SessionLookupHandler} used by the {@link QuickFixJTemplate} to locate sessions, a
+	 * {@link CachingSessionLookupHandler} if the session lookup cache is enabled
+	 *
+	 * @param properties The {@link QuickFixJBootProperties}
+	 * @return A {@link SessionLookupHandler}
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public SessionLookupHandler sessionLookupHandler(QuickFixJBootProperties properties) {
+		return properties.getTemplate().isCacheSessionLookup()
+				? new CachingSessionLookupHandler()
+				: new DefaultSessionLookupHandler();
+	}
+
+	/**
+	 * Creates the {@link ValidationPolicy} selecting the messages validated by the {@link QuickFixJTemplate}
+	 *
+	 * @param properties The {@link QuickFixJBootProperties}
+	 * @return A {@link ValidationPolicy}
+	 */
+	@Bean
+	@ConditionalOnMissingBean
+	public ValidationPolicy quickFixJTemplateValidationPolicy(QuickFixJBootProperties properties) {
+		Validation validation = properties.getTemplate().getValidation();
+		return switch (validation.getMode()) {
+			case ALL -> ValidationPolicy.always();
+			case SAMPLED -> withMsgTypes(ValidationPolicy.sampled(validation.getSampleRate()), validation);
+			case FIRST_MESSAGES -> withMsgTypes(ValidationPolicy.firstMessages(validation.getFirstMessages()), validation);
+			case MSG_TYPES -> ValidationPolicy.msgTypes(validation.getMsgTypes());
+		};
+	}
+
 	/**
 	 * Creates a {@link QuickFixJTemplate}
 	 *
+	 * @param sessionLookupHandler The {@link SessionLookupHandler} to locate sessions
+	 * @param sendListeners        The {@link SendListener}s notified of the messages sent
+	 * @param validationPolicy     The {@link ValidationPolicy} selecting the messages to validate
+	 * @param sessionGroups        The {@link SessionGroup}s defined as beans
+	 * @param sendRateLimiter      The {@link SendRateLimiter} pacing the messages, if any
+	 * @param outboundBatching     The {@link OutboundBatching} of the messages written to the sessions, if any
+	 * @param properties           The {@link QuickFixJBootProperties}
 	 * @return A {@link QuickFixJTemplate}
 	 */
 	@Bean
 	@ConditionalOnMissingBean
-	public QuickFixJTemplate quickFixJTemplate() {
-		return new QuickFixJTemplate();
+	public QuickFixJTemplate quickFixJTemplate(
+			SessionLookupHandler sessionLookupHandler,
+			ObjectProvider<SendListener> sendListeners,
+			ValidationPolicy validationPolicy,
+			ObjectProvider<SessionGroup> sessionGroups,
+			ObjectProvider<SendRateLimiter> sendRateLimiter,
+			ObjectProvider<OutboundBatching> outboundBatching,
+			QuickFixJBootProperties properties
+	) {
+		QuickFixJTemplate quickFixJTemplate = new QuickFixJTemplate(sessionLookupHandler);
+		quickFixJTemplate.setDoValidation(properties.getTemplate().getValidation().isEnabled());
+		quickFixJTemplate.setValidationPolicy(validationPolicy);
+		List<SessionGroup> groups = new ArrayList<>(sessionGroups.orderedStream().toList());
+		properties.getTemplate().getSessionGroups().forEach((name, sessionGroupConfig) ->
+				groups.add(sessionGroup(name, sessionGroupConfig)));
+		quickFixJTemplate.setSessionGroups(groups);
+		sendRateLimiter.ifAvailable(quickFixJTemplate::setSendRateLimiter);
+		outboundBatching.ifAvailable(quickFixJTemplate::setOutboundBatching);
+		List<SendListener> listeners = sendListeners.orderedStream().toList();
+		if (listeners.size() == 1) {
+			quickFixJTemplate.setSendListener(listeners.get(0));
+		} else if (!listeners.isEmpty()) {
+			quickFixJTemplate.setSendListener((message, sessionID, sent) ->
+					listeners.forEach(listener -> listener.onSend(message, sessionID, sent)));
+		}
+		return quickFixJTemplate;
+	}
+
+	private static SessionGroup sessionGroup(String name, SessionGroupConfig sessionGroupConfig) {
+		List<SessionID> sessionIDs = sessionGroupConfig.getSessions().stream()
+				.map(QuickFixJTemplateAutoConfiguration::parseSessionID)
+				.toList();
+		SessionSelectionStrategy selectionStrategy = switch (sessionGroupConfig.getSelection()) {
+			case ROUND_ROBIN -> SessionSelectionStrategy.roundRobin();
+			case LEAST_OUTSTANDING -> SessionSelectionStrategy.leastOutstanding();
+			case LOWEST_LATENCY -> SessionSelectionStrategy.lowestLatency();
+			case STICKY_BY_KEY -> SessionSelectionStrategy.stickyByKey(sessionGroupConfig.getKeyField());
+		};
+		return new SessionGroup(name, sessionIDs, selectionStrategy);
+	}
+
+	/**
+	 * Parses a session ID in the {@code BeginString:SenderCompID[/SenderSubID[/SenderLocationID]]->TargetCompID[/TargetSubID[/TargetLocationID]][:Qualifier]}
+	 * form of {@link SessionID#toString()}.
+	 */
+	static SessionID parseSessionID(String sessionID) {
+		int beginStringEnd = sessionID.indexOf(':');
+		int arrow = sessionID.indexOf("->");
+		Assert.isTrue(beginStringEnd > 0 && arrow > beginStringEnd, () -> "Invalid session ID: " + sessionID);
+		int qualifierStart = sessionID.indexOf(':', arrow);
+		String[] sender = sessionID.substring(beginStringEnd + 1, arrow).split("/", -1);
+		String[] target = sessionID.substring(arrow + 2, qualifierStart < 0 ? sessionID.length() : qualifierStart)
+				.split("/", -1);
+		Assert.isTrue(sender.length <= 3 && target.length <= 3, () -> "Invalid session ID: " + sessionID);
+		return new SessionID(
+				sessionID.substring(0, beginStringEnd),
+				sender[0], component(sender, 1), component(sender, 2),
+				target[0], component(target, 1), component(target, 2),
+				qualifierStart < 0 ? SessionID.NOT_SET : sessionID.substring(qualifierStart + 1));
+	}
+
+	private static String component(String[] components, int index) {
+		return index < components.length ? components[index] : SessionID.NOT_SET;
+	}
+
+	private static ValidationPolicy withMsgTypes(ValidationPolicy validationPolicy, Validation validation) {
+		return validation.getMsgTypes().isEmpty()
+				? validationPolicy
+				: ValidationPolicy.anyOf(ValidationPolicy.msgTypes(validation.getMsgTypes()), validationPolicy);
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnClass(Mono.class)
+	static class ReactiveQuickFixJTemplateConfiguration {
+
+		/**
+		 * Creates a {@link ReactiveQuickFixJTemplate} adapting the asynchronous sends of the {@link QuickFixJTemplate}
+		 *
+		 * @param quickFixJTemplate The {@link QuickFixJTemplate} sending the messages
+		 * @return A {@link ReactiveQuickFixJTemplate}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public ReactiveQuickFixJTemplate reactiveQuickFixJTemplate(QuickFixJTemplate quickFixJTemplate) {
+			return new ReactiveQuickFixJTemplate(quickFixJTemplate);
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.template.message-pool", name = "enabled", havingValue = "true")
+	static class MessagePoolConfiguration {
+
+		/**
+		 * Creates the {@link MessagePool} of reusable messages sent through the {@link QuickFixJTemplate}
+		 *
+		 * @param properties The {@link QuickFixJBootProperties}
+		 * @return A {@link MessagePool}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public MessagePool quickFixJMessagePool(QuickFixJBootProperties properties) {
+			MessagePooling messagePooling = properties.getTemplate().getMessagePool();
+			MessagePool messagePool = new MessagePool();
+			messagePool.setDefaultSize(messagePooling.getDefaultSize());
+			messagePooling.getSizes().forEach(messagePool::setSize);
+			return messagePool;
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ConditionalOnClass({MeterBinder.class, MessagePoolMetrics.class})
+		static class MessagePoolMetricsConfiguration {
+
+			/**
+			 * Creates the {@link MessagePoolMetrics} exposing the hits and misses of the {@link MessagePool}
+			 *
+			 * @param quickFixJMessagePool The {@link MessagePool}
+			 * @return A {@link MessagePoolMetrics}
+			 */
+			@Bean
+			@ConditionalOnMissingBean
+			public MessagePoolMetrics quickFixJMessagePoolMetrics(MessagePool quickFixJMessagePool) {
+				return new MessagePoolMetrics(quickFixJMessagePool);
+			}
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.template.batching", name = "enabled", havingValue = "true")
+	static class OutboundBatchingConfiguration {
+
+		/**
+		 * Creates the {@link OutboundBatching} gathering the messages written to the connections of the connectors
+		 * into batches
+		 *
+		 * @param properties The {@link QuickFixJBootProperties}
+		 * @return An {@link OutboundBatching}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public OutboundBatching quickFixJOutboundBatching(QuickFixJBootProperties properties) {
+			Batching batching = properties.getTemplate().getBatching();
+			OutboundBatching outboundBatching = new OutboundBatching();
+			outboundBatching.setMaxBatchSize(batching.getMaxBatchSize());
+			outboundBatching.setMaxDelay(batching.getMaxDelay());
+			return outboundBatching;
+		}
+
+		/**
+		 * Installs the {@link OutboundBatching} on the connectors before they are started, so that it is part of the
+		 * filter chain of each connection from the moment it is opened
+		 *
+		 * @param outboundBatching The {@link OutboundBatching}, resolved lazily
+		 * @return The {@link BeanPostProcessor} installing the {@link OutboundBatching} on the {@link SessionConnector}
+		 * beans
+		 */
+		@Bean
+		public static BeanPostProcessor quickFixJOutboundBatchingPostProcessor(ObjectProvider<OutboundBatching> outboundBatching) {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessBeforeInitialization(Object bean, String beanName) {
+					if (bean instanceof SessionConnector) {
+						outboundBatching.getObject().install((SessionConnector) bean);
+					}
+					return bean;
+				}
+			};
+		}
+	}
+
+	@Configuration(proxyBeanMethods = false)
+	@ConditionalOnProperty(prefix = "quickfixj.template.rate-limit", name = "enabled", havingValue = "true")
+	static class SendRateLimiterConfiguration {
+
+		/**
+		 * Creates the {@link SendRateLimiter} pacing the messages sent through the {@link QuickFixJTemplate}, with the
+		 * limits of the sessions read from the {@link SessionSettings} of the connectors
+		 *
+		 * @param properties      The {@link QuickFixJBootProperties}
+		 * @param sessionSettings The {@link SessionSettings} of the connectors
+		 * @return A {@link SendRateLimiter}
+		 */
+		@Bean
+		@ConditionalOnMissingBean
+		public SendRateLimiter quickFixJSendRateLimiter(
+				QuickFixJBootProperties properties,
+				ObjectProvider<SessionSettings> sessionSettings
+		) {
+			RateLimiting rateLimiting = properties.getTemplate().getRateLimit();
+			SendRateLimiter sendRateLimiter = new SendRateLimiter(rateLimiting.getPolicy());
+			sendRateLimiter.setMaxWait(rateLimiting.getMaxWait());
+			if (rateLimiting.getMessagesPerSecond() != null) {
+				sendRateLimiter.setDefaultLimit(rateLimit(rateLimiting.getMessagesPerSecond(), rateLimiting.getBurst()));
+			}
+			rateLimiting.getMsgTypes().forEach((msgType, msgTypeRateLimit) -> sendRateLimiter.setMsgTypeLimit(msgType,
+					rateLimit(msgTypeRateLimit.getMessagesPerSecond(), msgTypeRateLimit.getBurst())));
+			sessionSettings.orderedStream().forEach(sendRateLimiter::configure);
+			return sendRateLimiter;
+		}
+
+		private static RateLimit rateLimit(int messagesPerSecond, Integer burst) {
+			return burst != null ? RateLimit.of(messagesPerSecond, burst) : RateLimit.of(messagesPerSecond);
+		}
+
+		@Configuration(proxyBeanMethods = false)
+		@ConditionalOnClass({MeterBinder.class, SendRateLimiterMetrics.class})
+		static class SendRateLimiterMetricsConfiguration {
+
+			/**
+			 * Creates the {@link SendRateLimiterMetrics} exposing the tokens and the throttled and rejected messages
+			 * of the {@link SendRateLimiter}
+			 *
+			 * @param quickFixJSendRateLimiter The {@link SendRateLimiter}
+			 * @return A {@link SendRateLimiterMetrics}
+			 */
+			@Bean
+			@ConditionalOnMissingBean
+			public SendRateLimiterMetrics quickFixJSendRateLimiterMetrics(SendRateLimiter quickFixJSendRateLimiter) {
+				return new SendRateLimiterMetrics(quickFixJSendRateLimiter);
+			}
+		}
 	}
 }
@@ -16,11 +16,25 @@
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.client;
 
 import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJClientEndpoint;
+import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJLatencyEndpoint;
 import io.allune.quickfixj.spring.boot.actuate.health.QuickFixJSessionHealthIndicator;
+import io.allune.quickfixj.spring.boot.actuate.metrics.ApplicationMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker;
+import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.template.QuickFixJTemplateAutoConfiguration;
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import quickfix.Application;
+import quickfix.SessionID;
+
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -71,4 +85,68 @@ public class QuickFixJClientActuatorAutoConfigurationTest {
 		assertThat(ctx).doesNotHaveBean("quickfixjClientEndpoint");
 		assertThat(ctx).doesNotHaveBean("quickfixjClientSessionHealthIndicator");
 	}
+
+	@Test
+	public void shouldInstrumentApplication() {
+		contextRunner.withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+						CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class))
+				.withPropertyValues("quickfixj.client.config=classpath:quickfixj-client.cfg")
+				.withPropertyValues("quickfixj.client.enabled=true")
+				.withPropertyValues("quickfixj.client.actuator.enabled=true")
+				.withPropertyValues("quickfixj.client.autoStartup=false")
+				.withPropertyValues("quickfixj.client.metrics.enabled=true")
+				.run(ctx -> {
+					assertThat(ctx).getBean("clientApplication").isInstanceOf(ApplicationMetrics.class);
+
+					SessionID sessionID = new SessionID("FIX.4.2", "SENDER", "TARGET");
+					ctx.getBean("clientApplication", Application.class).onLogon(sessionID);
+					assertThat(ctx.getBean(MeterRegistry.class).get("quickfixj.session.events")
+							.tags("connector", "client", "event", "logon").counter().count()).isEqualTo(1);
+				});
+	}
+
+	@Test
+	public void shouldNotInstrumentApplicationByDefault() {
+		contextRunner.withPropertyValues("quickfixj.client.config=classpath:quickfixj-client.cfg")
+				.withPropertyValues("quickfixj.client.enabled=true")
+				.withPropertyValues("quickfixj.client.actuator.enabled=true")
+				.withPropertyValues("quickfixj.client.autoStartup=false")
+				.run(ctx -> assertThat(ctx).getBean("clientApplication").isInstanceOf(EventPublisherApplicationAdapter.class));
+	}
+
+	@Test
+	public void shouldTrackLatencyGivenLatencyEnabled() {
+		contextRunner.withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+						CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+						QuickFixJTemplateAutoConfiguration.class))
+				.withPropertyValues("quickfixj.client.config=classpath:quickfixj-client.cfg")
+				.withPropertyValues("quickfixj.client.enabled=true")
+				.withPropertyValues("quickfixj.client.actuator.enabled=true")
+				.withPropertyValues("quickfixj.client.autoStartup=false")
+				.withPropertyValues("quickfixj.client.latency.enabled=true")
+				.withPropertyValues("quickfixj.client.latency.inboundMsgTypes=D,F")
+				.withPropertyValues("management.endpoints.web.exposure.include=quickfixjlatency")
+				.run(ctx -> {
+					assertThat(ctx).getBean("clientLatencyTracker").isInstanceOf(LatencyTracker.class);
+					assertThat(ctx.getBean("clientLatencyTracker"))
+							.hasFieldOrPropertyWithValue("inboundMsgTypes", Set.of("D", "F"));
+					assertThat(ctx).hasSingleBean(QuickFixJLatencyEndpoint.class);
+					assertThat(ctx.getBean(QuickFixJTemplate.class))
+							.hasFieldOrPropertyWithValue("sendListener", ctx.getBean("clientLatencyTracker"));
+					assertThat(ctx.getBean("clientApplication"))
+							.hasFieldOrPropertyWithValue("receiveListener", ctx.getBean("clientLatencyTracker"));
+				});
+	}
+
+	@Test
+	public void shouldNotTrackLatencyByDefault() {
+		contextRunner.withPropertyValues("quickfixj.client.config=classpath:quickfixj-client.cfg")
+				.withPropertyValues("quickfixj.client.enabled=true")
+				.withPropertyValues("quickfixj.client.actuator.enabled=true")
+				.withPropertyValues("quickfixj.client.autoStartup=false")
+				.run(ctx -> {
+					assertThat(ctx).doesNotHaveBean(LatencyTracker.class);
+					assertThat(ctx).doesNotHaveBean(QuickFixJLatencyEndpoint.class);
+				});
+	}
 }
@@ -16,18 +16,35 @@
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.client;
 
 import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.RingBufferEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.ShardedEventDispatcher;
 import io.allune.quickfixj.spring.boot.starter.autoconfigure.YamlPropertySourceFactory;
 import io.allune.quickfixj.spring.boot.starter.connection.ConnectorManager;
+import io.allune.quickfixj.spring.boot.starter.connection.ParallelSessionInitializer;
 import io.allune.quickfixj.spring.boot.starter.connection.SessionSettingsLocator;
 import io.allune.quickfixj.spring.boot.starter.exception.ConfigurationException;
+import io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory;
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLogFactory;
+import io.allune.quickfixj.spring.boot.starter.store.JournalStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.MappedFileStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.WriteBehindStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.template.DefaultSessionLookupHandler;
 import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import io.allune.quickfixj.spring.boot.starter.template.ReactiveQuickFixJTemplate;
+import io.allune.quickfixj.spring.boot.starter.template.SessionLookupHandler;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import quickfix.Acceptor;
 import quickfix.Application;
 import quickfix.CachedFileStoreFactory;
@@ -57,6 +74,7 @@ import quickfix.mina.SessionConnector;
 
 import javax.management.ObjectName;
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -99,6 +117,7 @@ public class QuickFixJClientAutoConfigurationTest {
 		assertThat(clientConnectorManager.isRunning()).isFalse();
 		assertThat(clientConnectorManager.isAutoStartup()).isFalse();
 		assertThat(clientConnectorManager.isForceDisconnect()).isTrue();
+		assertThat(clientConnectorManager.getStopTimeout()).isEqualTo(Duration.ofSeconds(5));
 
 		Initiator clientInitiator = ctx.getBean(Initiator.class);
 		assertThat(clientInitiator).isInstanceOf(SocketInitiator.class);
@@ -107,6 +126,18 @@ public class QuickFixJClientAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansSingleThreadedParallelStartupInitiator() throws ConfigError {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(SingleThreadedParallelStartupClientInitiatorConfiguration.class);
+		ConnectorManager clientConnectorManager = ctx.getBean("clientConnectorManager", ConnectorManager.class);
+		ParallelSessionInitializer clientSessionInitializer = ctx.getBean("clientSessionInitializer", ParallelSessionInitializer.class);
+		assertThat(clientConnectorManager.getSessionInitializer()).isSameAs(clientSessionInitializer);
+
+		clientSessionInitializer.initialize();
+		assertThat(clientSessionInitializer.isInitialized()).isTrue();
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansSingleThreadedExecutorFactoryInitiator() throws NoSuchFieldException, IllegalAccessException {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(SingleThreadedExecutorFactoryClientInitiatorConfiguration.class);
@@ -224,6 +255,30 @@ public class QuickFixJClientAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	public void testAutoConfiguredBeansMultiThreadedVirtualExecutorInitiator() throws NoSuchFieldException, IllegalAccessException {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(MultiThreadedVirtualExecutorClientInitiatorConfiguration.class);
+		Initiator clientInitiator = ctx.getBean(Initiator.class);
+		assertThat(clientInitiator).isInstanceOf(ThreadedSocketInitiator.class);
+
+		hasAutoConfiguredBeans(ctx);
+
+		Executor clientTaskExecutor = ctx.getBean("clientTaskExecutor", Executor.class);
+		assertThat(clientTaskExecutor).isInstanceOf(VirtualThreadTaskExecutor.class);
+
+		assertHasExecutors(clientInitiator, clientTaskExecutor);
+		ctx.stop();
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	public void shouldFailToCreateVirtualExecutorBeforeJava21() {
+		assertThatThrownBy(() -> new AnnotationConfigApplicationContext(MultiThreadedVirtualExecutorClientInitiatorConfiguration.class))
+				.hasRootCauseInstanceOf(UnsupportedOperationException.class)
+				.hasStackTraceContaining("Virtual threads require Java 21 or later");
+	}
+
 	@Test
 	public void shouldCreateClientThreadedInitiator() throws ConfigError {
 		// Given
@@ -237,7 +292,7 @@ public class QuickFixJClientAutoConfigurationTest {
 
 		// When
 		Initiator initiator = initiatorConfiguration.clientInitiator(application, messageStoreFactory, sessionSettings,
-				logFactory, messageFactory, Optional.empty());
+				logFactory, messageFactory, Optional.empty(), Optional.empty());
 
 		// Then
 		assertThat(initiator).isNotNull();
@@ -294,6 +349,41 @@ public class QuickFixJClientAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansClientAsyncEventsConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientAsyncEventsConfiguration.class);
+		RingBufferEventDispatcher clientEventDispatcher = ctx.getBean("clientEventDispatcher", RingBufferEventDispatcher.class);
+		assertThat(clientEventDispatcher.getRingSize()).isEqualTo(256);
+		assertThat(clientEventDispatcher.isRunning()).isTrue();
+
+		Application clientApplication = ctx.getBean("clientApplication", Application.class);
+		assertThat(clientApplication).isInstanceOf(EventPublisherApplicationAdapter.class);
+		assertThat(clientApplication).hasFieldOrPropertyWithValue("eventDispatcher", clientEventDispatcher);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansClientAsyncEventsWithServerEventDispatcherConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientAsyncEventsWithServerEventDispatcherConfiguration.class);
+		RingBufferEventDispatcher clientEventDispatcher = ctx.getBean("clientEventDispatcher", RingBufferEventDispatcher.class);
+
+		Application clientApplication = ctx.getBean("clientApplication", Application.class);
+		assertThat(clientApplication).hasFieldOrPropertyWithValue("eventDispatcher", clientEventDispatcher);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansClientShardedEventsConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientShardedEventsConfiguration.class);
+		ShardedEventDispatcher clientEventDispatcher = ctx.getBean("clientEventDispatcher", ShardedEventDispatcher.class);
+		assertThat(clientEventDispatcher.getShards()).hasSize(3);
+		assertThat(clientEventDispatcher.isRunning()).isTrue();
+
+		Application clientApplication = ctx.getBean("clientApplication", Application.class);
+		assertThat(clientApplication).hasFieldOrPropertyWithValue("eventDispatcher", clientEventDispatcher);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansClientNoopStoreFactoryConfiguration() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientNoopStoreFactoryConfiguration.class);
@@ -310,6 +400,47 @@ public class QuickFixJClientAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansClientMappedFileStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientMappedFileStoreFactoryConfiguration.class);
+		MessageStoreFactory clientMessageStoreFactory = ctx.getBean("clientMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(clientMessageStoreFactory).isInstanceOf(MappedFileStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansClientJournalStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientJournalStoreFactoryConfiguration.class);
+		MessageStoreFactory clientMessageStoreFactory = ctx.getBean("clientMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(clientMessageStoreFactory).isInstanceOf(JournalStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansClientWriteBehindStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientWriteBehindStoreFactoryConfiguration.class);
+		MessageStoreFactory clientMessageStoreFactory = ctx.getBean("clientMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(clientMessageStoreFactory).isInstanceOf(WriteBehindStoreFactory.class);
+		assertThat(((WriteBehindStoreFactory) clientMessageStoreFactory).getDelegate()).isInstanceOf(MemoryStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansClientTieredStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientTieredStoreFactoryConfiguration.class);
+		MessageStoreFactory clientMessageStoreFactory = ctx.getBean("clientMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(clientMessageStoreFactory).isInstanceOf(TieredStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansClientOffHeapStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientOffHeapStoreFactoryConfiguration.class);
+		MessageStoreFactory clientMessageStoreFactory = ctx.getBean("clientMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(clientMessageStoreFactory).isInstanceOf(OffHeapStoreFactory.class);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansClientCompositeLogFactoryConfiguration() throws NoSuchFieldException, IllegalAccessException {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientCompositeLogFactoryConfiguration.class);
@@ -328,6 +459,14 @@ public class QuickFixJClientAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansClientBinaryLogFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientBinaryLogFactoryConfiguration.class);
+		LogFactory clientLogFactory = ctx.getBean("clientLogFactory", LogFactory.class);
+		assertThat(clientLogFactory).isInstanceOf(BinaryLogFactory.class);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansClientFileLogFactoryConfiguration() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientFileLogFactoryConfiguration.class);
@@ -344,6 +483,15 @@ public class QuickFixJClientAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansClientAsyncLogFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientAsyncLogFactoryConfiguration.class);
+		LogFactory clientLogFactory = ctx.getBean("clientLogFactory", LogFactory.class);
+		assertThat(clientLogFactory).isInstanceOf(AsyncLogFactory.class);
+		assertThat(((AsyncLogFactory) clientLogFactory).getDelegate()).isInstanceOf(SLF4JLogFactory.class);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansClientSlf4jLogFactoryConfiguration() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ClientSlf4jLogFactoryConfiguration.class);
@@ -402,6 +550,7 @@ public class QuickFixJClientAutoConfigurationTest {
 	private void hasAutoConfiguredBeans(AnnotationConfigApplicationContext ctx) {
 		Application clientApplication = ctx.getBean("clientApplication", Application.class);
 		assertThat(clientApplication).isInstanceOf(EventPublisherApplicationAdapter.class);
+		assertThat(ctx.containsBean("clientEventDispatcher")).isFalse();
 
 		MessageStoreFactory clientMessageStoreFactory = ctx.getBean("clientMessageStoreFactory", MessageStoreFactory.class);
 		assertThat(clientMessageStoreFactory).isInstanceOf(MemoryStoreFactory.class);
@@ -420,6 +569,12 @@ public class QuickFixJClientAutoConfigurationTest {
 
 		QuickFixJTemplate quickFixJTemplate = ctx.getBean("quickFixJTemplate", QuickFixJTemplate.class);
 		assertThat(quickFixJTemplate).isNotNull();
+
+		ReactiveQuickFixJTemplate reactiveQuickFixJTemplate = ctx.getBean("reactiveQuickFixJTemplate", ReactiveQuickFixJTemplate.class);
+		assertThat(reactiveQuickFixJTemplate).isNotNull();
+
+		SessionLookupHandler sessionLookupHandler = ctx.getBean("sessionLookupHandler", SessionLookupHandler.class);
+		assertThat(sessionLookupHandler).isInstanceOf(DefaultSessionLookupHandler.class);
 	}
 
 	private void assertHasExecutors(
@@ -443,6 +598,12 @@ public class QuickFixJClientAutoConfigurationTest {
 	static class SingleThreadedClientInitiatorConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-single-threaded/single-threaded-application-parallel-startup.properties")
+	static class SingleThreadedParallelStartupClientInitiatorConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:client-single-threaded/single-threaded-application-executor-factory.properties")
@@ -474,6 +635,12 @@ public class QuickFixJClientAutoConfigurationTest {
 	static class MultiThreadedExecutorFactoryClientInitiatorConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-multi-threaded/multi-threaded-application-virtual-executor.properties")
+	static class MultiThreadedVirtualExecutorClientInitiatorConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:client-single-threaded/single-threaded-application-no-config-defined.properties")
@@ -515,12 +682,65 @@ public class QuickFixJClientAutoConfigurationTest {
 	static class ClientNoopStoreFactoryConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-events/client-async-events.properties")
+	static class ClientAsyncEventsConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-events/client-sharded-events.properties")
+	static class ClientShardedEventsConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-events/client-async-events.properties")
+	static class ClientAsyncEventsWithServerEventDispatcherConfiguration {
+
+		@Bean
+		public EventDispatcher serverEventDispatcher() {
+			return mock(EventDispatcher.class);
+		}
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:client-message-store/client-sleepycat-store-factory.properties")
 	static class ClientSleepycatStoreFactoryConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-message-store/client-mmap-store-factory.properties")
+	static class ClientMappedFileStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-message-store/client-journal-store-factory.properties")
+	static class ClientJournalStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-message-store/client-write-behind-store-factory.properties")
+	static class ClientWriteBehindStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-message-store/client-tiered-store-factory.properties")
+	static class ClientTieredStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-message-store/client-offheap-store-factory.properties")
+	static class ClientOffHeapStoreFactoryConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:client-log-factory/client-composite-log-factory.properties")
@@ -537,6 +757,12 @@ public class QuickFixJClientAutoConfigurationTest {
 		}
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-log-factory/client-binary-log-factory.properties")
+	static class ClientBinaryLogFactoryConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:client-log-factory/client-file-log-factory.properties")
@@ -549,6 +775,12 @@ public class QuickFixJClientAutoConfigurationTest {
 	static class ClientJdbcLogFactoryConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:client-log-factory/client-async-log-factory.properties")
+	static class ClientAsyncLogFactoryConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:client-log-factory/client-slf4j-log-factory.properties")
@@ -16,11 +16,25 @@
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.server;
 
 import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJServerEndpoint;
+import io.allune.quickfixj.spring.boot.actuate.endpoint.QuickFixJLatencyEndpoint;
 import io.allune.quickfixj.spring.boot.actuate.health.QuickFixJSessionHealthIndicator;
+import io.allune.quickfixj.spring.boot.actuate.metrics.ApplicationMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.LatencyTracker;
+import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.autoconfigure.template.QuickFixJTemplateAutoConfiguration;
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import quickfix.Application;
+import quickfix.SessionID;
+
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -70,4 +84,68 @@ public class QuickFixJServerActuatorAutoConfigurationTest {
 		assertThat(ctx).doesNotHaveBean("quickfixjServerEndpoint");
 		assertThat(ctx).doesNotHaveBean("quickfixjServerSessionHealthIndicator");
 	}
+
+	@Test
+	public void shouldInstrumentApplication() {
+		contextRunner.withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+						CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class))
+				.withPropertyValues("quickfixj.server.config=classpath:quickfixj-server.cfg")
+				.withPropertyValues("quickfixj.server.enabled=true")
+				.withPropertyValues("quickfixj.server.actuator.enabled=true")
+				.withPropertyValues("quickfixj.server.autoStartup=false")
+				.withPropertyValues("quickfixj.server.metrics.enabled=true")
+				.run(ctx -> {
+					assertThat(ctx).getBean("serverApplication").isInstanceOf(ApplicationMetrics.class);
+
+					SessionID sessionID = new SessionID("FIX.4.2", "SENDER", "TARGET");
+					ctx.getBean("serverApplication", Application.class).onLogon(sessionID);
+					assertThat(ctx.getBean(MeterRegistry.class).get("quickfixj.session.events")
+							.tags("connector", "server", "event", "logon").counter().count()).isEqualTo(1);
+				});
+	}
+
+	@Test
+	public void shouldNotInstrumentApplicationByDefault() {
+		contextRunner.withPropertyValues("quickfixj.server.config=classpath:quickfixj-server.cfg")
+				.withPropertyValues("quickfixj.server.enabled=true")
+				.withPropertyValues("quickfixj.server.actuator.enabled=true")
+				.withPropertyValues("quickfixj.server.autoStartup=false")
+				.run(ctx -> assertThat(ctx).getBean("serverApplication").isInstanceOf(EventPublisherApplicationAdapter.class));
+	}
+
+	@Test
+	public void shouldTrackLatencyGivenLatencyEnabled() {
+		contextRunner.withConfiguration(AutoConfigurations.of(MetricsAutoConfiguration.class,
+						CompositeMeterRegistryAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class,
+						QuickFixJTemplateAutoConfiguration.class))
+				.withPropertyValues("quickfixj.server.config=classpath:quickfixj-server.cfg")
+				.withPropertyValues("quickfixj.server.enabled=true")
+				.withPropertyValues("quickfixj.server.actuator.enabled=true")
+				.withPropertyValues("quickfixj.server.autoStartup=false")
+				.withPropertyValues("quickfixj.server.latency.enabled=true")
+				.withPropertyValues("quickfixj.server.latency.inboundMsgTypes=D,F")
+				.withPropertyValues("management.endpoints.web.exposure.include=quickfixjlatency")
+				.run(ctx -> {
+					assertThat(ctx).getBean("serverLatencyTracker").isInstanceOf(LatencyTracker.class);
+					assertThat(ctx.getBean("serverLatencyTracker"))
+							.hasFieldOrPropertyWithValue("inboundMsgTypes", Set.of("D", "F"));
+					assertThat(ctx).hasSingleBean(QuickFixJLatencyEndpoint.class);
+					assertThat(ctx.getBean(QuickFixJTemplate.class))
+							.hasFieldOrPropertyWithValue("sendListener", ctx.getBean("serverLatencyTracker"));
+					assertThat(ctx.getBean("serverApplication"))
+							.hasFieldOrPropertyWithValue("receiveListener", ctx.getBean("serverLatencyTracker"));
+				});
+	}
+
+	@Test
+	public void shouldNotTrackLatencyByDefault() {
+		contextRunner.withPropertyValues("quickfixj.server.config=classpath:quickfixj-server.cfg")
+				.withPropertyValues("quickfixj.server.enabled=true")
+				.withPropertyValues("quickfixj.server.actuator.enabled=true")
+				.withPropertyValues("quickfixj.server.autoStartup=false")
+				.run(ctx -> {
+					assertThat(ctx).doesNotHaveBean(LatencyTracker.class);
+					assertThat(ctx).doesNotHaveBean(QuickFixJLatencyEndpoint.class);
+				});
+	}
 }
@@ -16,18 +16,34 @@
 package io.allune.quickfixj.spring.boot.starter.autoconfigure.server;
 
 import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.application.EventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.RingBufferEventDispatcher;
+import io.allune.quickfixj.spring.boot.starter.application.ShardedEventDispatcher;
 import io.allune.quickfixj.spring.boot.starter.autoconfigure.YamlPropertySourceFactory;
 import io.allune.quickfixj.spring.boot.starter.connection.ConnectorManager;
+import io.allune.quickfixj.spring.boot.starter.connection.ParallelSessionInitializer;
 import io.allune.quickfixj.spring.boot.starter.connection.SessionSettingsLocator;
 import io.allune.quickfixj.spring.boot.starter.exception.ConfigurationException;
+import io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory;
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLogFactory;
+import io.allune.quickfixj.spring.boot.starter.store.JournalStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.MappedFileStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.WriteBehindStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.template.DefaultSessionLookupHandler;
 import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import io.allune.quickfixj.spring.boot.starter.template.SessionLookupHandler;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import quickfix.Acceptor;
 import quickfix.Application;
 import quickfix.CachedFileStoreFactory;
@@ -57,6 +73,7 @@ import quickfix.mina.SessionConnector;
 
 import javax.management.ObjectName;
 import java.lang.reflect.Field;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
@@ -100,6 +117,7 @@ public class QuickFixJServerAutoConfigurationTest {
 		assertThat(serverConnectorManager.isRunning()).isFalse();
 		assertThat(serverConnectorManager.isAutoStartup()).isFalse();
 		assertThat(serverConnectorManager.isForceDisconnect()).isTrue();
+		assertThat(serverConnectorManager.getStopTimeout()).isEqualTo(Duration.ofSeconds(5));
 
 		Acceptor serverAcceptor = ctx.getBean(Acceptor.class);
 		assertThat(serverAcceptor).isInstanceOf(SocketAcceptor.class);
@@ -108,6 +126,18 @@ public class QuickFixJServerAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansSingleThreadedParallelStartupAcceptor() throws ConfigError {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(SingleThreadedParallelStartupServerAcceptorConfiguration.class);
+		ConnectorManager serverConnectorManager = ctx.getBean("serverConnectorManager", ConnectorManager.class);
+		ParallelSessionInitializer serverSessionInitializer = ctx.getBean("serverSessionInitializer", ParallelSessionInitializer.class);
+		assertThat(serverConnectorManager.getSessionInitializer()).isSameAs(serverSessionInitializer);
+
+		serverSessionInitializer.initialize();
+		assertThat(serverSessionInitializer.isInitialized()).isTrue();
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansSingleThreadedExecutorFactoryAcceptor() throws NoSuchFieldException, IllegalAccessException {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(SingleThreadedExecutorFactoryServerAcceptorConfiguration.class);
@@ -225,6 +255,30 @@ public class QuickFixJServerAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	@EnabledForJreRange(min = JRE.JAVA_21)
+	public void testAutoConfiguredBeansMultiThreadedVirtualExecutorAcceptor() throws NoSuchFieldException, IllegalAccessException {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(MultiThreadedVirtualExecutorServerAcceptorConfiguration.class);
+		Acceptor serverAcceptor = ctx.getBean(Acceptor.class);
+		assertThat(serverAcceptor).isInstanceOf(ThreadedSocketAcceptor.class);
+
+		hasAutoConfiguredBeans(ctx);
+
+		Executor serverTaskExecutor = ctx.getBean("serverTaskExecutor", Executor.class);
+		assertThat(serverTaskExecutor).isInstanceOf(VirtualThreadTaskExecutor.class);
+
+		assertHasExecutors(serverAcceptor, serverTaskExecutor);
+		ctx.stop();
+	}
+
+	@Test
+	@EnabledForJreRange(max = JRE.JAVA_20)
+	public void shouldFailToCreateVirtualExecutorBeforeJava21() {
+		assertThatThrownBy(() -> new AnnotationConfigApplicationContext(MultiThreadedVirtualExecutorServerAcceptorConfiguration.class))
+				.hasRootCauseInstanceOf(UnsupportedOperationException.class)
+				.hasStackTraceContaining("Virtual threads require Java 21 or later");
+	}
+
 	@Test
 	public void shouldCreateServerThreadedAcceptor() throws ConfigError {
 		// Given
@@ -238,7 +292,7 @@ public class QuickFixJServerAutoConfigurationTest {
 
 		// When
 		Acceptor acceptor = acceptorConfiguration.serverAcceptor(application, messageStoreFactory, sessionSettings,
-			logFactory, messageFactory, Optional.empty());
+			logFactory, messageFactory, Optional.empty(), Optional.empty());
 
 		// Then
 		assertThat(acceptor).isNotNull();
@@ -295,6 +349,41 @@ public class QuickFixJServerAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansServerAsyncEventsConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerAsyncEventsConfiguration.class);
+		RingBufferEventDispatcher serverEventDispatcher = ctx.getBean("serverEventDispatcher", RingBufferEventDispatcher.class);
+		assertThat(serverEventDispatcher.getRingSize()).isEqualTo(256);
+		assertThat(serverEventDispatcher.isRunning()).isTrue();
+
+		Application serverApplication = ctx.getBean("serverApplication", Application.class);
+		assertThat(serverApplication).isInstanceOf(EventPublisherApplicationAdapter.class);
+		assertThat(serverApplication).hasFieldOrPropertyWithValue("eventDispatcher", serverEventDispatcher);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansServerAsyncEventsWithClientEventDispatcherConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerAsyncEventsWithClientEventDispatcherConfiguration.class);
+		RingBufferEventDispatcher serverEventDispatcher = ctx.getBean("serverEventDispatcher", RingBufferEventDispatcher.class);
+
+		Application serverApplication = ctx.getBean("serverApplication", Application.class);
+		assertThat(serverApplication).hasFieldOrPropertyWithValue("eventDispatcher", serverEventDispatcher);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansServerShardedEventsConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerShardedEventsConfiguration.class);
+		ShardedEventDispatcher serverEventDispatcher = ctx.getBean("serverEventDispatcher", ShardedEventDispatcher.class);
+		assertThat(serverEventDispatcher.getShards()).hasSize(3);
+		assertThat(serverEventDispatcher.isRunning()).isTrue();
+
+		Application serverApplication = ctx.getBean("serverApplication", Application.class);
+		assertThat(serverApplication).hasFieldOrPropertyWithValue("eventDispatcher", serverEventDispatcher);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansServerNoopStoreFactoryConfiguration() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerNoopStoreFactoryConfiguration.class);
@@ -311,6 +400,47 @@ public class QuickFixJServerAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansServerMappedFileStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerMappedFileStoreFactoryConfiguration.class);
+		MessageStoreFactory serverMessageStoreFactory = ctx.getBean("serverMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(serverMessageStoreFactory).isInstanceOf(MappedFileStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansServerJournalStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerJournalStoreFactoryConfiguration.class);
+		MessageStoreFactory serverMessageStoreFactory = ctx.getBean("serverMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(serverMessageStoreFactory).isInstanceOf(JournalStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansServerWriteBehindStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerWriteBehindStoreFactoryConfiguration.class);
+		MessageStoreFactory serverMessageStoreFactory = ctx.getBean("serverMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(serverMessageStoreFactory).isInstanceOf(WriteBehindStoreFactory.class);
+		assertThat(((WriteBehindStoreFactory) serverMessageStoreFactory).getDelegate()).isInstanceOf(MemoryStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansServerTieredStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerTieredStoreFactoryConfiguration.class);
+		MessageStoreFactory serverMessageStoreFactory = ctx.getBean("serverMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(serverMessageStoreFactory).isInstanceOf(TieredStoreFactory.class);
+		ctx.stop();
+	}
+
+	@Test
+	public void testAutoConfiguredBeansServerOffHeapStoreFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerOffHeapStoreFactoryConfiguration.class);
+		MessageStoreFactory serverMessageStoreFactory = ctx.getBean("serverMessageStoreFactory", MessageStoreFactory.class);
+		assertThat(serverMessageStoreFactory).isInstanceOf(OffHeapStoreFactory.class);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansServerCompositeLogFactoryConfiguration() throws NoSuchFieldException, IllegalAccessException {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerCompositeLogFactoryConfiguration.class);
@@ -329,6 +459,14 @@ public class QuickFixJServerAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansServerBinaryLogFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerBinaryLogFactoryConfiguration.class);
+		LogFactory serverLogFactory = ctx.getBean("serverLogFactory", LogFactory.class);
+		assertThat(serverLogFactory).isInstanceOf(BinaryLogFactory.class);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansServerFileLogFactoryConfiguration() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerFileLogFactoryConfiguration.class);
@@ -345,6 +483,15 @@ public class QuickFixJServerAutoConfigurationTest {
 		ctx.stop();
 	}
 
+	@Test
+	public void testAutoConfiguredBeansServerAsyncLogFactoryConfiguration() {
+		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerAsyncLogFactoryConfiguration.class);
+		LogFactory serverLogFactory = ctx.getBean("serverLogFactory", LogFactory.class);
+		assertThat(serverLogFactory).isInstanceOf(AsyncLogFactory.class);
+		assertThat(((AsyncLogFactory) serverLogFactory).getDelegate()).isInstanceOf(SLF4JLogFactory.class);
+		ctx.stop();
+	}
+
 	@Test
 	public void testAutoConfiguredBeansServerSlf4jLogFactoryConfiguration() {
 		AnnotationConfigApplicationContext ctx = new AnnotationConfigApplicationContext(ServerSlf4jLogFactoryConfiguration.class);
@@ -403,6 +550,7 @@ public class QuickFixJServerAutoConfigurationTest {
 	private void hasAutoConfiguredBeans(AnnotationConfigApplicationContext ctx) {
 		Application serverApplication = ctx.getBean("serverApplication", Application.class);
 		assertThat(serverApplication).isInstanceOf(EventPublisherApplicationAdapter.class);
+		assertThat(ctx.containsBean("serverEventDispatcher")).isFalse();
 
 		MessageStoreFactory serverMessageStoreFactory = ctx.getBean("serverMessageStoreFactory", MessageStoreFactory.class);
 		assertThat(serverMessageStoreFactory).isInstanceOf(MemoryStoreFactory.class);
@@ -422,6 +570,9 @@ public class QuickFixJServerAutoConfigurationTest {
 		QuickFixJTemplate quickFixJTemplate = ctx.getBean("quickFixJTemplate", QuickFixJTemplate.class);
 		assertThat(quickFixJTemplate).isNotNull();
 
+		SessionLookupHandler sessionLookupHandler = ctx.getBean("sessionLookupHandler", SessionLookupHandler.class);
+		assertThat(sessionLookupHandler).isInstanceOf(DefaultSessionLookupHandler.class);
+
 		ctx.stop();
 	}
 
@@ -447,6 +598,12 @@ public class QuickFixJServerAutoConfigurationTest {
 	static class SingleThreadedServerAcceptorConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-single-threaded/single-threaded-application-parallel-startup.properties")
+	static class SingleThreadedParallelStartupServerAcceptorConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:server-single-threaded/single-threaded-application-executor-factory.properties")
@@ -478,6 +635,12 @@ public class QuickFixJServerAutoConfigurationTest {
 	static class MultiThreadedExecutorFactoryServerAcceptorConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-multi-threaded/multi-threaded-application-virtual-executor.properties")
+	static class MultiThreadedVirtualExecutorServerAcceptorConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:server-single-threaded/single-threaded-application-no-config-defined.properties")
@@ -519,12 +682,65 @@ public class QuickFixJServerAutoConfigurationTest {
 	static class ServerNoopStoreFactoryConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-events/server-async-events.properties")
+	static class ServerAsyncEventsConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-events/server-sharded-events.properties")
+	static class ServerShardedEventsConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-events/server-async-events.properties")
+	static class ServerAsyncEventsWithClientEventDispatcherConfiguration {
+
+		@Bean
+		public EventDispatcher clientEventDispatcher() {
+			return mock(EventDispatcher.class);
+		}
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:server-message-store/server-sleepycat-store-factory.properties")
 	static class ServerSleepycatStoreFactoryConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-message-store/server-mmap-store-factory.properties")
+	static class ServerMappedFileStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-message-store/server-journal-store-factory.properties")
+	static class ServerJournalStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-message-store/server-write-behind-store-factory.properties")
+	static class ServerWriteBehindStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-message-store/server-tiered-store-factory.properties")
+	static class ServerTieredStoreFactoryConfiguration {
+	}
+
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-message-store/server-offheap-store-factory.properties")
+	static class ServerOffHeapStoreFactoryConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:server-log-factory/server-composite-log-factory.properties")
@@ -541,6 +757,12 @@ public class QuickFixJServerAutoConfigurationTest {
 		}
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-log-factory/server-binary-log-factory.properties")
+	static class ServerBinaryLogFactoryConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:server-log-factory/server-file-log-factory.properties")
@@ -553,6 +775,12 @@ public class QuickFixJServerAutoConfigurationTest {
 	static class ServerJdbcLogFactoryConfiguration {
 	}
 
+	@Configuration
+	@EnableAutoConfiguration
+	@PropertySource("classpath:server-log-factory/server-async-log-factory.properties")
+	static class ServerAsyncLogFactoryConfiguration {
+	}
+
 	@Configuration
 	@EnableAutoConfiguration
 	@PropertySource("classpath:server-log-factory/server-slf4j-log-factory.properties")
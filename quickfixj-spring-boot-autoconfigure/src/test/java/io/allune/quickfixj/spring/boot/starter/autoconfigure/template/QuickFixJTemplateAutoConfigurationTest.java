@@ -0,0 +1,269 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.autoconfigure.template;
+
+import io.allune.quickfixj.spring.boot.actuate.metrics.MessagePoolMetrics;
+import io.allune.quickfixj.spring.boot.actuate.metrics.SendRateLimiterMetrics;
+import io.allune.quickfixj.spring.boot.starter.template.CachingSessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.DefaultSessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.MessagePool;
+import io.allune.quickfixj.spring.boot.starter.template.OutboundBatching;
+import io.allune.quickfixj.spring.boot.starter.template.PooledMessage;
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import io.allune.quickfixj.spring.boot.starter.template.RateLimit;
+import io.allune.quickfixj.spring.boot.starter.template.SendRateLimiter;
+import io.allune.quickfixj.spring.boot.starter.template.SessionGroup;
+import io.allune.quickfixj.spring.boot.starter.template.SessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.SessionSelectionStrategy;
+import io.allune.quickfixj.spring.boot.starter.template.ThrottlePolicy;
+import io.allune.quickfixj.spring.boot.starter.template.TokenBucket;
+import io.allune.quickfixj.spring.boot.starter.template.ValidationPolicy;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.MsgType;
+import quickfix.field.Symbol;
+import quickfix.mina.SessionConnector;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class QuickFixJTemplateAutoConfigurationTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(QuickFixJTemplateAutoConfiguration.class));
+
+	@Test
+	public void shouldValidateAllMessagesByDefault() {
+		contextRunner.run(ctx -> {
+			assertThat(ctx).hasSingleBean(QuickFixJTemplate.class);
+			assertThat(ctx.getBean(QuickFixJTemplate.class)).hasFieldOrPropertyWithValue("doValidation", true);
+
+			ValidationPolicy validationPolicy = ctx.getBean(ValidationPolicy.class);
+			assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+			assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+		});
+	}
+
+	@Test
+	public void shouldNotCacheSessionLookupByDefault() {
+		contextRunner.run(ctx -> assertThat(ctx.getBean(SessionLookupHandler.class))
+				.isInstanceOf(DefaultSessionLookupHandler.class));
+	}
+
+	@Test
+	public void shouldCacheSessionLookupGivenEnabled() {
+		contextRunner.withPropertyValues("quickfixj.template.cache-session-lookup=true")
+				.run(ctx -> assertThat(ctx.getBean(SessionLookupHandler.class))
+						.isInstanceOf(CachingSessionLookupHandler.class));
+	}
+
+	@Test
+	public void shouldDisableValidation() {
+		contextRunner.withPropertyValues("quickfixj.template.validation.enabled=false")
+				.run(ctx -> assertThat(ctx.getBean(QuickFixJTemplate.class))
+						.hasFieldOrPropertyWithValue("doValidation", false));
+	}
+
+	@Test
+	public void shouldSampleValidationAndAlwaysValidateSelectedMsgTypes() {
+		contextRunner.withPropertyValues("quickfixj.template.validation.mode=sampled")
+				.withPropertyValues("quickfixj.template.validation.sample-rate=2")
+				.withPropertyValues("quickfixj.template.validation.msg-types=D")
+				.run(ctx -> {
+					ValidationPolicy validationPolicy = ctx.getBean(ValidationPolicy.class);
+					assertThat(ctx.getBean(QuickFixJTemplate.class))
+							.hasFieldOrPropertyWithValue("validationPolicy", validationPolicy);
+
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID)).isTrue();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID)).isFalse();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+				});
+	}
+
+	@Test
+	public void shouldValidateFirstMessagesOfEachMsgType() {
+		contextRunner.withPropertyValues("quickfixj.template.validation.mode=first-messages")
+				.withPropertyValues("quickfixj.template.validation.first-messages=1")
+				.run(ctx -> {
+					ValidationPolicy validationPolicy = ctx.getBean(ValidationPolicy.class);
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isFalse();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID)).isTrue();
+				});
+	}
+
+	@Test
+	public void shouldValidateSelectedMsgTypesOnly() {
+		contextRunner.withPropertyValues("quickfixj.template.validation.mode=msg-types")
+				.withPropertyValues("quickfixj.template.validation.msg-types=D,F")
+				.run(ctx -> {
+					ValidationPolicy validationPolicy = ctx.getBean(ValidationPolicy.class);
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID)).isTrue();
+					assertThat(validationPolicy.shouldValidate(newMessage(MsgType.EXECUTION_REPORT), SESSION_ID)).isFalse();
+				});
+	}
+
+	@Test
+	public void shouldNotCreateMessagePoolByDefault() {
+		contextRunner.run(ctx -> {
+			assertThat(ctx).doesNotHaveBean(MessagePool.class);
+			assertThat(ctx).doesNotHaveBean(MessagePoolMetrics.class);
+		});
+	}
+
+	@Test
+	public void shouldCreateMessagePoolWithSizesByMsgType() {
+		contextRunner.withPropertyValues("quickfixj.template.message-pool.enabled=true")
+				.withPropertyValues("quickfixj.template.message-pool.default-size=1")
+				.withPropertyValues("quickfixj.template.message-pool.sizes.D=2")
+				.run(ctx -> {
+					assertThat(ctx).hasSingleBean(MessagePoolMetrics.class);
+					MessagePool messagePool = ctx.getBean(MessagePool.class);
+					PooledMessage order1 = messagePool.borrow(MsgType.ORDER_SINGLE);
+					PooledMessage order2 = messagePool.borrow(MsgType.ORDER_SINGLE);
+					PooledMessage cancel1 = messagePool.borrow(MsgType.ORDER_CANCEL_REQUEST);
+					PooledMessage cancel2 = messagePool.borrow(MsgType.ORDER_CANCEL_REQUEST);
+					order1.close();
+					order2.close();
+					cancel1.close();
+					cancel2.close();
+					assertThat(messagePool.getPooledMessages()).isEqualTo(3);
+				});
+	}
+
+	@Test
+	public void shouldCreateSessionGroupsFromPropertiesAndBeans() {
+		contextRunner.withPropertyValues("quickfixj.template.session-groups.venue.sessions="
+						+ "FIX.4.4:BANZAI->EXEC:first,FIX.4.4:BANZAI/DESK2->EXEC")
+				.withPropertyValues("quickfixj.template.session-groups.venue.selection=sticky-by-key")
+				.withBean("otherGroup", SessionGroup.class, () -> new SessionGroup("other",
+						List.of(SESSION_ID), SessionSelectionStrategy.roundRobin()))
+				.run(ctx -> {
+					Map<String, SessionGroup> sessionGroups = sessionGroups(ctx.getBean(QuickFixJTemplate.class));
+					assertThat(sessionGroups).containsOnlyKeys("venue", "other");
+					assertThat(sessionGroups.get("venue").getSessionIDs()).containsExactly(
+							new SessionID("FIX.4.4", "BANZAI", "EXEC", "first"),
+							new SessionID("FIX.4.4", "BANZAI", "DESK2", "", "EXEC", "", "", ""));
+					assertThat(sessionGroups.get("venue").getSelectionStrategy())
+							.hasFieldOrPropertyWithValue("field", Symbol.FIELD);
+				});
+	}
+
+	@Test
+	public void shouldParseSessionIDs() {
+		List.of(new SessionID("FIX.4.4", "BANZAI", "EXEC"),
+				new SessionID("FIXT.1.1", "BANZAI", "EXEC", "qualifier"),
+				new SessionID("FIX.4.2", "BANZAI", "SUB", "LOC", "EXEC", "TSUB", "TLOC", "qualifier"),
+				new SessionID("FIX.4.2", "BANZAI", "", "LOC", "EXEC", "TSUB", "", ""))
+				.forEach(sessionID -> assertThat(QuickFixJTemplateAutoConfiguration.parseSessionID(sessionID.toString()))
+						.isEqualTo(sessionID));
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> QuickFixJTemplateAutoConfiguration.parseSessionID("BANZAI->EXEC"));
+	}
+
+	@Test
+	public void shouldNotCreateSendRateLimiterByDefault() {
+		contextRunner.run(ctx -> {
+			assertThat(ctx).doesNotHaveBean(SendRateLimiter.class);
+			assertThat(ctx.getBean(QuickFixJTemplate.class)).hasFieldOrPropertyWithValue("sendRateLimiter", null);
+		});
+	}
+
+	@Test
+	public void shouldCreateSendRateLimiterWithLimitsFromPropertiesAndSessionSettings() {
+		SessionID limitedSessionID = new SessionID("FIX.4.4", "BANZAI", "LIMITED");
+		contextRunner.withPropertyValues("quickfixj.template.rate-limit.enabled=true")
+				.withPropertyValues("quickfixj.template.rate-limit.policy=reject")
+				.withPropertyValues("quickfixj.template.rate-limit.messages-per-second=100")
+				.withPropertyValues("quickfixj.template.rate-limit.burst=2")
+				.withPropertyValues("quickfixj.template.rate-limit.msg-types.D.messages-per-second=10")
+				.withBean("clientSessionSettings", SessionSettings.class, () -> {
+					SessionSettings sessionSettings = new SessionSettings();
+					sessionSettings.setLong(limitedSessionID, SendRateLimiter.SETTING_SEND_RATE_LIMIT, 1);
+					return sessionSettings;
+				})
+				.run(ctx -> {
+					SendRateLimiter sendRateLimiter = ctx.getBean(SendRateLimiter.class);
+					assertThat(ctx).hasSingleBean(SendRateLimiterMetrics.class);
+					assertThat(ctx.getBean(QuickFixJTemplate.class))
+							.hasFieldOrPropertyWithValue("sendRateLimiter", sendRateLimiter);
+					assertThat(sendRateLimiter.getThrottlePolicy()).isEqualTo(ThrottlePolicy.REJECT);
+
+					sendRateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+					sendRateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), limitedSessionID);
+					assertThat(sendRateLimiter.getBuckets())
+							.extracting(TokenBucket::getSessionID, TokenBucket::getMsgType, TokenBucket::getRateLimit)
+							.containsExactlyInAnyOrder(
+									tuple(SESSION_ID, null, RateLimit.of(100, 2)),
+									tuple(SESSION_ID, MsgType.ORDER_SINGLE, RateLimit.of(10)),
+									tuple(limitedSessionID, null, RateLimit.of(1)),
+									tuple(limitedSessionID, MsgType.ORDER_SINGLE, RateLimit.of(10)));
+				});
+	}
+
+	@Test
+	public void shouldCreateOutboundBatching() {
+		contextRunner.run(ctx -> assertThat(ctx).doesNotHaveBean(OutboundBatching.class));
+		contextRunner.withPropertyValues("quickfixj.template.batching.enabled=true")
+				.withPropertyValues("quickfixj.template.batching.max-batch-size=4096")
+				.withPropertyValues("quickfixj.template.batching.max-delay=50us")
+				.run(ctx -> {
+					OutboundBatching outboundBatching = ctx.getBean(OutboundBatching.class);
+					assertThat(ctx.getBean(QuickFixJTemplate.class))
+							.hasFieldOrPropertyWithValue("outboundBatching", outboundBatching);
+					assertThat(outboundBatching.getMaxBatchSize()).isEqualTo(4096);
+					assertThat(outboundBatching.getMaxDelay()).isEqualTo(Duration.ofNanos(50_000));
+				});
+	}
+
+	@Test
+	public void shouldInstallOutboundBatchingOnConnectors() {
+		contextRunner.withPropertyValues("quickfixj.template.batching.enabled=true")
+				.withBean("clientConnector", SessionConnector.class, () -> mock(SessionConnector.class))
+				.run(ctx -> verify(ctx.getBean(SessionConnector.class))
+						.setIoFilterChainBuilder(ctx.getBean(OutboundBatching.class)));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, SessionGroup> sessionGroups(QuickFixJTemplate quickFixJTemplate) {
+		return (Map<String, SessionGroup>) ReflectionTestUtils.getField(quickFixJTemplate, "sessionGroups");
+	}
+
+	private static Message newMessage(String msgType) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		return message;
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import quickfix.ExecutorFactory;
+import quickfix.Message;
+import quickfix.Session;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual threads as the {@link ExecutorFactory} of thread per session connectors serving many
+ * idle sessions that only exchange heartbeats, by measuring the latency of sending on one active session and printing
+ * the number of live platform threads.
+ * <p>
+ * The {@code virtual} executor requires running the benchmarks on Java 21 or later.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ExecutorFactoryBenchmark {
+
+	private static final int HEARTBEAT_INTERVAL = 1;
+
+	@Param({"platform", "virtual"})
+	private String executor;
+
+	@Param({"100", "1000"})
+	private int idleSessions;
+
+	private ExecutorService platformExecutor;
+
+	private LoopbackSessions sessions;
+
+	private Session session;
+
+	private Message message;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		Executor taskExecutor;
+		if ("virtual".equals(executor)) {
+			taskExecutor = new VirtualThreadTaskExecutor("benchmark-virtual-");
+		} else {
+			platformExecutor = Executors.newCachedThreadPool();
+			taskExecutor = platformExecutor;
+		}
+
+		sessions = LoopbackSessions.startThreaded(idleSessions, HEARTBEAT_INTERVAL, new ExecutorFactory() {
+			@Override
+			public Executor getLongLivedExecutor() {
+				return taskExecutor;
+			}
+
+			@Override
+			public Executor getShortLivedExecutor() {
+				return taskExecutor;
+			}
+		});
+		session = sessions.getInitiatorSession();
+		message = Messages.newOrderSingle(sessions.getInitiatorSessionID());
+
+		System.out.printf("%n%d sessions logged on using %s threads, live platform threads: %d%n",
+				(idleSessions + 1) * 2, executor, ManagementFactory.getThreadMXBean().getThreadCount());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessions.close();
+		if (platformExecutor != null) {
+			platformExecutor.shutdownNow();
+		}
+	}
+
+	@Benchmark
+	public boolean send() {
+		return session.send(message);
+	}
+}
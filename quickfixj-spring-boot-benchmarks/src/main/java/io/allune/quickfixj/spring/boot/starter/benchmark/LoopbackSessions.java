@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import quickfix.Acceptor;
+import quickfix.ConfigError;
+import quickfix.ExecutorFactory;
+import quickfix.Initiator;
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.MessageStoreFactory;
+import quickfix.NoopStoreFactory;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.SocketAcceptor;
+import quickfix.SocketInitiator;
+import quickfix.ThreadedSocketAcceptor;
+import quickfix.ThreadedSocketInitiator;
+import quickfix.mina.SessionConnector;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An in-process acceptor/initiator pair connected over loopback, used as the fixture of the benchmarks.
+ * <p>
+ * Both connectors use a {@link NoopStoreFactory} and a no-op {@link Log} so that the benchmarks measure the send path
+ * and not the message store or the logging. Message stores can be swapped in with
+ * {@link #start(MessageStoreFactory)}, and {@link #startThreaded(int, int, ExecutorFactory)} starts thread per session
+ * connectors with additional idle sessions.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class LoopbackSessions implements AutoCloseable {
+
+	public static final SessionID INITIATOR_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	public static final SessionID ACCEPTOR_SESSION_ID = new SessionID("FIX.4.4", "EXEC", "BANZAI");
+
+	private static final long LOGON_TIMEOUT_SECONDS = 10;
+
+	private static final int MAX_SCHEDULED_WRITE_REQUESTS = 10_000;
+
+	private static final int DEFAULT_HEARTBEAT_INTERVAL = 30;
+
+	private final Acceptor acceptor;
+
+	private final Initiator initiator;
+
+	private LoopbackSessions(Acceptor acceptor, Initiator initiator) {
+		this.acceptor = acceptor;
+		this.initiator = initiator;
+	}
+
+	/**
+	 * Starts an acceptor and an initiator with no message store and waits for the initiator session to log on.
+	 *
+	 * @return the started sessions
+	 */
+	public static LoopbackSessions start() throws Exception {
+		return start(new NoopStoreFactory());
+	}
+
+	/**
+	 * Starts an acceptor and an initiator, the latter using the given message store factory, and waits for the
+	 * initiator session to log on.
+	 *
+	 * @param initiatorMessageStoreFactory the initiator's {@link MessageStoreFactory}
+	 * @return the started sessions
+	 */
+	public static LoopbackSessions start(MessageStoreFactory initiatorMessageStoreFactory) throws Exception {
+		return start(initiatorMessageStoreFactory, false, 0, DEFAULT_HEARTBEAT_INTERVAL, null);
+	}
+
+	/**
+	 * Starts a {@link ThreadedSocketAcceptor} and a {@link ThreadedSocketInitiator} running their tasks on the given
+	 * {@link ExecutorFactory}, with the given number of idle sessions next to the initiator session, and waits for all
+	 * the sessions to log on.
+	 *
+	 * @param idleSessions      the number of sessions only exchanging heartbeats
+	 * @param heartbeatInterval the heartbeat interval of all the sessions, in seconds
+	 * @param executorFactory   the {@link ExecutorFactory} of both connectors
+	 * @return the started sessions
+	 */
+	public static LoopbackSessions startThreaded(int idleSessions, int heartbeatInterval, ExecutorFactory executorFactory)
+			throws Exception {
+		return start(new NoopStoreFactory(), true, idleSessions, heartbeatInterval, executorFactory);
+	}
+
+	private static LoopbackSessions start(
+			MessageStoreFactory initiatorMessageStoreFactory,
+			boolean threaded,
+			int idleSessions,
+			int heartbeatInterval,
+			ExecutorFactory executorFactory
+	) throws Exception {
+		int port = freePort();
+		LogFactory logFactory = sessionID -> NoopLog.INSTANCE;
+		SessionSettings acceptorSettings = settings(acceptorConfig(port, idleSessions, heartbeatInterval));
+		SessionSettings initiatorSettings = settings(initiatorConfig(port, idleSessions, heartbeatInterval));
+
+		Acceptor acceptor = threaded
+				? ThreadedSocketAcceptor.newBuilder()
+				.withApplication(new EventPublisherApplicationAdapter(event -> {
+				}))
+				.withMessageStoreFactory(new NoopStoreFactory())
+				.withSettings(acceptorSettings)
+				.withLogFactory(logFactory)
+				.build()
+				: SocketAcceptor.newBuilder()
+				.withApplication(new EventPublisherApplicationAdapter(event -> {
+				}))
+				.withMessageStoreFactory(new NoopStoreFactory())
+				.withSettings(acceptorSettings)
+				.withLogFactory(logFactory)
+				.build();
+
+		Initiator initiator = threaded
+				? ThreadedSocketInitiator.newBuilder()
+				.withApplication(new EventPublisherApplicationAdapter(event -> {
+				}))
+				.withMessageStoreFactory(initiatorMessageStoreFactory)
+				.withSettings(initiatorSettings)
+				.withLogFactory(logFactory)
+				.build()
+				: SocketInitiator.newBuilder()
+				.withApplication(new EventPublisherApplicationAdapter(event -> {
+				}))
+				.withMessageStoreFactory(initiatorMessageStoreFactory)
+				.withSettings(initiatorSettings)
+				.withLogFactory(logFactory)
+				.build();
+
+		if (executorFactory != null) {
+			((SessionConnector) acceptor).setExecutorFactory(executorFactory);
+			((SessionConnector) initiator).setExecutorFactory(executorFactory);
+		}
+
+		LoopbackSessions sessions = new LoopbackSessions(acceptor, initiator);
+		acceptor.start();
+		initiator.start();
+		sessions.awaitLogon();
+		sessions.getInitiatorSession().setMaxScheduledWriteRequests(MAX_SCHEDULED_WRITE_REQUESTS);
+		return sessions;
+	}
+
+	public Session getInitiatorSession() {
+		return Session.lookupSession(INITIATOR_SESSION_ID);
+	}
+
+	public SessionID getInitiatorSessionID() {
+		return INITIATOR_SESSION_ID;
+	}
+
+	@Override
+	public void close() {
+		initiator.stop(true);
+		acceptor.stop(true);
+	}
+
+	private void awaitLogon() throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(LOGON_TIMEOUT_SECONDS);
+		while (!initiator.getSessions().stream().allMatch(sessionID -> Session.lookupSession(sessionID).isLoggedOn())) {
+			if (System.nanoTime() > deadline) {
+				close();
+				throw new IllegalStateException("Initiator did not log on within " + LOGON_TIMEOUT_SECONDS + " seconds");
+			}
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+	}
+
+	private static SessionSettings settings(String config) throws ConfigError {
+		return new SessionSettings(new ByteArrayInputStream(config.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private static String acceptorConfig(int port, int idleSessions, int heartbeatInterval) {
+		StringBuilder config = new StringBuilder()
+				.append("[default]\n")
+				.append("ConnectionType=acceptor\n")
+				.append("StartTime=00:00:00\n")
+				.append("EndTime=00:00:00\n")
+				.append("HeartBtInt=").append(heartbeatInterval).append("\n")
+				.append("UseDataDictionary=N\n")
+				.append("BeginString=").append(ACCEPTOR_SESSION_ID.getBeginString()).append("\n")
+				.append("SenderCompID=").append(ACCEPTOR_SESSION_ID.getSenderCompID()).append("\n")
+				.append("SocketAcceptAddress=127.0.0.1\n")
+				.append("SocketAcceptPort=").append(port).append("\n");
+		for (int i = 0; i <= idleSessions; i++) {
+			config.append("[session]\n")
+					.append("TargetCompID=").append(initiatorSenderCompID(i)).append("\n");
+		}
+		return config.toString();
+	}
+
+	private static String initiatorConfig(int port, int idleSessions, int heartbeatInterval) {
+		StringBuilder config = new StringBuilder()
+				.append("[default]\n")
+				.append("ConnectionType=initiator\n")
+				.append("StartTime=00:00:00\n")
+				.append("EndTime=00:00:00\n")
+				.append("HeartBtInt=").append(heartbeatInterval).append("\n")
+				.append("ReconnectInterval=1\n")
+				.append("UseDataDictionary=Y\n")
+				.append("BeginString=").append(INITIATOR_SESSION_ID.getBeginString()).append("\n")
+				.append("TargetCompID=").append(INITIATOR_SESSION_ID.getTargetCompID()).append("\n")
+				.append("SocketConnectHost=127.0.0.1\n")
+				.append("SocketConnectPort=").append(port).append("\n");
+		for (int i = 0; i <= idleSessions; i++) {
+			config.append("[session]\n")
+					.append("SenderCompID=").append(initiatorSenderCompID(i)).append("\n");
+		}
+		return config.toString();
+	}
+
+	private static String initiatorSenderCompID(int session) {
+		return session == 0 ? INITIATOR_SESSION_ID.getSenderCompID() : INITIATOR_SESSION_ID.getSenderCompID() + "-" + session;
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private enum NoopLog implements Log {
+
+		INSTANCE;
+
+		@Override
+		public void clear() {
+		}
+
+		@Override
+		public void onIncoming(String message) {
+		}
+
+		@Override
+		public void onOutgoing(String message) {
+		}
+
+		@Override
+		public void onEvent(String text) {
+		}
+
+		@Override
+		public void onErrorEvent(String text) {
+		}
+	}
+}
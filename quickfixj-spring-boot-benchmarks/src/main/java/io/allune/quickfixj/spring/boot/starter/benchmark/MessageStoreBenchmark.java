@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import io.allune.quickfixj.spring.boot.starter.store.JournalStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.MappedFileStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.OffHeapStoreFactory;
+import io.allune.quickfixj.spring.boot.starter.store.TieredStoreFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quickfix.CachedFileStoreFactory;
+import quickfix.FileStoreFactory;
+import quickfix.MemoryStoreFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the cost of persisting an outbound message and of reading back a range of messages to serve a resend
+ * request. The stores are recreated every {@value #MAX_STORED_MESSAGES} messages, so the {@code tiered} store spills most of
+ * them to disk while the {@code memory} and {@code offheap} stores keep them all on and off heap respectively.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class MessageStoreBenchmark {
+
+	private static final int RESEND_RANGE = 100;
+
+	private static final int MAX_STORED_MESSAGES = 100_000;
+
+	@Param({"file", "cachedfile", "mmap", "journal", "memory", "tiered", "offheap"})
+	private String store;
+
+	@Param({"N", "Y"})
+	private String sync;
+
+	private Path directory;
+
+	private MessageStoreFactory messageStoreFactory;
+
+	private MessageStore messageStore;
+
+	private String message;
+
+	private int sequence;
+
+	private List<String> resent;
+
+	@Setup(Level.Iteration)
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("quickfixj-store-benchmark");
+		SessionID sessionID = LoopbackSessions.INITIATOR_SESSION_ID;
+		SessionSettings settings = new SessionSettings();
+		settings.setString(sessionID, FileStoreFactory.SETTING_FILE_STORE_PATH, directory.toString());
+		settings.setString(sessionID, FileStoreFactory.SETTING_FILE_STORE_SYNC, sync);
+		settings.setString(sessionID, MappedFileStoreFactory.SETTING_MAPPED_FILE_STORE_SYNC, sync);
+		settings.setString(sessionID, MappedFileStoreFactory.SETTING_MAPPED_FILE_STORE_SEGMENT_SIZE, String.valueOf(64 * 1024 * 1024));
+
+		settings.setString(FileStoreFactory.SETTING_FILE_STORE_PATH, directory.toString());
+
+		messageStoreFactory = messageStoreFactory(settings);
+		messageStore = messageStoreFactory.create(sessionID);
+		message = Messages.newOrderSingle(sessionID).toString();
+		for (sequence = 1; sequence <= RESEND_RANGE; sequence++) {
+			messageStore.set(sequence, message);
+		}
+		resent = new ArrayList<>(RESEND_RANGE);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() throws IOException {
+		if (messageStore instanceof Closeable) {
+			((Closeable) messageStore).close();
+		}
+		if (messageStoreFactory instanceof Closeable) {
+			((Closeable) messageStoreFactory).close();
+		}
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public boolean set() throws Exception {
+		if (sequence > MAX_STORED_MESSAGES) {
+			// Bounds the size of the files, the new store being amortised over the stored messages
+			tearDown();
+			setUp();
+		}
+		return messageStore.set(sequence++, message);
+	}
+
+	@Benchmark
+	public int resend() throws IOException {
+		resent.clear();
+		messageStore.get(1, RESEND_RANGE, resent);
+		return resent.size();
+	}
+
+	private MessageStoreFactory messageStoreFactory(SessionSettings settings) {
+		return switch (store) {
+			case "file" -> new FileStoreFactory(settings);
+			case "cachedfile" -> new CachedFileStoreFactory(settings);
+			case "mmap" -> new MappedFileStoreFactory(settings);
+			case "journal" -> new JournalStoreFactory(settings);
+			case "memory" -> new MemoryStoreFactory();
+			case "tiered" -> new TieredStoreFactory(settings);
+			case "offheap" -> new OffHeapStoreFactory(settings);
+			default -> throw new IllegalArgumentException("Unknown store: " + store);
+		};
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.HandlInst;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.SenderCompID;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.TimeInForce;
+import quickfix.field.TransactTime;
+import quickfix.fix44.NewOrderSingle;
+
+/**
+ * Factory of the messages sent by the benchmarks.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public final class Messages {
+
+	private Messages() {
+	}
+
+	/**
+	 * Creates a limit {@link NewOrderSingle} valid against the FIX 4.4 data dictionary, with the sender and target
+	 * company IDs of the given session set in the header.
+	 *
+	 * @param sessionID the session the order will be sent on
+	 * @return the order
+	 */
+	public static NewOrderSingle newOrderSingle(SessionID sessionID) {
+		NewOrderSingle order = new NewOrderSingle(
+				new ClOrdID("ORDER-1"),
+				new Side(Side.BUY),
+				new TransactTime(),
+				new OrdType(OrdType.LIMIT));
+		order.set(new HandlInst(HandlInst.AUTOMATED_EXECUTION_ORDER_PRIVATE_NO_BROKER_INTERVENTION));
+		order.set(new Symbol("MSFT"));
+		order.set(new OrderQty(100));
+		order.set(new Price(415.25));
+		order.set(new TimeInForce(TimeInForce.DAY));
+		order.getHeader().setField(new SenderCompID(sessionID.getSenderCompID()));
+		order.getHeader().setField(new TargetCompID(sessionID.getTargetCompID()));
+		return order;
+	}
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import io.allune.quickfixj.spring.boot.starter.template.MessagePool;
+import io.allune.quickfixj.spring.boot.starter.template.PooledMessage;
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.ClOrdID;
+import quickfix.field.HandlInst;
+import quickfix.field.MsgType;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TimeInForce;
+import quickfix.field.TransactTime;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending an order built as a new {@link Message} per operation through
+ * {@link QuickFixJTemplate#send(Message, SessionID)} with sending the same order filled into a {@link PooledMessage}
+ * borrowed from a {@link MessagePool}, against a logged on loopback session.
+ * <p>
+ * Validation is disabled in both cases. Run with {@code -prof gc} to get the allocation rate per operation.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class QuickFixJTemplatePooledSendBenchmark {
+
+	private LoopbackSessions sessions;
+
+	private QuickFixJTemplate quickFixJTemplate;
+
+	private MessagePool messagePool;
+
+	private SessionID sessionID;
+
+	private String transactTime;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		sessions = LoopbackSessions.start();
+		sessionID = sessions.getInitiatorSessionID();
+		transactTime = Messages.newOrderSingle(sessionID).getString(TransactTime.FIELD);
+		messagePool = new MessagePool();
+
+		quickFixJTemplate = new QuickFixJTemplate();
+		quickFixJTemplate.setDoValidation(false);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessions.close();
+	}
+
+	@Benchmark
+	public boolean send() {
+		return quickFixJTemplate.send(Messages.newOrderSingle(sessionID), sessionID);
+	}
+
+	@Benchmark
+	public boolean sendPooled() {
+		try (PooledMessage order = messagePool.borrow(MsgType.ORDER_SINGLE)) {
+			order.setString(ClOrdID.FIELD, "ORDER-1");
+			order.setChar(Side.FIELD, Side.BUY);
+			order.setString(TransactTime.FIELD, transactTime);
+			order.setChar(OrdType.FIELD, OrdType.LIMIT);
+			order.setChar(HandlInst.FIELD, HandlInst.AUTOMATED_EXECUTION_ORDER_PRIVATE_NO_BROKER_INTERVENTION);
+			order.setString(Symbol.FIELD, "MSFT");
+			order.setInt(OrderQty.FIELD, 100);
+			order.setString(Price.FIELD, "415.25");
+			order.setChar(TimeInForce.FIELD, TimeInForce.DAY);
+			return quickFixJTemplate.send(order, sessionID);
+		}
+	}
+}
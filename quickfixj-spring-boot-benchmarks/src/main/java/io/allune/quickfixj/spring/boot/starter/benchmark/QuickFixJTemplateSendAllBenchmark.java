@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of sending a basket of messages through {@link QuickFixJTemplate#sendAll(java.util.Collection)}
+ * against sending them one by one with {@link QuickFixJTemplate#send(Message)}, with validation enabled.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class QuickFixJTemplateSendAllBenchmark {
+
+	@Param({"10", "100"})
+	private int batchSize;
+
+	private LoopbackSessions sessions;
+
+	private QuickFixJTemplate quickFixJTemplate;
+
+	private List<Message> messages;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		sessions = LoopbackSessions.start();
+		SessionID sessionID = sessions.getInitiatorSessionID();
+		messages = new ArrayList<>(batchSize);
+		for (int i = 0; i < batchSize; i++) {
+			messages.add(Messages.newOrderSingle(sessionID));
+		}
+
+		quickFixJTemplate = new QuickFixJTemplate();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessions.close();
+	}
+
+	@Benchmark
+	public int sendAll() {
+		return quickFixJTemplate.sendAll(messages);
+	}
+
+	@Benchmark
+	public int sendEach() {
+		int sent = 0;
+		for (Message message : messages) {
+			if (quickFixJTemplate.send(message)) {
+				sent++;
+			}
+		}
+		return sent;
+	}
+}
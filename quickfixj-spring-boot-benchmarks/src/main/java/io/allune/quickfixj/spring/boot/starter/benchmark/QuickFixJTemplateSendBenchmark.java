@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quickfix.Message;
+import quickfix.Session;
+import quickfix.SessionID;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of sending a message through {@link QuickFixJTemplate}, with and without message validation,
+ * against a logged on loopback session.
+ * <p>
+ * {@code session} sends straight through {@link Session#send(Message)} and is the baseline the template overhead
+ * (session ID resolution, session lookup and validation) is measured against. Run with {@code -prof gc} to get the
+ * allocation rate per operation.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class QuickFixJTemplateSendBenchmark {
+
+	@Param({"true", "false"})
+	private boolean validation;
+
+	private LoopbackSessions sessions;
+
+	private QuickFixJTemplate quickFixJTemplate;
+
+	private Session session;
+
+	private SessionID sessionID;
+
+	private Message message;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		sessions = LoopbackSessions.start();
+		session = sessions.getInitiatorSession();
+		sessionID = sessions.getInitiatorSessionID();
+		message = Messages.newOrderSingle(sessionID);
+
+		quickFixJTemplate = new QuickFixJTemplate();
+		quickFixJTemplate.setDoValidation(validation);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessions.close();
+	}
+
+	@Benchmark
+	public boolean send() {
+		return quickFixJTemplate.send(message);
+	}
+
+	@Benchmark
+	public boolean sendWithSessionID() {
+		return quickFixJTemplate.send(message, sessionID);
+	}
+
+	@Benchmark
+	public boolean session() {
+		return session.send(message);
+	}
+}
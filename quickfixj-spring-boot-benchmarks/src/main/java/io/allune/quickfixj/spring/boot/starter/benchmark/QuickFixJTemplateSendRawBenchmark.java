@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.benchmark;
+
+import io.allune.quickfixj.spring.boot.starter.template.QuickFixJTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.MsgType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares sending an order built as a {@link Message} per operation through
+ * {@link QuickFixJTemplate#send(Message, SessionID)} with sending the same order encoded from a byte template through
+ * {@link QuickFixJTemplate#sendRaw(SessionID, String, ByteBuffer)}, against a logged on loopback session.
+ * <p>
+ * Validation is disabled in both cases, as raw messages are not validated. Run with {@code -prof gc} to get the
+ * allocation rate per operation.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class QuickFixJTemplateSendRawBenchmark {
+
+	private LoopbackSessions sessions;
+
+	private QuickFixJTemplate quickFixJTemplate;
+
+	private SessionID sessionID;
+
+	private byte[] bodyTemplate;
+
+	private ByteBuffer body;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		sessions = LoopbackSessions.start();
+		sessionID = sessions.getInitiatorSessionID();
+
+		// The body fields of the same order, as encoded by the message
+		String order = Messages.newOrderSingle(sessionID).toString();
+		int bodyStart = order.indexOf("\00111=") + 1;
+		int bodyEnd = order.lastIndexOf("\00110=") + 1;
+		bodyTemplate = order.substring(bodyStart, bodyEnd).getBytes(StandardCharsets.ISO_8859_1);
+		body = ByteBuffer.allocate(bodyTemplate.length);
+
+		quickFixJTemplate = new QuickFixJTemplate();
+		quickFixJTemplate.setDoValidation(false);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		sessions.close();
+	}
+
+	@Benchmark
+	public boolean send() {
+		return quickFixJTemplate.send(Messages.newOrderSingle(sessionID), sessionID);
+	}
+
+	@Benchmark
+	public boolean sendRaw() {
+		body.clear();
+		body.put(bodyTemplate).flip();
+		return quickFixJTemplate.sendRaw(sessionID, MsgType.ORDER_SINGLE, body);
+	}
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import quickfix.SessionID;
+
+/**
+ * Strategy used by the {@link EventPublisherApplicationAdapter} to hand the events of a session over to the
+ * application listeners outside the QuickFIX/J session thread.
+ * <p>
+ * Implementations must publish the events of a session in the same order they were dispatched.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public interface EventDispatcher {
+
+	/**
+	 * Dispatches an event of the given session to the application listeners.
+	 *
+	 * @param sessionId the ID of the session the event belongs to
+	 * @param event     the event to publish
+	 */
+	void dispatch(SessionID sessionId, Object event);
+}
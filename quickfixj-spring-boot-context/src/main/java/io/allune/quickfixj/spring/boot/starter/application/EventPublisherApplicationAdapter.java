@@ -46,6 +46,12 @@ import java.util.function.Consumer;
  * <p>If disabled (default), the problematic incoming message is discarded and the message sequence number is not incremented. Processing of the next valid message
  * will cause detection of a sequence gap and a ResendRequest will be generated.
  *
+ * <p>When an {@link EventDispatcher} is provided, the {@link FromApp} events are handed over to it instead of being
+ * published on the session thread, and exceptions thrown by their listeners are no longer propagated to the session.
+ * The other events are always published synchronously: listeners may amend an outgoing message or veto it by throwing
+ * {@link quickfix.DoNotSend}, reject a logon or an administrative message by throwing {@link quickfix.RejectLogon} or
+ * {@link quickfix.IncorrectTagValue}, and expect the session to be set up when {@link Create} and {@link Logon} return.
+ *
  * @author Eduardo Sanchez-Ros
  */
 @Slf4j
@@ -53,10 +59,19 @@ public class EventPublisherApplicationAdapter implements Application {
 
 	private Consumer<Object> publishEventConsumer;
 
+	private EventDispatcher eventDispatcher;
+
+	private ReceiveListener receiveListener;
+
 	public EventPublisherApplicationAdapter(ApplicationEventPublisher applicationEventPublisher) {
 		this.publishEventConsumer = applicationEventPublisher::publishEvent;
 	}
 
+	public EventPublisherApplicationAdapter(ApplicationEventPublisher applicationEventPublisher, EventDispatcher eventDispatcher) {
+		this(applicationEventPublisher);
+		this.eventDispatcher = eventDispatcher;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -65,12 +80,25 @@ public class EventPublisherApplicationAdapter implements Application {
 		publishEvent(FromAdmin.of(message, sessionId));
 	}
 
+	/**
+	 * Set the {@link ReceiveListener} notified of each inbound application message on the session thread, before the
+	 * {@link FromApp} event is published or dispatched.
+	 *
+	 * @param receiveListener the listener, or {@code null} to remove it
+	 */
+	public void setReceiveListener(ReceiveListener receiveListener) {
+		this.receiveListener = receiveListener;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void fromApp(Message message, SessionID sessionId) {
-		publishEvent(FromApp.of(message, sessionId));
+		if (receiveListener != null) {
+			receiveListener.onReceive(message, sessionId);
+		}
+		dispatchEvent(sessionId, FromApp.of(message, sessionId));
 	}
 
 	/**
@@ -113,6 +141,14 @@ public class EventPublisherApplicationAdapter implements Application {
 		publishEvent(ToApp.of(message, sessionId));
 	}
 
+	private <T> void dispatchEvent(SessionID sessionId, T event) {
+		if (eventDispatcher == null) {
+			publishEvent(event);
+		} else {
+			eventDispatcher.dispatch(sessionId, event);
+		}
+	}
+
 	private <T> void publishEvent(T event) {
 		try {
 			publishEventConsumer.accept(event);
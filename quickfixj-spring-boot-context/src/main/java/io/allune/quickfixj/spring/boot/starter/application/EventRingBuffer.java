@@ -0,0 +1,123 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, pre-allocated, multi-producer single-consumer ring buffer of events.
+ * <p>
+ * Producers claim a sequence with a CAS on the producer cursor, store the event in the slot of that sequence and then
+ * mark the slot as published. The consumer reads the slots in sequence order, so events are consumed in the order
+ * their sequences were claimed.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class EventRingBuffer {
+
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private final Object[] entries;
+
+	private final AtomicLongArray published;
+
+	private final int mask;
+
+	private final AtomicLong producerCursor = new AtomicLong(-1);
+
+	private final AtomicLong consumerCursor = new AtomicLong(-1);
+
+	EventRingBuffer(int size) {
+		int capacity = capacityFor(size);
+		this.entries = new Object[capacity];
+		this.published = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			published.set(i, -1);
+		}
+		this.mask = capacity - 1;
+	}
+
+	/**
+	 * Claims the next sequence of the ring buffer.
+	 *
+	 * @return the claimed sequence, or {@code -1} if the ring buffer is full
+	 */
+	long tryClaim() {
+		while (true) {
+			long current = producerCursor.get();
+			long next = current + 1;
+			if (next - entries.length > consumerCursor.get()) {
+				return -1;
+			}
+			if (producerCursor.compareAndSet(current, next)) {
+				return next;
+			}
+		}
+	}
+
+	/**
+	 * Stores the event in the slot of a claimed sequence and makes it visible to the consumer.
+	 */
+	void publish(long sequence, Object event) {
+		int index = (int) sequence & mask;
+		entries[index] = event;
+		published.lazySet(index, sequence);
+	}
+
+	/**
+	 * Removes the next event of the ring buffer. Must only be called from the consumer thread.
+	 *
+	 * @return the next event, or {@code null} if it has not been published yet
+	 */
+	Object poll() {
+		long next = consumerCursor.get() + 1;
+		int index = (int) next & mask;
+		if (published.get(index) != next) {
+			return null;
+		}
+		Object event = entries[index];
+		entries[index] = null;
+		consumerCursor.lazySet(next);
+		return event;
+	}
+
+	/**
+	 * Whether all the claimed sequences have been consumed.
+	 */
+	boolean isEmpty() {
+		return producerCursor.get() == consumerCursor.get();
+	}
+
+	int getCapacity() {
+		return entries.length;
+	}
+
+	/**
+	 * Number of claimed sequences that have not been consumed yet.
+	 */
+	int size() {
+		return (int) Math.max(0, producerCursor.get() - consumerCursor.get());
+	}
+
+	private static int capacityFor(int size) {
+		if (size < 1 || size > MAX_CAPACITY) {
+			throw new IllegalArgumentException("Ring buffer size must be between 1 and " + MAX_CAPACITY + ", was " + size);
+		}
+		int capacity = Integer.highestOneBit(size);
+		return capacity == size ? capacity : capacity << 1;
+	}
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Makes a worker thread taking its work from a bounded queue, such as the consumer thread of a
+ * {@link RingBufferEventDispatcher} or the writer thread of an
+ * {@link io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory}, wait for new work according to a
+ * {@link WaitStrategy}, and makes the producers wait for space in the queue.
+ * <p>
+ * Meant for the asynchronous components of the starter, not as a public API.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public final class IdleStrategy {
+
+	/**
+	 * Maximum time to wait for a worker thread to drain its queue when it is stopped.
+	 */
+	public static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+	private static final int SPIN_TRIES = 100;
+
+	private static final int YIELD_TRIES = 200;
+
+	private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+	private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final WaitStrategy waitStrategy;
+
+	private final BooleanSupplier mayPark;
+
+	private volatile boolean waiting = false;
+
+	/**
+	 * @param waitStrategy how the worker thread waits for new work
+	 * @param mayPark      whether the worker thread still has nothing to do, checked before it is parked
+	 */
+	public IdleStrategy(WaitStrategy waitStrategy, BooleanSupplier mayPark) {
+		this.waitStrategy = waitStrategy;
+		this.mayPark = mayPark;
+	}
+
+	/**
+	 * Wait for new work on the worker thread.
+	 *
+	 * @param tries the number of times the worker thread found no work in a row
+	 * @return the number of tries to pass on the next call
+	 */
+	public int idle(int tries) {
+		switch (waitStrategy) {
+			case BUSY_SPIN:
+				Thread.onSpinWait();
+				return tries;
+			case YIELDING:
+				return spinThenYield(tries);
+			case SLEEPING:
+				if (tries < SPIN_TRIES + YIELD_TRIES) {
+					return spinThenYield(tries);
+				}
+				LockSupport.parkNanos(this, SLEEP_NANOS);
+				return tries;
+			case BLOCKING:
+			default:
+				waiting = true;
+				// Checked again after publishing the flag so that a concurrent producer either sees the flag or is seen
+				if (mayPark.getAsBoolean()) {
+					LockSupport.parkNanos(this, MAX_PARK_NANOS);
+				}
+				waiting = false;
+				return tries;
+		}
+	}
+
+	/**
+	 * Wake the worker thread up if it is parked waiting for new work.
+	 *
+	 * @param worker the worker thread
+	 */
+	public void signal(Thread worker) {
+		if (waiting) {
+			LockSupport.unpark(worker);
+		}
+	}
+
+	/**
+	 * Wait for space in the queue on a producer thread, spinning, then yielding, then parking the thread for short
+	 * periods of time.
+	 *
+	 * @param tries the number of times the producer found the queue full in a row
+	 * @return the number of tries to pass on the next call
+	 */
+	public static int backOff(int tries) {
+		if (tries < SPIN_TRIES + YIELD_TRIES) {
+			return spinThenYield(tries);
+		}
+		LockSupport.parkNanos(SLEEP_NANOS);
+		return tries;
+	}
+
+	private static int spinThenYield(int tries) {
+		if (tries < SPIN_TRIES) {
+			Thread.onSpinWait();
+		} else {
+			Thread.yield();
+		}
+		return tries + 1;
+	}
+}
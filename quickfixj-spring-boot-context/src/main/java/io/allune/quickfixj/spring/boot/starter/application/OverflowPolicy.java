@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+/**
+ * Defines what a {@link RingBufferEventDispatcher} does when an event is dispatched and its ring buffer is full, and
+ * what an {@link io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory} does when an entry is logged and its
+ * queue is full.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * Blocks the session thread until there is space in the ring buffer or queue.
+	 */
+	BLOCK,
+
+	/**
+	 * Drops the event or log entry.
+	 */
+	DROP,
+
+	/**
+	 * Throws an {@link io.allune.quickfixj.spring.boot.starter.exception.EventDispatchException}, which is
+	 * propagated up to the QuickFIX/J session. Not supported by the
+	 * {@link io.allune.quickfixj.spring.boot.starter.log.AsyncLogFactory}.
+	 */
+	FAIL
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import quickfix.Message;
+import quickfix.SessionID;
+
+/**
+ * Callback notified by the {@link EventPublisherApplicationAdapter} of each inbound application message.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@FunctionalInterface
+public interface ReceiveListener {
+
+	/**
+	 * Called on the QuickFIX/J session thread, before the {@link io.allune.quickfixj.spring.boot.starter.model.FromApp}
+	 * event is published or handed over to the {@link EventDispatcher}.
+	 *
+	 * @param message   the message
+	 * @param sessionID the ID of the session the message was received from
+	 */
+	void onReceive(Message message, SessionID sessionID);
+}
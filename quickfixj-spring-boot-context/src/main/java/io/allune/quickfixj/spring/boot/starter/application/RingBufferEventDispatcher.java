@@ -0,0 +1,297 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import io.allune.quickfixj.spring.boot.starter.exception.EventDispatchException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+import quickfix.SessionID;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * {@link EventDispatcher} that hands the events over to a dedicated consumer thread through a bounded, pre-allocated
+ * ring buffer, so that the application listeners do not run on the QuickFIX/J session thread.
+ * <p>
+ * Events are published by the consumer thread in the order they were dispatched, which preserves the order of the
+ * events of each session. The consumer thread waits for new events according to the {@link WaitStrategy}, and the
+ * {@link OverflowPolicy} defines what happens when an event is dispatched and the ring buffer is full.
+ * <p>
+ * Exceptions thrown by the listeners are logged, as they can no longer be propagated up to the
+ * {@link quickfix.Session}. Events dispatched while the dispatcher is not running are published on the calling thread,
+ * once the events still in the ring buffer have been published.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Slf4j
+public class RingBufferEventDispatcher implements EventDispatcher, SmartLifecycle {
+
+	public static final int DEFAULT_RING_SIZE = 1024;
+
+	private final Consumer<Object> publishEventConsumer;
+
+	private final EventRingBuffer ringBuffer;
+
+	private final Object lifecycleMonitor = new Object();
+
+	/**
+	 * Held by the thread polling the ring buffer: the consumer thread while it runs, then the threads publishing the
+	 * events left in the ring buffer once it is stopped.
+	 */
+	private final Object drainMonitor = new Object();
+
+	private final AtomicLong droppedEvents = new AtomicLong();
+
+	private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	private String threadName = "QuickFixJ Spring Boot Starter events";
+
+	private int phase = Integer.MIN_VALUE;
+
+	private volatile boolean running = false;
+
+	private IdleStrategy idleStrategy;
+
+	private Thread consumerThread;
+
+	public RingBufferEventDispatcher(Consumer<Object> publishEventConsumer) {
+		this(publishEventConsumer, DEFAULT_RING_SIZE);
+	}
+
+	public RingBufferEventDispatcher(Consumer<Object> publishEventConsumer, int ringSize) {
+		Assert.notNull(publishEventConsumer, "'publishEventConsumer' must not be null");
+		this.publishEventConsumer = publishEventConsumer;
+		this.ringBuffer = new EventRingBuffer(ringSize);
+	}
+
+	/**
+	 * Set how the consumer thread waits for new events.
+	 * <p>Default is {@link WaitStrategy#BLOCKING}.
+	 *
+	 * @param waitStrategy the wait strategy
+	 */
+	public void setWaitStrategy(WaitStrategy waitStrategy) {
+		Assert.notNull(waitStrategy, "'waitStrategy' must not be null");
+		this.waitStrategy = waitStrategy;
+	}
+
+	/**
+	 * Set what to do when an event is dispatched and the ring buffer is full.
+	 * <p>Default is {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @param overflowPolicy the overflow policy
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "'overflowPolicy' must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Set the name of the consumer thread.
+	 *
+	 * @param threadName the thread name
+	 */
+	public void setThreadName(String threadName) {
+		this.threadName = threadName;
+	}
+
+	/**
+	 * Specify the phase in which this dispatcher should be started and stopped. It must start before, and stop
+	 * after, the connector whose events it dispatches.
+	 * <p>Default is {@link Integer#MIN_VALUE}.
+	 *
+	 * @param phase The phase number
+	 */
+	public void setPhase(int phase) {
+		this.phase = phase;
+	}
+
+	@Override
+	public int getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Return the number of slots of the ring buffer.
+	 */
+	public int getRingSize() {
+		return ringBuffer.getCapacity();
+	}
+
+	/**
+	 * Return the number of events in the ring buffer waiting to be published.
+	 */
+	public int getOccupancy() {
+		return ringBuffer.size();
+	}
+
+	/**
+	 * Return the number of events dropped because the ring buffer was full.
+	 */
+	public long getDroppedEvents() {
+		return droppedEvents.get();
+	}
+
+	@Override
+	public void dispatch(SessionID sessionId, Object event) {
+		if (!running) {
+			publishAfterDrain(event);
+			return;
+		}
+
+		long sequence = ringBuffer.tryClaim();
+		if (sequence < 0) {
+			sequence = claimOnOverflow(sessionId, event);
+			if (sequence < 0) {
+				return;
+			}
+		}
+		ringBuffer.publish(sequence, event);
+		if (running) {
+			idleStrategy.signal(consumerThread);
+		} else {
+			// Stopped in the meantime, the consumer thread may have drained the ring buffer before the event was published
+			synchronized (drainMonitor) {
+				drain();
+			}
+		}
+	}
+
+	@Override
+	public void start() {
+		synchronized (lifecycleMonitor) {
+			if (!running) {
+				idleStrategy = new IdleStrategy(waitStrategy, () -> ringBuffer.isEmpty() && running);
+				running = true;
+				consumerThread = new Thread(this::consume, threadName);
+				consumerThread.setDaemon(true);
+				consumerThread.start();
+			}
+		}
+	}
+
+	/**
+	 * Stop the consumer thread once all the events in the ring buffer have been published.
+	 */
+	@Override
+	public void stop() {
+		synchronized (lifecycleMonitor) {
+			if (running) {
+				running = false;
+				LockSupport.unpark(consumerThread);
+				try {
+					consumerThread.join(IdleStrategy.STOP_TIMEOUT_MILLIS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				if (consumerThread.isAlive()) {
+					log.warn("Thread {} did not publish the pending events within {} ms", threadName,
+							IdleStrategy.STOP_TIMEOUT_MILLIS);
+					return;
+				}
+				synchronized (drainMonitor) {
+					drain();
+				}
+			}
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private long claimOnOverflow(SessionID sessionId, Object event) {
+		switch (overflowPolicy) {
+			case DROP:
+				droppedEvents.incrementAndGet();
+				log.debug("Event ring buffer is full, dropping {} for session {}", event.getClass().getSimpleName(), sessionId);
+				return -1;
+			case FAIL:
+				throw new EventDispatchException("Event ring buffer is full, could not dispatch "
+						+ event.getClass().getSimpleName() + " for session " + sessionId);
+			case BLOCK:
+			default:
+				int tries = 0;
+				long sequence;
+				while ((sequence = ringBuffer.tryClaim()) < 0) {
+					if (!running) {
+						publishAfterDrain(event);
+						return -1;
+					}
+					tries = IdleStrategy.backOff(tries);
+				}
+				return sequence;
+		}
+	}
+
+	private void consume() {
+		synchronized (drainMonitor) {
+			int tries = 0;
+			while (running) {
+				Object event = ringBuffer.poll();
+				if (event != null) {
+					publish(event);
+					tries = 0;
+				} else {
+					tries = idleStrategy.idle(tries);
+				}
+			}
+
+			// Drain the events dispatched before the dispatcher was stopped
+			drain();
+		}
+	}
+
+	/**
+	 * Publish the events left in the ring buffer, waiting for the claimed sequences to be published. Must be called
+	 * while holding the drain monitor.
+	 */
+	private void drain() {
+		while (!ringBuffer.isEmpty()) {
+			Object event = ringBuffer.poll();
+			if (event != null) {
+				publish(event);
+			} else {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	/**
+	 * Publish an event dispatched while the dispatcher is not running behind the events still in the ring buffer, so
+	 * that the events of a session stay in order.
+	 */
+	private void publishAfterDrain(Object event) {
+		synchronized (drainMonitor) {
+			drain();
+			publish(event);
+		}
+	}
+
+	private void publish(Object event) {
+		try {
+			publishEventConsumer.accept(event);
+		} catch (Exception ex) {
+			log.error("Failed to publish event {}", event, ex);
+		}
+	}
+}
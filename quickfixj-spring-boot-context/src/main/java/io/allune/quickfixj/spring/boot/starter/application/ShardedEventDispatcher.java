@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.Assert;
+import quickfix.SessionID;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link EventDispatcher} that spreads the events over a fixed number of {@link RingBufferEventDispatcher shards},
+ * each one with its own consumer thread, choosing the shard from the hash of the {@link SessionID}.
+ * <p>
+ * All the events of a session are always published by the same shard, which preserves their order, while the events
+ * of different sessions are published in parallel. This allows the application listeners of the single threaded
+ * {@link quickfix.SocketInitiator} and {@link quickfix.SocketAcceptor} to make use of all the available cores.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class ShardedEventDispatcher implements EventDispatcher, SmartLifecycle {
+
+	private final List<RingBufferEventDispatcher> shards;
+
+	private int phase = Integer.MIN_VALUE;
+
+	private volatile boolean running = false;
+
+	public ShardedEventDispatcher(Consumer<Object> publishEventConsumer, int shardCount, int ringSize) {
+		Assert.isTrue(shardCount > 0, "'shardCount' must be greater than zero");
+		List<RingBufferEventDispatcher> shards = new ArrayList<>(shardCount);
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new RingBufferEventDispatcher(publishEventConsumer, ringSize));
+		}
+		this.shards = Collections.unmodifiableList(shards);
+	}
+
+	/**
+	 * Set how the consumer threads wait for new events.
+	 *
+	 * @param waitStrategy the wait strategy
+	 * @see RingBufferEventDispatcher#setWaitStrategy(WaitStrategy)
+	 */
+	public void setWaitStrategy(WaitStrategy waitStrategy) {
+		shards.forEach(shard -> shard.setWaitStrategy(waitStrategy));
+	}
+
+	/**
+	 * Set what to do when an event is dispatched and the ring buffer of its shard is full.
+	 *
+	 * @param overflowPolicy the overflow policy
+	 * @see RingBufferEventDispatcher#setOverflowPolicy(OverflowPolicy)
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		shards.forEach(shard -> shard.setOverflowPolicy(overflowPolicy));
+	}
+
+	/**
+	 * Set the prefix of the names of the consumer threads, which are suffixed with the index of the shard.
+	 *
+	 * @param threadNamePrefix the thread name prefix
+	 */
+	public void setThreadNamePrefix(String threadNamePrefix) {
+		for (int i = 0; i < shards.size(); i++) {
+			shards.get(i).setThreadName(threadNamePrefix + i);
+		}
+	}
+
+	/**
+	 * Specify the phase in which this dispatcher should be started and stopped.
+	 * <p>Default is {@link Integer#MIN_VALUE}.
+	 *
+	 * @param phase The phase number
+	 */
+	public void setPhase(int phase) {
+		this.phase = phase;
+	}
+
+	@Override
+	public int getPhase() {
+		return phase;
+	}
+
+	/**
+	 * Return the shards, in index order.
+	 */
+	public List<RingBufferEventDispatcher> getShards() {
+		return shards;
+	}
+
+	@Override
+	public void dispatch(SessionID sessionId, Object event) {
+		shardFor(sessionId).dispatch(sessionId, event);
+	}
+
+	@Override
+	public void start() {
+		shards.forEach(RingBufferEventDispatcher::start);
+		running = true;
+	}
+
+	/**
+	 * Stop the consumer threads once all the events in the ring buffers have been published.
+	 */
+	@Override
+	public void stop() {
+		running = false;
+		shards.forEach(RingBufferEventDispatcher::stop);
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	RingBufferEventDispatcher shardFor(SessionID sessionId) {
+		return shards.get(Math.floorMod(sessionId.hashCode(), shards.size()));
+	}
+}
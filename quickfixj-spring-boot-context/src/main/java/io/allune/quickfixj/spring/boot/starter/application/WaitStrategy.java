@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+/**
+ * Defines how the consumer thread of a {@link RingBufferEventDispatcher} waits for new events.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum WaitStrategy {
+
+	/**
+	 * Parks the consumer thread until an event is dispatched. Lowest CPU usage, highest wake-up latency.
+	 */
+	BLOCKING,
+
+	/**
+	 * Spins, then yields, then parks the consumer thread for short periods of time.
+	 */
+	SLEEPING,
+
+	/**
+	 * Spins, then yields the consumer thread.
+	 */
+	YIELDING,
+
+	/**
+	 * Spins the consumer thread. Lowest latency, uses a full core.
+	 */
+	BUSY_SPIN
+}
@@ -16,12 +16,19 @@
 package io.allune.quickfixj.spring.boot.starter.connection;
 
 import io.allune.quickfixj.spring.boot.starter.exception.ConfigurationException;
+import io.allune.quickfixj.spring.boot.starter.template.DefaultSessionLookupHandler;
+import io.allune.quickfixj.spring.boot.starter.template.SessionLookupHandler;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.SmartLifecycle;
 import org.springframework.util.Assert;
 import quickfix.ConfigError;
 import quickfix.Connector;
 import quickfix.RuntimeError;
+import quickfix.Session;
+import quickfix.SessionID;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Connection manager for a connector. The connection is initialised when the application context is created and closed
@@ -32,6 +39,10 @@ import quickfix.RuntimeError;
 @Slf4j
 public class ConnectorManager implements SmartLifecycle {
 
+	public static final Duration DEFAULT_STOP_TIMEOUT = Duration.ofSeconds(10);
+
+	private static final long LOGOUT_POLL_MILLIS = 100;
+
 	private final Connector connector;
 
 	private final Object lifecycleMonitor = new Object();
@@ -44,6 +55,14 @@ public class ConnectorManager implements SmartLifecycle {
 
 	private boolean forceDisconnect = false;
 
+	private ParallelSessionInitializer sessionInitializer;
+
+	private Duration stopTimeout = DEFAULT_STOP_TIMEOUT;
+
+	private CompletableFuture<Void> pendingStop;
+
+	private SessionLookupHandler sessionLookupHandler = new DefaultSessionLookupHandler();
+
 	public ConnectorManager(Connector connector) {
 		Assert.notNull(connector, "'connector' must not be null");
 		this.connector = connector;
@@ -101,19 +120,78 @@ public class ConnectorManager implements SmartLifecycle {
 		return forceDisconnect;
 	}
 
+	/**
+	 * Set how long {@link #stop(Runnable)} waits for the sessions to log out before disconnecting them.
+	 * <p>Default is 10 seconds.
+	 *
+	 * @param stopTimeout The maximum time to wait for the sessions to log out
+	 */
+	public void setStopTimeout(Duration stopTimeout) {
+		Assert.notNull(stopTimeout, "'stopTimeout' must not be null");
+		Assert.isTrue(!stopTimeout.isNegative(), "'stopTimeout' must not be negative");
+		this.stopTimeout = stopTimeout;
+	}
+
+	/**
+	 * Return how long {@link #stop(Runnable)} waits for the sessions to log out
+	 */
+	public Duration getStopTimeout() {
+		return stopTimeout;
+	}
+
+	/**
+	 * Set the {@link SessionLookupHandler} used to look up the sessions of the connector when waiting for them to log
+	 * out in {@link #stop(Runnable)}.
+	 * <p>Default is a {@link DefaultSessionLookupHandler}.
+	 *
+	 * @param sessionLookupHandler The handler looking up the sessions of the connector
+	 */
+	public void setSessionLookupHandler(SessionLookupHandler sessionLookupHandler) {
+		Assert.notNull(sessionLookupHandler, "'sessionLookupHandler' must not be null");
+		this.sessionLookupHandler = sessionLookupHandler;
+	}
+
+	/**
+	 * Set the {@link ParallelSessionInitializer} creating the message stores and logs of the sessions before the
+	 * connector is started. The connector must have been created with the factories of the initializer.
+	 *
+	 * @param sessionInitializer The initializer of the sessions of the connector
+	 */
+	public void setSessionInitializer(ParallelSessionInitializer sessionInitializer) {
+		this.sessionInitializer = sessionInitializer;
+	}
+
+	/**
+	 * Return the {@link ParallelSessionInitializer} of the connector, if any
+	 */
+	public ParallelSessionInitializer getSessionInitializer() {
+		return sessionInitializer;
+	}
+
 	/**
 	 * Start the connector, accepting new connections
 	 */
 	@Override
 	public void start() {
+		awaitPendingStop();
 		synchronized (this.lifecycleMonitor) {
 			if (!isRunning()) {
 				log.info("start: Starting ConnectorManager");
 				try {
+					long startTime = System.nanoTime();
+					if (sessionInitializer != null) {
+						sessionInitializer.initialize();
+					}
+					long initializedTime = System.nanoTime();
 					connector.start();
+					long startedTime = System.nanoTime();
+					log.info("start: Started ConnectorManager in {} ms (sessions initialized in {} ms, connector started in {} ms)",
+							millis(startedTime - startTime), millis(initializedTime - startTime), millis(startedTime - initializedTime));
 				} catch (ConfigError | RuntimeError ex) {
+					closeSessionInitializer();
 					throw new ConfigurationException(ex.getMessage(), ex);
 				} catch (Throwable ex) {
+					closeSessionInitializer();
 					throw new IllegalStateException("Could not start the connector", ex);
 				}
 
@@ -122,12 +200,24 @@ public class ConnectorManager implements SmartLifecycle {
 		}
 	}
 
+	private void closeSessionInitializer() {
+		// The stores and logs not taken by the sessions of the connector would otherwise stay open
+		if (sessionInitializer != null) {
+			sessionInitializer.close();
+		}
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1_000_000;
+	}
+
 	/**
 	 * Stop this connector, logging out existing sessions, closing their connections, and stopping to accept new
 	 * connections.
 	 */
 	@Override
 	public void stop() {
+		awaitPendingStop();
 		synchronized (this.lifecycleMonitor) {
 			if (isRunning()) {
 				log.info("stop: Stopping ConnectorManager. Force disconnect=" + forceDisconnect);
@@ -141,14 +231,80 @@ public class ConnectorManager implements SmartLifecycle {
 	}
 
 	/**
-	 * Stop this connector, invoking the specific callback once all the sessions have been logged out, all connections
-	 * closed and it has stopped accepting new connections.
+	 * Stop this connector asynchronously, invoking the specific callback once all the sessions have been logged out,
+	 * all connections closed and it has stopped accepting new connections.
+	 * <p>
+	 * The Logout is sent to all the sessions at once and the calling thread returns straight away, while a separate
+	 * thread waits up to the {@link #setStopTimeout(Duration) stop timeout} for the sessions to log out before
+	 * disconnecting the remaining ones and stopping the connector. Sessions are not waited for when
+	 * {@link #setForceDisconnect(boolean) force disconnect} is set.
 	 */
 	@Override
 	public void stop(Runnable callback) {
 		synchronized (this.lifecycleMonitor) {
-			stop();
-			callback.run();
+			if (!running) {
+				callback.run();
+				return;
+			}
+			if (pendingStop == null) {
+				log.info("stop: Stopping ConnectorManager asynchronously. Force disconnect=" + forceDisconnect
+						+ ", stop timeout=" + stopTimeout);
+				pendingStop = CompletableFuture.runAsync(this::logoutAndStop,
+						task -> new Thread(task, "QuickFixJ-connector-stop").start());
+			}
+			pendingStop.whenComplete((result, ex) -> callback.run());
+		}
+	}
+
+	private void logoutAndStop() {
+		try {
+			if (!forceDisconnect) {
+				long deadline = System.nanoTime() + stopTimeout.toNanos();
+				for (SessionID sessionID : connector.getSessions()) {
+					Session session = sessionLookupHandler.lookupBySessionID(sessionID);
+					if (session != null) {
+						session.logout();
+					}
+				}
+				while (isAnySessionLoggedOn() && System.nanoTime() < deadline) {
+					Thread.sleep(LOGOUT_POLL_MILLIS);
+				}
+				if (isAnySessionLoggedOn()) {
+					log.warn("stop: Sessions still logged on after " + stopTimeout + ", disconnecting them");
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				connector.stop(true);
+			} finally {
+				synchronized (this.lifecycleMonitor) {
+					running = false;
+					pendingStop = null;
+				}
+			}
+		}
+	}
+
+	// Connector.isLoggedOn() is only true while all the sessions are logged on, so each session is checked instead
+	private boolean isAnySessionLoggedOn() {
+		for (SessionID sessionID : connector.getSessions()) {
+			Session session = sessionLookupHandler.lookupBySessionID(sessionID);
+			if (session != null && session.isLoggedOn()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void awaitPendingStop() {
+		CompletableFuture<Void> stop;
+		synchronized (this.lifecycleMonitor) {
+			stop = pendingStop;
+		}
+		if (stop != null) {
+			stop.exceptionally(ex -> null).join();
 		}
 	}
 
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.connection;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+import quickfix.Acceptor;
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Creates the message stores and logs of the sessions defined in the {@link SessionSettings} in parallel on a
+ * {@link ForkJoinPool}, before the connector creates its sessions.
+ * <p>
+ * The connector must be created with the {@link #getMessageStoreFactory() message store factory} and the
+ * {@link #getLogFactory() log factory} of this initializer, which hand over the pre-initialized stores and logs to
+ * the sessions and delegate to the original factories for any other session. Acceptor template sessions are not
+ * pre-initialized.
+ * <p>
+ * The stores and logs not handed over to a session, for instance because the connector failed to start, are closed
+ * on {@link #close()} if they are {@link Closeable}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Slf4j
+public class ParallelSessionInitializer implements Closeable {
+
+	private final SessionSettings sessionSettings;
+
+	private final Initializing<MessageStore> messageStores;
+
+	private final Initializing<Log> logs;
+
+	private final MessageStoreFactory messageStoreFactory;
+
+	private final LogFactory logFactory;
+
+	private int parallelism = Runtime.getRuntime().availableProcessors();
+
+	private volatile boolean initialized;
+
+	public ParallelSessionInitializer(
+			SessionSettings sessionSettings,
+			MessageStoreFactory messageStoreFactory,
+			LogFactory logFactory
+	) {
+		Assert.notNull(sessionSettings, "'sessionSettings' must not be null");
+		Assert.notNull(messageStoreFactory, "'messageStoreFactory' must not be null");
+		this.sessionSettings = sessionSettings;
+		this.messageStores = new Initializing<>(messageStoreFactory::create);
+		this.messageStoreFactory = messageStores::create;
+		this.logs = logFactory != null ? new Initializing<>(logFactory::create) : null;
+		this.logFactory = logs != null ? logs::create : null;
+	}
+
+	/**
+	 * Set the number of threads creating the message stores and logs. Default is the number of available processors.
+	 *
+	 * @param parallelism the number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		Assert.isTrue(parallelism > 0, "'parallelism' must be greater than zero");
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Return the {@link MessageStoreFactory} the connector must be created with.
+	 */
+	public MessageStoreFactory getMessageStoreFactory() {
+		return messageStoreFactory;
+	}
+
+	/**
+	 * Return the {@link LogFactory} the connector must be created with, or {@code null} if there is no log factory.
+	 */
+	public LogFactory getLogFactory() {
+		return logFactory;
+	}
+
+	/**
+	 * Return whether the message stores and logs have been created.
+	 */
+	public boolean isInitialized() {
+		return initialized;
+	}
+
+	/**
+	 * Create the message stores and then the logs of all the sessions in parallel. Subsequent invocations have no
+	 * effect.
+	 *
+	 * @throws ConfigError if the session settings cannot be read
+	 * @throws RuntimeError if a message store or a log cannot be created
+	 */
+	public synchronized void initialize() throws ConfigError {
+		if (initialized) {
+			return;
+		}
+
+		List<SessionID> sessionIDs = sessionIDs();
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		boolean completed = false;
+		try {
+			long startTime = System.nanoTime();
+			messageStores.initialize(pool, sessionIDs);
+			long storesTime = System.nanoTime();
+			if (logs != null) {
+				logs.initialize(pool, sessionIDs);
+			}
+			long logsTime = System.nanoTime();
+			log.info("initialize: Initialized {} sessions on {} threads (message stores in {} ms, logs in {} ms)",
+					sessionIDs.size(), parallelism, millis(storesTime - startTime), millis(logsTime - storesTime));
+			completed = true;
+		} finally {
+			pool.shutdown();
+			if (!completed) {
+				close();
+			}
+		}
+		initialized = true;
+	}
+
+	/**
+	 * Close the message stores and logs that have not been handed over to a session. A subsequent
+	 * {@link #initialize()} creates them again.
+	 */
+	@Override
+	public synchronized void close() {
+		messageStores.close();
+		if (logs != null) {
+			logs.close();
+		}
+		initialized = false;
+	}
+
+	private List<SessionID> sessionIDs() throws ConfigError {
+		List<SessionID> sessionIDs = new ArrayList<>();
+		for (Iterator<SessionID> iterator = sessionSettings.sectionIterator(); iterator.hasNext(); ) {
+			SessionID sessionID = iterator.next();
+			if (!isAcceptorTemplate(sessionID)) {
+				sessionIDs.add(sessionID);
+			}
+		}
+		return sessionIDs;
+	}
+
+	private boolean isAcceptorTemplate(SessionID sessionID) throws ConfigError {
+		try {
+			return sessionSettings.isSetting(sessionID, Acceptor.SETTING_ACCEPTOR_TEMPLATE)
+					&& sessionSettings.getBool(sessionID, Acceptor.SETTING_ACCEPTOR_TEMPLATE);
+		} catch (FieldConvertError e) {
+			throw new ConfigError(e);
+		}
+	}
+
+	private static long millis(long nanos) {
+		return nanos / 1_000_000;
+	}
+
+	/**
+	 * Instances of one kind created ahead of the sessions, handed over once to the session they were created for.
+	 */
+	private static class Initializing<T> {
+
+		private final Function<SessionID, T> factory;
+
+		private final Map<SessionID, T> instances = new ConcurrentHashMap<>();
+
+		Initializing(Function<SessionID, T> factory) {
+			this.factory = factory;
+		}
+
+		void initialize(ForkJoinPool pool, List<SessionID> sessionIDs) {
+			List<Callable<T>> tasks = new ArrayList<>(sessionIDs.size());
+			for (SessionID sessionID : sessionIDs) {
+				tasks.add(() -> instances.put(sessionID, factory.apply(sessionID)));
+			}
+			for (Future<T> future : pool.invokeAll(tasks)) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new RuntimeError("Interrupted while initializing the sessions", e);
+				} catch (ExecutionException e) {
+					if (e.getCause() instanceof RuntimeException) {
+						throw (RuntimeException) e.getCause();
+					}
+					throw new RuntimeError(e.getCause());
+				}
+			}
+		}
+
+		T create(SessionID sessionID) {
+			T instance = instances.remove(sessionID);
+			return instance != null ? instance : factory.apply(sessionID);
+		}
+
+		void close() {
+			for (SessionID sessionID : List.copyOf(instances.keySet())) {
+				T instance = instances.remove(sessionID);
+				if (instance instanceof Closeable) {
+					try {
+						((Closeable) instance).close();
+					} catch (IOException | RuntimeException e) {
+						log.warn("close: Could not close {} of session {}", instance, sessionID, e);
+					}
+				}
+			}
+		}
+	}
+}
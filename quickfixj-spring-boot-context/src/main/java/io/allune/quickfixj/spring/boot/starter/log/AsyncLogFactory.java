@@ -0,0 +1,372 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.log;
+
+import io.allune.quickfixj.spring.boot.starter.application.IdleStrategy;
+import io.allune.quickfixj.spring.boot.starter.application.OverflowPolicy;
+import io.allune.quickfixj.spring.boot.starter.application.WaitStrategy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.SessionID;
+import quickfix.SystemTime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link LogFactory} decorator creating logs that hand the incoming and outgoing messages and the events over to a
+ * background thread, which writes them to the logs of the delegate factory, so that logging does not run on the
+ * QuickFIX/J session thread.
+ * <p>
+ * The entries of all the sessions are queued in a bounded, lock-free queue and written by a single thread in batches
+ * of up to {@link #setBatchSize(int) batch size} entries, in the order they were logged. The
+ * {@link OverflowPolicy} defines what happens when an entry is logged and the queue is full. The background thread
+ * is started when the first log is created and stopped by {@link #close()} once the queued entries are written.
+ * Entries logged after the factory is closed are written on the calling thread.
+ * <p>
+ * <b>The time of an entry is captured when it is logged, but only a {@link BinaryLog} delegate records it.</b> The
+ * other delegates, such as the {@link quickfix.FileLog}, {@link quickfix.JdbcLog} or {@link quickfix.SLF4JLog},
+ * stamp the entries when the background thread writes them, so their timestamps lag behind the session by the time
+ * the entries spend in the queue.
+ * <p>
+ * The logs are {@link Closeable}: closing a log, as done by the session when it is closed, waits for the queued
+ * entries of the log to be written, then closes the delegate log if it is {@link Closeable}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Slf4j
+public class AsyncLogFactory implements LogFactory, Closeable {
+
+	public static final int DEFAULT_QUEUE_SIZE = 65536;
+
+	public static final int DEFAULT_BATCH_SIZE = 256;
+
+	private final LogFactory delegate;
+
+	private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger queuedEntries = new AtomicInteger();
+
+	private final AtomicLong droppedEntries = new AtomicLong();
+
+	private int queueSize = DEFAULT_QUEUE_SIZE;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	private String threadName = "QuickFixJ-async-log";
+
+	private volatile boolean running = false;
+
+	private final IdleStrategy idleStrategy = new IdleStrategy(WaitStrategy.BLOCKING, () -> queue.isEmpty() && running);
+
+	private Thread writerThread;
+
+	public AsyncLogFactory(LogFactory delegate) {
+		Assert.notNull(delegate, "'delegate' must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Set the maximum number of entries waiting to be written. Default is {@value #DEFAULT_QUEUE_SIZE}.
+	 *
+	 * @param queueSize the maximum number of queued entries
+	 */
+	public void setQueueSize(int queueSize) {
+		Assert.isTrue(queueSize > 0, "'queueSize' must be greater than zero");
+		this.queueSize = queueSize;
+	}
+
+	/**
+	 * Set the maximum number of entries written by the background thread in one batch. Default is
+	 * {@value #DEFAULT_BATCH_SIZE}.
+	 *
+	 * @param batchSize the maximum number of entries per batch
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "'batchSize' must be greater than zero");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Set what to do when an entry is logged and the queue is full, either {@link OverflowPolicy#BLOCK block} the
+	 * session thread or {@link OverflowPolicy#DROP drop} the entry. {@link OverflowPolicy#FAIL} is not supported, as
+	 * a logging failure must not fail the session.
+	 * <p>Default is {@link OverflowPolicy#BLOCK}.
+	 *
+	 * @param overflowPolicy the overflow policy
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "'overflowPolicy' must not be null");
+		Assert.isTrue(overflowPolicy != OverflowPolicy.FAIL, "'overflowPolicy' must be either BLOCK or DROP");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Set the name of the background thread.
+	 *
+	 * @param threadName the thread name
+	 */
+	public void setThreadName(String threadName) {
+		this.threadName = threadName;
+	}
+
+	@Override
+	public synchronized Log create(SessionID sessionID) {
+		Log log = new AsyncLog(delegate.create(sessionID));
+		if (writerThread == null) {
+			running = true;
+			writerThread = new Thread(this::write, threadName);
+			writerThread.setDaemon(true);
+			writerThread.start();
+		}
+		return log;
+	}
+
+	/**
+	 * @return the number of entries waiting to be written
+	 */
+	public int getQueuedEntries() {
+		return queuedEntries.get();
+	}
+
+	/**
+	 * @return the number of entries dropped because the queue was full
+	 */
+	public long getDroppedEntries() {
+		return droppedEntries.get();
+	}
+
+	public LogFactory getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Stop the background thread once the queued entries are written, and close the delegate factory if it is
+	 * {@link Closeable}.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (running) {
+			running = false;
+			LockSupport.unpark(writerThread);
+			try {
+				writerThread.join(IdleStrategy.STOP_TIMEOUT_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (delegate instanceof Closeable) {
+			((Closeable) delegate).close();
+		}
+	}
+
+	private void append(AsyncLog log, EntryType type, String text) {
+		if (!running) {
+			// Not started or already closed, write on the calling thread
+			writeEntry(log.delegate, type, SystemTime.currentTimeMillis(), text);
+			return;
+		}
+		if (!tryReserve()) {
+			if (overflowPolicy == OverflowPolicy.DROP) {
+				droppedEntries.incrementAndGet();
+				return;
+			}
+			if (!reserveOnOverflow()) {
+				writeEntry(log.delegate, type, SystemTime.currentTimeMillis(), text);
+				return;
+			}
+		}
+		log.pendingEntries.incrementAndGet();
+		queue.offer(new Entry(log, type, SystemTime.currentTimeMillis(), text));
+		idleStrategy.signal(writerThread);
+	}
+
+	private boolean tryReserve() {
+		while (true) {
+			int current = queuedEntries.get();
+			if (current >= queueSize) {
+				return false;
+			}
+			if (queuedEntries.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	private boolean reserveOnOverflow() {
+		int tries = 0;
+		while (!tryReserve()) {
+			if (!running) {
+				return false;
+			}
+			tries = IdleStrategy.backOff(tries);
+		}
+		return true;
+	}
+
+	private void write() {
+		while (running) {
+			if (writeBatch() == 0) {
+				idleStrategy.idle(0);
+			}
+		}
+
+		// Write the entries logged before the factory was closed
+		while (queuedEntries.get() > 0) {
+			if (writeBatch() == 0) {
+				Thread.onSpinWait();
+			}
+		}
+	}
+
+	private int writeBatch() {
+		int written = 0;
+		Entry entry;
+		while (written < batchSize && (entry = queue.poll()) != null) {
+			writeEntry(entry.getLog().delegate, entry.getType(), entry.getTimestamp(), entry.getText());
+			entry.getLog().pendingEntries.decrementAndGet();
+			written++;
+		}
+		if (written > 0) {
+			queuedEntries.addAndGet(-written);
+		}
+		return written;
+	}
+
+	private static void writeEntry(Log log, EntryType type, long timestamp, String text) {
+		try {
+			if (log instanceof BinaryLog && type.recordType != null) {
+				((BinaryLog) log).onRecord(type.recordType, timestamp, text);
+				return;
+			}
+			switch (type) {
+				case INCOMING:
+					log.onIncoming(text);
+					break;
+				case OUTGOING:
+					log.onOutgoing(text);
+					break;
+				case EVENT:
+					log.onEvent(text);
+					break;
+				case ERROR_EVENT:
+					log.onErrorEvent(text);
+					break;
+				case CLEAR:
+				default:
+					log.clear();
+					break;
+			}
+		} catch (RuntimeException e) {
+			AsyncLogFactory.log.error("Failed to write {} log entry", type, e);
+		}
+	}
+
+	private enum EntryType {
+
+		CLEAR(null),
+
+		INCOMING(BinaryLog.RecordType.INCOMING),
+
+		OUTGOING(BinaryLog.RecordType.OUTGOING),
+
+		EVENT(BinaryLog.RecordType.EVENT),
+
+		ERROR_EVENT(BinaryLog.RecordType.ERROR_EVENT);
+
+		private final BinaryLog.RecordType recordType;
+
+		EntryType(BinaryLog.RecordType recordType) {
+			this.recordType = recordType;
+		}
+	}
+
+	@Value
+	private static class Entry {
+
+		AsyncLog log;
+
+		EntryType type;
+
+		long timestamp;
+
+		String text;
+	}
+
+	private class AsyncLog implements Log, Closeable {
+
+		private final Log delegate;
+
+		private final AtomicInteger pendingEntries = new AtomicInteger();
+
+		AsyncLog(Log delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void clear() {
+			append(this, EntryType.CLEAR, null);
+		}
+
+		@Override
+		public void onIncoming(String message) {
+			append(this, EntryType.INCOMING, message);
+		}
+
+		@Override
+		public void onOutgoing(String message) {
+			append(this, EntryType.OUTGOING, message);
+		}
+
+		@Override
+		public void onEvent(String text) {
+			append(this, EntryType.EVENT, text);
+		}
+
+		@Override
+		public void onErrorEvent(String text) {
+			append(this, EntryType.ERROR_EVENT, text);
+		}
+
+		/**
+		 * Wait for the queued entries of this log to be written, then close the delegate log if it is
+		 * {@link Closeable}.
+		 */
+		@Override
+		public void close() throws IOException {
+			long deadline = System.currentTimeMillis() + IdleStrategy.STOP_TIMEOUT_MILLIS;
+			int tries = 0;
+			while (pendingEntries.get() > 0 && System.currentTimeMillis() < deadline) {
+				tries = IdleStrategy.backOff(tries);
+			}
+			if (pendingEntries.get() > 0) {
+				AsyncLogFactory.log.warn("Closing log with {} entries not written", pendingEntries.get());
+			}
+			if (delegate instanceof Closeable) {
+				((Closeable) delegate).close();
+			}
+		}
+	}
+}
@@ -0,0 +1,351 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quickfixj.CharsetSupport;
+import quickfix.FileUtil;
+import quickfix.Log;
+import quickfix.SessionID;
+import quickfix.SystemTime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.Deflater;
+
+/**
+ * {@link Log} writing the messages and events of a session to a compact binary file, decoded back to text with the
+ * {@link BinaryLogReader}.
+ * <p>
+ * The file starts with a header holding the format version, whether the blocks are compressed and the creation
+ * timestamp. It is followed by blocks, each made of the length of the records, the stored length of the block and the
+ * records, compressed with {@link Deflater} if enabled. A record is made of its {@link RecordType}, the difference
+ * between its timestamp and the timestamp of the previous record and the length-prefixed raw bytes of the message or
+ * event, with the timestamp and length encoded as variable-length integers.
+ * <p>
+ * The records are encoded into a pre-allocated direct buffer, which is written as a block once full, on
+ * {@link #flush()}, or when the last block was written more than the flush interval ago, checked when a record is
+ * logged and periodically by the {@link BinaryLogFactory} so that the records of an idle session are written too.
+ * Each time the file is opened a new header is appended, and the timestamps of the following records are relative
+ * to it.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Slf4j
+public class BinaryLog implements Log, Closeable {
+
+	public static final String FILE_SUFFIX = ".binlog";
+
+	static final byte[] MAGIC = "QFJBLOG".getBytes(StandardCharsets.US_ASCII);
+
+	static final byte VERSION = 1;
+
+	static final byte FLAG_COMPRESSED = 1;
+
+	static final int FILE_HEADER_SIZE = MAGIC.length + 2 + 8;
+
+	static final int BLOCK_HEADER_SIZE = 8;
+
+	private static final int MAX_RECORD_HEADER_SIZE = 1 + 10 + 5;
+
+	private static final String HEARTBEAT_FIELD = "\00135=0\001";
+
+	/**
+	 * The type of the records of a binary log.
+	 */
+	public enum RecordType {
+
+		INCOMING,
+
+		OUTGOING,
+
+		EVENT,
+
+		ERROR_EVENT
+	}
+
+	private final Path file;
+
+	private final boolean compressed;
+
+	private final long flushIntervalMillis;
+
+	private final boolean logHeartbeats;
+
+	private final Consumer<BinaryLog> closeListener;
+
+	private final Charset charset = CharsetSupport.getCharsetInstance();
+
+	private final boolean singleByteCharset = StandardCharsets.ISO_8859_1.equals(charset)
+			|| StandardCharsets.US_ASCII.equals(charset);
+
+	private final ByteBuffer buffer;
+
+	private final ByteBuffer blockHeader = ByteBuffer.allocateDirect(BLOCK_HEADER_SIZE);
+
+	private final Deflater deflater;
+
+	private ByteBuffer compressedBuffer;
+
+	private FileChannel channel;
+
+	private long lastTimestamp;
+
+	private long lastFlushTime;
+
+	public BinaryLog(
+			Path directory,
+			SessionID sessionID,
+			int bufferSize,
+			boolean compressed,
+			long flushIntervalMillis,
+			boolean logHeartbeats
+	) throws IOException {
+		this(directory, sessionID, bufferSize, compressed, flushIntervalMillis, logHeartbeats, log -> {
+		});
+	}
+
+	BinaryLog(
+			Path directory,
+			SessionID sessionID,
+			int bufferSize,
+			boolean compressed,
+			long flushIntervalMillis,
+			boolean logHeartbeats,
+			Consumer<BinaryLog> closeListener
+	) throws IOException {
+		this.closeListener = closeListener;
+		this.file = directory.resolve(FileUtil.sessionIdFileName(sessionID) + FILE_SUFFIX);
+		this.compressed = compressed;
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.logHeartbeats = logHeartbeats;
+		this.buffer = ByteBuffer.allocateDirect(bufferSize);
+		this.deflater = compressed ? new Deflater(Deflater.BEST_SPEED) : null;
+		this.compressedBuffer = compressed ? ByteBuffer.allocateDirect(bufferSize + bufferSize / 8 + 64) : null;
+		Files.createDirectories(directory);
+		open(false);
+	}
+
+	@Override
+	public synchronized void clear() {
+		try {
+			buffer.clear();
+			channel.close();
+			open(true);
+		} catch (IOException e) {
+			log.error("Could not clear the binary log {}", file, e);
+		}
+	}
+
+	@Override
+	public void onIncoming(String message) {
+		onRecord(RecordType.INCOMING, SystemTime.currentTimeMillis(), message);
+	}
+
+	@Override
+	public void onOutgoing(String message) {
+		onRecord(RecordType.OUTGOING, SystemTime.currentTimeMillis(), message);
+	}
+
+	@Override
+	public void onEvent(String text) {
+		onRecord(RecordType.EVENT, SystemTime.currentTimeMillis(), text);
+	}
+
+	@Override
+	public void onErrorEvent(String text) {
+		onRecord(RecordType.ERROR_EVENT, SystemTime.currentTimeMillis(), text);
+	}
+
+	/**
+	 * Log a record stamped with the given time, such as the time an entry was logged to an {@link AsyncLogFactory}
+	 * log rather than the time it is written.
+	 */
+	void onRecord(RecordType type, long timestamp, String text) {
+		boolean message = type == RecordType.INCOMING || type == RecordType.OUTGOING;
+		if (!message || logHeartbeats || !text.contains(HEARTBEAT_FIELD)) {
+			append(type, timestamp, text);
+		}
+	}
+
+	/**
+	 * Write the buffered records to the file.
+	 */
+	public synchronized void flush() throws IOException {
+		if (buffer.position() > 0) {
+			buffer.flip();
+			writeBlock(buffer);
+			buffer.clear();
+		}
+		lastFlushTime = SystemTime.currentTimeMillis();
+	}
+
+	public Path getFile() {
+		return file;
+	}
+
+	long getFlushIntervalMillis() {
+		return flushIntervalMillis;
+	}
+
+	/**
+	 * Write the buffered records to the file if the last block was written more than the flush interval ago.
+	 */
+	synchronized void flushIfDue() {
+		if (!channel.isOpen() || buffer.position() == 0
+				|| SystemTime.currentTimeMillis() - lastFlushTime < flushIntervalMillis) {
+			return;
+		}
+		try {
+			flush();
+		} catch (IOException e) {
+			log.error("Could not write to the binary log {}", file, e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			synchronized (this) {
+				if (channel.isOpen()) {
+					try {
+						flush();
+					} finally {
+						channel.close();
+					}
+				}
+				if (deflater != null) {
+					deflater.end();
+				}
+			}
+		} finally {
+			closeListener.accept(this);
+		}
+	}
+
+	private synchronized void append(RecordType type, long timestamp, String text) {
+		if (!channel.isOpen()) {
+			return;
+		}
+		try {
+			byte[] bytes = singleByteCharset ? null : text.getBytes(charset);
+			int length = bytes == null ? text.length() : bytes.length;
+			if (buffer.remaining() < MAX_RECORD_HEADER_SIZE + length) {
+				flush();
+				if (buffer.remaining() < MAX_RECORD_HEADER_SIZE + length) {
+					writeLargeRecord(type, timestamp, bytes == null ? text.getBytes(charset) : bytes);
+					return;
+				}
+			}
+			putRecord(type, timestamp, text, bytes, length);
+			if (timestamp - lastFlushTime >= flushIntervalMillis) {
+				flush();
+			}
+		} catch (IOException e) {
+			log.error("Could not write to the binary log {}", file, e);
+		}
+	}
+
+	private void writeLargeRecord(RecordType type, long timestamp, byte[] bytes) throws IOException {
+		ByteBuffer record = ByteBuffer.allocate(MAX_RECORD_HEADER_SIZE + bytes.length);
+		record.put((byte) type.ordinal());
+		putVarLong(record, zigZag(timestamp - lastTimestamp));
+		putVarLong(record, bytes.length);
+		record.put(bytes);
+		record.flip();
+		lastTimestamp = timestamp;
+		writeBlock(record);
+	}
+
+	private void putRecord(RecordType type, long timestamp, String text, byte[] bytes, int length) {
+		buffer.put((byte) type.ordinal());
+		putVarLong(buffer, zigZag(timestamp - lastTimestamp));
+		putVarLong(buffer, length);
+		if (bytes == null) {
+			for (int i = 0; i < length; i++) {
+				buffer.put((byte) text.charAt(i));
+			}
+		} else {
+			buffer.put(bytes);
+		}
+		lastTimestamp = timestamp;
+	}
+
+	private void writeBlock(ByteBuffer records) throws IOException {
+		int length = records.remaining();
+		ByteBuffer payload = records;
+		if (compressed) {
+			payload = deflate(records);
+		}
+		blockHeader.clear();
+		blockHeader.putInt(length).putInt(payload.remaining()).flip();
+		while (blockHeader.hasRemaining() || payload.hasRemaining()) {
+			channel.write(new ByteBuffer[]{blockHeader, payload});
+		}
+	}
+
+	private ByteBuffer deflate(ByteBuffer records) {
+		deflater.reset();
+		deflater.setInput(records);
+		deflater.finish();
+		compressedBuffer.clear();
+		while (!deflater.finished()) {
+			if (!compressedBuffer.hasRemaining()) {
+				ByteBuffer larger = ByteBuffer.allocateDirect(compressedBuffer.capacity() * 2);
+				compressedBuffer.flip();
+				larger.put(compressedBuffer);
+				compressedBuffer = larger;
+			}
+			deflater.deflate(compressedBuffer);
+		}
+		compressedBuffer.flip();
+		return compressedBuffer;
+	}
+
+	private void open(boolean truncate) throws IOException {
+		channel = truncate
+				? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)
+				: FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+		// The timestamps of the records are relative to the header, so a new header starts each time the file is opened
+		lastTimestamp = SystemTime.currentTimeMillis();
+		lastFlushTime = lastTimestamp;
+		ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+		header.put(MAGIC).put(VERSION).put(compressed ? FLAG_COMPRESSED : 0).putLong(lastTimestamp).flip();
+		while (header.hasRemaining()) {
+			channel.write(header);
+		}
+	}
+
+	static long zigZag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	static void putVarLong(ByteBuffer target, long value) {
+		while ((value & ~0x7FL) != 0) {
+			target.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		target.put((byte) value);
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.log;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FileLogFactory;
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates {@link BinaryLog binary logs}.
+ * <p>
+ * The logs are created in the directory of the {@value FileLogFactory#SETTING_FILE_LOG_PATH} setting, and heartbeats
+ * are only logged if {@value FileLogFactory#SETTING_LOG_HEARTBEATS} is set to {@code Y}. The blocks are compressed
+ * if {@value #SETTING_BINARY_LOG_COMPRESSION} is set to {@code Y}, the size of the buffer of each log is set with
+ * {@value #SETTING_BINARY_LOG_BUFFER_SIZE} and the buffered records are written at least every
+ * {@value #SETTING_BINARY_LOG_FLUSH_INTERVAL} milliseconds, by a single background thread when the session is idle.
+ * A log closed by its session is no longer tracked by the factory.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class BinaryLogFactory implements LogFactory, Closeable {
+
+	/**
+	 * Whether to compress the blocks of the log, {@code Y} by default.
+	 */
+	public static final String SETTING_BINARY_LOG_COMPRESSION = "BinaryLogCompression";
+
+	/**
+	 * Size in bytes of the buffer of each log, 64 KB by default.
+	 */
+	public static final String SETTING_BINARY_LOG_BUFFER_SIZE = "BinaryLogBufferSize";
+
+	/**
+	 * Maximum time in milliseconds a record is buffered, 1000 by default.
+	 */
+	public static final String SETTING_BINARY_LOG_FLUSH_INTERVAL = "BinaryLogFlushInterval";
+
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	public static final long DEFAULT_FLUSH_INTERVAL = 1000;
+
+	private final SessionSettings settings;
+
+	private final Set<BinaryLog> logs = ConcurrentHashMap.newKeySet();
+
+	private final Map<BinaryLog, ScheduledFuture<?>> flushTasks = new ConcurrentHashMap<>();
+
+	private ScheduledExecutorService flusher;
+
+	public BinaryLogFactory(SessionSettings settings) {
+		this.settings = settings;
+	}
+
+	@Override
+	public synchronized Log create(SessionID sessionID) {
+		try {
+			BinaryLog log = new BinaryLog(
+					Paths.get(settings.getString(sessionID, FileLogFactory.SETTING_FILE_LOG_PATH)),
+					sessionID,
+					getBufferSize(sessionID),
+					!settings.isSetting(sessionID, SETTING_BINARY_LOG_COMPRESSION)
+							|| settings.getBool(sessionID, SETTING_BINARY_LOG_COMPRESSION),
+					settings.isSetting(sessionID, SETTING_BINARY_LOG_FLUSH_INTERVAL)
+							? settings.getLong(sessionID, SETTING_BINARY_LOG_FLUSH_INTERVAL)
+							: DEFAULT_FLUSH_INTERVAL,
+					settings.isSetting(sessionID, FileLogFactory.SETTING_LOG_HEARTBEATS)
+							&& settings.getBool(sessionID, FileLogFactory.SETTING_LOG_HEARTBEATS),
+					this::remove);
+			logs.add(log);
+			scheduleFlush(log);
+			return log;
+		} catch (ConfigError | FieldConvertError | IOException e) {
+			throw new RuntimeError(e);
+		}
+	}
+
+	/**
+	 * Stop the background flushes, write the buffered records and close the logs.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (flusher != null) {
+			flusher.shutdown();
+			try {
+				flusher.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			flusher = null;
+		}
+		flushTasks.values().forEach(flushTask -> flushTask.cancel(false));
+		flushTasks.clear();
+		for (BinaryLog log : logs) {
+			log.close();
+		}
+		logs.clear();
+	}
+
+	Set<BinaryLog> getLogs() {
+		return logs;
+	}
+
+	private void scheduleFlush(BinaryLog log) {
+		long interval = log.getFlushIntervalMillis();
+		if (interval <= 0) {
+			// Every record is written as soon as it is logged
+			return;
+		}
+		if (flusher == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuickFixJ-binary-log-");
+			threadFactory.setDaemon(true);
+			flusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		}
+		flushTasks.put(log, flusher.scheduleWithFixedDelay(log::flushIfDue, interval, interval, TimeUnit.MILLISECONDS));
+	}
+
+	private void remove(BinaryLog log) {
+		logs.remove(log);
+		ScheduledFuture<?> flushTask = flushTasks.remove(log);
+		if (flushTask != null) {
+			flushTask.cancel(false);
+		}
+	}
+
+	private int getBufferSize(SessionID sessionID) throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(sessionID, SETTING_BINARY_LOG_BUFFER_SIZE)) {
+			return DEFAULT_BUFFER_SIZE;
+		}
+		long bufferSize = settings.getLong(sessionID, SETTING_BINARY_LOG_BUFFER_SIZE);
+		if (bufferSize < 1024 || bufferSize > Integer.MAX_VALUE) {
+			throw new ConfigError(SETTING_BINARY_LOG_BUFFER_SIZE + " must be between 1024 and " + Integer.MAX_VALUE);
+		}
+		return (int) bufferSize;
+	}
+}
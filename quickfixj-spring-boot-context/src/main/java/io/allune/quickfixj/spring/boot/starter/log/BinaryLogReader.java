@@ -0,0 +1,292 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.log;
+
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLog.RecordType;
+import lombok.Value;
+import org.quickfixj.CharsetSupport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the records of a file written by a {@link BinaryLog}.
+ * <p>
+ * A block cut short at the end of the file, for instance by a crash while it was written, ends the log. The class
+ * can also be run from the command line to decode binary logs back to text:
+ * <pre>
+ * java -cp quickfixj-spring-boot-context.jar:quickfixj-core.jar \
+ *     io.allune.quickfixj.spring.boot.starter.log.BinaryLogReader [--messages | --events] [--delimiter |] FILE...
+ * </pre>
+ * Each record is printed on its own line, prefixed with its UTC timestamp and type. With {@code --messages} or
+ * {@code --events}, only the messages or the events are printed, prefixed with their timestamp only, in the format of
+ * the QuickFIX/J file log. {@code --delimiter} replaces the SOH field delimiter of the messages.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class BinaryLogReader implements Closeable {
+
+	private static final DateTimeFormatter TIMESTAMP_FORMATTER =
+			DateTimeFormatter.ofPattern("yyyyMMdd-HH:mm:ss.SSS").withZone(ZoneOffset.UTC);
+
+	private static final RecordType[] RECORD_TYPES = RecordType.values();
+
+	private final Path file;
+
+	private final FileChannel channel;
+
+	private final Charset charset = CharsetSupport.getCharsetInstance();
+
+	private final Inflater inflater = new Inflater();
+
+	private final ByteBuffer header = ByteBuffer.allocate(BinaryLog.FILE_HEADER_SIZE);
+
+	private ByteBuffer block = ByteBuffer.allocate(0);
+
+	private boolean compressed;
+
+	private long lastTimestamp;
+
+	public BinaryLogReader(Path file) throws IOException {
+		this.file = file;
+		this.channel = FileChannel.open(file, StandardOpenOption.READ);
+		try {
+			header.clear();
+			if (!readFully(header) || !readHeader()) {
+				throw new IOException(file + " is not a binary log");
+			}
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Read the next record of the log.
+	 *
+	 * @return the next record, or {@code null} at the end of the log
+	 */
+	public Record next() throws IOException {
+		while (!block.hasRemaining()) {
+			if (!readBlock()) {
+				return null;
+			}
+		}
+		int type = block.get();
+		if (type < 0 || type >= RECORD_TYPES.length) {
+			throw new IOException("Unknown record type " + type + " in " + file);
+		}
+		lastTimestamp += unZigZag(getVarLong(block));
+		int length = (int) getVarLong(block);
+		String text = new String(block.array(), block.arrayOffset() + block.position(), length, charset);
+		block.position(block.position() + length);
+		return new Record(RECORD_TYPES[type], lastTimestamp, text);
+	}
+
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		channel.close();
+	}
+
+	private boolean readBlock() throws IOException {
+		ByteBuffer blockHeader = header.clear().limit(BinaryLog.BLOCK_HEADER_SIZE);
+		if (!readFully(blockHeader)) {
+			return false;
+		}
+		if (isMagic(blockHeader)) {
+			// The file was reopened, a new header follows
+			header.limit(BinaryLog.FILE_HEADER_SIZE);
+			return readFully(header) && readHeader() && readBlock();
+		}
+		int length = blockHeader.getInt(0);
+		int storedLength = blockHeader.getInt(4);
+		if (length < 0 || storedLength < 0) {
+			throw new IOException("Corrupted block in " + file);
+		}
+		ByteBuffer stored = ByteBuffer.allocate(storedLength);
+		if (!readFully(stored)) {
+			return false;
+		}
+		if (compressed) {
+			block = inflate(stored.array(), length);
+		} else {
+			block = stored.flip();
+		}
+		return true;
+	}
+
+	private ByteBuffer inflate(byte[] stored, int length) throws IOException {
+		byte[] records = new byte[length];
+		inflater.reset();
+		inflater.setInput(stored);
+		try {
+			int inflated = 0;
+			while (inflated < length && !inflater.finished()) {
+				int count = inflater.inflate(records, inflated, length - inflated);
+				if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				inflated += count;
+			}
+			if (inflated != length) {
+				throw new IOException("Corrupted compressed block in " + file);
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupted compressed block in " + file, e);
+		}
+		return ByteBuffer.wrap(records);
+	}
+
+	private boolean readHeader() {
+		header.flip();
+		if (!isMagic(header)) {
+			return false;
+		}
+		header.position(BinaryLog.MAGIC.length);
+		if (header.get() != BinaryLog.VERSION) {
+			return false;
+		}
+		compressed = (header.get() & BinaryLog.FLAG_COMPRESSED) != 0;
+		lastTimestamp = header.getLong();
+		return true;
+	}
+
+	private static boolean isMagic(ByteBuffer buffer) {
+		int length = Math.min(buffer.limit(), BinaryLog.MAGIC.length);
+		for (int i = 0; i < length; i++) {
+			if (buffer.get(i) != BinaryLog.MAGIC[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean readFully(ByteBuffer target) throws IOException {
+		while (target.hasRemaining()) {
+			if (channel.read(target) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static long unZigZag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	private static long getVarLong(ByteBuffer source) {
+		long value = 0;
+		int shift = 0;
+		byte b;
+		do {
+			b = source.get();
+			value |= (long) (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	public static void main(String[] args) throws IOException {
+		int status = run(args, System.out, System.err);
+		if (status != 0) {
+			System.exit(status);
+		}
+	}
+
+	static int run(String[] args, PrintStream out, PrintStream err) throws IOException {
+		boolean messages = false;
+		boolean events = false;
+		String delimiter = null;
+		List<Path> files = new ArrayList<>();
+		for (int i = 0; i < args.length; i++) {
+			switch (args[i]) {
+				case "--messages":
+					messages = true;
+					break;
+				case "--events":
+					events = true;
+					break;
+				case "--delimiter":
+					if (++i == args.length) {
+						return usage(err);
+					}
+					delimiter = args[i];
+					break;
+				default:
+					if (args[i].startsWith("--")) {
+						return usage(err);
+					}
+					files.add(Paths.get(args[i]));
+			}
+		}
+		if (files.isEmpty() || messages && events) {
+			return usage(err);
+		}
+
+		for (Path file : files) {
+			try (BinaryLogReader reader = new BinaryLogReader(file)) {
+				Record record;
+				while ((record = reader.next()) != null) {
+					boolean message = record.getType() == RecordType.INCOMING || record.getType() == RecordType.OUTGOING;
+					if (messages && !message || events && message) {
+						continue;
+					}
+					String text = delimiter != null && message ? record.getText().replace("\001", delimiter) : record.getText();
+					String timestamp = TIMESTAMP_FORMATTER.format(Instant.ofEpochMilli(record.getTimestamp()));
+					if (messages || events) {
+						out.println(timestamp + ": " + text);
+					} else {
+						out.println(timestamp + " " + record.getType() + " " + text);
+					}
+				}
+			}
+		}
+		return 0;
+	}
+
+	private static int usage(PrintStream err) {
+		err.println("Usage: BinaryLogReader [--messages | --events] [--delimiter <delimiter>] <file>...");
+		return 1;
+	}
+
+	/**
+	 * A record of a binary log.
+	 */
+	@Value
+	public static class Record {
+
+		RecordType type;
+
+		long timestamp;
+
+		String text;
+	}
+}
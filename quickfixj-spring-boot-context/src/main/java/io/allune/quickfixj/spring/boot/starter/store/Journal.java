@@ -0,0 +1,620 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.quickfixj.CharsetSupport;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import quickfix.SessionID;
+import quickfix.SystemTime;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Append-only file shared by the {@link JournalStore journal stores} of all the sessions.
+ * <p>
+ * The records are appended to an in-memory buffer, written to the file and forced to disk by a background thread
+ * every flush interval, or as soon as the buffer holds the configured number of bytes. A record is made of its length,
+ * its type, the number of the session and a {@code long} value, followed by the payload of the messages and sessions.
+ * <p>
+ * The journal is replayed when opened to rebuild the sequence numbers and the message indexes of the sessions, and is
+ * compacted when most of its records are superseded, on opening and by the background thread once the journal has
+ * grown over the compaction size. A compaction copies the live records to a new file while the sessions keep
+ * appending, then blocks the sessions to copy the records appended in the meantime and swap the files. The journal is
+ * left as it was if the compaction fails.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Slf4j
+final class Journal implements Closeable {
+
+	static final String FILE_NAME = "quickfixj.journal";
+
+	static final long DEFAULT_COMPACTION_BYTES = 256L * 1024 * 1024;
+
+	static final byte SESSION = 1;
+
+	static final byte MESSAGE = 2;
+
+	static final byte SENDER_SEQ_NUM = 3;
+
+	static final byte TARGET_SEQ_NUM = 4;
+
+	static final byte RESET = 5;
+
+	/**
+	 * Length, type, session and value.
+	 */
+	private static final int RECORD_HEADER_SIZE = 4 + 1 + 4 + 8;
+
+	private static final int COMPACTION_RATIO = 2;
+
+	private final Object lock = new Object();
+
+	private final Path file;
+
+	private final int flushBytes;
+
+	private final long compactionBytes;
+
+	private final Charset charset = CharsetSupport.getCharsetInstance();
+
+	private final List<JournalStore> stores = new ArrayList<>();
+
+	private final List<String> sessionIDs = new ArrayList<>();
+
+	private final Map<String, JournalStore> storesBySessionID = new HashMap<>();
+
+	private final ByteBuffer buffer;
+
+	private ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+
+	private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+	private final ScheduledExecutorService flusher;
+
+	private FileChannel channel;
+
+	private long writtenPosition;
+
+	/**
+	 * The number of records in the journal, superseded or not.
+	 */
+	private long records;
+
+	/**
+	 * The size over which the background thread checks whether the journal is worth compacting.
+	 */
+	private long nextCompactionCheck;
+
+	private volatile IOException flushFailure;
+
+	Journal(Path directory, long flushIntervalMillis, int flushBytes) throws IOException {
+		this(directory.resolve(FILE_NAME), flushIntervalMillis, flushBytes, DEFAULT_COMPACTION_BYTES);
+	}
+
+	Journal(Path file, long flushIntervalMillis, int flushBytes, long compactionBytes) throws IOException {
+		this.file = file;
+		this.flushBytes = flushBytes;
+		this.compactionBytes = compactionBytes;
+		this.buffer = ByteBuffer.allocateDirect(flushBytes * 2);
+		Files.createDirectories(file.toAbsolutePath().getParent());
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		Replay replay = replay(channel, channel.size());
+		truncate(replay.position);
+		for (int session = 0; session < replay.stores.size(); session++) {
+			register(replay.sessionIDs.get(session), replay.stores.get(session));
+		}
+		records = replay.records;
+		compactIfWorthIt(replay, channel, writtenPosition);
+		nextCompactionCheck = Math.max(compactionBytes, writtenPosition * COMPACTION_RATIO);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuickFixJ-journal-");
+		threadFactory.setDaemon(true);
+		flusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * @param sessionID the session ID
+	 * @return the store of the session, registered in the journal on first use
+	 */
+	JournalStore store(SessionID sessionID) throws IOException {
+		synchronized (lock) {
+			String key = sessionID.toString();
+			JournalStore store = storesBySessionID.get(key);
+			if (store == null) {
+				long creationTime = SystemTime.currentTimeMillis();
+				store = new JournalStore(this, stores.size(), creationTime);
+				register(key, store);
+				append(SESSION, store.getNumber(), creationTime, key.getBytes(StandardCharsets.UTF_8));
+			}
+			return store;
+		}
+	}
+
+	/**
+	 * Append a record.
+	 *
+	 * @param type    the type of the record
+	 * @param session the number of the session
+	 * @param value   the sequence number, or the creation time of the session
+	 * @param payload the payload, may be {@code null}
+	 * @return the position of the record in the journal
+	 */
+	long append(byte type, int session, long value, byte[] payload) throws IOException {
+		IOException failure = flushFailure;
+		if (failure != null) {
+			throw new IOException("Journal flush failed", failure);
+		}
+		int payloadLength = payload == null ? 0 : payload.length;
+		int recordSize = RECORD_HEADER_SIZE + payloadLength;
+		synchronized (lock) {
+			if (buffer.remaining() < recordSize) {
+				writeBuffer();
+			}
+			long position = writtenPosition + buffer.position();
+			if (recordSize > buffer.capacity()) {
+				ByteBuffer record = ByteBuffer.allocate(recordSize);
+				putRecord(record, type, session, value, payload);
+				record.flip();
+				write(record);
+			} else {
+				putRecord(buffer, type, session, value, payload);
+			}
+			records++;
+			if (buffer.position() >= flushBytes) {
+				requestFlush();
+			}
+			return position;
+		}
+	}
+
+	/**
+	 * @param position the position of a message record
+	 * @return the message
+	 */
+	String readMessage(long position) throws IOException {
+		synchronized (lock) {
+			if (position >= writtenPosition) {
+				writeBuffer();
+			}
+			// Reads the header and, for most messages, the payload at once
+			int available = (int) Math.min(readBuffer.capacity(), writtenPosition - position);
+			readBuffer.clear().limit(available);
+			readFully(channel, readBuffer, position);
+			int recordSize = 4 + readBuffer.getInt(0);
+			if (recordSize > available) {
+				if (recordSize > readBuffer.capacity()) {
+					readBuffer = ByteBuffer.allocate(recordSize);
+				}
+				readBuffer.clear().limit(recordSize);
+				readFully(channel, readBuffer, position);
+			}
+			return new String(readBuffer.array(), RECORD_HEADER_SIZE, recordSize - RECORD_HEADER_SIZE, charset);
+		}
+	}
+
+	Charset getCharset() {
+		return charset;
+	}
+
+	long size() {
+		synchronized (lock) {
+			return writtenPosition + buffer.position();
+		}
+	}
+
+	/**
+	 * Write the buffered records to the file and force them to disk.
+	 */
+	void flush() throws IOException {
+		synchronized (lock) {
+			writeBuffer();
+		}
+		// Forced outside of the lock so that the sessions keep appending records in the meantime
+		channel.force(false);
+	}
+
+	@Override
+	public void close() throws IOException {
+		flusher.shutdown();
+		try {
+			flusher.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (lock) {
+			if (channel.isOpen()) {
+				flush();
+				channel.close();
+			}
+		}
+	}
+
+	private void requestFlush() {
+		if (flushRequested.compareAndSet(false, true)) {
+			flusher.execute(() -> {
+				flushRequested.set(false);
+				flushQuietly();
+			});
+		}
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (IOException e) {
+			log.error("Failed to flush the journal {}", file, e);
+			flushFailure = e;
+			return;
+		}
+		compactIfNeeded();
+	}
+
+	/**
+	 * Compact the journal if it has grown over the compaction size and most of its records are superseded. Only
+	 * called on the background thread, which is also the only thread swapping the file of the journal.
+	 */
+	private void compactIfNeeded() {
+		long snapshot;
+		FileChannel source;
+		synchronized (lock) {
+			if (size() < nextCompactionCheck) {
+				return;
+			}
+			snapshot = writtenPosition;
+			source = channel;
+		}
+		boolean done;
+		try {
+			// Replayed from the file so that the sessions keep appending records in the meantime
+			done = compactIfWorthIt(replay(source, snapshot), source, snapshot);
+		} catch (IOException e) {
+			log.error("Failed to read the journal {} to compact it", file, e);
+			done = true;
+		}
+		if (done) {
+			synchronized (lock) {
+				nextCompactionCheck = Math.max(compactionBytes, writtenPosition * COMPACTION_RATIO);
+			}
+		}
+	}
+
+	/**
+	 * @param replay   the sessions as of the snapshot position
+	 * @param source   the file of the journal
+	 * @param snapshot the position the sessions were replayed up to
+	 * @return {@code false} if a session was registered in the meantime and the compaction must be attempted again
+	 */
+	private boolean compactIfWorthIt(Replay replay, FileChannel source, long snapshot) {
+		if (replay.records <= replay.liveRecords() * COMPACTION_RATIO) {
+			return true;
+		}
+		long size = size();
+		CompactedFile compacted = null;
+		try {
+			compacted = new CompactedFile(file.resolveSibling(file.getFileName() + ".compact"));
+			copyLiveRecords(replay, source, compacted);
+			compacted.force();
+			List<JournalStore> lockedStores;
+			synchronized (lock) {
+				lockedStores = new ArrayList<>(stores);
+			}
+			if (!swapLocking(compacted, replay, snapshot, lockedStores, 0)) {
+				return false;
+			}
+			log.info("Compacted the journal {} from {} to {} bytes", file, size, size());
+		} catch (IOException e) {
+			log.error("Failed to compact the journal {}, keeping it as it was", file, e);
+		} finally {
+			if (compacted != null) {
+				compacted.discard();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Copy the live records of the replayed sessions to the compacted file, the sessions being numbered in the order of
+	 * their records.
+	 */
+	private void copyLiveRecords(Replay replay, FileChannel source, CompactedFile target) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+		for (int session = 0; session < replay.stores.size(); session++) {
+			JournalStore store = replay.stores.get(session);
+			int number = session;
+			target.append(SESSION, number, store.getCreationTime().getTime(),
+					replay.sessionIDs.get(session).getBytes(StandardCharsets.UTF_8));
+			target.append(SENDER_SEQ_NUM, number, store.getNextSenderMsgSeqNum(), null);
+			target.append(TARGET_SEQ_NUM, number, store.getNextTargetMsgSeqNum(), null);
+			SequenceIndex positions = new SequenceIndex(store.size());
+			store.forEachMessage((sequence, position) -> {
+				header.clear();
+				readFully(source, header, position);
+				byte[] payload = new byte[header.getInt(0) - (RECORD_HEADER_SIZE - 4)];
+				readFully(source, ByteBuffer.wrap(payload), position + RECORD_HEADER_SIZE);
+				positions.put(sequence, target.append(MESSAGE, number, sequence, payload));
+			});
+			target.positions.add(positions);
+		}
+	}
+
+	/**
+	 * The sessions lock their store before the journal, so the stores are locked one after the other before the
+	 * journal is locked, the records appended since the snapshot copied and the files swapped.
+	 */
+	private boolean swapLocking(
+			CompactedFile compacted, Replay replay, long snapshot, List<JournalStore> lockedStores, int next
+	) throws IOException {
+		if (next < lockedStores.size()) {
+			synchronized (lockedStores.get(next)) {
+				return swapLocking(compacted, replay, snapshot, lockedStores, next + 1);
+			}
+		}
+		synchronized (lock) {
+			if (stores.size() != lockedStores.size()) {
+				// A session was registered in the meantime, checked again on the next flush
+				return false;
+			}
+			writeBuffer();
+			long base = compacted.position;
+			long appendedRecords = records - replay.records;
+			compacted.copy(channel, snapshot, writtenPosition);
+			compacted.force();
+			Files.move(compacted.path, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			compacted.swapped = true;
+
+			// Nothing fails from here on, the stores are pointed at the records of the compacted file
+			for (JournalStore store : stores) {
+				SequenceIndex positions = store.getNumber() < compacted.positions.size()
+						? compacted.positions.get(store.getNumber()) : null;
+				store.compact((sequence, position) -> position >= snapshot
+						? base + position - snapshot : positions.get(sequence));
+			}
+			FileChannel previous = channel;
+			channel = compacted.channel;
+			writtenPosition = compacted.position;
+			records = compacted.records + appendedRecords;
+			try {
+				previous.close();
+			} catch (IOException e) {
+				log.warn("Failed to close the journal {} replaced by its compacted file", file, e);
+			}
+			return true;
+		}
+	}
+
+	private void writeBuffer() throws IOException {
+		if (buffer.position() > 0) {
+			buffer.flip();
+			write(buffer);
+			buffer.clear();
+		}
+	}
+
+	private void write(ByteBuffer source) throws IOException {
+		while (source.hasRemaining()) {
+			writtenPosition += channel.write(source, writtenPosition);
+		}
+	}
+
+	private void register(String sessionID, JournalStore store) {
+		stores.add(store);
+		sessionIDs.add(sessionID);
+		storesBySessionID.put(sessionID, store);
+	}
+
+	/**
+	 * Replay the complete records of a journal file up to the given position.
+	 */
+	private Replay replay(FileChannel source, long end) throws IOException {
+		Replay replay = new Replay();
+		ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+		while (replay.position + RECORD_HEADER_SIZE <= end) {
+			long position = replay.position;
+			header.clear();
+			readFully(source, header, position);
+			int length = header.getInt(0);
+			byte type = header.get(4);
+			int session = header.getInt(5);
+			long value = header.getLong(9);
+			long next = position + 4 + length;
+			if (length < RECORD_HEADER_SIZE - 4 || next > end || session < 0
+					|| (type != SESSION && session >= replay.stores.size())) {
+				break;
+			}
+			switch (type) {
+				case SESSION -> {
+					ByteBuffer payload = ByteBuffer.allocate(length - (RECORD_HEADER_SIZE - 4));
+					readFully(source, payload, position + RECORD_HEADER_SIZE);
+					replay.stores.add(new JournalStore(this, replay.stores.size(), value));
+					replay.sessionIDs.add(new String(payload.array(), StandardCharsets.UTF_8));
+				}
+				case MESSAGE -> replay.stores.get(session).recoverMessage((int) value, position);
+				case SENDER_SEQ_NUM -> replay.stores.get(session).recoverNextSenderMsgSeqNum((int) value);
+				case TARGET_SEQ_NUM -> replay.stores.get(session).recoverNextTargetMsgSeqNum((int) value);
+				case RESET -> replay.stores.get(session).recoverReset(value);
+				default -> {
+					log.warn("Unknown record type {} at position {} of the journal {}", type, position, file);
+					return replay;
+				}
+			}
+			replay.records++;
+			replay.position = next;
+		}
+		return replay;
+	}
+
+	private void truncate(long position) throws IOException {
+		if (position < channel.size()) {
+			log.warn("Truncating the journal {} after the last complete record at position {}", file, position);
+			channel.truncate(position);
+		}
+		writtenPosition = position;
+	}
+
+	private static void putRecord(ByteBuffer target, byte type, int session, long value, byte[] payload) {
+		target.putInt(RECORD_HEADER_SIZE - 4 + (payload == null ? 0 : payload.length));
+		target.put(type);
+		target.putInt(session);
+		target.putLong(value);
+		if (payload != null) {
+			target.put(payload);
+		}
+	}
+
+	private static void readFully(FileChannel source, ByteBuffer target, long position) throws IOException {
+		while (target.hasRemaining()) {
+			int read = source.read(target, position + target.position());
+			if (read < 0) {
+				throw new EOFException("Unexpected end of the journal at position " + position);
+			}
+		}
+	}
+
+	/**
+	 * The sessions rebuilt from the records of a journal file.
+	 */
+	private static final class Replay {
+
+		private final List<JournalStore> stores = new ArrayList<>();
+
+		private final List<String> sessionIDs = new ArrayList<>();
+
+		private long records;
+
+		/**
+		 * The position following the last complete record.
+		 */
+		private long position;
+
+		private long liveRecords() {
+			return stores.stream().mapToLong(store -> 3 + store.size()).sum();
+		}
+	}
+
+	/**
+	 * New file of the journal the live records are copied to, moved over the journal file once complete and deleted
+	 * otherwise.
+	 */
+	private static final class CompactedFile {
+
+		private final Path path;
+
+		private final FileChannel channel;
+
+		private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+		/**
+		 * The positions of the messages in this file, per session.
+		 */
+		private final List<SequenceIndex> positions = new ArrayList<>();
+
+		private long position;
+
+		private long records;
+
+		private boolean swapped;
+
+		CompactedFile(Path path) throws IOException {
+			this.path = path;
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+		}
+
+		long append(byte type, int session, long value, byte[] payload) throws IOException {
+			int recordSize = RECORD_HEADER_SIZE + (payload == null ? 0 : payload.length);
+			if (buffer.remaining() < recordSize) {
+				writeBuffer();
+			}
+			long recordPosition = position + buffer.position();
+			if (recordSize > buffer.capacity()) {
+				ByteBuffer record = ByteBuffer.allocate(recordSize);
+				putRecord(record, type, session, value, payload);
+				record.flip();
+				write(record);
+			} else {
+				putRecord(buffer, type, session, value, payload);
+			}
+			records++;
+			return recordPosition;
+		}
+
+		/**
+		 * Copy the records of the journal file between two positions as they are.
+		 */
+		void copy(FileChannel source, long from, long to) throws IOException {
+			writeBuffer();
+			for (long offset = from; offset < to; offset += buffer.capacity()) {
+				buffer.clear().limit((int) Math.min(buffer.capacity(), to - offset));
+				readFully(source, buffer, offset);
+				buffer.flip();
+				write(buffer);
+			}
+			buffer.clear();
+		}
+
+		void force() throws IOException {
+			writeBuffer();
+			channel.force(true);
+		}
+
+		void discard() {
+			if (swapped) {
+				return;
+			}
+			try {
+				channel.close();
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				log.warn("Failed to delete the compacted journal {}", path, e);
+			}
+		}
+
+		private void writeBuffer() throws IOException {
+			if (buffer.position() > 0) {
+				buffer.flip();
+				write(buffer);
+				buffer.clear();
+			}
+		}
+
+		private void write(ByteBuffer source) throws IOException {
+			while (source.hasRemaining()) {
+				position += channel.write(source, position);
+			}
+		}
+	}
+}
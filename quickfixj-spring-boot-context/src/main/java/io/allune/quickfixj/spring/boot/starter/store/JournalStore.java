@@ -0,0 +1,173 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import quickfix.MessageStore;
+import quickfix.SystemTime;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * {@link MessageStore} of a session appending its messages and sequence numbers to a {@link Journal} shared with the
+ * other sessions.
+ * <p>
+ * The sequence numbers and the positions of the messages in the journal are kept in memory, the messages are read
+ * back from the journal to serve the resend requests. The records are forced to disk by the journal in the background,
+ * so the records appended since the last flush are lost if the host fails.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class JournalStore implements MessageStore {
+
+	private final Journal journal;
+
+	private final int number;
+
+	private SequenceIndex index = new SequenceIndex();
+
+	private long creationTime;
+
+	private int nextSenderMsgSeqNum = 1;
+
+	private int nextTargetMsgSeqNum = 1;
+
+	JournalStore(Journal journal, int number, long creationTime) {
+		this.journal = journal;
+		this.number = number;
+		this.creationTime = creationTime;
+	}
+
+	@Override
+	public synchronized boolean set(int sequence, String message) throws IOException {
+		long position = journal.append(Journal.MESSAGE, number, sequence, message.getBytes(journal.getCharset()));
+		index.put(sequence, position);
+		return true;
+	}
+
+	@Override
+	public synchronized void get(int startSequence, int endSequence, Collection<String> messages) throws IOException {
+		for (int sequence = startSequence; sequence <= endSequence; sequence++) {
+			long position = index.get(sequence);
+			if (position != SequenceIndex.NOT_FOUND) {
+				messages.add(journal.readMessage(position));
+			}
+		}
+	}
+
+	@Override
+	public synchronized int getNextSenderMsgSeqNum() {
+		return nextSenderMsgSeqNum;
+	}
+
+	@Override
+	public synchronized int getNextTargetMsgSeqNum() {
+		return nextTargetMsgSeqNum;
+	}
+
+	@Override
+	public synchronized void setNextSenderMsgSeqNum(int next) throws IOException {
+		journal.append(Journal.SENDER_SEQ_NUM, number, next, null);
+		nextSenderMsgSeqNum = next;
+	}
+
+	@Override
+	public synchronized void setNextTargetMsgSeqNum(int next) throws IOException {
+		journal.append(Journal.TARGET_SEQ_NUM, number, next, null);
+		nextTargetMsgSeqNum = next;
+	}
+
+	@Override
+	public synchronized void incrNextSenderMsgSeqNum() throws IOException {
+		setNextSenderMsgSeqNum(nextSenderMsgSeqNum + 1);
+	}
+
+	@Override
+	public synchronized void incrNextTargetMsgSeqNum() throws IOException {
+		setNextTargetMsgSeqNum(nextTargetMsgSeqNum + 1);
+	}
+
+	@Override
+	public synchronized Date getCreationTime() {
+		return new Date(creationTime);
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		long now = SystemTime.currentTimeMillis();
+		journal.append(Journal.RESET, number, now, null);
+		recoverReset(now);
+	}
+
+	/**
+	 * The state of the store is only changed through this instance, there is nothing to refresh.
+	 */
+	@Override
+	public void refresh() {
+	}
+
+	int getNumber() {
+		return number;
+	}
+
+	synchronized int size() {
+		return index.size();
+	}
+
+	void recoverMessage(int sequence, long position) {
+		index.put(sequence, position);
+	}
+
+	void recoverNextSenderMsgSeqNum(int next) {
+		nextSenderMsgSeqNum = next;
+	}
+
+	void recoverNextTargetMsgSeqNum(int next) {
+		nextTargetMsgSeqNum = next;
+	}
+
+	void recoverReset(long creationTime) {
+		this.creationTime = creationTime;
+		nextSenderMsgSeqNum = 1;
+		nextTargetMsgSeqNum = 1;
+		index.clear();
+	}
+
+	synchronized <E extends Exception> void forEachMessage(SequenceIndex.Visitor<E> visitor) throws E {
+		index.forEach(visitor);
+	}
+
+	synchronized void compact(Relocation relocation) {
+		SequenceIndex relocated = new SequenceIndex(index.size());
+		index.forEach((sequence, position) -> relocated.put(sequence, relocation.relocate(sequence, position)));
+		index = relocated;
+	}
+
+	/**
+	 * Maps the position of a message record in the journal to its position in the compacted journal.
+	 */
+	@FunctionalInterface
+	interface Relocation {
+
+		/**
+		 * @param sequence the sequence number of the message
+		 * @param position the position of the message record in the journal
+		 * @return the position of the message record in the compacted journal
+		 */
+		long relocate(int sequence, long position);
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FileStoreFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionFactory;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Creates {@link JournalStore journal stores} sharing a single append-only journal, instead of opening and forcing
+ * to disk several files per session.
+ * <p>
+ * The journal is created in the directory of the {@value FileStoreFactory#SETTING_FILE_STORE_PATH} setting of the
+ * default section, named after the {@value SessionFactory#SETTING_CONNECTION_TYPE} of the default section, e.g.
+ * {@code quickfixj-initiator.journal}, so that a client and a server sharing the same store path do not share a
+ * journal, unless it is named with {@value #SETTING_JOURNAL_STORE_FILE_NAME}. The records are forced to disk every
+ * {@value #SETTING_JOURNAL_STORE_FLUSH_INTERVAL} milliseconds, or as soon as
+ * {@value #SETTING_JOURNAL_STORE_FLUSH_BYTES} bytes are waiting to be written.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class JournalStoreFactory implements MessageStoreFactory, Closeable {
+
+	/**
+	 * Interval in milliseconds between two flushes of the journal, 10 by default.
+	 */
+	public static final String SETTING_JOURNAL_STORE_FLUSH_INTERVAL = "JournalStoreFlushInterval";
+
+	/**
+	 * Number of buffered bytes triggering a flush of the journal, 1 MB by default.
+	 */
+	public static final String SETTING_JOURNAL_STORE_FLUSH_BYTES = "JournalStoreFlushBytes";
+
+	/**
+	 * Name of the journal file in the store path, {@code quickfixj-<ConnectionType>.journal} by default, or
+	 * {@code quickfixj.journal} if the default section has no connection type.
+	 */
+	public static final String SETTING_JOURNAL_STORE_FILE_NAME = "JournalStoreFileName";
+
+	/**
+	 * Size in bytes over which the journal is compacted in the background when most of its records are superseded,
+	 * 256 MB by default. The journal grows up to twice its live size, or this size, between two compactions. The
+	 * sessions are only blocked to copy the records appended during the compaction and swap the files.
+	 */
+	public static final String SETTING_JOURNAL_STORE_COMPACTION_SIZE = "JournalStoreCompactionSize";
+
+	public static final long DEFAULT_FLUSH_INTERVAL = 10;
+
+	public static final int DEFAULT_FLUSH_BYTES = 1024 * 1024;
+
+	public static final long DEFAULT_COMPACTION_SIZE = Journal.DEFAULT_COMPACTION_BYTES;
+
+	private final SessionSettings settings;
+
+	private Journal journal;
+
+	public JournalStoreFactory(SessionSettings settings) {
+		this.settings = settings;
+	}
+
+	@Override
+	public synchronized MessageStore create(SessionID sessionID) {
+		try {
+			if (journal == null) {
+				journal = new Journal(
+						Paths.get(settings.getString(FileStoreFactory.SETTING_FILE_STORE_PATH)).resolve(getFileName()),
+						getLong(SETTING_JOURNAL_STORE_FLUSH_INTERVAL, DEFAULT_FLUSH_INTERVAL),
+						(int) getLong(SETTING_JOURNAL_STORE_FLUSH_BYTES, DEFAULT_FLUSH_BYTES),
+						getCompactionSize());
+			}
+			return journal.store(sessionID);
+		} catch (ConfigError | FieldConvertError | IOException e) {
+			throw new RuntimeError(e);
+		}
+	}
+
+	/**
+	 * Flush and close the journal.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (journal != null) {
+			journal.close();
+			journal = null;
+		}
+	}
+
+	private String getFileName() throws ConfigError {
+		if (settings.isSetting(SETTING_JOURNAL_STORE_FILE_NAME)) {
+			return settings.getString(SETTING_JOURNAL_STORE_FILE_NAME);
+		}
+		if (settings.isSetting(SessionFactory.SETTING_CONNECTION_TYPE)) {
+			return "quickfixj-" + settings.getString(SessionFactory.SETTING_CONNECTION_TYPE) + ".journal";
+		}
+		return Journal.FILE_NAME;
+	}
+
+	private long getCompactionSize() throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(SETTING_JOURNAL_STORE_COMPACTION_SIZE)) {
+			return DEFAULT_COMPACTION_SIZE;
+		}
+		long compactionSize = settings.getLong(SETTING_JOURNAL_STORE_COMPACTION_SIZE);
+		if (compactionSize <= 0) {
+			throw new ConfigError(SETTING_JOURNAL_STORE_COMPACTION_SIZE + " must be greater than zero");
+		}
+		return compactionSize;
+	}
+
+	private long getLong(String key, long defaultValue) throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(key)) {
+			return defaultValue;
+		}
+		long value = settings.getLong(key);
+		if (value <= 0 || value > Integer.MAX_VALUE) {
+			throw new ConfigError(key + " must be between 1 and " + Integer.MAX_VALUE);
+		}
+		return value;
+	}
+}
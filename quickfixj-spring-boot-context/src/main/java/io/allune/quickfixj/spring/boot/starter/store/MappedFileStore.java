@@ -0,0 +1,365 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import lombok.Value;
+import org.quickfixj.CharsetSupport;
+import quickfix.FileUtil;
+import quickfix.MessageStore;
+import quickfix.SessionID;
+import quickfix.SystemTime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link MessageStore} persisting the messages to pre-allocated, memory-mapped segment files.
+ * <p>
+ * Storing a message copies its bytes to the mapped segment, the operating system writing them back to disk
+ * asynchronously unless {@code sync} is set. The messages are read back directly from the mapped segments through an
+ * in-memory index of sequence numbers to segment offsets, rebuilt by scanning the segments when the store is opened.
+ * <p>
+ * Each record of a segment is made of the sequence number, the length of the message and the message bytes, and is
+ * followed by a zero sequence number marking the end of the segment. The creation time and the next sequence numbers
+ * are kept in a separate mapped header file.
+ * <p>
+ * Closing the channel of a file does not unmap it, the mapping is only released once its buffer is garbage
+ * collected. The store drops its references to the mapped buffers before deleting the files, on {@link #reset()} and
+ * {@link #closeAndDeleteFiles()}, but the files may still be mapped when they are deleted: on Linux their disk space
+ * is only freed once the buffers are collected, and on Windows they cannot be deleted, failing with an
+ * {@link IOException} until the buffers are collected.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class MappedFileStore implements MessageStore, Closeable {
+
+	private static final int HEADER_SIZE = 16;
+
+	private static final int CREATION_TIME_OFFSET = 0;
+
+	private static final int SENDER_SEQ_NUM_OFFSET = 8;
+
+	private static final int TARGET_SEQ_NUM_OFFSET = 12;
+
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private static final int END_MARKER_SIZE = 4;
+
+	private static final String HEADER_SUFFIX = ".header";
+
+	private static final String SEGMENT_SUFFIX = ".segment";
+
+	private final Path directory;
+
+	private final String prefix;
+
+	private final int segmentSize;
+
+	private final boolean sync;
+
+	private final Charset charset = CharsetSupport.getCharsetInstance();
+
+	private final SequenceIndex index = new SequenceIndex();
+
+	private final List<Segment> segments = new ArrayList<>();
+
+	private FileChannel headerChannel;
+
+	private MappedByteBuffer header;
+
+	private int writePosition;
+
+	private byte[] readBuffer = new byte[1024];
+
+	public MappedFileStore(Path directory, SessionID sessionID, int segmentSize, boolean sync) throws IOException {
+		this.directory = directory;
+		this.prefix = FileUtil.sessionIdFileName(sessionID);
+		this.segmentSize = segmentSize;
+		this.sync = sync;
+		Files.createDirectories(directory);
+		openHeader();
+		openSegments();
+	}
+
+	@Override
+	public synchronized boolean set(int sequence, String message) throws IOException {
+		byte[] bytes = message.getBytes(charset);
+		int recordSize = RECORD_HEADER_SIZE + bytes.length;
+		Segment segment = segments.get(segments.size() - 1);
+		if (writePosition + recordSize + END_MARKER_SIZE > segment.getBuffer().capacity()) {
+			segment = createSegment(Math.max(segmentSize, recordSize + END_MARKER_SIZE));
+			writePosition = 0;
+		}
+
+		MappedByteBuffer buffer = segment.getBuffer();
+		int position = writePosition;
+		buffer.putInt(position + 4, bytes.length);
+		buffer.put(position + RECORD_HEADER_SIZE, bytes);
+		buffer.putInt(position + recordSize, 0);
+		// The sequence number is written last so that a partially written record ends the segment
+		buffer.putInt(position, sequence);
+		if (sync) {
+			buffer.force(position, recordSize + END_MARKER_SIZE);
+		}
+
+		index.put(sequence, location(segments.size() - 1, position));
+		writePosition = position + recordSize;
+		return true;
+	}
+
+	@Override
+	public synchronized void get(int startSequence, int endSequence, Collection<String> messages) throws IOException {
+		for (int sequence = startSequence; sequence <= endSequence; sequence++) {
+			long location = index.get(sequence);
+			if (location != SequenceIndex.NOT_FOUND) {
+				messages.add(read(location));
+			}
+		}
+	}
+
+	@Override
+	public synchronized int getNextSenderMsgSeqNum() {
+		return header.getInt(SENDER_SEQ_NUM_OFFSET);
+	}
+
+	@Override
+	public synchronized int getNextTargetMsgSeqNum() {
+		return header.getInt(TARGET_SEQ_NUM_OFFSET);
+	}
+
+	@Override
+	public synchronized void setNextSenderMsgSeqNum(int next) {
+		header.putInt(SENDER_SEQ_NUM_OFFSET, next);
+		syncHeader();
+	}
+
+	@Override
+	public synchronized void setNextTargetMsgSeqNum(int next) {
+		header.putInt(TARGET_SEQ_NUM_OFFSET, next);
+		syncHeader();
+	}
+
+	@Override
+	public synchronized void incrNextSenderMsgSeqNum() {
+		setNextSenderMsgSeqNum(getNextSenderMsgSeqNum() + 1);
+	}
+
+	@Override
+	public synchronized void incrNextTargetMsgSeqNum() {
+		setNextTargetMsgSeqNum(getNextTargetMsgSeqNum() + 1);
+	}
+
+	@Override
+	public synchronized Date getCreationTime() {
+		return new Date(header.getLong(CREATION_TIME_OFFSET));
+	}
+
+	/**
+	 * Delete the segment files, which may still be mapped until the buffers are garbage collected, and start a new
+	 * segment.
+	 */
+	@Override
+	public synchronized void reset() throws IOException {
+		closeSegments();
+		deleteSegments();
+		index.clear();
+		createSegment(segmentSize);
+		writePosition = 0;
+		initializeHeader();
+	}
+
+	@Override
+	public synchronized void refresh() throws IOException {
+		closeSegments();
+		index.clear();
+		openSegments();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		closeSegments();
+		if (headerChannel != null) {
+			headerChannel.close();
+			headerChannel = null;
+			header = null;
+		}
+	}
+
+	/**
+	 * Close the store and delete its files.
+	 */
+	public synchronized void closeAndDeleteFiles() throws IOException {
+		close();
+		deleteSegments();
+		Files.deleteIfExists(directory.resolve(prefix + HEADER_SUFFIX));
+	}
+
+	int getSegmentCount() {
+		return segments.size();
+	}
+
+	private String read(long location) {
+		MappedByteBuffer buffer = segments.get((int) (location >>> 32)).getBuffer();
+		int position = (int) location;
+		int length = buffer.getInt(position + 4);
+		if (readBuffer.length < length) {
+			readBuffer = new byte[Math.max(length, readBuffer.length * 2)];
+		}
+		buffer.get(position + RECORD_HEADER_SIZE, readBuffer, 0, length);
+		return new String(readBuffer, 0, length, charset);
+	}
+
+	private void openHeader() throws IOException {
+		headerChannel = FileChannel.open(directory.resolve(prefix + HEADER_SUFFIX),
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		boolean created = headerChannel.size() < HEADER_SIZE;
+		header = headerChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+		if (created) {
+			initializeHeader();
+		}
+	}
+
+	private void initializeHeader() {
+		header.putLong(CREATION_TIME_OFFSET, SystemTime.currentTimeMillis());
+		header.putInt(SENDER_SEQ_NUM_OFFSET, 1);
+		header.putInt(TARGET_SEQ_NUM_OFFSET, 1);
+		syncHeader();
+	}
+
+	private void syncHeader() {
+		if (sync) {
+			header.force();
+		}
+	}
+
+	private void openSegments() throws IOException {
+		TreeMap<Integer, Path> files = findSegmentFiles();
+		if (files.isEmpty()) {
+			createSegment(segmentSize);
+			writePosition = 0;
+			return;
+		}
+		for (Map.Entry<Integer, Path> file : files.entrySet()) {
+			Segment segment = mapSegment(file.getKey(), file.getValue(), Files.size(file.getValue()));
+			segments.add(segment);
+			// Records are located by their index in the list of segments, not by the number of the segment file
+			writePosition = scan(segment, segments.size() - 1);
+		}
+	}
+
+	private int scan(Segment segment, int number) {
+		MappedByteBuffer buffer = segment.getBuffer();
+		int position = 0;
+		while (position + RECORD_HEADER_SIZE <= buffer.capacity()) {
+			int sequence = buffer.getInt(position);
+			int length = buffer.getInt(position + 4);
+			if (sequence <= 0 || length < 0 || position + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+				break;
+			}
+			index.put(sequence, location(number, position));
+			position += RECORD_HEADER_SIZE + length;
+		}
+		return position;
+	}
+
+	private Segment createSegment(int size) throws IOException {
+		int number = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).getNumber() + 1;
+		Path file = segmentFile(number);
+		Files.deleteIfExists(file);
+		Segment segment = mapSegment(number, file, size);
+		segment.getBuffer().putInt(0, 0);
+		segments.add(segment);
+		return segment;
+	}
+
+	private Segment mapSegment(int number, Path file, long size) throws IOException {
+		FileChannel channel = FileChannel.open(file,
+				StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			return new Segment(number, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	private TreeMap<Integer, Path> findSegmentFiles() throws IOException {
+		TreeMap<Integer, Path> files = new TreeMap<>();
+		String filePrefix = prefix + ".";
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+			for (Path file : stream) {
+				String name = file.getFileName().toString();
+				if (name.startsWith(filePrefix) && name.endsWith(SEGMENT_SUFFIX)) {
+					String number = name.substring(filePrefix.length(), name.length() - SEGMENT_SUFFIX.length());
+					try {
+						files.put(Integer.parseInt(number), file);
+					} catch (NumberFormatException e) {
+						// Not a segment of this session
+					}
+				}
+			}
+		}
+		return files;
+	}
+
+	/**
+	 * Close the channels of the segments and drop the references to their buffers, so that the mappings can be
+	 * released by the garbage collector.
+	 */
+	private void closeSegments() throws IOException {
+		for (Segment segment : segments) {
+			segment.getChannel().close();
+		}
+		segments.clear();
+	}
+
+	private void deleteSegments() throws IOException {
+		for (Path file : findSegmentFiles().values()) {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private Path segmentFile(int number) {
+		return directory.resolve(prefix + "." + number + SEGMENT_SUFFIX);
+	}
+
+	private static long location(int segment, int position) {
+		return ((long) segment << 32) | position;
+	}
+
+	@Value
+	private static class Segment {
+
+		int number;
+
+		FileChannel channel;
+
+		MappedByteBuffer buffer;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FileStoreFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Creates {@link MappedFileStore memory-mapped message stores}.
+ * <p>
+ * The stores are created in the directory of the {@value FileStoreFactory#SETTING_FILE_STORE_PATH} setting. The size
+ * of the pre-allocated segment files is set with {@value #SETTING_MAPPED_FILE_STORE_SEGMENT_SIZE}, and
+ * {@value #SETTING_MAPPED_FILE_STORE_SYNC} forces each write to disk.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class MappedFileStoreFactory implements MessageStoreFactory {
+
+	/**
+	 * Size in bytes of the segment files, 16 MB by default.
+	 */
+	public static final String SETTING_MAPPED_FILE_STORE_SEGMENT_SIZE = "MappedFileStoreSegmentSize";
+
+	/**
+	 * Whether to force each write to disk, {@code N} by default.
+	 */
+	public static final String SETTING_MAPPED_FILE_STORE_SYNC = "MappedFileStoreSync";
+
+	public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+	private final SessionSettings settings;
+
+	public MappedFileStoreFactory(SessionSettings settings) {
+		this.settings = settings;
+	}
+
+	@Override
+	public MessageStore create(SessionID sessionID) {
+		try {
+			return new MappedFileStore(
+					Paths.get(settings.getString(sessionID, FileStoreFactory.SETTING_FILE_STORE_PATH)),
+					sessionID,
+					getSegmentSize(sessionID),
+					settings.isSetting(sessionID, SETTING_MAPPED_FILE_STORE_SYNC)
+							&& settings.getBool(sessionID, SETTING_MAPPED_FILE_STORE_SYNC));
+		} catch (ConfigError | FieldConvertError | IOException e) {
+			throw new RuntimeError(e);
+		}
+	}
+
+	private int getSegmentSize(SessionID sessionID) throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(sessionID, SETTING_MAPPED_FILE_STORE_SEGMENT_SIZE)) {
+			return DEFAULT_SEGMENT_SIZE;
+		}
+		long segmentSize = settings.getLong(sessionID, SETTING_MAPPED_FILE_STORE_SEGMENT_SIZE);
+		if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+			throw new ConfigError(SETTING_MAPPED_FILE_STORE_SEGMENT_SIZE + " must be between 1 and " + Integer.MAX_VALUE);
+		}
+		return (int) segmentSize;
+	}
+}
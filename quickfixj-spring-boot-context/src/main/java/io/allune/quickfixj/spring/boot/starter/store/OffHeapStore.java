@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.quickfixj.CharsetSupport;
+import org.springframework.util.Assert;
+import quickfix.MessageStore;
+import quickfix.SystemTime;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link MessageStore} keeping the messages of a session in memory, outside of the Java heap.
+ * <p>
+ * The message bytes are appended to direct {@link ByteBuffer} slabs, each record being made of the length of the
+ * message and the message bytes, and located through an index of sequence numbers to slab offsets, so that the stored
+ * messages are neither {@link String} objects nor map entries the garbage collector has to trace. A new slab is
+ * allocated when the current one is full.
+ * <p>
+ * Like the {@link quickfix.MemoryStore}, the store is not persistent. The slabs are released when the store is reset
+ * or closed.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class OffHeapStore implements MessageStore, Closeable {
+
+	private static final int RECORD_HEADER_SIZE = 4;
+
+	private final int slabSize;
+
+	private final Consumer<OffHeapStore> closeListener;
+
+	private final Charset charset = CharsetSupport.getCharsetInstance();
+
+	private final boolean singleByteCharset = StandardCharsets.ISO_8859_1.equals(charset)
+			|| StandardCharsets.US_ASCII.equals(charset);
+
+	private final SequenceIndex index = new SequenceIndex();
+
+	private final List<ByteBuffer> slabs = new ArrayList<>();
+
+	private byte[] readBuffer = new byte[1024];
+
+	private volatile long allocatedBytes;
+
+	private int nextSenderMsgSeqNum;
+
+	private int nextTargetMsgSeqNum;
+
+	private Date creationTime;
+
+	public OffHeapStore(int slabSize) {
+		this(slabSize, store -> {
+		});
+	}
+
+	OffHeapStore(int slabSize, Consumer<OffHeapStore> closeListener) {
+		Assert.isTrue(slabSize > RECORD_HEADER_SIZE, "'slabSize' must be greater than " + RECORD_HEADER_SIZE);
+		this.slabSize = slabSize;
+		this.closeListener = closeListener;
+		initialize();
+	}
+
+	@Override
+	public synchronized boolean set(int sequence, String message) {
+		byte[] bytes = singleByteCharset ? null : message.getBytes(charset);
+		int length = bytes == null ? message.length() : bytes.length;
+		ByteBuffer slab = slabs.isEmpty() ? null : slabs.get(slabs.size() - 1);
+		if (slab == null || slab.remaining() < RECORD_HEADER_SIZE + length) {
+			slab = allocateSlab(Math.max(slabSize, RECORD_HEADER_SIZE + length));
+		}
+
+		int position = slab.position();
+		slab.putInt(length);
+		if (bytes == null) {
+			for (int i = 0; i < length; i++) {
+				slab.put((byte) message.charAt(i));
+			}
+		} else {
+			slab.put(bytes);
+		}
+		index.put(sequence, location(slabs.size() - 1, position));
+		return true;
+	}
+
+	@Override
+	public synchronized void get(int startSequence, int endSequence, Collection<String> messages) {
+		for (int sequence = startSequence; sequence <= endSequence; sequence++) {
+			long location = index.get(sequence);
+			if (location != SequenceIndex.NOT_FOUND) {
+				messages.add(read(location));
+			}
+		}
+	}
+
+	@Override
+	public synchronized int getNextSenderMsgSeqNum() {
+		return nextSenderMsgSeqNum;
+	}
+
+	@Override
+	public synchronized int getNextTargetMsgSeqNum() {
+		return nextTargetMsgSeqNum;
+	}
+
+	@Override
+	public synchronized void setNextSenderMsgSeqNum(int next) {
+		nextSenderMsgSeqNum = next;
+	}
+
+	@Override
+	public synchronized void setNextTargetMsgSeqNum(int next) {
+		nextTargetMsgSeqNum = next;
+	}
+
+	@Override
+	public synchronized void incrNextSenderMsgSeqNum() {
+		nextSenderMsgSeqNum++;
+	}
+
+	@Override
+	public synchronized void incrNextTargetMsgSeqNum() {
+		nextTargetMsgSeqNum++;
+	}
+
+	@Override
+	public synchronized Date getCreationTime() {
+		return creationTime;
+	}
+
+	@Override
+	public synchronized void reset() {
+		initialize();
+	}
+
+	@Override
+	public void refresh() {
+		// Nothing to refresh, the store is not persistent
+	}
+
+	/**
+	 * Release the slabs of the store.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			slabs.clear();
+			index.clear();
+			allocatedBytes = 0;
+		}
+		closeListener.accept(this);
+	}
+
+	/**
+	 * @return the number of bytes of the slabs allocated by the store
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	int getSlabCount() {
+		return slabs.size();
+	}
+
+	private void initialize() {
+		slabs.clear();
+		index.clear();
+		allocatedBytes = 0;
+		nextSenderMsgSeqNum = 1;
+		nextTargetMsgSeqNum = 1;
+		creationTime = new Date(SystemTime.currentTimeMillis());
+	}
+
+	private ByteBuffer allocateSlab(int size) {
+		ByteBuffer slab = ByteBuffer.allocateDirect(size);
+		slabs.add(slab);
+		allocatedBytes += size;
+		return slab;
+	}
+
+	private String read(long location) {
+		ByteBuffer slab = slabs.get((int) (location >>> 32));
+		int position = (int) location;
+		int length = slab.getInt(position);
+		if (readBuffer.length < length) {
+			readBuffer = new byte[Math.max(length, readBuffer.length * 2)];
+		}
+		slab.get(position + RECORD_HEADER_SIZE, readBuffer, 0, length);
+		return new String(readBuffer, 0, length, charset);
+	}
+
+	private static long location(int slab, int position) {
+		return ((long) slab << 32) | position;
+	}
+}
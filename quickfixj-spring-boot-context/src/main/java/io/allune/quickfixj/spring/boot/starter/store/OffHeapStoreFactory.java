@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates {@link OffHeapStore off-heap message stores}.
+ * <p>
+ * The size of the slabs allocated by the stores is set with {@value #SETTING_OFF_HEAP_STORE_SLAB_SIZE}. A store
+ * closed by its session releases its slabs and is no longer tracked by the factory.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class OffHeapStoreFactory implements MessageStoreFactory, Closeable {
+
+	/**
+	 * Size in bytes of the slabs allocated by the stores, 4 MB by default.
+	 */
+	public static final String SETTING_OFF_HEAP_STORE_SLAB_SIZE = "OffHeapStoreSlabSize";
+
+	public static final int DEFAULT_SLAB_SIZE = 4 * 1024 * 1024;
+
+	private final SessionSettings settings;
+
+	private final List<OffHeapStore> stores = new CopyOnWriteArrayList<>();
+
+	public OffHeapStoreFactory(SessionSettings settings) {
+		this.settings = settings;
+	}
+
+	@Override
+	public MessageStore create(SessionID sessionID) {
+		try {
+			OffHeapStore store = new OffHeapStore(getSlabSize(sessionID), stores::remove);
+			stores.add(store);
+			return store;
+		} catch (ConfigError | FieldConvertError e) {
+			throw new RuntimeError(e);
+		}
+	}
+
+	/**
+	 * @return the number of bytes of the slabs allocated by all the stores
+	 */
+	public long getAllocatedBytes() {
+		return stores.stream().mapToLong(OffHeapStore::getAllocatedBytes).sum();
+	}
+
+	/**
+	 * Release the slabs of the stores.
+	 */
+	@Override
+	public void close() {
+		for (OffHeapStore store : stores) {
+			store.close();
+		}
+		stores.clear();
+	}
+
+	List<OffHeapStore> getStores() {
+		return stores;
+	}
+
+	private int getSlabSize(SessionID sessionID) throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(sessionID, SETTING_OFF_HEAP_STORE_SLAB_SIZE)) {
+			return DEFAULT_SLAB_SIZE;
+		}
+		long slabSize = settings.getLong(sessionID, SETTING_OFF_HEAP_STORE_SLAB_SIZE);
+		if (slabSize < 1024 || slabSize > Integer.MAX_VALUE) {
+			throw new ConfigError(SETTING_OFF_HEAP_STORE_SLAB_SIZE + " must be between 1024 and " + Integer.MAX_VALUE);
+		}
+		return (int) slabSize;
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing map of message sequence numbers to {@code long} locations, without boxing.
+ * <p>
+ * Sequence numbers are strictly positive, {@code 0} marks the free slots. Not thread safe.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+final class SequenceIndex {
+
+	static final long NOT_FOUND = -1L;
+
+	private static final int DEFAULT_CAPACITY = 1024;
+
+	private int[] keys;
+
+	private long[] values;
+
+	private int mask;
+
+	private int size;
+
+	SequenceIndex() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	SequenceIndex(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+		allocate(capacity);
+	}
+
+	/**
+	 * @param seqNum the sequence number
+	 * @return the location of the sequence number, or {@link #NOT_FOUND}
+	 */
+	long get(int seqNum) {
+		int slot = slot(seqNum);
+		int key;
+		while ((key = keys[slot]) != 0) {
+			if (key == seqNum) {
+				return values[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		return NOT_FOUND;
+	}
+
+	/**
+	 * Map the sequence number to the location, replacing any previous location.
+	 *
+	 * @param seqNum   the sequence number, strictly positive
+	 * @param location the location
+	 */
+	void put(int seqNum, long location) {
+		Assert.isTrue(seqNum > 0, "'seqNum' must be greater than zero");
+		int slot = slot(seqNum);
+		int key;
+		while ((key = keys[slot]) != 0) {
+			if (key == seqNum) {
+				values[slot] = location;
+				return;
+			}
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = seqNum;
+		values[slot] = location;
+		if (++size * 2 > keys.length) {
+			resize();
+		}
+	}
+
+	/**
+	 * Visit the sequence numbers and their locations, in no particular order.
+	 *
+	 * @param visitor the visitor
+	 */
+	<E extends Exception> void forEach(Visitor<E> visitor) throws E {
+		for (int slot = 0; slot < keys.length; slot++) {
+			if (keys[slot] != 0) {
+				visitor.visit(keys[slot], values[slot]);
+			}
+		}
+	}
+
+	int size() {
+		return size;
+	}
+
+	void clear() {
+		Arrays.fill(keys, 0);
+		size = 0;
+	}
+
+	private int slot(int seqNum) {
+		int hash = seqNum * 0x9E3779B9;
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private void allocate(int capacity) {
+		keys = new int[capacity];
+		values = new long[capacity];
+		mask = capacity - 1;
+	}
+
+	private void resize() {
+		int[] oldKeys = keys;
+		long[] oldValues = values;
+		allocate(oldKeys.length * 2);
+		size = 0;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != 0) {
+				put(oldKeys[i], oldValues[i]);
+			}
+		}
+	}
+
+	@FunctionalInterface
+	interface Visitor<E extends Exception> {
+
+		void visit(int seqNum, long location) throws E;
+	}
+}
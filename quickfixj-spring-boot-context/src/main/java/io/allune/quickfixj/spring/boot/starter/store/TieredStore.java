@@ -0,0 +1,332 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.quickfixj.CharsetSupport;
+import org.springframework.util.Assert;
+import quickfix.FileUtil;
+import quickfix.MessageStore;
+import quickfix.SessionID;
+import quickfix.SystemTime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link MessageStore} keeping the most recent messages of a session in memory and spilling the older ones to a file,
+ * so that the heap used by a session is bounded however many messages it sends.
+ * <p>
+ * Up to {@code maxMessages} messages, and up to {@code maxBytes} characters of messages, are kept in memory. When
+ * either limit is reached, the oldest message in memory is appended to the spill file, each record of which is made
+ * of the sequence number, the length of the message and the message bytes. An index of sequence numbers to either a
+ * position in memory or an offset in the spill file serves the resend requests from both tiers.
+ * <p>
+ * Like the {@link quickfix.MemoryStore}, the store is not persistent: the sequence numbers are kept in memory and the
+ * spill file is truncated when the store is created or reset, and deleted when it is closed.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class TieredStore implements MessageStore, Closeable {
+
+	private static final int RECORD_HEADER_SIZE = 8;
+
+	private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+	private static final String SPILL_SUFFIX = ".spill";
+
+	private final Path spillFile;
+
+	private final int maxMessages;
+
+	private final long maxBytes;
+
+	private final Charset charset = CharsetSupport.getCharsetInstance();
+
+	private final SequenceIndex index = new SequenceIndex();
+
+	private final int[] sequences;
+
+	private final String[] messages;
+
+	private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+
+	private final ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final FileChannel spillChannel;
+
+	private ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+
+	private long spillSize;
+
+	private long head;
+
+	private long tail;
+
+	private volatile long residentBytes;
+
+	private volatile int residentMessages;
+
+	private int nextSenderMsgSeqNum;
+
+	private int nextTargetMsgSeqNum;
+
+	private Date creationTime;
+
+	public TieredStore(Path directory, SessionID sessionID, int maxMessages, long maxBytes) throws IOException {
+		Assert.isTrue(maxMessages > 0, "'maxMessages' must be greater than zero");
+		Assert.isTrue(maxBytes > 0, "'maxBytes' must be greater than zero");
+		this.spillFile = directory.resolve(FileUtil.sessionIdFileName(sessionID) + SPILL_SUFFIX);
+		this.maxMessages = maxMessages;
+		this.maxBytes = maxBytes;
+		this.sequences = new int[maxMessages];
+		this.messages = new String[maxMessages];
+		Files.createDirectories(directory);
+		this.spillChannel = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		initialize();
+	}
+
+	@Override
+	public synchronized boolean set(int sequence, String message) throws IOException {
+		while (head > tail && (head - tail >= maxMessages || residentBytes + message.length() > maxBytes)) {
+			evict();
+		}
+		int slot = (int) (head % maxMessages);
+		sequences[slot] = sequence;
+		messages[slot] = message;
+		index.put(sequence, memoryLocation(head));
+		head++;
+		residentMessages++;
+		residentBytes += message.length();
+		return true;
+	}
+
+	@Override
+	public synchronized void get(int startSequence, int endSequence, Collection<String> messages) throws IOException {
+		int memoryReads = 0;
+		int fileReads = 0;
+		for (int sequence = startSequence; sequence <= endSequence; sequence++) {
+			long location = index.get(sequence);
+			if (location == SequenceIndex.NOT_FOUND) {
+				continue;
+			}
+			if (location < 0) {
+				messages.add(this.messages[(int) (memoryPosition(location) % maxMessages)]);
+				memoryReads++;
+			} else {
+				messages.add(read(location));
+				fileReads++;
+			}
+		}
+		hits.addAndGet(memoryReads);
+		misses.addAndGet(fileReads);
+	}
+
+	@Override
+	public synchronized int getNextSenderMsgSeqNum() {
+		return nextSenderMsgSeqNum;
+	}
+
+	@Override
+	public synchronized int getNextTargetMsgSeqNum() {
+		return nextTargetMsgSeqNum;
+	}
+
+	@Override
+	public synchronized void setNextSenderMsgSeqNum(int next) {
+		nextSenderMsgSeqNum = next;
+	}
+
+	@Override
+	public synchronized void setNextTargetMsgSeqNum(int next) {
+		nextTargetMsgSeqNum = next;
+	}
+
+	@Override
+	public synchronized void incrNextSenderMsgSeqNum() {
+		nextSenderMsgSeqNum++;
+	}
+
+	@Override
+	public synchronized void incrNextTargetMsgSeqNum() {
+		nextTargetMsgSeqNum++;
+	}
+
+	@Override
+	public synchronized Date getCreationTime() {
+		return creationTime;
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		writeBuffer.clear();
+		spillChannel.truncate(0);
+		initialize();
+	}
+
+	@Override
+	public void refresh() {
+		// Nothing to refresh, the store is not persistent
+	}
+
+	/**
+	 * Close the store and delete its spill file.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (spillChannel.isOpen()) {
+			spillChannel.close();
+			Files.deleteIfExists(spillFile);
+		}
+	}
+
+	/**
+	 * @return the number of messages read from memory
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of messages read from the spill file
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of messages kept in memory
+	 */
+	public int getResidentMessages() {
+		return residentMessages;
+	}
+
+	/**
+	 * @return the number of characters of the messages kept in memory
+	 */
+	public long getResidentBytes() {
+		return residentBytes;
+	}
+
+	Path getSpillFile() {
+		return spillFile;
+	}
+
+	private void initialize() {
+		Arrays.fill(messages, null);
+		index.clear();
+		head = 0;
+		tail = 0;
+		spillSize = 0;
+		residentMessages = 0;
+		residentBytes = 0;
+		nextSenderMsgSeqNum = 1;
+		nextTargetMsgSeqNum = 1;
+		creationTime = new Date(SystemTime.currentTimeMillis());
+	}
+
+	private void evict() throws IOException {
+		int slot = (int) (tail % maxMessages);
+		int sequence = sequences[slot];
+		String message = messages[slot];
+		// A message stored again with the same sequence number replaces the evicted one
+		if (index.get(sequence) == memoryLocation(tail)) {
+			index.put(sequence, spill(sequence, message));
+		}
+		messages[slot] = null;
+		tail++;
+		residentMessages--;
+		residentBytes -= message.length();
+	}
+
+	private long spill(int sequence, String message) throws IOException {
+		byte[] bytes = message.getBytes(charset);
+		int recordSize = RECORD_HEADER_SIZE + bytes.length;
+		if (writeBuffer.remaining() < recordSize) {
+			flushSpill();
+		}
+		long offset = spillSize + writeBuffer.position();
+		if (writeBuffer.remaining() < recordSize) {
+			ByteBuffer record = ByteBuffer.allocate(recordSize);
+			record.putInt(sequence).putInt(bytes.length).put(bytes).flip();
+			while (record.hasRemaining()) {
+				spillChannel.write(record, spillSize + record.position());
+			}
+			spillSize += recordSize;
+		} else {
+			writeBuffer.putInt(sequence).putInt(bytes.length).put(bytes);
+		}
+		return offset;
+	}
+
+	private void flushSpill() throws IOException {
+		writeBuffer.flip();
+		while (writeBuffer.hasRemaining()) {
+			spillChannel.write(writeBuffer, spillSize + writeBuffer.position());
+		}
+		spillSize += writeBuffer.limit();
+		writeBuffer.clear();
+	}
+
+	private String read(long offset) throws IOException {
+		if (offset >= spillSize) {
+			flushSpill();
+		}
+		recordHeader.clear();
+		readFully(recordHeader, offset);
+		int length = recordHeader.getInt(4);
+		if (readBuffer.capacity() < length) {
+			readBuffer = ByteBuffer.allocate(Math.max(length, readBuffer.capacity() * 2));
+		}
+		readBuffer.clear().limit(length);
+		readFully(readBuffer, offset + RECORD_HEADER_SIZE);
+		return new String(readBuffer.array(), 0, length, charset);
+	}
+
+	private void readFully(ByteBuffer target, long offset) throws IOException {
+		long position = offset;
+		while (target.hasRemaining()) {
+			int read = spillChannel.read(target, position);
+			if (read < 0) {
+				throw new IOException("Unexpected end of spill file " + spillFile);
+			}
+			position += read;
+		}
+	}
+
+	// Memory positions are stored in the index as negative values below SequenceIndex.NOT_FOUND
+	private static long memoryLocation(long position) {
+		return -position - 2;
+	}
+
+	private static long memoryPosition(long location) {
+		return -location - 2;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FileStoreFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates {@link TieredStore tiered message stores}.
+ * <p>
+ * The spill files are created in the directory of the {@value FileStoreFactory#SETTING_FILE_STORE_PATH} setting. The
+ * number of messages kept in memory per session is set with {@value #SETTING_TIERED_STORE_MAX_MESSAGES} and their
+ * size with {@value #SETTING_TIERED_STORE_MAX_BYTES}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class TieredStoreFactory implements MessageStoreFactory, Closeable {
+
+	/**
+	 * Maximum number of messages kept in memory per session, 10000 by default.
+	 */
+	public static final String SETTING_TIERED_STORE_MAX_MESSAGES = "TieredStoreMaxMessages";
+
+	/**
+	 * Maximum number of characters of the messages kept in memory per session, 16 MB by default.
+	 */
+	public static final String SETTING_TIERED_STORE_MAX_BYTES = "TieredStoreMaxBytes";
+
+	public static final int DEFAULT_MAX_MESSAGES = 10_000;
+
+	public static final long DEFAULT_MAX_BYTES = 16 * 1024 * 1024;
+
+	private final SessionSettings settings;
+
+	private final List<TieredStore> stores = new CopyOnWriteArrayList<>();
+
+	public TieredStoreFactory(SessionSettings settings) {
+		this.settings = settings;
+	}
+
+	@Override
+	public MessageStore create(SessionID sessionID) {
+		try {
+			TieredStore store = new TieredStore(
+					Paths.get(settings.getString(sessionID, FileStoreFactory.SETTING_FILE_STORE_PATH)),
+					sessionID,
+					getMaxMessages(sessionID),
+					getMaxBytes(sessionID));
+			stores.add(store);
+			return store;
+		} catch (ConfigError | FieldConvertError | IOException e) {
+			throw new RuntimeError(e);
+		}
+	}
+
+	/**
+	 * @return the number of messages of all the stores read from memory
+	 */
+	public long getHits() {
+		return stores.stream().mapToLong(TieredStore::getHits).sum();
+	}
+
+	/**
+	 * @return the number of messages of all the stores read from the spill files
+	 */
+	public long getMisses() {
+		return stores.stream().mapToLong(TieredStore::getMisses).sum();
+	}
+
+	/**
+	 * @return the number of messages of all the stores kept in memory
+	 */
+	public long getResidentMessages() {
+		return stores.stream().mapToLong(TieredStore::getResidentMessages).sum();
+	}
+
+	/**
+	 * @return the number of characters of the messages of all the stores kept in memory
+	 */
+	public long getResidentBytes() {
+		return stores.stream().mapToLong(TieredStore::getResidentBytes).sum();
+	}
+
+	/**
+	 * Close the stores and delete their spill files.
+	 */
+	@Override
+	public void close() throws IOException {
+		for (TieredStore store : stores) {
+			store.close();
+		}
+		stores.clear();
+	}
+
+	private int getMaxMessages(SessionID sessionID) throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(sessionID, SETTING_TIERED_STORE_MAX_MESSAGES)) {
+			return DEFAULT_MAX_MESSAGES;
+		}
+		long maxMessages = settings.getLong(sessionID, SETTING_TIERED_STORE_MAX_MESSAGES);
+		if (maxMessages <= 0 || maxMessages > Integer.MAX_VALUE) {
+			throw new ConfigError(SETTING_TIERED_STORE_MAX_MESSAGES + " must be between 1 and " + Integer.MAX_VALUE);
+		}
+		return (int) maxMessages;
+	}
+
+	private long getMaxBytes(SessionID sessionID) throws ConfigError, FieldConvertError {
+		if (!settings.isSetting(sessionID, SETTING_TIERED_STORE_MAX_BYTES)) {
+			return DEFAULT_MAX_BYTES;
+		}
+		long maxBytes = settings.getLong(sessionID, SETTING_TIERED_STORE_MAX_BYTES);
+		if (maxBytes <= 0) {
+			throw new ConfigError(SETTING_TIERED_STORE_MAX_BYTES + " must be greater than zero");
+		}
+		return maxBytes;
+	}
+}
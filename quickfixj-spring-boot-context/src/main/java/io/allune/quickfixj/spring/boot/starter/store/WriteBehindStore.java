@@ -0,0 +1,325 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import lombok.Value;
+import quickfix.MessageStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link MessageStore} decorator storing the messages and sequence numbers to the delegate store in the background.
+ * <p>
+ * The messages are queued in sequence order and kept in a ring of recent messages, from which the resend requests are
+ * served. A flush writes the queued messages to the delegate store before the last sequence numbers, so that the
+ * persisted sequence numbers never get ahead of the persisted messages. A message pushing the queued bytes over the
+ * limit is flushed on the calling thread, and fails if the delegate store fails.
+ * <p>
+ * Closing the store, as done by the session when it is closed, flushes the queued messages a last time and closes
+ * the delegate store if it is {@link Closeable}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class WriteBehindStore implements MessageStore, Closeable {
+
+	private final MessageStore delegate;
+
+	private final long maxPendingBytes;
+
+	private final Consumer<WriteBehindStore> closeListener;
+
+	/**
+	 * The number of messages written by all the stores of the factory, closed or not.
+	 */
+	private final LongAdder totalFlushedMessages;
+
+	private final Object flushMonitor = new Object();
+
+	private final ArrayDeque<PendingMessage> pending = new ArrayDeque<>();
+
+	private final int[] recentSequences;
+
+	private final String[] recentMessages;
+
+	private long pendingBytes;
+
+	private long flushedMessages;
+
+	private int nextSenderMsgSeqNum;
+
+	private int nextTargetMsgSeqNum;
+
+	private boolean senderMsgSeqNumChanged;
+
+	private boolean targetMsgSeqNumChanged;
+
+	private Date creationTime;
+
+	/**
+	 * The lowest sequence number the ring of recent messages is authoritative for.
+	 */
+	private int recentFloor;
+
+	WriteBehindStore(MessageStore delegate, long maxPendingBytes, int recentMessages) throws IOException {
+		this(delegate, maxPendingBytes, recentMessages, new LongAdder(), store -> {
+		});
+	}
+
+	WriteBehindStore(MessageStore delegate, long maxPendingBytes, int recentMessages, LongAdder totalFlushedMessages,
+			Consumer<WriteBehindStore> closeListener) throws IOException {
+		this.delegate = delegate;
+		this.maxPendingBytes = maxPendingBytes;
+		this.totalFlushedMessages = totalFlushedMessages;
+		this.closeListener = closeListener;
+		this.recentSequences = new int[recentMessages];
+		this.recentMessages = new String[recentMessages];
+		load();
+	}
+
+	@Override
+	public boolean set(int sequence, String message) throws IOException {
+		boolean flush;
+		synchronized (this) {
+			pending.add(new PendingMessage(sequence, message));
+			pendingBytes += message.length();
+			int slot = slot(sequence);
+			if (recentSequences[slot] != 0 && recentSequences[slot] != sequence) {
+				recentFloor = Math.max(recentFloor, recentSequences[slot] + 1);
+			}
+			recentSequences[slot] = sequence;
+			recentMessages[slot] = message;
+			flush = pendingBytes > maxPendingBytes;
+		}
+		if (flush) {
+			flush();
+		}
+		return true;
+	}
+
+	@Override
+	public void get(int startSequence, int endSequence, Collection<String> messages) throws IOException {
+		synchronized (this) {
+			if (startSequence >= recentFloor) {
+				for (int sequence = startSequence; sequence <= endSequence; sequence++) {
+					int slot = slot(sequence);
+					if (recentSequences[slot] == sequence) {
+						messages.add(recentMessages[slot]);
+					}
+				}
+				return;
+			}
+		}
+		flush();
+		delegate.get(startSequence, endSequence, messages);
+	}
+
+	@Override
+	public synchronized int getNextSenderMsgSeqNum() {
+		return nextSenderMsgSeqNum;
+	}
+
+	@Override
+	public synchronized int getNextTargetMsgSeqNum() {
+		return nextTargetMsgSeqNum;
+	}
+
+	@Override
+	public synchronized void setNextSenderMsgSeqNum(int next) {
+		nextSenderMsgSeqNum = next;
+		senderMsgSeqNumChanged = true;
+	}
+
+	@Override
+	public synchronized void setNextTargetMsgSeqNum(int next) {
+		nextTargetMsgSeqNum = next;
+		targetMsgSeqNumChanged = true;
+	}
+
+	@Override
+	public synchronized void incrNextSenderMsgSeqNum() {
+		setNextSenderMsgSeqNum(nextSenderMsgSeqNum + 1);
+	}
+
+	@Override
+	public synchronized void incrNextTargetMsgSeqNum() {
+		setNextTargetMsgSeqNum(nextTargetMsgSeqNum + 1);
+	}
+
+	@Override
+	public synchronized Date getCreationTime() {
+		return creationTime;
+	}
+
+	/**
+	 * Discard the queued messages and reset the delegate store.
+	 */
+	@Override
+	public void reset() throws IOException {
+		synchronized (flushMonitor) {
+			synchronized (this) {
+				pending.clear();
+				pendingBytes = 0;
+			}
+			delegate.reset();
+			load();
+		}
+	}
+
+	@Override
+	public void refresh() throws IOException {
+		synchronized (flushMonitor) {
+			flush();
+			delegate.refresh();
+			load();
+		}
+	}
+
+	/**
+	 * Write the queued messages, then the last sequence numbers, to the delegate store. The messages not written
+	 * because of a failure of the delegate store are queued again.
+	 */
+	public void flush() throws IOException {
+		synchronized (flushMonitor) {
+			List<PendingMessage> batch;
+			int sender;
+			int target;
+			synchronized (this) {
+				batch = new ArrayList<>(pending);
+				pending.clear();
+				sender = senderMsgSeqNumChanged ? nextSenderMsgSeqNum : 0;
+				target = targetMsgSeqNumChanged ? nextTargetMsgSeqNum : 0;
+				senderMsgSeqNumChanged = false;
+				targetMsgSeqNumChanged = false;
+			}
+			int written = 0;
+			try {
+				for (PendingMessage message : batch) {
+					delegate.set(message.getSequence(), message.getMessage());
+					written++;
+				}
+				if (sender > 0) {
+					delegate.setNextSenderMsgSeqNum(sender);
+				}
+				if (target > 0) {
+					delegate.setNextTargetMsgSeqNum(target);
+				}
+			} catch (IOException | RuntimeException e) {
+				requeue(batch.subList(written, batch.size()), sender > 0, target > 0);
+				throw e;
+			} finally {
+				long writtenBytes = 0;
+				for (PendingMessage message : batch.subList(0, written)) {
+					writtenBytes += message.getMessage().length();
+				}
+				synchronized (this) {
+					pendingBytes -= writtenBytes;
+					flushedMessages += written;
+				}
+				totalFlushedMessages.add(written);
+			}
+		}
+	}
+
+	/**
+	 * Flush the queued messages, then close the delegate store if it is {@link Closeable}. The delegate store is
+	 * closed even if the last flush fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			try {
+				if (delegate instanceof Closeable) {
+					((Closeable) delegate).close();
+				}
+			} finally {
+				closeListener.accept(this);
+			}
+		}
+	}
+
+	/**
+	 * @return the number of messages waiting to be written to the delegate store
+	 */
+	public synchronized int getPendingMessages() {
+		return pending.size();
+	}
+
+	/**
+	 * @return the number of characters of the messages not yet written to the delegate store
+	 */
+	public synchronized long getPendingBytes() {
+		return pendingBytes;
+	}
+
+	/**
+	 * @return the number of messages written to the delegate store
+	 */
+	public synchronized long getFlushedMessages() {
+		return flushedMessages;
+	}
+
+	MessageStore getDelegate() {
+		return delegate;
+	}
+
+	private void load() throws IOException {
+		int sender = delegate.getNextSenderMsgSeqNum();
+		int target = delegate.getNextTargetMsgSeqNum();
+		Date created = delegate.getCreationTime();
+		synchronized (this) {
+			nextSenderMsgSeqNum = sender;
+			nextTargetMsgSeqNum = target;
+			senderMsgSeqNumChanged = false;
+			targetMsgSeqNumChanged = false;
+			creationTime = created;
+			// The messages stored before are only in the delegate store
+			recentFloor = sender;
+			Arrays.fill(recentSequences, 0);
+			Arrays.fill(recentMessages, null);
+		}
+	}
+
+	private int slot(int sequence) {
+		return Math.floorMod(sequence, recentSequences.length);
+	}
+
+	private synchronized void requeue(List<PendingMessage> messages, boolean senderMsgSeqNumChanged, boolean targetMsgSeqNumChanged) {
+		for (int i = messages.size() - 1; i >= 0; i--) {
+			pending.addFirst(messages.get(i));
+		}
+		this.senderMsgSeqNumChanged |= senderMsgSeqNumChanged;
+		this.targetMsgSeqNumChanged |= targetMsgSeqNumChanged;
+	}
+
+	@Value
+	private static class PendingMessage {
+
+		int sequence;
+
+		String message;
+	}
+}
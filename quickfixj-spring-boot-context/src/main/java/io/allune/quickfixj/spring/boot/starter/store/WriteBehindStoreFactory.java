@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MessageStoreFactory} decorator creating {@link WriteBehindStore write-behind stores}, taking the writes to
+ * the delegate message stores, such as the JDBC store, off the sending threads.
+ * <p>
+ * The stores are flushed every {@link #setFlushInterval(Duration) flush interval} by a single background thread,
+ * which is stopped by {@link #close()} once the stores are flushed a last time. A store closed by its session is
+ * flushed and no longer tracked by the factory.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@Slf4j
+public class WriteBehindStoreFactory implements MessageStoreFactory, Closeable {
+
+	public static final long DEFAULT_MAX_PENDING_BYTES = 16 * 1024 * 1024;
+
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+
+	public static final int DEFAULT_RECENT_MESSAGES = 1024;
+
+	private final MessageStoreFactory delegate;
+
+	private final List<WriteBehindStore> stores = new CopyOnWriteArrayList<>();
+
+	private final LongAdder flushedMessages = new LongAdder();
+
+	private long maxPendingBytes = DEFAULT_MAX_PENDING_BYTES;
+
+	private Duration flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+	private int recentMessages = DEFAULT_RECENT_MESSAGES;
+
+	private ScheduledExecutorService flusher;
+
+	private ScheduledFuture<?> flushTask;
+
+	public WriteBehindStoreFactory(MessageStoreFactory delegate) {
+		Assert.notNull(delegate, "'delegate' must not be null");
+		this.delegate = delegate;
+	}
+
+	/**
+	 * Set the maximum number of bytes of the messages queued per session, over which the messages are written on the
+	 * sending thread. Default is 16 MB.
+	 *
+	 * @param maxPendingBytes the maximum number of queued bytes per session
+	 */
+	public void setMaxPendingBytes(long maxPendingBytes) {
+		Assert.isTrue(maxPendingBytes > 0, "'maxPendingBytes' must be greater than zero");
+		this.maxPendingBytes = maxPendingBytes;
+	}
+
+	/**
+	 * Set the interval between two flushes of the stores. Default is 10 milliseconds.
+	 *
+	 * @param flushInterval the flush interval
+	 */
+	public void setFlushInterval(Duration flushInterval) {
+		Assert.isTrue(flushInterval != null && !flushInterval.isNegative() && !flushInterval.isZero(),
+				"'flushInterval' must be positive");
+		this.flushInterval = flushInterval;
+	}
+
+	/**
+	 * Set the number of recent messages per session kept in memory to serve the resend requests. Default is
+	 * {@value #DEFAULT_RECENT_MESSAGES}.
+	 *
+	 * @param recentMessages the number of recent messages per session
+	 */
+	public void setRecentMessages(int recentMessages) {
+		Assert.isTrue(recentMessages > 0, "'recentMessages' must be greater than zero");
+		this.recentMessages = recentMessages;
+	}
+
+	@Override
+	public synchronized MessageStore create(SessionID sessionID) {
+		try {
+			WriteBehindStore store = new WriteBehindStore(delegate.create(sessionID), maxPendingBytes, recentMessages,
+					flushedMessages, stores::remove);
+			stores.add(store);
+			if (flusher == null) {
+				CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuickFixJ-write-behind-");
+				threadFactory.setDaemon(true);
+				flusher = Executors.newSingleThreadScheduledExecutor(threadFactory);
+				long interval = flushInterval.toNanos();
+				flushTask = flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.NANOSECONDS);
+			}
+			return store;
+		} catch (IOException e) {
+			throw new RuntimeError(e);
+		}
+	}
+
+	/**
+	 * @return the number of messages of all the stores waiting to be written
+	 */
+	public long getPendingMessages() {
+		return stores.stream().mapToLong(WriteBehindStore::getPendingMessages).sum();
+	}
+
+	/**
+	 * @return the number of bytes of the messages of all the stores waiting to be written
+	 */
+	public long getPendingBytes() {
+		return stores.stream().mapToLong(WriteBehindStore::getPendingBytes).sum();
+	}
+
+	/**
+	 * @return the number of messages written by all the stores, including the stores already closed
+	 */
+	public long getFlushedMessages() {
+		return flushedMessages.sum();
+	}
+
+	public MessageStoreFactory getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Stop the background flushes, flush the stores and close the delegate factory if it is {@link Closeable}.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (flusher != null) {
+			flushTask.cancel(false);
+			flusher.shutdown();
+			try {
+				flusher.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			flusher = null;
+		}
+		for (WriteBehindStore store : stores) {
+			store.flush();
+		}
+		if (delegate instanceof Closeable) {
+			((Closeable) delegate).close();
+		}
+	}
+
+	private void flushQuietly() {
+		for (WriteBehindStore store : stores) {
+			try {
+				store.flush();
+			} catch (IOException | RuntimeException e) {
+				log.error("Failed to write {} messages to the message store, will retry", store.getPendingMessages(), e);
+			}
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.apache.mina.core.filterchain.IoFilterAdapter;
+import org.apache.mina.core.filterchain.IoFilterChain;
+import org.apache.mina.core.session.AttributeKey;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.core.write.WriteRequest;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * {@link org.apache.mina.core.filterchain.IoFilter} gathering the encoded messages written to each connection into a
+ * {@link SessionBatch}. Added between the FIX codec and the socket, it sees the messages once encoded, including the
+ * administrative messages.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class BatchingIoFilter extends IoFilterAdapter {
+
+	private static final AttributeKey SESSION_BATCH = new AttributeKey(BatchingIoFilter.class, "sessionBatch");
+
+	private final OutboundBatching outboundBatching;
+
+	private final ScheduledExecutorService scheduler;
+
+	BatchingIoFilter(OutboundBatching outboundBatching, ScheduledExecutorService scheduler) {
+		this.outboundBatching = outboundBatching;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public void onPostAdd(IoFilterChain parent, String name, NextFilter nextFilter) {
+		IoSession ioSession = parent.getSession();
+		SessionBatch batch = new SessionBatch(ioSession, nextFilter, outboundBatching, scheduler);
+		ioSession.setAttribute(SESSION_BATCH, batch);
+		outboundBatching.register(batch);
+	}
+
+	@Override
+	public void onPostRemove(IoFilterChain parent, String name, NextFilter nextFilter) {
+		release(parent.getSession());
+	}
+
+	@Override
+	public void filterWrite(NextFilter nextFilter, IoSession session, WriteRequest writeRequest) {
+		SessionBatch batch = (SessionBatch) session.getAttribute(SESSION_BATCH);
+		if (batch == null) {
+			nextFilter.filterWrite(session, writeRequest);
+		} else {
+			batch.write(writeRequest);
+		}
+	}
+
+	@Override
+	public void messageSent(NextFilter nextFilter, IoSession session, WriteRequest writeRequest) {
+		if (writeRequest instanceof SessionBatch.BatchWriteRequest) {
+			for (WriteRequest request : ((SessionBatch.BatchWriteRequest) writeRequest).getRequests()) {
+				nextFilter.messageSent(session, request);
+			}
+		} else {
+			nextFilter.messageSent(session, writeRequest);
+		}
+	}
+
+	@Override
+	public void sessionClosed(NextFilter nextFilter, IoSession session) {
+		release(session);
+		nextFilter.sessionClosed(session);
+	}
+
+	private void release(IoSession session) {
+		SessionBatch batch = (SessionBatch) session.removeAttribute(SESSION_BATCH);
+		if (batch != null) {
+			outboundBatching.unregister(batch);
+			batch.close();
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import io.allune.quickfixj.spring.boot.starter.application.EventPublisherApplicationAdapter;
+import io.allune.quickfixj.spring.boot.starter.model.Create;
+import io.allune.quickfixj.spring.boot.starter.model.Logon;
+import io.allune.quickfixj.spring.boot.starter.model.Logout;
+import org.springframework.context.event.EventListener;
+import org.springframework.util.Assert;
+import quickfix.Session;
+import quickfix.SessionID;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link SessionLookupHandler} that caches the sessions located by a delegate handler, so that repeated sends to the
+ * same session do not go through the QuickFIX/J session registry every time.
+ * <p>
+ * Only sessions that were found are cached. A cached session is evicted when a session with the same ID is created,
+ * logs on or logs out, as notified by the {@link Create}, {@link Logon} and {@link Logout} events published by
+ * {@link EventPublisherApplicationAdapter}, or when it is evicted explicitly with {@link #invalidate(SessionID)} or
+ * {@link #invalidateAll()}. Applications that remove sessions that never logged on, e.g. dynamic acceptor sessions,
+ * should evict them explicitly.
+ * <p>
+ * Not used by default, enabled with the {@code quickfixj.template.cache-session-lookup} property.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class CachingSessionLookupHandler implements SessionLookupHandler {
+
+	private final SessionLookupHandler delegate;
+
+	private final Map<SessionID, Session> sessions = new ConcurrentHashMap<>();
+
+	public CachingSessionLookupHandler() {
+		this(new DefaultSessionLookupHandler());
+	}
+
+	public CachingSessionLookupHandler(SessionLookupHandler delegate) {
+		Assert.notNull(delegate, "'delegate' must not be null");
+		this.delegate = delegate;
+	}
+
+	@Override
+	public Session lookupBySessionID(SessionID sessionID) {
+		Session session = sessions.get(sessionID);
+		if (session == null) {
+			session = delegate.lookupBySessionID(sessionID);
+			if (session != null) {
+				sessions.put(sessionID, session);
+			}
+		}
+		return session;
+	}
+
+	/**
+	 * Evicts the cached session with the given ID, if any.
+	 *
+	 * @param sessionID the session ID
+	 */
+	public void invalidate(SessionID sessionID) {
+		sessions.remove(sessionID);
+	}
+
+	/**
+	 * Evicts all the cached sessions.
+	 */
+	public void invalidateAll() {
+		sessions.clear();
+	}
+
+	@EventListener
+	public void onCreate(Create create) {
+		invalidate(create.getSessionId());
+	}
+
+	@EventListener
+	public void onLogon(Logon logon) {
+		invalidate(logon.getSessionId());
+	}
+
+	@EventListener
+	public void onLogout(Logout logout) {
+		invalidate(logout.getSessionId());
+	}
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.DataDictionary;
+import quickfix.Field;
+import quickfix.FieldConvertError;
+import quickfix.FieldNotFound;
+import quickfix.FieldType;
+import quickfix.IncorrectDataFormat;
+import quickfix.IncorrectTagValue;
+import quickfix.Message;
+import quickfix.StringField;
+import quickfix.field.MsgType;
+import quickfix.field.converter.BooleanConverter;
+import quickfix.field.converter.CharArrayConverter;
+import quickfix.field.converter.CharConverter;
+import quickfix.field.converter.DoubleConverter;
+import quickfix.field.converter.IntConverter;
+import quickfix.field.converter.UtcDateOnlyConverter;
+import quickfix.field.converter.UtcTimeOnlyConverter;
+import quickfix.field.converter.UtcTimestampConverter;
+
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validates the body of application messages against a {@link DataDictionary} using lookup tables compiled from it.
+ * <p>
+ * The data dictionary answers each check with a map lookup keyed by a boxed tag. The tables compiled here replace
+ * them with arrays and bit sets indexed by tag: the format of each field, the fields with enumerated values and,
+ * per MsgType compiled on first use, the required fields, the fields defined for the message and the repeating group
+ * count fields. The enumerated values found valid are remembered per tag.
+ * <p>
+ * The checks are those of {@link DataDictionary#validate(Message, boolean)} for a body only validation. Messages with
+ * repeating groups, messages with a tag the data dictionary does not define, messages that failed parsing and
+ * dictionaries without a version are validated by the data dictionary itself, and so is any message failing a check,
+ * so that the exception thrown is the data dictionary's.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class CompiledDataDictionary {
+
+	private static final int MAX_REMEMBERED_VALUES = 256;
+
+	private static final byte NO_CHECK = 0;
+
+	private static final byte CHAR_ARRAY = 1;
+
+	private static final byte INT = 2;
+
+	private static final byte DOUBLE = 3;
+
+	private static final byte BOOLEAN = 4;
+
+	private static final byte UTC_DATE_ONLY = 5;
+
+	private static final byte UTC_TIME_ONLY = 6;
+
+	private static final byte UTC_TIMESTAMP = 7;
+
+	private static final byte CHAR = 8;
+
+	private final DataDictionary dataDictionary;
+
+	private final boolean compiled;
+
+	private final int[] tags;
+
+	private final byte[] formats;
+
+	private final BitSet dictionaryTags = new BitSet();
+
+	private final BitSet enumeratedTags = new BitSet();
+
+	private final Set<String>[] validValues;
+
+	private final Map<String, MessagePlan> messagePlans = new ConcurrentHashMap<>();
+
+	@SuppressWarnings("unchecked")
+	CompiledDataDictionary(DataDictionary dataDictionary) {
+		this.dataDictionary = dataDictionary;
+		int[] orderedFields = dataDictionary.getVersion() != null ? dataDictionary.getOrderedFields() : null;
+		this.compiled = orderedFields != null;
+		this.tags = compiled ? orderedFields : new int[0];
+		int maxTag = 0;
+		for (int tag : tags) {
+			maxTag = Math.max(maxTag, tag);
+		}
+		this.formats = new byte[maxTag + 1];
+		this.validValues = new Set[maxTag + 1];
+		// CHAR values are only checked after FIX.4.1, as the data dictionary does
+		boolean checkChar = dataDictionary.getVersion() != null && dataDictionary.getVersion().compareTo("FIX.4.1") > 0;
+		for (int tag : tags) {
+			dictionaryTags.set(tag);
+			formats[tag] = format(dataDictionary.getFieldType(tag), checkChar);
+			if (dataDictionary.hasFieldValue(tag)) {
+				enumeratedTags.set(tag);
+				validValues[tag] = ConcurrentHashMap.newKeySet();
+			}
+		}
+	}
+
+	DataDictionary getDataDictionary() {
+		return dataDictionary;
+	}
+
+	/**
+	 * Validate the body of the message.
+	 *
+	 * @param message the message to validate
+	 */
+	void validate(Message message) throws IncorrectTagValue, FieldNotFound, IncorrectDataFormat {
+		if (!isCompiled(message) || !passes(message)) {
+			dataDictionary.validate(message, true);
+		}
+	}
+
+	private boolean isCompiled(Message message) {
+		return compiled
+				&& message.getException() == null
+				&& !message.groupKeyIterator().hasNext();
+	}
+
+	private boolean passes(Message message) throws FieldNotFound {
+		String msgType = message.getHeader().getString(MsgType.FIELD);
+		MessagePlan plan = messagePlans.get(msgType);
+		if (plan == null) {
+			if (!dataDictionary.isMsgType(msgType)) {
+				return false;
+			}
+			plan = messagePlans.computeIfAbsent(msgType, this::compile);
+		}
+
+		for (int requiredTag : plan.requiredTags) {
+			if (!message.isSetField(requiredTag)) {
+				return false;
+			}
+		}
+
+		boolean checkFieldsHaveValues = dataDictionary.isCheckFieldsHaveValues();
+		Iterator<Field<?>> fields = message.iterator();
+		while (fields.hasNext()) {
+			Field<?> field = fields.next();
+			int tag = field.getTag();
+			if (!dictionaryTags.get(tag)) {
+				// Undefined tags are rejected by the data dictionary whatever allowUnknownMessageFields is
+				return false;
+			}
+			String value = ((StringField) field).getValue();
+			if (value.isEmpty() && checkFieldsHaveValues) {
+				return false;
+			}
+			if (!value.isEmpty() || checkFieldsHaveValues) {
+				if (!hasValidFormat(formats[tag], value)) {
+					return false;
+				}
+			}
+			if (enumeratedTags.get(tag) && !isValidValue(tag, value)) {
+				return false;
+			}
+			if (!plan.messageFields.get(tag) && isUnknownFieldFailure(tag)) {
+				return false;
+			}
+			if (plan.groupTags.get(tag)) {
+				// Group count fields without groups are left to the data dictionary
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isValidValue(int tag, String value) {
+		Set<String> values = validValues[tag];
+		if (values.contains(value)) {
+			return true;
+		}
+		if (!dataDictionary.isFieldValue(tag, value)) {
+			return false;
+		}
+		if (values.size() < MAX_REMEMBERED_VALUES) {
+			values.add(value);
+		}
+		return true;
+	}
+
+	private boolean isUnknownFieldFailure(int tag) {
+		return tag < 5000 ? !dataDictionary.isAllowUnknownMessageFields() : dataDictionary.isCheckUserDefinedFields();
+	}
+
+	private MessagePlan compile(String msgType) {
+		BitSet required = new BitSet();
+		BitSet messageFields = new BitSet();
+		BitSet groupTags = new BitSet();
+		for (int tag : tags) {
+			if (dataDictionary.isRequiredField(msgType, tag)) {
+				required.set(tag);
+			}
+			if (dataDictionary.isMsgField(msgType, tag)) {
+				messageFields.set(tag);
+			}
+			if (dataDictionary.isGroup(msgType, tag)) {
+				groupTags.set(tag);
+			}
+		}
+		return new MessagePlan(required.stream().toArray(), messageFields, groupTags);
+	}
+
+	private static boolean hasValidFormat(byte format, String value) {
+		try {
+			switch (format) {
+				case CHAR_ARRAY:
+					CharArrayConverter.convert(value);
+					break;
+				case INT:
+					IntConverter.convert(value);
+					break;
+				case DOUBLE:
+					DoubleConverter.convert(value);
+					break;
+				case BOOLEAN:
+					BooleanConverter.convert(value);
+					break;
+				case UTC_DATE_ONLY:
+					UtcDateOnlyConverter.convert(value);
+					break;
+				case UTC_TIME_ONLY:
+					UtcTimeOnlyConverter.convert(value);
+					break;
+				case UTC_TIMESTAMP:
+					UtcTimestampConverter.convert(value);
+					break;
+				case CHAR:
+					CharConverter.convert(value);
+					break;
+				default:
+					break;
+			}
+			return true;
+		} catch (FieldConvertError e) {
+			return false;
+		}
+	}
+
+	private static byte format(FieldType fieldType, boolean checkChar) {
+		if (fieldType == null) {
+			return NO_CHECK;
+		}
+		switch (fieldType) {
+			case MULTIPLECHARVALUE:
+				return CHAR_ARRAY;
+			case INT:
+			case NUMINGROUP:
+			case SEQNUM:
+			case LENGTH:
+				return INT;
+			case PRICE:
+			case AMT:
+			case QTY:
+			case FLOAT:
+			case PRICEOFFSET:
+			case PERCENTAGE:
+				return DOUBLE;
+			case BOOLEAN:
+				return BOOLEAN;
+			case UTCDATE:
+				return UTC_DATE_ONLY;
+			case UTCTIMEONLY:
+				return UTC_TIME_ONLY;
+			case UTCTIMESTAMP:
+			case TIME:
+				return UTC_TIMESTAMP;
+			case CHAR:
+				return checkChar ? CHAR : NO_CHECK;
+			default:
+				return NO_CHECK;
+		}
+	}
+
+	private static class MessagePlan {
+
+		private final int[] requiredTags;
+
+		private final BitSet messageFields;
+
+		private final BitSet groupTags;
+
+		MessagePlan(int[] requiredTags, BitSet messageFields, BitSet groupTags) {
+			this.requiredTags = requiredTags;
+			this.messageFields = messageFields;
+			this.groupTags = groupTags;
+		}
+	}
+}
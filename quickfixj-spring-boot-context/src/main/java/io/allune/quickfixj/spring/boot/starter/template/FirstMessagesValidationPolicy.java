@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link ValidationPolicy} validating the first {@code firstMessages} messages of each MsgType after each logon of a
+ * session.
+ * <p>
+ * The number of MsgTypes counted per session is bounded, the messages of the MsgTypes over the bound are always
+ * validated, as are the messages without MsgType.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class FirstMessagesValidationPolicy implements ValidationPolicy {
+
+	private static final int MAX_MSG_TYPES = 1024;
+
+	private final Map<SessionID, Map<String, AtomicInteger>> counters = new ConcurrentHashMap<>();
+
+	private final int firstMessages;
+
+	FirstMessagesValidationPolicy(int firstMessages) {
+		Assert.isTrue(firstMessages >= 0, "'firstMessages' must not be negative");
+		this.firstMessages = firstMessages;
+	}
+
+	@Override
+	public boolean shouldValidate(Message message, SessionID sessionID) {
+		String msgType = MsgTypeValidationPolicy.getMsgType(message);
+		if (msgType == null) {
+			return true;
+		}
+		Map<String, AtomicInteger> sessionCounters = counters.computeIfAbsent(sessionID, key -> new ConcurrentHashMap<>());
+		AtomicInteger counter = sessionCounters.get(msgType);
+		if (counter == null) {
+			if (sessionCounters.size() >= MAX_MSG_TYPES) {
+				return true;
+			}
+			counter = sessionCounters.computeIfAbsent(msgType, key -> new AtomicInteger());
+		}
+		// Stops counting once the limit is reached so that the counter never overflows
+		return counter.get() < firstMessages && counter.incrementAndGet() <= firstMessages;
+	}
+
+	@Override
+	public void onLogon(SessionID sessionID) {
+		counters.remove(sessionID);
+	}
+}
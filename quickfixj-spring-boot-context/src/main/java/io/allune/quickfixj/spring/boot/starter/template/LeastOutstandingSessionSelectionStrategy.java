@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SessionSelectionStrategy} choosing the session with the fewest messages being sent or queued for an
+ * asynchronous send. Ties are broken in turn, so that idle sessions share the load.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class LeastOutstandingSessionSelectionStrategy implements SessionSelectionStrategy {
+
+	private final Map<SessionID, AtomicInteger> outstanding = new ConcurrentHashMap<>();
+
+	private final AtomicInteger counter = new AtomicInteger();
+
+	@Override
+	public SessionID select(Message message, List<SessionID> sessionIDs) {
+		int size = sessionIDs.size();
+		int offset = Math.floorMod(counter.getAndIncrement(), size);
+		SessionID selected = null;
+		int fewest = Integer.MAX_VALUE;
+		for (int i = 0; i < size; i++) {
+			SessionID sessionID = sessionIDs.get((offset + i) % size);
+			int count = outstanding(sessionID).get();
+			if (count < fewest) {
+				selected = sessionID;
+				fewest = count;
+			}
+		}
+		return selected;
+	}
+
+	@Override
+	public void onSendStarted(SessionID sessionID) {
+		outstanding(sessionID).incrementAndGet();
+	}
+
+	@Override
+	public void onSendCompleted(SessionID sessionID, long elapsedNanos) {
+		outstanding(sessionID).decrementAndGet();
+	}
+
+	private AtomicInteger outstanding(SessionID sessionID) {
+		return outstanding.computeIfAbsent(sessionID, key -> new AtomicInteger());
+	}
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link SessionSelectionStrategy} choosing the session with the lowest moving average of the time taken to send a
+ * message, from the start of the send, or of its queuing for an asynchronous send, until it is handed over to the
+ * session. The sessions without any measurement are chosen first.
+ * <p>
+ * One message out of every {@value #PROBE_INTERVAL} is sent to the sessions in turn, so that the latency of the
+ * sessions not chosen keeps being measured.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class LowestLatencySessionSelectionStrategy implements SessionSelectionStrategy {
+
+	static final int PROBE_INTERVAL = 64;
+
+	// Weight of a new measurement in the moving average, as a power of two
+	private static final int SMOOTHING_SHIFT = 3;
+
+	private final Map<SessionID, AtomicLong> latencies = new ConcurrentHashMap<>();
+
+	private final AtomicInteger counter = new AtomicInteger();
+
+	@Override
+	public SessionID select(Message message, List<SessionID> sessionIDs) {
+		int count = counter.getAndIncrement();
+		if (count % PROBE_INTERVAL == PROBE_INTERVAL - 1) {
+			return sessionIDs.get(Math.floorMod(count / PROBE_INTERVAL, sessionIDs.size()));
+		}
+		SessionID selected = null;
+		long lowest = Long.MAX_VALUE;
+		for (SessionID sessionID : sessionIDs) {
+			AtomicLong latency = latencies.get(sessionID);
+			if (latency == null) {
+				return sessionID;
+			}
+			long nanos = latency.get();
+			if (nanos < lowest) {
+				selected = sessionID;
+				lowest = nanos;
+			}
+		}
+		return selected;
+	}
+
+	@Override
+	public void onSendCompleted(SessionID sessionID, long elapsedNanos) {
+		AtomicLong latency = latencies.get(sessionID);
+		if (latency == null) {
+			latency = latencies.computeIfAbsent(sessionID, key -> new AtomicLong(elapsedNanos));
+		}
+		latency.accumulateAndGet(elapsedNanos, (average, sample) -> average + ((sample - average) >> SMOOTHING_SHIFT));
+	}
+
+	long getLatency(SessionID sessionID) {
+		AtomicLong latency = latencies.get(sessionID);
+		return latency != null ? latency.get() : -1;
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of {@link PooledMessage reusable messages} by MsgType, for senders that build the same kind of message at a
+ * high rate.
+ * <p>
+ * A message is borrowed with {@link #borrow(String)}, filled, sent through the {@link QuickFixJTemplate} and returned
+ * to the pool with {@link PooledMessage#close()}, typically in a try-with-resources block. Up to
+ * {@link #setDefaultSize(int) size} messages of each MsgType are kept in the pool, further messages returned to a
+ * full pool are discarded. A message sent asynchronously must not be returned before its send completes.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class MessagePool {
+
+	public static final int DEFAULT_SIZE = 64;
+
+	private final Map<String, BlockingQueue<PooledMessage>> pools = new ConcurrentHashMap<>();
+
+	private final Map<String, Integer> sizes = new ConcurrentHashMap<>();
+
+	private final LongAdder hits = new LongAdder();
+
+	private final LongAdder misses = new LongAdder();
+
+	private int defaultSize = DEFAULT_SIZE;
+
+	/**
+	 * Set the maximum number of messages kept in the pool for each MsgType without a specific
+	 * {@link #setSize(String, int) size}. Default is {@value #DEFAULT_SIZE}. Only applies to the MsgTypes not
+	 * borrowed yet.
+	 *
+	 * @param defaultSize the maximum number of pooled messages per MsgType
+	 */
+	public void setDefaultSize(int defaultSize) {
+		Assert.isTrue(defaultSize > 0, "'defaultSize' must be greater than zero");
+		this.defaultSize = defaultSize;
+	}
+
+	/**
+	 * Set the maximum number of messages of the given MsgType kept in the pool. Only applies if the MsgType has not
+	 * been borrowed yet.
+	 *
+	 * @param msgType the MsgType
+	 * @param size    the maximum number of pooled messages of the MsgType
+	 */
+	public void setSize(String msgType, int size) {
+		Assert.hasText(msgType, "'msgType' must not be empty");
+		Assert.isTrue(size > 0, "'size' must be greater than zero");
+		sizes.put(msgType, size);
+	}
+
+	/**
+	 * Borrow a message of the given MsgType from the pool, or create one if the pool has none. The fields set on the
+	 * message the last time it was used are removed when it is sent, unless they are set again.
+	 *
+	 * @param msgType the MsgType of the message
+	 * @return a message with the MsgType set in the header
+	 */
+	public PooledMessage borrow(String msgType) {
+		PooledMessage message = pool(msgType).poll();
+		if (message != null) {
+			hits.increment();
+			message.borrowed();
+			return message;
+		}
+		misses.increment();
+		return new PooledMessage(this, msgType);
+	}
+
+	/**
+	 * Return the number of messages taken from the pool.
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Return the number of messages created because the pool had no message of the MsgType.
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Return the number of messages of all the MsgTypes currently in the pool.
+	 */
+	public int getPooledMessages() {
+		int pooled = 0;
+		for (BlockingQueue<PooledMessage> pool : pools.values()) {
+			pooled += pool.size();
+		}
+		return pooled;
+	}
+
+	void release(PooledMessage message) {
+		message.released();
+		pool(message.getMsgType()).offer(message);
+	}
+
+	private BlockingQueue<PooledMessage> pool(String msgType) {
+		BlockingQueue<PooledMessage> pool = pools.get(msgType);
+		if (pool == null) {
+			pool = pools.computeIfAbsent(msgType, key -> new ArrayBlockingQueue<>(sizes.getOrDefault(key, defaultSize)));
+		}
+		return pool;
+	}
+}
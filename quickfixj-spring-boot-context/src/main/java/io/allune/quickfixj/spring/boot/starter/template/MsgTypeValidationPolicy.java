@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.MsgType;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * {@link ValidationPolicy} validating the messages of the given MsgTypes only. The messages without MsgType are always
+ * validated.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class MsgTypeValidationPolicy implements ValidationPolicy {
+
+	private final Set<String> msgTypes;
+
+	MsgTypeValidationPolicy(Collection<String> msgTypes) {
+		Assert.notNull(msgTypes, "'msgTypes' must not be null");
+		this.msgTypes = Set.copyOf(msgTypes);
+	}
+
+	@Override
+	public boolean shouldValidate(Message message, SessionID sessionID) {
+		String msgType = getMsgType(message);
+		return msgType == null || msgTypes.contains(msgType);
+	}
+
+	static String getMsgType(Message message) {
+		return message.getHeader().getOptionalString(MsgType.FIELD).orElse(null);
+	}
+}
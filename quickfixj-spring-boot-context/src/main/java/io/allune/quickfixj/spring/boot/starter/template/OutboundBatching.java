@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.apache.mina.core.filterchain.IoFilterChain;
+import org.apache.mina.core.filterchain.IoFilterChainBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import quickfix.Connector;
+import quickfix.SessionID;
+import quickfix.mina.SessionConnector;
+import quickfix.mina.message.FIXProtocolCodecFactory;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in micro-batching of the messages written to the connections of the connectors it is
+ * {@link #install(Connector) installed} on, trading a bounded latency for fewer writes to the sockets.
+ * <p>
+ * A filter added to the filter chain of each connection, next to the FIX codec, gathers the encoded messages written by
+ * the session, including the administrative messages, into a buffer. The buffer is written at once when it reaches the
+ * {@link #setMaxBatchSize(int) maximum batch size}, when its first message has waited for the
+ * {@link #setMaxDelay(Duration) maximum delay}, on an explicit {@link #flush(SessionID)}, or before the connection is
+ * closed by the session.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class OutboundBatching implements IoFilterChainBuilder, Closeable {
+
+	public static final String FILTER_NAME = "QuickFixJTemplate-batching";
+
+	public static final int DEFAULT_MAX_BATCH_SIZE = 16 * 1024;
+
+	public static final Duration DEFAULT_MAX_DELAY = Duration.ofNanos(100_000);
+
+	private final Set<SessionBatch> batches = ConcurrentHashMap.newKeySet();
+
+	private final LongAdder flushes = new LongAdder();
+
+	private final LongAdder flushedMessages = new LongAdder();
+
+	private final ScheduledExecutorService scheduler;
+
+	private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+	private Duration maxDelay = DEFAULT_MAX_DELAY;
+
+	public OutboundBatching() {
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuickFixJTemplate-flush-");
+		threadFactory.setDaemon(true);
+		this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+	}
+
+	/**
+	 * Set the size of the buffered messages, in bytes, above which they are written at once. Default is
+	 * {@value #DEFAULT_MAX_BATCH_SIZE}. Only applies to the connections opened afterwards.
+	 *
+	 * @param maxBatchSize the maximum batch size
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+		Assert.isTrue(maxBatchSize > 0, "'maxBatchSize' must be greater than zero");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	public int getMaxBatchSize() {
+		return maxBatchSize;
+	}
+
+	/**
+	 * Set the maximum time a message waits in the buffer before being written. Default is 100 microseconds. Only
+	 * applies to the connections opened afterwards.
+	 *
+	 * @param maxDelay the maximum delay
+	 */
+	public void setMaxDelay(Duration maxDelay) {
+		Assert.notNull(maxDelay, "'maxDelay' must not be null");
+		Assert.isTrue(!maxDelay.isNegative() && !maxDelay.isZero(), "'maxDelay' must be positive");
+		this.maxDelay = maxDelay;
+	}
+
+	public Duration getMaxDelay() {
+		return maxDelay;
+	}
+
+	/**
+	 * Batch the messages written to the connections the connector opens from then on. Must be called before the
+	 * connector is started, and replaces any {@link IoFilterChainBuilder} set on the connector.
+	 *
+	 * @param connector the connector, a {@link SessionConnector}
+	 */
+	public void install(Connector connector) {
+		Assert.isInstanceOf(SessionConnector.class, connector, "'connector' must be a SessionConnector");
+		((SessionConnector) connector).setIoFilterChainBuilder(this);
+	}
+
+	@Override
+	public void buildFilterChain(IoFilterChain chain) {
+		// The filters of the connector, the FIX codec included, are already in the chain
+		BatchingIoFilter filter = new BatchingIoFilter(this, scheduler);
+		if (chain.contains(FIXProtocolCodecFactory.FILTER_NAME)) {
+			chain.addBefore(FIXProtocolCodecFactory.FILTER_NAME, FILTER_NAME, filter);
+		} else {
+			chain.addLast(FILTER_NAME, filter);
+		}
+	}
+
+	/**
+	 * Write the messages buffered for the given session.
+	 *
+	 * @param sessionID the ID of the session
+	 */
+	public void flush(SessionID sessionID) {
+		for (SessionBatch batch : batches) {
+			if (sessionID.equals(batch.getSessionID())) {
+				batch.flush();
+			}
+		}
+	}
+
+	/**
+	 * Write the messages buffered for all the sessions.
+	 */
+	public void flushAll() {
+		batches.forEach(SessionBatch::flush);
+	}
+
+	/**
+	 * Return the number of batches written to the connections.
+	 */
+	public long getFlushes() {
+		return flushes.sum();
+	}
+
+	/**
+	 * Return the number of messages written to the connections in batches.
+	 */
+	public long getFlushedMessages() {
+		return flushedMessages.sum();
+	}
+
+	void register(SessionBatch batch) {
+		batches.add(batch);
+	}
+
+	void unregister(SessionBatch batch) {
+		batches.remove(batch);
+	}
+
+	void onFlush(int messages) {
+		flushes.increment();
+		flushedMessages.add(messages);
+	}
+
+	/**
+	 * Write the buffered messages and stop the time-based flushes.
+	 */
+	@Override
+	public void close() {
+		flushAll();
+		scheduler.shutdown();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.StringField;
+import quickfix.field.MsgType;
+
+import java.util.Arrays;
+
+/**
+ * {@link Message} borrowed from a {@link MessagePool}, reused across sends instead of building a new message, with
+ * its header, trailer and field maps, each time.
+ * <p>
+ * The body fields set with {@link #setString(int, String)}, {@link #setInt(int, int)}, {@link #setChar(int, char)}
+ * and {@link #setBoolean(int, boolean)} reuse the field objects of the previous uses of the message, and the fields
+ * not set again are removed when the message is sent. Body fields set in any other way, and repeating groups, are
+ * cleared when the message is returned to the pool. The header fields are kept.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class PooledMessage extends Message implements AutoCloseable {
+
+	private static final int INITIAL_MAX_TAG = 64;
+
+	private final transient MessagePool pool;
+
+	private final String msgType;
+
+	private StringField[] pooledFields = new StringField[INITIAL_MAX_TAG];
+
+	private long[] lastSet = new long[INITIAL_MAX_TAG];
+
+	private int[] setTags = new int[16];
+
+	private int setTagCount;
+
+	private long generation = 1;
+
+	private boolean borrowed = true;
+
+	PooledMessage(MessagePool pool, String msgType) {
+		this.pool = pool;
+		this.msgType = msgType;
+		getHeader().setString(MsgType.FIELD, msgType);
+	}
+
+	/**
+	 * Return the MsgType of the message.
+	 */
+	public String getMsgType() {
+		return msgType;
+	}
+
+	@Override
+	public void setString(int field, String value) {
+		if (pooledFields == null) {
+			// Called while the superclass is being constructed
+			super.setString(field, value);
+			return;
+		}
+		Assert.notNull(value, "Null field values are not allowed.");
+		if (field >= pooledFields.length) {
+			int length = Math.max(field + 1, pooledFields.length * 2);
+			pooledFields = Arrays.copyOf(pooledFields, length);
+			lastSet = Arrays.copyOf(lastSet, length);
+		}
+
+		StringField pooledField = pooledFields[field];
+		if (pooledField == null) {
+			pooledField = new StringField(field, value);
+			pooledFields[field] = pooledField;
+		} else {
+			pooledField.setValue(value);
+		}
+		if (lastSet[field] == 0) {
+			if (setTagCount == setTags.length) {
+				setTags = Arrays.copyOf(setTags, setTagCount * 2);
+			}
+			setTags[setTagCount++] = field;
+		}
+		lastSet[field] = generation;
+		setField(pooledField);
+	}
+
+	@Override
+	public void setInt(int field, int value) {
+		setString(field, Integer.toString(value));
+	}
+
+	@Override
+	public void setChar(int field, char value) {
+		setString(field, String.valueOf(value));
+	}
+
+	@Override
+	public void setBoolean(int field, boolean value) {
+		setString(field, value ? "Y" : "N");
+	}
+
+	@Override
+	public String toString() {
+		removeUnsetFields();
+		return super.toString();
+	}
+
+	/**
+	 * Return the message to its {@link MessagePool}. The message must not be used afterwards.
+	 */
+	@Override
+	public void close() {
+		pool.release(this);
+	}
+
+	/**
+	 * Remove the fields set during a previous use of the message and not set again since it was borrowed.
+	 */
+	void removeUnsetFields() {
+		int kept = 0;
+		for (int i = 0; i < setTagCount; i++) {
+			int field = setTags[i];
+			if (lastSet[field] == generation) {
+				setTags[kept++] = field;
+			} else {
+				lastSet[field] = 0;
+				removeField(field);
+			}
+		}
+		setTagCount = kept;
+	}
+
+	void borrowed() {
+		borrowed = true;
+		generation++;
+	}
+
+	void released() {
+		Assert.state(borrowed, "Message already returned to the pool");
+		borrowed = false;
+		if (fields.size() != setTagCount || !groups.isEmpty()) {
+			// Fields not set through the pooled setters cannot be told apart from the pooled ones
+			for (int i = 0; i < setTagCount; i++) {
+				lastSet[setTags[i]] = 0;
+			}
+			setTagCount = 0;
+			fields.clear();
+			groups.clear();
+		}
+	}
+}
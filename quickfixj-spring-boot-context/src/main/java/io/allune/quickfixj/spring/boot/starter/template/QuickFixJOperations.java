@@ -19,6 +19,11 @@ import io.allune.quickfixj.spring.boot.starter.exception.SessionNotFoundExceptio
 import quickfix.Message;
 import quickfix.SessionID;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface specifying a basic set of QuickFIX/J operations.
  * Implemented by {@link QuickFixJTemplate}.
@@ -87,4 +92,135 @@ public interface QuickFixJOperations {
 	 * @throws SessionNotFoundException if session could not be found\
 	 */
 	boolean send(Message message, SessionID sessionID);
+
+	/**
+	 * Sends an already encoded message body to the session specified by the
+	 * provided session ID. The session stamps the standard header and trailer
+	 * around the body fields, which are neither parsed into a {@link Message}
+	 * nor validated.
+	 *
+	 * @param sessionID the target SessionID
+	 * @param msgType   the MsgType of the message
+	 * @param body      the encoded body fields, between the buffer's position
+	 *                  and limit, each ending with the SOH delimiter
+	 * @return true is send was successful, false otherwise
+	 * @throws SessionNotFoundException if session could not be found
+	 * @see RawMessage
+	 */
+	boolean sendRaw(SessionID sessionID, String msgType, ByteBuffer body);
+
+	/**
+	 * Sends a message to one of the sessions of the given
+	 * {@link SessionGroup}, chosen among its logged on sessions by the
+	 * group's {@link SessionSelectionStrategy}. The message's target
+	 * identifiers are ignored.
+	 *
+	 * @param message a FIX message
+	 * @param group   the name of the session group
+	 * @return true is send was successful, false otherwise
+	 * @throws SessionNotFoundException if the group, or all its sessions,
+	 *                                  could not be found
+	 */
+	boolean sendToGroup(Message message, String group);
+
+	/**
+	 * Sends the messages to the sessions specified in each message's target
+	 * identifiers. Each session is looked up once and all the messages are
+	 * validated before any of them is sent, so that an invalid message
+	 * rejects the whole batch. The messages of each session are sent in the
+	 * order of the collection.
+	 *
+	 * @param messages the FIX messages
+	 * @return the number of messages sent successfully
+	 * @throws SessionNotFoundException if a session could not be found
+	 */
+	int sendAll(Collection<Message> messages);
+
+	/**
+	 * Sends the messages to the session specified by the provided session ID.
+	 * The session is looked up once and all the messages are validated before
+	 * any of them is sent, so that an invalid message rejects the whole batch.
+	 *
+	 * @param sessionID the target SessionID
+	 * @param messages  the FIX messages
+	 * @return the number of messages sent successfully
+	 * @throws SessionNotFoundException if session could not be found
+	 */
+	int sendAll(SessionID sessionID, List<Message> messages);
+
+	/**
+	 * Sends a message asynchronously to the session specified in the
+	 * message's target identifiers. The messages of a session are sent in
+	 * submission order on the template's executor.
+	 *
+	 * @param message a FIX message
+	 * @return a future completed with true if send was successful, false
+	 * otherwise, or completed exceptionally if the session could not be found,
+	 * the message failed validation, the session has too many pending sends or
+	 * the send timed out
+	 */
+	CompletableFuture<Boolean> sendAsync(Message message);
+
+	/**
+	 * Sends a message asynchronously to the session specified in the
+	 * message's target identifiers. The session qualifier is used to
+	 * distinguish sessions with the same target identifiers.
+	 *
+	 * @param message   a FIX message
+	 * @param qualifier a session qualifier
+	 * @return a future completed with the result of the send
+	 * @see #sendAsync(Message)
+	 */
+	CompletableFuture<Boolean> sendAsync(Message message, String qualifier);
+
+	/**
+	 * Sends a message asynchronously to the session specified by the provided
+	 * target company ID. The sender company ID is provided as an argument
+	 * rather than from the message.
+	 *
+	 * @param message      a FIX message
+	 * @param senderCompID the sender's company ID
+	 * @param targetCompID the target's company ID
+	 * @return a future completed with the result of the send
+	 * @see #sendAsync(Message)
+	 */
+	CompletableFuture<Boolean> sendAsync(Message message, String senderCompID, String targetCompID);
+
+	/**
+	 * Sends a message asynchronously to the session specified by the provided
+	 * target company ID. The sender company ID is provided as an argument
+	 * rather than from the message. The session qualifier is used to
+	 * distinguish sessions with the same target identifiers.
+	 *
+	 * @param message      a FIX message
+	 * @param senderCompID the sender's company ID
+	 * @param targetCompID the target's company ID
+	 * @param qualifier    a session qualifier
+	 * @return a future completed with the result of the send
+	 * @see #sendAsync(Message)
+	 */
+	CompletableFuture<Boolean> sendAsync(Message message, String senderCompID, String targetCompID, String qualifier);
+
+	/**
+	 * Sends a message asynchronously to the session specified by the provided
+	 * session ID.
+	 *
+	 * @param message   a FIX message
+	 * @param sessionID the target SessionID
+	 * @return a future completed with the result of the send
+	 * @see #sendAsync(Message)
+	 */
+	CompletableFuture<Boolean> sendAsync(Message message, SessionID sessionID);
+
+	/**
+	 * Sends a message asynchronously to one of the sessions of the given
+	 * {@link SessionGroup}. The session is chosen on the caller's thread.
+	 *
+	 * @param message a FIX message
+	 * @param group   the name of the session group
+	 * @return a future completed with the result of the send
+	 * @see #sendToGroup(Message, String)
+	 * @see #sendAsync(Message)
+	 */
+	CompletableFuture<Boolean> sendToGroupAsync(Message message, String group);
 }
@@ -17,9 +17,14 @@ package io.allune.quickfixj.spring.boot.starter.template;
 
 import io.allune.quickfixj.spring.boot.starter.exception.FieldNotFoundException;
 import io.allune.quickfixj.spring.boot.starter.exception.MessageValidationException;
+import io.allune.quickfixj.spring.boot.starter.exception.SendRejectedException;
 import io.allune.quickfixj.spring.boot.starter.exception.SessionNotFoundException;
-import lombok.Builder;
-import lombok.NonNull;
+import io.allune.quickfixj.spring.boot.starter.model.Logon;
+import io.allune.quickfixj.spring.boot.starter.model.Logout;
+import lombok.Value;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.util.Assert;
 import quickfix.DataDictionary;
 import quickfix.DataDictionaryProvider;
@@ -35,20 +40,108 @@ import quickfix.field.BeginString;
 import quickfix.field.SenderCompID;
 import quickfix.field.TargetCompID;
 
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
 import static quickfix.SessionID.NOT_SET;
 
 /**
  * Synchronous client to perform requests, exposing a simple, template
  * method API over the QuickFIX/J client
+ * <p>
+ * The {@link SessionID session IDs} resolved from the message header and the
+ * send arguments are cached, so that sending repeatedly to the same session
+ * does not allocate a new {@link SessionID} per message. Use a
+ * {@link CachingSessionLookupHandler} to also cache the session lookup.
+ * <p>
+ * The application data dictionary used to validate the messages is resolved
+ * once per session and ApplVerID, and compiled into lookup tables by
+ * MsgType, so that messages without repeating groups are validated without
+ * going through the data dictionary's maps.
+ * <p>
+ * Baskets of messages can be sent with {@link #sendAll(Collection)}, which
+ * looks up each session and resolves each data dictionary once per batch,
+ * and validates the whole batch before sending any message.
+ * <p>
+ * Messages produced from pre-encoded byte templates can be sent with
+ * {@link #sendRaw(SessionID, String, ByteBuffer)}, which hands a
+ * {@link RawMessage} over to the session without building the body fields.
+ * High-rate senders can also reuse the messages borrowed from a
+ * {@link MessagePool}.
+ * <p>
+ * Messages can be spread over the sessions of a {@link SessionGroup} with
+ * {@link #sendToGroup(Message, String)}, the session of each message being
+ * chosen by the {@link SessionSelectionStrategy} of the group.
+ * <p>
+ * A {@link SendRateLimiter} can pace the messages of each session, and of
+ * each MsgType, to stay within the message-rate limits of the counterparty.
+ * <p>
+ * With {@link OutboundBatching} installed on the connectors, the messages
+ * written to a session are gathered and written to the socket in batches,
+ * bounded in size and delay, or on an explicit {@link #flush(SessionID)}.
+ * <p>
+ * The {@code sendAsync} methods return immediately. The messages are
+ * queued per session, up to {@link #setMaxPendingAsyncSends(int)}
+ * messages, and sent in submission order on the
+ * {@link #setAsyncExecutor(Executor) async executor}, by default a cached
+ * pool of daemon threads shut down on {@link #destroy()}. The queue of a
+ * session is dropped once it is idle and the session logs out.
+ * <p>
+ * When validation is enabled, a {@link ValidationPolicy} can restrict it to
+ * a sample of the messages, to the first messages of each MsgType after
+ * logon, or to selected MsgTypes.
  *
  * @author Eduardo Sanchez-Ros
  */
-public class QuickFixJTemplate implements QuickFixJOperations {
+public class QuickFixJTemplate implements QuickFixJOperations, DisposableBean {
+
+	public static final int DEFAULT_MAX_PENDING_ASYNC_SENDS = 1024;
+
+	private static final int MAX_CACHED_SESSION_IDS = 1024;
+
+	private static final String DEFAULT_APPL_VER_ID = "";
+
+	private final Map<SessionKey, SessionID> sessionIDs = new ConcurrentHashMap<>();
+
+	private final Map<SessionID, SessionDataDictionaries> sessionDataDictionaries = new ConcurrentHashMap<>();
+
+	private final Map<DataDictionary, CompiledDataDictionary> compiledDataDictionaries = new ConcurrentHashMap<>();
 
 	private SessionLookupHandler sessionLookupHandler;
 
 	private boolean doValidation;
 
+	private ValidationPolicy validationPolicy = ValidationPolicy.always();
+
+	private SendListener sendListener;
+
+	private SendRateLimiter sendRateLimiter;
+
+	private OutboundBatching outboundBatching;
+
+	private volatile Map<String, SessionGroup> sessionGroups = Map.of();
+
+	private final Map<SessionID, SessionSendQueue> sendQueues = new ConcurrentHashMap<>();
+
+	private volatile Executor asyncExecutor;
+
+	private ExecutorService defaultAsyncExecutor;
+
+	private int maxPendingAsyncSends = DEFAULT_MAX_PENDING_ASYNC_SENDS;
+
+	private Duration asyncSendTimeout;
+
 	public QuickFixJTemplate() {
 		this.sessionLookupHandler = new DefaultSessionLookupHandler();
 		this.doValidation = true;
@@ -67,13 +160,146 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 		this.doValidation = doValidation;
 	}
 
+	/**
+	 * Set the {@link ValidationPolicy} selecting the messages to validate when validation is enabled. All the messages
+	 * are validated by default.
+	 *
+	 * @param validationPolicy the validation policy
+	 */
+	public void setValidationPolicy(ValidationPolicy validationPolicy) {
+		Assert.notNull(validationPolicy, "'validationPolicy' must not be null");
+		this.validationPolicy = validationPolicy;
+	}
+
+	/**
+	 * Notify the {@link ValidationPolicy} that a session logged on.
+	 *
+	 * @param logon the logon event
+	 */
+	@EventListener
+	public void onLogon(Logon logon) {
+		validationPolicy.onLogon(logon.getSessionId());
+	}
+
+	/**
+	 * Drop the asynchronous send queue of a session that logged out, unless sends are still pending on it.
+	 *
+	 * @param logout the logout event
+	 */
+	@EventListener
+	public void onLogout(Logout logout) {
+		sendQueues.computeIfPresent(logout.getSessionId(), (sessionID, sendQueue) -> sendQueue.isIdle() ? null : sendQueue);
+	}
+
+	/**
+	 * Set the {@link SendListener} to notify after each message handed over to a session.
+	 *
+	 * @param sendListener the listener, or {@code null} to remove it
+	 */
+	public void setSendListener(SendListener sendListener) {
+		this.sendListener = sendListener;
+	}
+
+	/**
+	 * Set the {@link SendRateLimiter} pacing the messages handed over to the sessions. With a rate limiter rejecting
+	 * the messages, a batch sent with {@link #sendAll(Collection)} may be partially sent.
+	 *
+	 * @param sendRateLimiter the rate limiter, or {@code null} to remove it
+	 */
+	public void setSendRateLimiter(SendRateLimiter sendRateLimiter) {
+		this.sendRateLimiter = sendRateLimiter;
+	}
+
+	/**
+	 * Set the {@link OutboundBatching} installed on the connectors of the sessions, flushed by {@link #flush(SessionID)}
+	 * and {@link #flush()}.
+	 *
+	 * @param outboundBatching the outbound batching, or {@code null} if the messages are not batched
+	 */
+	public void setOutboundBatching(OutboundBatching outboundBatching) {
+		this.outboundBatching = outboundBatching;
+	}
+
+	/**
+	 * Write the messages buffered for the given session, when {@link #setOutboundBatching(OutboundBatching) outbound
+	 * batching} is enabled.
+	 *
+	 * @param sessionID the ID of the session
+	 */
+	public void flush(SessionID sessionID) {
+		Assert.notNull(sessionID, "'sessionID' must not be null");
+		OutboundBatching batching = outboundBatching;
+		if (batching != null) {
+			batching.flush(sessionID);
+		}
+	}
+
+	/**
+	 * Write the messages buffered for all the sessions, when {@link #setOutboundBatching(OutboundBatching) outbound
+	 * batching} is enabled.
+	 */
+	public void flush() {
+		OutboundBatching batching = outboundBatching;
+		if (batching != null) {
+			batching.flushAll();
+		}
+	}
+
+	/**
+	 * Set the {@link Executor} running the asynchronous sends. The messages of a session are never sent concurrently,
+	 * whatever the number of threads of the executor. The executor is not shut down by the template.
+	 *
+	 * @param asyncExecutor the executor of the asynchronous sends
+	 */
+	public void setAsyncExecutor(Executor asyncExecutor) {
+		Assert.notNull(asyncExecutor, "'asyncExecutor' must not be null");
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * Set the maximum number of asynchronous sends waiting per session, further sends are rejected with a
+	 * {@link SendRejectedException}. Default is {@value #DEFAULT_MAX_PENDING_ASYNC_SENDS}.
+	 *
+	 * @param maxPendingAsyncSends the maximum number of pending sends per session
+	 */
+	public void setMaxPendingAsyncSends(int maxPendingAsyncSends) {
+		Assert.isTrue(maxPendingAsyncSends > 0, "'maxPendingAsyncSends' must be greater than zero");
+		this.maxPendingAsyncSends = maxPendingAsyncSends;
+	}
+
+	/**
+	 * Set the time after which an asynchronous send not yet sent completes with a
+	 * {@link java.util.concurrent.TimeoutException}, and is then skipped. A message already handed over to the
+	 * session when the timeout expires is still sent. No timeout by default.
+	 *
+	 * @param asyncSendTimeout the timeout, or {@code null} for no timeout
+	 */
+	public void setAsyncSendTimeout(Duration asyncSendTimeout) {
+		this.asyncSendTimeout = asyncSendTimeout;
+	}
+
+	/**
+	 * Set the {@link SessionGroup}s the messages sent with {@link #sendToGroup(Message, String)} are spread over,
+	 * replacing the groups previously set.
+	 *
+	 * @param sessionGroups the session groups, with unique names
+	 */
+	public void setSessionGroups(Collection<SessionGroup> sessionGroups) {
+		Assert.notNull(sessionGroups, "'sessionGroups' must not be null");
+		Map<String, SessionGroup> groups = new LinkedHashMap<>();
+		for (SessionGroup sessionGroup : sessionGroups) {
+			Assert.notNull(sessionGroup, "'sessionGroups' must not contain null elements");
+			Assert.isTrue(groups.put(sessionGroup.getName(), sessionGroup) == null,
+					() -> "Duplicate session group name: " + sessionGroup.getName());
+		}
+		this.sessionGroups = Map.copyOf(groups);
+	}
+
 	@Override
 	public boolean send(Message message) {
 		Assert.notNull(message, "'message' must not be null");
 
-		SessionID sessionID = QuickFixJSessionID.quickFixJSessionIDBuilder()
-				.message(message)
-				.build().toSessionID();
+		SessionID sessionID = resolveSessionID(message, null, null, null);
 		return doSend(message, sessionID);
 	}
 
@@ -81,10 +307,7 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 	public boolean send(Message message, String qualifier) {
 		Assert.notNull(message, "'message' must not be null");
 
-		SessionID sessionID = QuickFixJSessionID.quickFixJSessionIDBuilder()
-				.message(message)
-				.qualifier(qualifier)
-				.build().toSessionID();
+		SessionID sessionID = resolveSessionID(message, null, null, qualifier);
 		return doSend(message, sessionID);
 	}
 
@@ -92,11 +315,7 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 	public boolean send(Message message, String senderCompID, String targetCompID) {
 		Assert.notNull(message, "'message' must not be null");
 
-		SessionID sessionID = QuickFixJSessionID.quickFixJSessionIDBuilder()
-				.message(message)
-				.senderCompID(senderCompID)
-				.targetCompID(targetCompID)
-				.build().toSessionID();
+		SessionID sessionID = resolveSessionID(message, senderCompID, targetCompID, null);
 		return doSend(message, sessionID);
 	}
 
@@ -104,12 +323,7 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 	public boolean send(Message message, String senderCompID, String targetCompID, String qualifier) {
 		Assert.notNull(message, "'message' must not be null");
 
-		SessionID sessionID = QuickFixJSessionID.quickFixJSessionIDBuilder()
-				.message(message)
-				.senderCompID(senderCompID)
-				.targetCompID(targetCompID)
-				.qualifier(qualifier)
-				.build().toSessionID();
+		SessionID sessionID = resolveSessionID(message, senderCompID, targetCompID, qualifier);
 		return doSend(message, sessionID);
 	}
 
@@ -121,26 +335,327 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 		return doSend(message, sessionID);
 	}
 
+	@Override
+	public boolean sendRaw(SessionID sessionID, String msgType, ByteBuffer body) {
+		Assert.notNull(sessionID, "'sessionID' must not be null");
+		Assert.notNull(body, "'body' must not be null");
+
+		Session session = lookupSession(sessionID);
+		return send(session, sessionID, new RawMessage(msgType, body));
+	}
+
+	@Override
+	public boolean sendToGroup(Message message, String group) {
+		Assert.notNull(message, "'message' must not be null");
+
+		SessionGroup sessionGroup = getSessionGroup(group);
+		SessionID sessionID = selectSession(message, sessionGroup);
+		SessionSelectionStrategy selectionStrategy = sessionGroup.getSelectionStrategy();
+		selectionStrategy.onSendStarted(sessionID);
+		long start = System.nanoTime();
+		try {
+			return doSend(message, sessionID);
+		} finally {
+			selectionStrategy.onSendCompleted(sessionID, System.nanoTime() - start);
+		}
+	}
+
+	@Override
+	public int sendAll(Collection<Message> messages) {
+		Assert.notNull(messages, "'messages' must not be null");
+
+		Map<SessionID, List<Message>> messagesBySession = new LinkedHashMap<>();
+		for (Message message : messages) {
+			Assert.notNull(message, "'messages' must not contain null elements");
+			SessionID sessionID = resolveSessionID(message, null, null, null);
+			messagesBySession.computeIfAbsent(sessionID, key -> new ArrayList<>()).add(message);
+		}
+
+		Map<SessionID, Session> sessions = new LinkedHashMap<>();
+		messagesBySession.forEach((sessionID, sessionMessages) ->
+				sessions.put(sessionID, lookupAndValidate(sessionID, sessionMessages)));
+
+		int sent = 0;
+		for (Map.Entry<SessionID, List<Message>> entry : messagesBySession.entrySet()) {
+			sent += sendAll(sessions.get(entry.getKey()), entry.getKey(), entry.getValue());
+		}
+		return sent;
+	}
+
+	@Override
+	public int sendAll(SessionID sessionID, List<Message> messages) {
+		Assert.notNull(sessionID, "'sessionID' must not be null");
+		Assert.notNull(messages, "'messages' must not be null");
+		Assert.noNullElements(messages, "'messages' must not contain null elements");
+
+		return doSendAll(messages, sessionID);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendAsync(Message message) {
+		return sendAsync(message, null, null, null);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendAsync(Message message, String qualifier) {
+		return sendAsync(message, null, null, qualifier);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendAsync(Message message, String senderCompID, String targetCompID) {
+		return sendAsync(message, senderCompID, targetCompID, null);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendAsync(Message message, String senderCompID, String targetCompID, String qualifier) {
+		Assert.notNull(message, "'message' must not be null");
+
+		SessionID sessionID;
+		try {
+			sessionID = resolveSessionID(message, senderCompID, targetCompID, qualifier);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		return doSendAsync(message, sessionID);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendAsync(Message message, SessionID sessionID) {
+		Assert.notNull(message, "'message' must not be null");
+		Assert.notNull(sessionID, "'sessionID' must not be null");
+
+		return doSendAsync(message, sessionID);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> sendToGroupAsync(Message message, String group) {
+		Assert.notNull(message, "'message' must not be null");
+
+		SessionGroup sessionGroup;
+		SessionID sessionID;
+		try {
+			sessionGroup = getSessionGroup(group);
+			sessionID = selectSession(message, sessionGroup);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+		SessionSelectionStrategy selectionStrategy = sessionGroup.getSelectionStrategy();
+		selectionStrategy.onSendStarted(sessionID);
+		long start = System.nanoTime();
+		CompletableFuture<Boolean> future = doSendAsync(message, sessionID);
+		future.whenComplete((sent, e) -> selectionStrategy.onSendCompleted(sessionID, System.nanoTime() - start));
+		return future;
+	}
+
 	protected boolean doSend(Message message, SessionID sessionID) {
+		Session session = lookupSession(sessionID);
+
+		if (shouldValidate(message, sessionID)) {
+			validateMessage(message, sessionID, session);
+		}
+
+		return send(session, sessionID, message);
+	}
+
+	protected CompletableFuture<Boolean> doSendAsync(Message message, SessionID sessionID) {
+		Session session;
+		try {
+			// Looked up on the caller's thread so that queues are only created for existing sessions
+			session = lookupSession(sessionID);
+		} catch (RuntimeException e) {
+			return CompletableFuture.failedFuture(e);
+		}
+
+		CompletableFuture<Boolean> future = new CompletableFuture<>();
+		Runnable task = () -> {
+			if (future.isDone()) {
+				return;
+			}
+			try {
+				if (shouldValidate(message, sessionID)) {
+					validateMessage(message, sessionID, session);
+				}
+				future.complete(send(session, sessionID, message));
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			}
+		};
+
+		try {
+			if (!offer(sessionID, task)) {
+				return CompletableFuture.failedFuture(new SendRejectedException(
+						"Too many pending sends for session " + sessionID + ", limit is " + maxPendingAsyncSends));
+			}
+		} catch (RuntimeException e) {
+			future.completeExceptionally(e);
+		}
+
+		Duration timeout = asyncSendTimeout;
+		if (timeout != null) {
+			future.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+		}
+		return future;
+	}
+
+	protected int doSendAll(List<Message> messages, SessionID sessionID) {
+		Session session = lookupAndValidate(sessionID, messages);
+		return sendAll(session, sessionID, messages);
+	}
+
+	/**
+	 * Shut down the default async executor, waiting for the sends already running to complete.
+	 */
+	@Override
+	public void destroy() {
+		ExecutorService executor;
+		synchronized (this) {
+			executor = defaultAsyncExecutor;
+			defaultAsyncExecutor = null;
+		}
+		if (executor != null) {
+			executor.shutdown();
+			try {
+				executor.awaitTermination(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		sendQueues.clear();
+	}
+
+	Map<SessionID, SessionSendQueue> getSendQueues() {
+		return sendQueues;
+	}
+
+	private boolean offer(SessionID sessionID, Runnable task) {
+		boolean[] queued = new boolean[1];
+		// Queued while holding the entry so that a logout never drops a queue a task is being added to
+		sendQueues.compute(sessionID, (key, sendQueue) -> {
+			if (sendQueue == null) {
+				sendQueue = new SessionSendQueue(getAsyncExecutor(), maxPendingAsyncSends);
+			}
+			queued[0] = sendQueue.offer(task);
+			return sendQueue;
+		});
+		return queued[0];
+	}
+
+	private Executor getAsyncExecutor() {
+		Executor executor = asyncExecutor;
+		if (executor == null) {
+			synchronized (this) {
+				executor = asyncExecutor;
+				if (executor == null) {
+					CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("QuickFixJTemplate-send-");
+					threadFactory.setDaemon(true);
+					defaultAsyncExecutor = Executors.newCachedThreadPool(threadFactory);
+					executor = defaultAsyncExecutor;
+					asyncExecutor = executor;
+				}
+			}
+		}
+		return executor;
+	}
+
+	private Session lookupSession(SessionID sessionID) {
 		Session session = sessionLookupHandler.lookupBySessionID(sessionID);
 		if (session == null) {
 			throw new SessionNotFoundException("Session not found: " + sessionID.toString());
 		}
+		return session;
+	}
+
+	private SessionGroup getSessionGroup(String group) {
+		SessionGroup sessionGroup = sessionGroups.get(group);
+		if (sessionGroup == null) {
+			throw new SessionNotFoundException("Session group not found: " + group);
+		}
+		return sessionGroup;
+	}
+
+	private SessionID selectSession(Message message, SessionGroup sessionGroup) {
+		List<SessionID> sessionIDs = sessionGroup.getSessionIDs();
+		List<SessionID> candidates = sessionIDs;
+		List<SessionID> existing = null;
+		for (int i = 0; i < sessionIDs.size(); i++) {
+			Session session = sessionLookupHandler.lookupBySessionID(sessionIDs.get(i));
+			boolean loggedOn = session != null && session.isLoggedOn();
+			if (!loggedOn && candidates == sessionIDs) {
+				// Only allocated when some of the sessions cannot be sent to
+				candidates = new ArrayList<>(sessionIDs.subList(0, i));
+				existing = new ArrayList<>(sessionIDs.subList(0, i));
+			}
+			if (candidates != sessionIDs) {
+				if (loggedOn) {
+					candidates.add(sessionIDs.get(i));
+				}
+				if (session != null) {
+					existing.add(sessionIDs.get(i));
+				}
+			}
+		}
+		if (candidates.isEmpty()) {
+			// Sent to a session not logged on, the message is stored and resent on logon
+			candidates = existing;
+		}
+		if (candidates.isEmpty()) {
+			throw new SessionNotFoundException("No session found in session group: " + sessionGroup.getName());
+		}
+		return sessionGroup.getSelectionStrategy().select(message, candidates);
+	}
 
+	private Session lookupAndValidate(SessionID sessionID, List<Message> messages) {
+		Session session = lookupSession(sessionID);
 		if (doValidation) {
-			validateMessage(message, sessionID, session);
+			for (Message message : messages) {
+				if (validationPolicy.shouldValidate(message, sessionID)) {
+					validateMessage(message, sessionID, session);
+				}
+			}
+		}
+		return session;
+	}
+
+	private int sendAll(Session session, SessionID sessionID, List<Message> messages) {
+		int sent = 0;
+		for (Message message : messages) {
+			if (send(session, sessionID, message)) {
+				sent++;
+			}
+		}
+		return sent;
+	}
+
+	private boolean send(Session session, SessionID sessionID, Message message) {
+		removeUnsetFields(message);
+		SendRateLimiter rateLimiter = sendRateLimiter;
+		if (rateLimiter != null) {
+			rateLimiter.acquire(message, sessionID);
 		}
+		boolean sent = session.send(message);
+		if (sendListener != null) {
+			sendListener.onSend(message, sessionID, sent);
+		}
+		return sent;
+	}
+
+	private static void removeUnsetFields(Message message) {
+		// So that neither the validation nor the application callbacks see the fields of a previous use
+		if (message instanceof PooledMessage) {
+			((PooledMessage) message).removeUnsetFields();
+		}
+	}
 
-		return session.send(message);
+	private boolean shouldValidate(Message message, SessionID sessionID) {
+		return doValidation && validationPolicy.shouldValidate(message, sessionID);
 	}
 
 	private void validateMessage(Message message, SessionID sessionID, Session session) {
+		removeUnsetFields(message);
 		DataDictionaryProvider dataDictionaryProvider = session.getDataDictionaryProvider();
 		if (dataDictionaryProvider != null) {
 			try {
-				ApplVerID applVerID = getApplicationVersionID(message, session);
-				DataDictionary applicationDataDictionary = dataDictionaryProvider.getApplicationDataDictionary(applVerID);
-				applicationDataDictionary.validate(message, true);
+				getApplicationDataDictionary(message, sessionID, session, dataDictionaryProvider).validate(message);
 			} catch (Exception e) {
 				LogUtil.logThrowable(sessionID, "Message failed validation: " + e.getMessage(), e);
 				throw new MessageValidationException("Message failed validation: " + e.getMessage(), e);
@@ -148,20 +663,41 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 		}
 	}
 
-	private static ApplVerID getApplicationVersionID(Message message, Session session) {
+	private CompiledDataDictionary getApplicationDataDictionary(
+			Message message, SessionID sessionID, Session session, DataDictionaryProvider dataDictionaryProvider
+	) {
+		SessionDataDictionaries dataDictionaries = sessionDataDictionaries.get(sessionID);
+		if (dataDictionaries == null || dataDictionaries.getDataDictionaryProvider() != dataDictionaryProvider) {
+			// A session recreated with the same SessionID comes with its own provider
+			dataDictionaries = new SessionDataDictionaries(dataDictionaryProvider);
+			sessionDataDictionaries.put(sessionID, dataDictionaries);
+		}
+
+		String applVerID = getApplicationVersionID(message);
+		String key = applVerID != null ? applVerID : DEFAULT_APPL_VER_ID;
+		CompiledDataDictionary dataDictionary = dataDictionaries.get(key);
+		if (dataDictionary == null) {
+			ApplVerID resolvedApplVerID = applVerID != null ? new ApplVerID(applVerID) : getDefaultApplVerID(session);
+			DataDictionary applicationDataDictionary = dataDictionaryProvider.getApplicationDataDictionary(resolvedApplVerID);
+			Assert.state(applicationDataDictionary != null, () -> "No data dictionary for " + resolvedApplVerID);
+			dataDictionary = compiledDataDictionaries.computeIfAbsent(applicationDataDictionary, CompiledDataDictionary::new);
+			dataDictionaries.put(key, dataDictionary);
+		}
+		return dataDictionary;
+	}
+
+	private static String getApplicationVersionID(Message message) {
 		// If no header return default appl version id
-		if (message.getHeader() == null) {
-			return getDefaultApplVerID(session);
+		Message.Header header = message.getHeader();
+		if (header == null || !header.isSetField(ApplVerID.FIELD)) {
+			return null;
 		}
 
-		String applVerId;
 		try {
-			applVerId = message.getHeader().getString(ApplVerID.FIELD);
-			return new ApplVerID(applVerId);
+			return header.getString(ApplVerID.FIELD);
 		} catch (FieldNotFound fieldNotFound) {
-			return getDefaultApplVerID(session);
+			return null;
 		}
-
 	}
 
 	private static ApplVerID getDefaultApplVerID(Session session) {
@@ -173,43 +709,78 @@ public class QuickFixJTemplate implements QuickFixJOperations {
 		}
 	}
 
-	@Builder(builderClassName = "QuickFixJSessionIDBuilder", builderMethodName = "quickFixJSessionIDBuilder")
-	static class QuickFixJSessionID {
+	private SessionID resolveSessionID(Message message, String senderCompID, String targetCompID, String qualifier) {
+		String beginString = getFieldFromMessageHeader(message, BeginString.FIELD);
+		if (senderCompID == null) {
+			senderCompID = getFieldFromMessageHeader(message, SenderCompID.FIELD);
+		}
+		if (targetCompID == null) {
+			targetCompID = getFieldFromMessageHeader(message, TargetCompID.FIELD);
+		}
+		if (qualifier == null) {
+			qualifier = NOT_SET;
+		}
+
+		SessionKey sessionKey = SessionKey.of(beginString, senderCompID, targetCompID, qualifier);
+		SessionID sessionID = sessionIDs.get(sessionKey);
+		if (sessionID == null) {
+			sessionID = new SessionID(beginString, senderCompID, targetCompID, qualifier);
+			// Bounded so that messages with arbitrary header values cannot grow the cache indefinitely
+			if (sessionIDs.size() < MAX_CACHED_SESSION_IDS) {
+				sessionIDs.putIfAbsent(sessionKey, sessionID);
+			}
+		}
+		return sessionID;
+	}
+
+	private static String getFieldFromMessageHeader(final Message message, int fieldTag) {
+		try {
+			return message.getHeader().getString(fieldTag);
+		} catch (FieldNotFound fieldNotFound) {
+			throw new FieldNotFoundException("Field with ID " + fieldTag + " not found in message", fieldNotFound);
+		}
+	}
 
-		@NonNull
-		public Message message;
+	/**
+	 * The compiled application data dictionaries of a session, by ApplVerID.
+	 */
+	private static class SessionDataDictionaries {
 
-		public String beginString;
+		private static final int MAX_APPL_VER_IDS = 32;
 
-		public String senderCompID;
+		private final DataDictionaryProvider dataDictionaryProvider;
 
-		public String targetCompID;
+		private final Map<String, CompiledDataDictionary> dataDictionaries = new ConcurrentHashMap<>();
 
-		public String qualifier;
+		SessionDataDictionaries(DataDictionaryProvider dataDictionaryProvider) {
+			this.dataDictionaryProvider = dataDictionaryProvider;
+		}
 
-		public SessionID toSessionID() {
+		DataDictionaryProvider getDataDictionaryProvider() {
+			return dataDictionaryProvider;
+		}
 
-			if (beginString == null) {
-				beginString = getFieldFromMessageHeader(message, BeginString.FIELD);
-			}
-			if (senderCompID == null) {
-				senderCompID = getFieldFromMessageHeader(message, SenderCompID.FIELD);
-			}
-			if (targetCompID == null) {
-				targetCompID = getFieldFromMessageHeader(message, TargetCompID.FIELD);
-			}
-			if (qualifier == null) {
-				qualifier = NOT_SET;
-			}
-			return new SessionID(beginString, senderCompID, targetCompID, qualifier);
+		CompiledDataDictionary get(String applVerID) {
+			return dataDictionaries.get(applVerID);
 		}
 
-		private static String getFieldFromMessageHeader(final Message message, int fieldTag) {
-			try {
-				return message.getHeader().getString(fieldTag);
-			} catch (FieldNotFound fieldNotFound) {
-				throw new FieldNotFoundException("Field with ID " + fieldTag + " not found in message", fieldNotFound);
+		void put(String applVerID, CompiledDataDictionary dataDictionary) {
+			// Bounded so that messages with arbitrary ApplVerID values cannot grow the cache indefinitely
+			if (dataDictionaries.size() < MAX_APPL_VER_IDS) {
+				dataDictionaries.putIfAbsent(applVerID, dataDictionary);
 			}
 		}
 	}
+
+	@Value(staticConstructor = "of")
+	private static class SessionKey {
+
+		String beginString;
+
+		String senderCompID;
+
+		String targetCompID;
+
+		String qualifier;
+	}
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+
+/**
+ * Rate limit of a {@link TokenBucket}: the number of messages per second, and the number of messages that can be sent
+ * at once after an idle period.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public final class RateLimit {
+
+	private final int messagesPerSecond;
+
+	private final int burst;
+
+	private RateLimit(int messagesPerSecond, int burst) {
+		Assert.isTrue(messagesPerSecond > 0, "'messagesPerSecond' must be greater than zero");
+		Assert.isTrue(burst > 0, "'burst' must be greater than zero");
+		this.messagesPerSecond = messagesPerSecond;
+		this.burst = burst;
+	}
+
+	/**
+	 * @param messagesPerSecond the number of messages per second
+	 * @return a rate limit allowing a burst of one second worth of messages
+	 */
+	public static RateLimit of(int messagesPerSecond) {
+		return new RateLimit(messagesPerSecond, messagesPerSecond);
+	}
+
+	/**
+	 * @param messagesPerSecond the number of messages per second
+	 * @param burst             the number of messages that can be sent at once
+	 * @return the rate limit
+	 */
+	public static RateLimit of(int messagesPerSecond, int burst) {
+		return new RateLimit(messagesPerSecond, burst);
+	}
+
+	public int getMessagesPerSecond() {
+		return messagesPerSecond;
+	}
+
+	public int getBurst() {
+		return burst;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof RateLimit)) {
+			return false;
+		}
+		RateLimit other = (RateLimit) o;
+		return messagesPerSecond == other.messagesPerSecond && burst == other.burst;
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * messagesPerSecond + burst;
+	}
+
+	@Override
+	public String toString() {
+		return messagesPerSecond + "/s (burst " + burst + ")";
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.quickfixj.CharsetSupport;
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.field.MsgType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * {@link Message} whose body is an already encoded sequence of {@code tag=value<SOH>} fields, sent as it is after the
+ * standard header and before the standard trailer stamped by the {@link quickfix.Session}.
+ * <p>
+ * The body fields are not parsed, so they cannot be read through the {@link quickfix.FieldMap} methods of the message,
+ * and a raw message is not validated against the data dictionary. The header and trailer fields, including the
+ * BodyLength and CheckSum, are set as for any other message when it is sent.
+ *
+ * @author Eduardo Sanchez-Ros
+ * @see QuickFixJTemplate#sendRaw(quickfix.SessionID, String, ByteBuffer)
+ */
+public class RawMessage extends Message {
+
+	private static final char SOH = '\001';
+
+	private static final int CHECKSUM_FIELD_LENGTH = "10=000\001".length();
+
+	private final String body;
+
+	private final int bodyBytes;
+
+	/**
+	 * Create a raw message from the encoded body fields, between the buffer's position and limit. The buffer's position
+	 * is not changed.
+	 *
+	 * @param msgType the MsgType of the message
+	 * @param body    the encoded body fields, ending with the SOH delimiter
+	 */
+	public RawMessage(String msgType, ByteBuffer body) {
+		this(msgType, decode(body), body.remaining());
+	}
+
+	/**
+	 * Create a raw message from the encoded body fields.
+	 *
+	 * @param msgType the MsgType of the message
+	 * @param body    the encoded body fields, ending with the SOH delimiter
+	 */
+	public RawMessage(String msgType, String body) {
+		this(msgType, body, CharsetSupport.isStringEquivalent() ? body.length() : encodedLength(body));
+	}
+
+	private RawMessage(String msgType, String body, int bodyBytes) {
+		Assert.hasText(msgType, "'msgType' must not be empty");
+		Assert.hasLength(body, "'body' must not be empty");
+		Assert.isTrue(body.charAt(body.length() - 1) == SOH, "'body' must end with the SOH delimiter");
+		this.body = body;
+		this.bodyBytes = bodyBytes;
+		getHeader().setString(MsgType.FIELD, msgType);
+	}
+
+	/**
+	 * Return the encoded body fields.
+	 */
+	public String getBody() {
+		return body;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return false;
+	}
+
+	@Override
+	public int bodyLength() {
+		return super.bodyLength() + bodyBytes;
+	}
+
+	@Override
+	public String toString() {
+		String message = super.toString();
+		if (CharsetSupport.isStringEquivalent()) {
+			return message;
+		}
+
+		// The checksum calculated by the message from its fields does not include the raw body
+		int checkSumStart = message.length() - CHECKSUM_FIELD_LENGTH;
+		String beforeCheckSum = message.substring(0, checkSumStart);
+		int checkSum = 0;
+		for (byte b : beforeCheckSum.getBytes(CharsetSupport.getCharsetInstance())) {
+			checkSum += b & 0xFF;
+		}
+		checkSum &= 0xFF;
+		return beforeCheckSum + "10=" + (char) ('0' + checkSum / 100) + (char) ('0' + checkSum / 10 % 10)
+				+ (char) ('0' + checkSum % 10) + SOH;
+	}
+
+	@Override
+	protected void calculateString(StringBuilder buffer, int[] preFields, int[] postFields) {
+		buffer.append(body);
+	}
+
+	private static String decode(ByteBuffer body) {
+		Assert.notNull(body, "'body' must not be null");
+		Charset charset = CharsetSupport.getCharsetInstance();
+		if (body.hasArray()) {
+			return new String(body.array(), body.arrayOffset() + body.position(), body.remaining(), charset);
+		}
+		byte[] bytes = new byte[body.remaining()];
+		body.duplicate().get(bytes);
+		return new String(bytes, charset);
+	}
+
+	private static int encodedLength(String body) {
+		Assert.notNull(body, "'body' must not be null");
+		return body.getBytes(CharsetSupport.getCharsetInstance()).length;
+	}
+}
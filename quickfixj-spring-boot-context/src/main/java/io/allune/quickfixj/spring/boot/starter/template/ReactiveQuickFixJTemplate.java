@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.SessionID;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive adapter of the asynchronous sends of a {@link QuickFixJOperations}, for applications using Project Reactor.
+ * <p>
+ * The messages are sent when the returned {@link Mono} is subscribed to, and the {@code Mono} emits the result of the
+ * send without blocking the subscribing thread.
+ *
+ * @author Eduardo Sanchez-Ros
+ * @see QuickFixJOperations#sendAsync(Message)
+ */
+public class ReactiveQuickFixJTemplate {
+
+	private final QuickFixJOperations quickFixJOperations;
+
+	public ReactiveQuickFixJTemplate(QuickFixJOperations quickFixJOperations) {
+		Assert.notNull(quickFixJOperations, "'quickFixJOperations' must not be null");
+		this.quickFixJOperations = quickFixJOperations;
+	}
+
+	/**
+	 * Sends a message to the session specified in the message's target identifiers.
+	 *
+	 * @param message a FIX message
+	 * @return a {@link Mono} emitting true if send was successful, false otherwise
+	 * @see QuickFixJOperations#sendAsync(Message)
+	 */
+	public Mono<Boolean> send(Message message) {
+		return Mono.fromFuture(() -> quickFixJOperations.sendAsync(message));
+	}
+
+	/**
+	 * Sends a message to the session specified in the message's target identifiers and the session qualifier.
+	 *
+	 * @param message   a FIX message
+	 * @param qualifier a session qualifier
+	 * @return a {@link Mono} emitting true if send was successful, false otherwise
+	 * @see QuickFixJOperations#sendAsync(Message, String)
+	 */
+	public Mono<Boolean> send(Message message, String qualifier) {
+		return Mono.fromFuture(() -> quickFixJOperations.sendAsync(message, qualifier));
+	}
+
+	/**
+	 * Sends a message to the session specified by the provided sender and target company IDs.
+	 *
+	 * @param message      a FIX message
+	 * @param senderCompID the sender's company ID
+	 * @param targetCompID the target's company ID
+	 * @return a {@link Mono} emitting true if send was successful, false otherwise
+	 * @see QuickFixJOperations#sendAsync(Message, String, String)
+	 */
+	public Mono<Boolean> send(Message message, String senderCompID, String targetCompID) {
+		return Mono.fromFuture(() -> quickFixJOperations.sendAsync(message, senderCompID, targetCompID));
+	}
+
+	/**
+	 * Sends a message to the session specified by the provided sender and target company IDs and session qualifier.
+	 *
+	 * @param message      a FIX message
+	 * @param senderCompID the sender's company ID
+	 * @param targetCompID the target's company ID
+	 * @param qualifier    a session qualifier
+	 * @return a {@link Mono} emitting true if send was successful, false otherwise
+	 * @see QuickFixJOperations#sendAsync(Message, String, String, String)
+	 */
+	public Mono<Boolean> send(Message message, String senderCompID, String targetCompID, String qualifier) {
+		return Mono.fromFuture(() -> quickFixJOperations.sendAsync(message, senderCompID, targetCompID, qualifier));
+	}
+
+	/**
+	 * Sends a message to the session specified by the provided session ID.
+	 *
+	 * @param message   a FIX message
+	 * @param sessionID the target SessionID
+	 * @return a {@link Mono} emitting true if send was successful, false otherwise
+	 * @see QuickFixJOperations#sendAsync(Message, SessionID)
+	 */
+	public Mono<Boolean> send(Message message, SessionID sessionID) {
+		return Mono.fromFuture(() -> quickFixJOperations.sendAsync(message, sessionID));
+	}
+
+	/**
+	 * Sends a message to one of the sessions of the given {@link SessionGroup}, chosen when the {@link Mono} is
+	 * subscribed to.
+	 *
+	 * @param message a FIX message
+	 * @param group   the name of the session group
+	 * @return a {@link Mono} emitting true if send was successful, false otherwise
+	 * @see QuickFixJOperations#sendToGroup(Message, String)
+	 */
+	public Mono<Boolean> sendToGroup(Message message, String group) {
+		return Mono.fromFuture(() -> quickFixJOperations.sendToGroupAsync(message, group));
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link ValidationPolicy} validating one message out of every {@code sampleRate} messages of each session.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class SampledValidationPolicy implements ValidationPolicy {
+
+	private final Map<SessionID, AtomicLong> counters = new ConcurrentHashMap<>();
+
+	private final int sampleRate;
+
+	SampledValidationPolicy(int sampleRate) {
+		Assert.isTrue(sampleRate > 0, "'sampleRate' must be greater than zero");
+		this.sampleRate = sampleRate;
+	}
+
+	@Override
+	public boolean shouldValidate(Message message, SessionID sessionID) {
+		if (sampleRate == 1) {
+			return true;
+		}
+		AtomicLong counter = counters.computeIfAbsent(sessionID, key -> new AtomicLong());
+		return counter.getAndIncrement() % sampleRate == 0;
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.Message;
+import quickfix.SessionID;
+
+/**
+ * Callback notified by the {@link QuickFixJTemplate} after each message handed over to a
+ * {@link quickfix.Session}.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@FunctionalInterface
+public interface SendListener {
+
+	/**
+	 * Called on the sending thread once the message has been handed over to the session.
+	 *
+	 * @param message   the message
+	 * @param sessionID the ID of the session the message was sent to
+	 * @param sent      the result of {@link quickfix.Session#send(Message)}, {@code false} if the message was only
+	 *                  stored to be resent later
+	 */
+	void onSend(Message message, SessionID sessionID, boolean sent);
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import io.allune.quickfixj.spring.boot.starter.exception.SendRejectedException;
+import org.springframework.util.Assert;
+import quickfix.ConfigError;
+import quickfix.FieldConvertError;
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.MsgType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Paces the messages sent by the {@link QuickFixJTemplate} with a {@link TokenBucket} per session, and per MsgType of
+ * each session, so that the message-rate limits of the counterparty are not exceeded.
+ * <p>
+ * A message is sent once it gets a token from the bucket of its session and from the bucket of its MsgType, when
+ * they are limited. When no token is available, the {@link ThrottlePolicy} decides whether the sending thread waits
+ * for it or the message is rejected with a {@link SendRejectedException}. Taking a token does not lock.
+ * <p>
+ * The limits of the sessions can be read from their settings with {@link #configure(SessionSettings)}, using the
+ * {@value #SETTING_SEND_RATE_LIMIT} and {@value #SETTING_SEND_RATE_LIMIT_BURST} settings. The limits are meant to be
+ * set before the first message is sent, the buckets of a session being created on its first message.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class SendRateLimiter {
+
+	/**
+	 * Number of messages per second sent to the session.
+	 */
+	public static final String SETTING_SEND_RATE_LIMIT = "SendRateLimit";
+
+	/**
+	 * Number of messages that can be sent at once to the session after an idle period, by default the
+	 * {@value #SETTING_SEND_RATE_LIMIT}.
+	 */
+	public static final String SETTING_SEND_RATE_LIMIT_BURST = "SendRateLimitBurst";
+
+	public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+
+	private static final SessionBuckets UNLIMITED = new SessionBuckets(null);
+
+	private final ThrottlePolicy throttlePolicy;
+
+	private final Map<SessionID, SessionBuckets> sessionBuckets = new ConcurrentHashMap<>();
+
+	private final Map<SessionID, RateLimit> sessionLimits = new ConcurrentHashMap<>();
+
+	private final Map<String, RateLimit> msgTypeLimits = new ConcurrentHashMap<>();
+
+	private RateLimit defaultLimit;
+
+	private long maxWaitNanos = DEFAULT_MAX_WAIT.toNanos();
+
+	private volatile Consumer<TokenBucket> bucketListener;
+
+	public SendRateLimiter(ThrottlePolicy throttlePolicy) {
+		Assert.notNull(throttlePolicy, "'throttlePolicy' must not be null");
+		this.throttlePolicy = throttlePolicy;
+	}
+
+	public ThrottlePolicy getThrottlePolicy() {
+		return throttlePolicy;
+	}
+
+	/**
+	 * Set the maximum time a message waits for a token with the {@link ThrottlePolicy#QUEUE} policy. Default is one
+	 * second.
+	 *
+	 * @param maxWait the maximum wait
+	 */
+	public void setMaxWait(Duration maxWait) {
+		Assert.notNull(maxWait, "'maxWait' must not be null");
+		Assert.isTrue(!maxWait.isNegative(), "'maxWait' must not be negative");
+		this.maxWaitNanos = maxWait.toNanos();
+	}
+
+	/**
+	 * Set the rate limit of the sessions without a specific limit. The sessions are not limited by default.
+	 *
+	 * @param defaultLimit the rate limit, or {@code null} for no limit
+	 */
+	public void setDefaultLimit(RateLimit defaultLimit) {
+		this.defaultLimit = defaultLimit;
+	}
+
+	/**
+	 * Set the rate limit of the given session.
+	 *
+	 * @param sessionID the ID of the session
+	 * @param rateLimit the rate limit
+	 */
+	public void setLimit(SessionID sessionID, RateLimit rateLimit) {
+		Assert.notNull(sessionID, "'sessionID' must not be null");
+		Assert.notNull(rateLimit, "'rateLimit' must not be null");
+		sessionLimits.put(sessionID, rateLimit);
+	}
+
+	/**
+	 * Set the rate limit of the messages of the given MsgType, applied to each session on top of the limit of the
+	 * session.
+	 *
+	 * @param msgType   the MsgType
+	 * @param rateLimit the rate limit
+	 */
+	public void setMsgTypeLimit(String msgType, RateLimit rateLimit) {
+		Assert.hasText(msgType, "'msgType' must not be empty");
+		Assert.notNull(rateLimit, "'rateLimit' must not be null");
+		msgTypeLimits.put(msgType, rateLimit);
+	}
+
+	/**
+	 * Read the rate limits of the sessions defined in the given settings, from their {@value #SETTING_SEND_RATE_LIMIT}
+	 * and {@value #SETTING_SEND_RATE_LIMIT_BURST} settings, including the ones inherited from the default section.
+	 *
+	 * @param sessionSettings the session settings
+	 */
+	public void configure(SessionSettings sessionSettings) {
+		Iterator<SessionID> sessionIDs = sessionSettings.sectionIterator();
+		while (sessionIDs.hasNext()) {
+			SessionID sessionID = sessionIDs.next();
+			try {
+				if (sessionSettings.isSetting(sessionID, SETTING_SEND_RATE_LIMIT)) {
+					int messagesPerSecond = (int) sessionSettings.getLong(sessionID, SETTING_SEND_RATE_LIMIT);
+					int burst = sessionSettings.isSetting(sessionID, SETTING_SEND_RATE_LIMIT_BURST)
+							? (int) sessionSettings.getLong(sessionID, SETTING_SEND_RATE_LIMIT_BURST)
+							: messagesPerSecond;
+					setLimit(sessionID, RateLimit.of(messagesPerSecond, burst));
+				}
+			} catch (ConfigError | FieldConvertError e) {
+				throw new IllegalArgumentException("Invalid send rate limit of session " + sessionID + ": " + e.getMessage(), e);
+			}
+		}
+	}
+
+	/**
+	 * Set the callback notified of each {@link TokenBucket} created, on the sending thread.
+	 *
+	 * @param bucketListener the callback, or {@code null} to remove it
+	 */
+	public void setBucketListener(Consumer<TokenBucket> bucketListener) {
+		this.bucketListener = bucketListener;
+	}
+
+	/**
+	 * Return the {@link TokenBucket}s created so far.
+	 */
+	public Collection<TokenBucket> getBuckets() {
+		List<TokenBucket> buckets = new ArrayList<>();
+		for (SessionBuckets sessionBuckets : sessionBuckets.values()) {
+			if (sessionBuckets.sessionBucket != null) {
+				buckets.add(sessionBuckets.sessionBucket);
+			}
+			buckets.addAll(sessionBuckets.msgTypeBuckets.values());
+		}
+		return buckets;
+	}
+
+	/**
+	 * Take the tokens needed to send the given message, waiting for them if the policy allows it.
+	 *
+	 * @param message   the message to send
+	 * @param sessionID the ID of the session the message is sent to
+	 * @throws SendRejectedException if the message cannot be sent within the rate limits
+	 */
+	public void acquire(Message message, SessionID sessionID) {
+		SessionBuckets buckets = sessionBuckets.get(sessionID);
+		if (buckets == null) {
+			buckets = sessionBuckets.computeIfAbsent(sessionID, this::createSessionBuckets);
+		}
+		if (buckets == UNLIMITED) {
+			return;
+		}
+		TokenBucket sessionBucket = buckets.sessionBucket;
+		TokenBucket msgTypeBucket = msgTypeLimits.isEmpty() ? null : msgTypeBucket(buckets, sessionID, message);
+		if (sessionBucket == null && msgTypeBucket == null) {
+			return;
+		}
+
+		long now = System.nanoTime();
+		long maxWait = switch (throttlePolicy) {
+			case BLOCK -> Long.MAX_VALUE;
+			case QUEUE -> maxWaitNanos;
+			case REJECT -> 0;
+		};
+		long wait = 0;
+		if (msgTypeBucket != null) {
+			wait = reserve(msgTypeBucket, now, maxWait, sessionID);
+		}
+		if (sessionBucket != null) {
+			long sessionWait = sessionBucket.reserve(now, maxWait);
+			if (sessionWait < 0) {
+				if (msgTypeBucket != null) {
+					msgTypeBucket.cancel();
+				}
+				throw rejected(sessionBucket, sessionID);
+			}
+			if (sessionWait > 0) {
+				sessionBucket.onThrottled();
+			}
+			wait = Math.max(wait, sessionWait);
+		}
+		if (wait > 0) {
+			await(now + wait, sessionID);
+		}
+	}
+
+	private long reserve(TokenBucket bucket, long now, long maxWait, SessionID sessionID) {
+		long wait = bucket.reserve(now, maxWait);
+		if (wait < 0) {
+			throw rejected(bucket, sessionID);
+		}
+		if (wait > 0) {
+			bucket.onThrottled();
+		}
+		return wait;
+	}
+
+	private static SendRejectedException rejected(TokenBucket bucket, SessionID sessionID) {
+		bucket.onRejected();
+		return new SendRejectedException("Send rate limit of " + bucket.getRateLimit() + " exceeded for session "
+				+ sessionID + (bucket.getMsgType() != null ? " and MsgType " + bucket.getMsgType() : ""));
+	}
+
+	private static void await(long deadline, SessionID sessionID) {
+		long remaining;
+		while ((remaining = deadline - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(remaining);
+			if (Thread.interrupted()) {
+				Thread.currentThread().interrupt();
+				throw new SendRejectedException("Interrupted while waiting for the send rate limit of session " + sessionID);
+			}
+		}
+	}
+
+	private SessionBuckets createSessionBuckets(SessionID sessionID) {
+		RateLimit rateLimit = sessionLimits.getOrDefault(sessionID, defaultLimit);
+		if (rateLimit == null && msgTypeLimits.isEmpty()) {
+			return UNLIMITED;
+		}
+		return new SessionBuckets(rateLimit != null ? newBucket(sessionID, null, rateLimit) : null);
+	}
+
+	private TokenBucket msgTypeBucket(SessionBuckets buckets, SessionID sessionID, Message message) {
+		String msgType;
+		try {
+			msgType = message.getHeader().getString(MsgType.FIELD);
+		} catch (FieldNotFound e) {
+			return null;
+		}
+		TokenBucket bucket = buckets.msgTypeBuckets.get(msgType);
+		if (bucket == null) {
+			RateLimit rateLimit = msgTypeLimits.get(msgType);
+			if (rateLimit == null) {
+				return null;
+			}
+			bucket = buckets.msgTypeBuckets.computeIfAbsent(msgType, key -> newBucket(sessionID, key, rateLimit));
+		}
+		return bucket;
+	}
+
+	private TokenBucket newBucket(SessionID sessionID, String msgType, RateLimit rateLimit) {
+		TokenBucket bucket = new TokenBucket(sessionID, msgType, rateLimit, System.nanoTime());
+		Consumer<TokenBucket> listener = bucketListener;
+		if (listener != null) {
+			listener.accept(bucket);
+		}
+		return bucket;
+	}
+
+	private static class SessionBuckets {
+
+		private final TokenBucket sessionBucket;
+
+		private final Map<String, TokenBucket> msgTypeBuckets = new ConcurrentHashMap<>();
+
+		SessionBuckets(TokenBucket sessionBucket) {
+			this.sessionBucket = sessionBucket;
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.apache.mina.core.filterchain.IoFilter.NextFilter;
+import org.apache.mina.core.future.DefaultWriteFuture;
+import org.apache.mina.core.future.WriteFuture;
+import org.apache.mina.core.session.AbstractIoSession;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.core.write.DefaultWriteRequest;
+import org.apache.mina.core.write.WriteRequest;
+import org.apache.mina.core.write.WriteRequestQueue;
+import org.apache.mina.core.write.WriteToClosedSessionException;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.mina.SessionConnector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffer of the encoded messages written to an {@link IoSession}, written to the next filter of the chain in a single
+ * write request when it reaches the maximum batch size, when the first buffered message has waited for the maximum
+ * delay, on an explicit {@link #flush()}, or before the connection is closed once the pending writes are flushed.
+ * <p>
+ * The messages are written in the order they are handed over, so the sequence numbers stay in order on the wire. The
+ * futures of the buffered write requests complete when the batch they belong to is written.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class SessionBatch {
+
+	private final IoSession ioSession;
+
+	private final NextFilter nextFilter;
+
+	private final OutboundBatching outboundBatching;
+
+	private final ScheduledExecutorService scheduler;
+
+	private final int maxBatchSize;
+
+	private final long maxDelayNanos;
+
+	private List<WriteRequest> requests = new ArrayList<>();
+
+	private int size;
+
+	private boolean flushScheduled;
+
+	SessionBatch(IoSession ioSession, NextFilter nextFilter, OutboundBatching outboundBatching,
+			ScheduledExecutorService scheduler) {
+		this.ioSession = ioSession;
+		this.nextFilter = nextFilter;
+		this.outboundBatching = outboundBatching;
+		this.scheduler = scheduler;
+		this.maxBatchSize = outboundBatching.getMaxBatchSize();
+		this.maxDelayNanos = outboundBatching.getMaxDelay().toNanos();
+		if (ioSession instanceof AbstractIoSession) {
+			// IoSession.closeOnFlush() queues the close request straight away, bypassing the filter chain
+			AbstractIoSession session = (AbstractIoSession) ioSession;
+			session.setWriteRequestQueue(new FlushingWriteRequestQueue(session.getWriteRequestQueue()));
+		}
+	}
+
+	/**
+	 * Return the ID of the QuickFIX/J session of the connection, or null if it is not known yet
+	 */
+	SessionID getSessionID() {
+		Object session = ioSession.getAttribute(SessionConnector.QF_SESSION);
+		return session instanceof Session ? ((Session) session).getSessionID() : null;
+	}
+
+	synchronized void write(WriteRequest request) {
+		if (!(request.getMessage() instanceof IoBuffer)) {
+			flush();
+			nextFilter.filterWrite(ioSession, request);
+			return;
+		}
+		requests.add(request);
+		size += ((IoBuffer) request.getMessage()).remaining();
+		if (size >= maxBatchSize) {
+			flush();
+		} else if (!flushScheduled) {
+			flushScheduled = true;
+			scheduler.schedule(this::flush, maxDelayNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	synchronized void flush() {
+		flushScheduled = false;
+		if (requests.isEmpty()) {
+			return;
+		}
+		List<WriteRequest> batch = requests;
+		requests = new ArrayList<>();
+		int batchSize = size;
+		size = 0;
+		if (ioSession.isClosing()) {
+			fail(batch);
+			return;
+		}
+		outboundBatching.onFlush(batch.size());
+		if (batch.size() == 1) {
+			nextFilter.filterWrite(ioSession, batch.get(0));
+			return;
+		}
+		IoBuffer buffer = IoBuffer.allocate(batchSize);
+		for (WriteRequest request : batch) {
+			buffer.put(((IoBuffer) request.getMessage()).duplicate());
+		}
+		buffer.flip();
+		nextFilter.filterWrite(ioSession, new BatchWriteRequest(buffer, new DefaultWriteFuture(ioSession), batch));
+	}
+
+	/**
+	 * Discard the buffered messages as the connection is closed, failing their write futures
+	 */
+	synchronized void close() {
+		List<WriteRequest> batch = requests;
+		requests = new ArrayList<>();
+		size = 0;
+		fail(batch);
+	}
+
+	private void fail(List<WriteRequest> batch) {
+		for (WriteRequest request : batch) {
+			request.getFuture().setException(new WriteToClosedSessionException(request));
+		}
+	}
+
+	/**
+	 * Write request of a batch of encoded messages, completing the futures of the write requests of the messages
+	 */
+	static class BatchWriteRequest extends DefaultWriteRequest {
+
+		private final List<WriteRequest> requests;
+
+		BatchWriteRequest(IoBuffer buffer, WriteFuture future, List<WriteRequest> requests) {
+			super(buffer, future);
+			this.requests = requests;
+			future.addListener(completed -> {
+				WriteFuture batchFuture = (WriteFuture) completed;
+				for (WriteRequest request : requests) {
+					if (batchFuture.isWritten()) {
+						request.getFuture().setWritten();
+					} else if (batchFuture.getException() != null) {
+						request.getFuture().setException(batchFuture.getException());
+					} else {
+						request.getFuture().setException(new WriteToClosedSessionException(request));
+					}
+				}
+			});
+		}
+
+		List<WriteRequest> getRequests() {
+			return requests;
+		}
+	}
+
+	private class FlushingWriteRequestQueue implements WriteRequestQueue {
+
+		private final WriteRequestQueue delegate;
+
+		FlushingWriteRequestQueue(WriteRequestQueue delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public WriteRequest poll(IoSession session) {
+			return delegate.poll(session);
+		}
+
+		@Override
+		public void offer(IoSession session, WriteRequest writeRequest) {
+			if (writeRequest == AbstractIoSession.CLOSE_REQUEST) {
+				flush();
+			}
+			delegate.offer(session, writeRequest);
+		}
+
+		@Override
+		public boolean isEmpty(IoSession session) {
+			return delegate.isEmpty(session);
+		}
+
+		@Override
+		public void clear(IoSession session) {
+			delegate.clear(session);
+		}
+
+		@Override
+		public void dispose(IoSession session) {
+			delegate.dispose(session);
+		}
+
+		@Override
+		public int size() {
+			return delegate.size();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.SessionID;
+
+import java.util.List;
+
+/**
+ * Named group of sessions connected to the same counterparty, for instance with different qualifiers or
+ * SenderSubIDs, among which the {@link QuickFixJTemplate} spreads the messages sent with
+ * {@link QuickFixJTemplate#sendToGroup(quickfix.Message, String)}. The session of each message is chosen by the
+ * {@link SessionSelectionStrategy} of the group among its logged on sessions.
+ * <p>
+ * The strategies keep state per session, a strategy instance is meant to be used by a single group.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class SessionGroup {
+
+	private final String name;
+
+	private final List<SessionID> sessionIDs;
+
+	private final SessionSelectionStrategy selectionStrategy;
+
+	public SessionGroup(String name, List<SessionID> sessionIDs, SessionSelectionStrategy selectionStrategy) {
+		Assert.hasText(name, "'name' must not be empty");
+		Assert.notEmpty(sessionIDs, "'sessionIDs' must not be empty");
+		Assert.noNullElements(sessionIDs, "'sessionIDs' must not contain null elements");
+		Assert.notNull(selectionStrategy, "'selectionStrategy' must not be null");
+		this.name = name;
+		this.sessionIDs = List.copyOf(sessionIDs);
+		this.selectionStrategy = selectionStrategy;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public List<SessionID> getSessionIDs() {
+		return sessionIDs;
+	}
+
+	public SessionSelectionStrategy getSelectionStrategy() {
+		return selectionStrategy;
+	}
+
+	@Override
+	public String toString() {
+		return "SessionGroup{name=" + name + ", sessionIDs=" + sessionIDs + "}";
+	}
+}
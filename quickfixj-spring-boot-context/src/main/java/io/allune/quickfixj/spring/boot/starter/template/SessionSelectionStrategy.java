@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.List;
+
+/**
+ * Chooses the session of a {@link SessionGroup} each message sent to the group is sent to.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@FunctionalInterface
+public interface SessionSelectionStrategy {
+
+	/**
+	 * Called before each message is sent to the group, on the sending thread.
+	 *
+	 * @param message    the message to send
+	 * @param sessionIDs the IDs of the logged on sessions of the group, or of all its existing sessions if none is
+	 *                   logged on, never empty
+	 * @return the ID of the session to send the message to, one of {@code sessionIDs}
+	 */
+	SessionID select(Message message, List<SessionID> sessionIDs);
+
+	/**
+	 * Called when a message is about to be sent, or queued for an asynchronous send, to the selected session.
+	 *
+	 * @param sessionID the ID of the selected session
+	 */
+	default void onSendStarted(SessionID sessionID) {
+	}
+
+	/**
+	 * Called once the message has been handed over to the selected session, or its send failed.
+	 *
+	 * @param sessionID    the ID of the selected session
+	 * @param elapsedNanos the time elapsed since {@link #onSendStarted(SessionID)}, in nanoseconds
+	 */
+	default void onSendCompleted(SessionID sessionID, long elapsedNanos) {
+	}
+
+	/**
+	 * @return a strategy choosing the sessions in turn
+	 */
+	static SessionSelectionStrategy roundRobin() {
+		return new RoundRobinSessionSelectionStrategy();
+	}
+
+	/**
+	 * @return a strategy choosing the session with the fewest messages being sent or queued for an asynchronous send
+	 */
+	static SessionSelectionStrategy leastOutstanding() {
+		return new LeastOutstandingSessionSelectionStrategy();
+	}
+
+	/**
+	 * @return a strategy choosing the session with the lowest recent send latency
+	 */
+	static SessionSelectionStrategy lowestLatency() {
+		return new LowestLatencySessionSelectionStrategy();
+	}
+
+	/**
+	 * Send the messages with the same value of the given field, for instance the Symbol, to the same session, so that
+	 * they are sent in order. The messages without the field are sent to the sessions in turn.
+	 * <p>
+	 * When a session of the group is not logged on, only the keys of that session are sent to other sessions.
+	 *
+	 * @param field the tag of the body field the session is chosen by
+	 * @return the strategy
+	 */
+	static SessionSelectionStrategy stickyByKey(int field) {
+		return new StickyByKeySessionSelectionStrategy(field);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded queue of the asynchronous sends of a session, run one at a time on a shared {@link Executor} so that the
+ * messages of a session are sent in submission order.
+ * <p>
+ * Each run on the executor drains at most {@link #MAX_DRAIN} tasks and is then rescheduled, so that a busy session
+ * does not hold an executor thread while other sessions are waiting.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class SessionSendQueue implements Runnable {
+
+	static final int MAX_DRAIN = 64;
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	private final Executor executor;
+
+	private final int capacity;
+
+	SessionSendQueue(Executor executor, int capacity) {
+		this.executor = executor;
+		this.capacity = capacity;
+	}
+
+	/**
+	 * Queue the task, unless the queue is full.
+	 *
+	 * @param task the task to run
+	 * @return {@code true} if the task was queued, {@code false} if the queue is full
+	 */
+	boolean offer(Runnable task) {
+		if (size.incrementAndGet() > capacity) {
+			size.decrementAndGet();
+			return false;
+		}
+		tasks.add(task);
+		schedule();
+		return true;
+	}
+
+	int size() {
+		return size.get();
+	}
+
+	/**
+	 * @return {@code true} if no task is queued or running
+	 */
+	boolean isIdle() {
+		return size.get() == 0 && !scheduled.get();
+	}
+
+	@Override
+	public void run() {
+		try {
+			Runnable task;
+			int drained = 0;
+			while (drained++ < MAX_DRAIN && (task = tasks.poll()) != null) {
+				size.decrementAndGet();
+				task.run();
+			}
+		} finally {
+			scheduled.set(false);
+		}
+		if (!tasks.isEmpty()) {
+			schedule();
+		}
+	}
+
+	private void schedule() {
+		if (scheduled.compareAndSet(false, true)) {
+			try {
+				executor.execute(this);
+			} catch (RuntimeException e) {
+				scheduled.set(false);
+				throw e;
+			}
+		}
+	}
+}
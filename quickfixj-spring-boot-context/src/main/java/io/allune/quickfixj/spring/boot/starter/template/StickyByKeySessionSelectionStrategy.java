@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.FieldNotFound;
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.List;
+
+/**
+ * {@link SessionSelectionStrategy} sending the messages with the same value of a body field to the same session. The
+ * messages without the field are sent to the sessions in turn.
+ * <p>
+ * The session of a key is chosen by rendezvous hashing: each session gets a score from the hashes of the key and of
+ * the session ID, and the key goes to the session with the highest score. A key only moves when its session is no
+ * longer logged on, the keys of the other sessions stay where they are, and it moves back when its session logs on
+ * again.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+class StickyByKeySessionSelectionStrategy implements SessionSelectionStrategy {
+
+	private final int field;
+
+	private final SessionSelectionStrategy fallback = new RoundRobinSessionSelectionStrategy();
+
+	StickyByKeySessionSelectionStrategy(int field) {
+		this.field = field;
+	}
+
+	@Override
+	public SessionID select(Message message, List<SessionID> sessionIDs) {
+		if (!message.isSetField(field)) {
+			return fallback.select(message, sessionIDs);
+		}
+		String key;
+		try {
+			key = message.getString(field);
+		} catch (FieldNotFound e) {
+			return fallback.select(message, sessionIDs);
+		}
+		long keyHash = (long) key.hashCode() << 32;
+		SessionID selected = null;
+		long highestScore = Long.MIN_VALUE;
+		for (int i = 0; i < sessionIDs.size(); i++) {
+			SessionID sessionID = sessionIDs.get(i);
+			long score = mix(keyHash | (sessionID.hashCode() & 0xFFFFFFFFL));
+			if (selected == null || score > highestScore) {
+				selected = sessionID;
+				highestScore = score;
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 * Finalizer of MurmurHash3, so that the scores of a key are uncorrelated across sessions.
+	 */
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+/**
+ * Defines what the {@link SendRateLimiter} does with a message sent when the rate limit of its session, or of its
+ * MsgType, is reached.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public enum ThrottlePolicy {
+
+	/**
+	 * The sending thread waits until the message can be sent.
+	 */
+	BLOCK,
+
+	/**
+	 * The sending thread waits until the message can be sent, unless it would wait longer than the maximum wait, in
+	 * which case the message is rejected straight away.
+	 */
+	QUEUE,
+
+	/**
+	 * The message is rejected straight away.
+	 */
+	REJECT
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import quickfix.SessionID;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket of the {@link SendRateLimiter}, limiting the messages of a session, or of a MsgType of a session.
+ * <p>
+ * The bucket is kept as the time at which it will be full again (the theoretical arrival time of the generic cell
+ * rate algorithm), so that taking a token is a single compare-and-set, without locking.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+public class TokenBucket {
+
+	private final SessionID sessionID;
+
+	private final String msgType;
+
+	private final RateLimit rateLimit;
+
+	private final long intervalNanos;
+
+	private final long capacityNanos;
+
+	private final AtomicLong fullAt;
+
+	private final LongAdder throttled = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	TokenBucket(SessionID sessionID, String msgType, RateLimit rateLimit, long now) {
+		this.sessionID = sessionID;
+		this.msgType = msgType;
+		this.rateLimit = rateLimit;
+		this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / rateLimit.getMessagesPerSecond();
+		this.capacityNanos = intervalNanos * rateLimit.getBurst();
+		this.fullAt = new AtomicLong(now);
+	}
+
+	/**
+	 * Return the ID of the session of the bucket.
+	 */
+	public SessionID getSessionID() {
+		return sessionID;
+	}
+
+	/**
+	 * Return the MsgType of the bucket, or {@code null} if it limits all the messages of the session.
+	 */
+	public String getMsgType() {
+		return msgType;
+	}
+
+	public RateLimit getRateLimit() {
+		return rateLimit;
+	}
+
+	/**
+	 * Return the number of messages that can currently be sent without waiting.
+	 */
+	public int getAvailableTokens() {
+		return availableTokens(System.nanoTime());
+	}
+
+	/**
+	 * Return the number of messages that waited for a token.
+	 */
+	public long getThrottled() {
+		return throttled.sum();
+	}
+
+	/**
+	 * Return the number of messages rejected because no token was available in time.
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	int availableTokens(long now) {
+		long backlog = Math.max(fullAt.get() - now, 0);
+		return (int) Math.max((capacityNanos - backlog) / intervalNanos, 0);
+	}
+
+	/**
+	 * Take a token, unless it would only be available after the given maximum wait.
+	 *
+	 * @return the time to wait for the token, in nanoseconds, or {@code -1} if no token was taken
+	 */
+	long reserve(long now, long maxWaitNanos) {
+		while (true) {
+			long current = fullAt.get();
+			long next = Math.max(current, now) + intervalNanos;
+			long wait = next - capacityNanos - now;
+			if (wait > maxWaitNanos) {
+				return -1;
+			}
+			if (fullAt.compareAndSet(current, next)) {
+				return Math.max(wait, 0);
+			}
+		}
+	}
+
+	/**
+	 * Give back a token taken with {@link #reserve(long, long)}, when the message is not sent after all.
+	 */
+	void cancel() {
+		fullAt.addAndGet(-intervalNanos);
+	}
+
+	void onThrottled() {
+		throttled.increment();
+	}
+
+	void onRejected() {
+		rejected.increment();
+	}
+
+	@Override
+	public String toString() {
+		return "TokenBucket{sessionID=" + sessionID + ", msgType=" + msgType + ", rateLimit=" + rateLimit + "}";
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.springframework.util.Assert;
+import quickfix.Message;
+import quickfix.SessionID;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decides which of the messages sent by the {@link QuickFixJTemplate} are validated against the data dictionary, when
+ * validation is enabled.
+ * <p>
+ * The policies returned by {@link #sampled(int)} and {@link #firstMessages(int)} keep counters per session, they are
+ * meant to be used by a single template.
+ *
+ * @author Eduardo Sanchez-Ros
+ */
+@FunctionalInterface
+public interface ValidationPolicy {
+
+	/**
+	 * Called before each message is sent, on the sending thread.
+	 *
+	 * @param message   the message to send
+	 * @param sessionID the ID of the session the message is sent to
+	 * @return {@code true} if the message must be validated
+	 */
+	boolean shouldValidate(Message message, SessionID sessionID);
+
+	/**
+	 * Called when a session logs on.
+	 *
+	 * @param sessionID the ID of the session
+	 */
+	default void onLogon(SessionID sessionID) {
+	}
+
+	/**
+	 * @return a policy validating every message
+	 */
+	static ValidationPolicy always() {
+		return (message, sessionID) -> true;
+	}
+
+	/**
+	 * @return a policy validating no message
+	 */
+	static ValidationPolicy never() {
+		return (message, sessionID) -> false;
+	}
+
+	/**
+	 * Validate one message out of every {@code sampleRate} messages of each session, starting with the first one.
+	 *
+	 * @param sampleRate the number of messages per validated message
+	 * @return the policy
+	 */
+	static ValidationPolicy sampled(int sampleRate) {
+		return new SampledValidationPolicy(sampleRate);
+	}
+
+	/**
+	 * Validate the first {@code firstMessages} messages of each MsgType after each logon of a session.
+	 *
+	 * @param firstMessages the number of messages validated per MsgType
+	 * @return the policy
+	 */
+	static ValidationPolicy firstMessages(int firstMessages) {
+		return new FirstMessagesValidationPolicy(firstMessages);
+	}
+
+	/**
+	 * Validate the messages of the given MsgTypes only.
+	 *
+	 * @param msgTypes the MsgTypes to validate
+	 * @return the policy
+	 */
+	static ValidationPolicy msgTypes(Collection<String> msgTypes) {
+		return new MsgTypeValidationPolicy(msgTypes);
+	}
+
+	/**
+	 * Validate the messages validated by any of the given policies. The policies are called in order until one of
+	 * them validates the message.
+	 *
+	 * @param policies the policies
+	 * @return the policy
+	 */
+	static ValidationPolicy anyOf(ValidationPolicy... policies) {
+		Assert.noNullElements(policies, "'policies' must not contain null elements");
+		List<ValidationPolicy> delegates = List.of(policies);
+		return new ValidationPolicy() {
+
+			@Override
+			public boolean shouldValidate(Message message, SessionID sessionID) {
+				for (ValidationPolicy delegate : delegates) {
+					if (delegate.shouldValidate(message, sessionID)) {
+						return true;
+					}
+				}
+				return false;
+			}
+
+			@Override
+			public void onLogon(SessionID sessionID) {
+				delegates.forEach(delegate -> delegate.onLogon(sessionID));
+			}
+		};
+	}
+}
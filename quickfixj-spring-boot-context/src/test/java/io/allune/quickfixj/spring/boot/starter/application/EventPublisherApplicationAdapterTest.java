@@ -23,13 +23,19 @@ import io.allune.quickfixj.spring.boot.starter.model.Logout;
 import io.allune.quickfixj.spring.boot.starter.model.ToAdmin;
 import io.allune.quickfixj.spring.boot.starter.model.ToApp;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.context.ApplicationEventPublisher;
 import quickfix.Message;
 import quickfix.SessionID;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.isA;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 public class EventPublisherApplicationAdapterTest {
 
@@ -141,4 +147,101 @@ public class EventPublisherApplicationAdapterTest {
 		// Mock will record the interactions. We just need to verify if the call was made
 		verify(applicationEventPublisher).publishEvent(isA(ToApp.class));
 	}
-}
\ No newline at end of file
+
+	@Test
+	public void testFromAppWithEventDispatcher() {
+		// mock dependencies
+		ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+		EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+		EventPublisherApplicationAdapter adapter = new EventPublisherApplicationAdapter(applicationEventPublisher, eventDispatcher);
+
+		Message message = mock(Message.class);
+		SessionID sessionId = mock(SessionID.class);
+
+		// invoke the method under test.
+		adapter.fromApp(message, sessionId);
+
+		// The event is handed over to the dispatcher instead of being published on the calling thread
+		verify(eventDispatcher).dispatch(eq(sessionId), isA(FromApp.class));
+		verifyNoInteractions(applicationEventPublisher);
+	}
+
+	@Test
+	public void testFromAppNotifiesReceiveListenerBeforeDispatching() {
+		// mock dependencies
+		ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+		EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+		ReceiveListener receiveListener = mock(ReceiveListener.class);
+		EventPublisherApplicationAdapter adapter = new EventPublisherApplicationAdapter(applicationEventPublisher, eventDispatcher);
+		adapter.setReceiveListener(receiveListener);
+
+		Message message = mock(Message.class);
+		SessionID sessionId = mock(SessionID.class);
+
+		// invoke the method under test.
+		adapter.fromApp(message, sessionId);
+
+		// The listener is notified on the calling thread before the event is handed over to the dispatcher
+		InOrder inOrder = inOrder(receiveListener, eventDispatcher);
+		inOrder.verify(receiveListener).onReceive(message, sessionId);
+		inOrder.verify(eventDispatcher).dispatch(eq(sessionId), isA(FromApp.class));
+	}
+
+	@Test
+	public void testFromAdminAndLifecycleEventsWithEventDispatcher() {
+		// mock dependencies
+		ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+		EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+		EventPublisherApplicationAdapter adapter = new EventPublisherApplicationAdapter(applicationEventPublisher, eventDispatcher);
+
+		Message message = mock(Message.class);
+		SessionID sessionId = mock(SessionID.class);
+
+		// invoke the methods under test.
+		adapter.onCreate(sessionId);
+		adapter.fromAdmin(message, sessionId);
+		adapter.onLogon(sessionId);
+		adapter.onLogout(sessionId);
+
+		// Administrative and lifecycle events are always published on the calling thread
+		verify(applicationEventPublisher).publishEvent(isA(Create.class));
+		verify(applicationEventPublisher).publishEvent(isA(FromAdmin.class));
+		verify(applicationEventPublisher).publishEvent(isA(Logon.class));
+		verify(applicationEventPublisher).publishEvent(isA(Logout.class));
+		verifyNoInteractions(eventDispatcher);
+	}
+
+	@Test
+	public void testFromAdminPropagatesListenerExceptionWithEventDispatcher() {
+		// mock dependencies
+		ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+		EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+		EventPublisherApplicationAdapter adapter = new EventPublisherApplicationAdapter(applicationEventPublisher, eventDispatcher);
+		willThrow(new IllegalStateException("Logon rejected")).given(applicationEventPublisher).publishEvent(isA(FromAdmin.class));
+
+		Message message = mock(Message.class);
+		SessionID sessionId = mock(SessionID.class);
+
+		// The exception thrown by the listener reaches the session
+		assertThatThrownBy(() -> adapter.fromAdmin(message, sessionId))
+				.hasRootCauseMessage("Logon rejected");
+	}
+
+	@Test
+	public void testToAppWithEventDispatcher() {
+		// mock dependencies
+		ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+		EventDispatcher eventDispatcher = mock(EventDispatcher.class);
+		EventPublisherApplicationAdapter adapter = new EventPublisherApplicationAdapter(applicationEventPublisher, eventDispatcher);
+
+		Message message = mock(Message.class);
+		SessionID sessionId = mock(SessionID.class);
+
+		// invoke the method under test.
+		adapter.toApp(message, sessionId);
+
+		// Outgoing events are always published on the calling thread
+		verify(applicationEventPublisher).publishEvent(isA(ToApp.class));
+		verifyNoInteractions(eventDispatcher);
+	}
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class EventRingBufferTest {
+
+	@Test
+	public void shouldRoundCapacityToPowerOfTwo() {
+		assertThat(new EventRingBuffer(1).getCapacity()).isEqualTo(1);
+		assertThat(new EventRingBuffer(1000).getCapacity()).isEqualTo(1024);
+		assertThat(new EventRingBuffer(1024).getCapacity()).isEqualTo(1024);
+	}
+
+	@Test
+	public void shouldRejectInvalidSize() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new EventRingBuffer(0));
+	}
+
+	@Test
+	public void shouldPollEventsInClaimOrder() {
+		// Given
+		EventRingBuffer ringBuffer = new EventRingBuffer(4);
+		long first = ringBuffer.tryClaim();
+		long second = ringBuffer.tryClaim();
+
+		// When
+		ringBuffer.publish(second, "second");
+
+		// Then
+		assertThat(ringBuffer.poll()).isNull();
+		ringBuffer.publish(first, "first");
+		assertThat(ringBuffer.size()).isEqualTo(2);
+		assertThat(ringBuffer.poll()).isEqualTo("first");
+		assertThat(ringBuffer.poll()).isEqualTo("second");
+		assertThat(ringBuffer.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void shouldNotClaimWhenFull() {
+		// Given
+		EventRingBuffer ringBuffer = new EventRingBuffer(2);
+		ringBuffer.publish(ringBuffer.tryClaim(), "first");
+		ringBuffer.publish(ringBuffer.tryClaim(), "second");
+
+		// When
+		long rejected = ringBuffer.tryClaim();
+		ringBuffer.poll();
+		long claimed = ringBuffer.tryClaim();
+
+		// Then
+		assertThat(rejected).isEqualTo(-1);
+		assertThat(claimed).isEqualTo(2);
+	}
+}
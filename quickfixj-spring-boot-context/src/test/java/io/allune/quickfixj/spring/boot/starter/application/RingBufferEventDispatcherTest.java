@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import io.allune.quickfixj.spring.boot.starter.exception.EventDispatchException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import quickfix.SessionID;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class RingBufferEventDispatcherTest {
+
+	private final SessionID sessionID = new SessionID("FIX.4.2", "SENDER", "TARGET");
+
+	private final List<Object> publishedEvents = new CopyOnWriteArrayList<>();
+
+	private final List<Thread> publishingThreads = new CopyOnWriteArrayList<>();
+
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	private RingBufferEventDispatcher eventDispatcher;
+
+	@AfterEach
+	public void tearDown() {
+		release.countDown();
+		if (eventDispatcher != null) {
+			eventDispatcher.stop();
+		}
+	}
+
+	@Test
+	public void shouldPublishOnCallingThreadWhenNotRunning() {
+		// Given
+		eventDispatcher = new RingBufferEventDispatcher(recordingConsumer());
+
+		// When
+		eventDispatcher.dispatch(sessionID, "event");
+
+		// Then
+		assertThat(publishedEvents).containsExactly("event");
+		assertThat(publishingThreads).containsExactly(Thread.currentThread());
+	}
+
+	@Test
+	public void shouldPublishEventsInOrderOnDispatcherThread() {
+		// Given
+		eventDispatcher = new RingBufferEventDispatcher(recordingConsumer(), 8);
+		eventDispatcher.setThreadName("events-test");
+		eventDispatcher.start();
+
+		// When
+		for (int i = 0; i < 100; i++) {
+			eventDispatcher.dispatch(sessionID, i);
+		}
+		eventDispatcher.stop();
+
+		// Then
+		assertThat(publishedEvents).hasSize(100);
+		for (int i = 0; i < 100; i++) {
+			assertThat(publishedEvents.get(i)).isEqualTo(i);
+		}
+		assertThat(publishingThreads).allMatch(thread -> thread.getName().equals("events-test"));
+		assertThat(eventDispatcher.getOccupancy()).isZero();
+	}
+
+	@Test
+	public void shouldKeepPublishingWhenListenerThrowsException() {
+		// Given
+		Consumer<Object> recordingConsumer = recordingConsumer();
+		eventDispatcher = new RingBufferEventDispatcher(event -> {
+			recordingConsumer.accept(event);
+			if ("failing".equals(event)) {
+				throw new IllegalStateException("Listener failed");
+			}
+		});
+		eventDispatcher.start();
+
+		// When
+		eventDispatcher.dispatch(sessionID, "failing");
+		eventDispatcher.dispatch(sessionID, "next");
+		eventDispatcher.stop();
+
+		// Then
+		assertThat(publishedEvents).containsExactly("failing", "next");
+	}
+
+	@Test
+	public void shouldDropEventsWhenFull() throws InterruptedException {
+		// Given
+		eventDispatcher = new RingBufferEventDispatcher(blockingConsumer(), 2);
+		eventDispatcher.setOverflowPolicy(OverflowPolicy.DROP);
+		eventDispatcher.start();
+		fillRingBuffer();
+
+		// When
+		eventDispatcher.dispatch(sessionID, "dropped");
+
+		// Then
+		assertThat(eventDispatcher.getDroppedEvents()).isEqualTo(1);
+		release.countDown();
+		eventDispatcher.stop();
+		assertThat(publishedEvents).containsExactly("blocking", "first", "second");
+	}
+
+	@Test
+	public void shouldFailWhenFull() throws InterruptedException {
+		// Given
+		eventDispatcher = new RingBufferEventDispatcher(blockingConsumer(), 2);
+		eventDispatcher.setOverflowPolicy(OverflowPolicy.FAIL);
+		eventDispatcher.start();
+		fillRingBuffer();
+
+		// When/Then
+		assertThatExceptionOfType(EventDispatchException.class)
+				.isThrownBy(() -> eventDispatcher.dispatch(sessionID, "rejected"))
+				.withMessageContaining(sessionID.toString());
+	}
+
+	@Test
+	public void shouldBlockWhenFullUntilSlotIsAvailable() throws InterruptedException {
+		// Given
+		eventDispatcher = new RingBufferEventDispatcher(blockingConsumer(), 2);
+		eventDispatcher.start();
+		fillRingBuffer();
+		Thread producer = new Thread(() -> eventDispatcher.dispatch(sessionID, "third"));
+		producer.start();
+
+		// When
+		release.countDown();
+		producer.join(TimeUnit.SECONDS.toMillis(5));
+		eventDispatcher.stop();
+
+		// Then
+		assertThat(publishedEvents).containsExactly("blocking", "first", "second", "third");
+	}
+
+	@Test
+	public void shouldPublishEventsDispatchedWhileStoppingAfterQueuedEvents() throws InterruptedException {
+		// Given
+		eventDispatcher = new RingBufferEventDispatcher(blockingConsumer(), 8);
+		eventDispatcher.start();
+		eventDispatcher.dispatch(sessionID, "blocking");
+		eventDispatcher.dispatch(sessionID, "queued");
+		Thread stopping = new Thread(eventDispatcher::stop);
+		stopping.start();
+		await().atMost(5, TimeUnit.SECONDS).until(() -> !eventDispatcher.isRunning());
+		Thread producer = new Thread(() -> eventDispatcher.dispatch(sessionID, "after stop"));
+		producer.start();
+
+		// When
+		release.countDown();
+		producer.join(TimeUnit.SECONDS.toMillis(5));
+		stopping.join(TimeUnit.SECONDS.toMillis(5));
+
+		// Then
+		assertThat(publishedEvents).containsExactly("blocking", "queued", "after stop");
+		assertThat(eventDispatcher.getOccupancy()).isZero();
+	}
+
+	private void fillRingBuffer() throws InterruptedException {
+		eventDispatcher.dispatch(sessionID, "blocking");
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (eventDispatcher.getOccupancy() > 0 && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+		eventDispatcher.dispatch(sessionID, "first");
+		eventDispatcher.dispatch(sessionID, "second");
+		assertThat(eventDispatcher.getOccupancy()).isEqualTo(2);
+	}
+
+	private Consumer<Object> recordingConsumer() {
+		return event -> {
+			publishedEvents.add(event);
+			publishingThreads.add(Thread.currentThread());
+		};
+	}
+
+	private Consumer<Object> blockingConsumer() {
+		Consumer<Object> recordingConsumer = recordingConsumer();
+		return event -> {
+			recordingConsumer.accept(event);
+			if ("blocking".equals(event)) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import quickfix.SessionID;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class ShardedEventDispatcherTest {
+
+	private final Map<SessionID, List<Integer>> publishedEvents = new ConcurrentHashMap<>();
+
+	private final Map<SessionID, Set<String>> publishingThreads = new ConcurrentHashMap<>();
+
+	private ShardedEventDispatcher eventDispatcher;
+
+	@AfterEach
+	public void tearDown() {
+		if (eventDispatcher != null) {
+			eventDispatcher.stop();
+		}
+	}
+
+	@Test
+	public void shouldRejectInvalidShardCount() {
+		assertThatIllegalArgumentException().isThrownBy(() -> new ShardedEventDispatcher(event -> {
+		}, 0, 16));
+	}
+
+	@Test
+	public void shouldPublishEventsOfEachSessionInOrderOnSameShard() {
+		// Given
+		eventDispatcher = new ShardedEventDispatcher(event -> {
+			SessionEvent sessionEvent = (SessionEvent) event;
+			publishedEvents.computeIfAbsent(sessionEvent.sessionID, id -> new CopyOnWriteArrayList<>()).add(sessionEvent.sequence);
+			publishingThreads.computeIfAbsent(sessionEvent.sessionID, id -> ConcurrentHashMap.newKeySet())
+					.add(Thread.currentThread().getName());
+		}, 4, 16);
+		eventDispatcher.setThreadNamePrefix("shard-");
+		eventDispatcher.start();
+		List<SessionID> sessionIDs = IntStream.range(0, 20)
+				.mapToObj(i -> new SessionID("FIX.4.2", "SENDER" + i, "TARGET"))
+				.collect(Collectors.toList());
+
+		// When
+		for (int sequence = 0; sequence < 100; sequence++) {
+			for (SessionID sessionID : sessionIDs) {
+				eventDispatcher.dispatch(sessionID, new SessionEvent(sessionID, sequence));
+			}
+		}
+		eventDispatcher.stop();
+
+		// Then
+		List<Integer> expectedSequences = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+		sessionIDs.forEach(sessionID -> {
+			assertThat(publishedEvents.get(sessionID)).isEqualTo(expectedSequences);
+			assertThat(publishingThreads.get(sessionID))
+					.containsExactly("shard-" + eventDispatcher.getShards().indexOf(eventDispatcher.shardFor(sessionID)));
+		});
+		assertThat(publishingThreads.values().stream().flatMap(Set::stream).distinct().count()).isGreaterThan(1);
+	}
+
+	private static class SessionEvent {
+
+		private final SessionID sessionID;
+
+		private final int sequence;
+
+		SessionEvent(SessionID sessionID, int sequence) {
+			this.sessionID = sessionID;
+			this.sequence = sequence;
+		}
+	}
+}
@@ -17,18 +17,34 @@ package io.allune.quickfixj.spring.boot.starter.connection;
 
 import io.allune.quickfixj.spring.boot.starter.exception.ConfigurationException;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import quickfix.ConfigError;
 import quickfix.Connector;
 import quickfix.RuntimeError;
+import quickfix.Session;
+import quickfix.SessionID;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * @author Eduardo Sanchez-Ros
@@ -66,10 +82,111 @@ public class ConnectorManagerTest {
 
 		Runnable callback = mock(Runnable.class);
 		connectorManager.stop(callback);
+
+		verify(callback, timeout(1000)).run();
+		verify(connector).stop(true);
 		assertThat(connectorManager.isRunning()).isFalse();
+	}
 
-		verify(connector).stop(false);
+	@Test
+	public void shouldNotBlockWhileWaitingForSessionsToLogoutOnStopWithCallback() throws Exception {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		SessionID sessionID = new SessionID("FIX.4.4", "SENDER", "TARGET");
+		Session session = mock(Session.class);
+		given(connector.getSessions()).willReturn(new ArrayList<>(List.of(sessionID)));
+		given(session.isLoggedOn()).willReturn(true);
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		connectorManager.setSessionLookupHandler(Map.of(sessionID, session)::get);
+		connectorManager.setStopTimeout(Duration.ofMillis(300));
+		connectorManager.start();
+		CountDownLatch stopped = new CountDownLatch(1);
+
+		// When
+		long startTime = System.nanoTime();
+		connectorManager.stop(stopped::countDown);
+		long returnTime = System.nanoTime();
+
+		// Then
+		assertThat(stopped.getCount()).isOne();
+		assertThat(Duration.ofNanos(returnTime - startTime)).isLessThan(Duration.ofMillis(300));
+		assertThat(stopped.await(2, TimeUnit.SECONDS)).isTrue();
+		assertThat(Duration.ofNanos(System.nanoTime() - startTime)).isGreaterThanOrEqualTo(Duration.ofMillis(300));
+		verify(session).logout();
+		verify(connector).stop(true);
+		assertThat(connectorManager.isRunning()).isFalse();
+	}
+
+	@Test
+	public void shouldWaitForAllSessionsToLogoutOnStopWithCallback() throws Exception {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		SessionID firstSessionID = new SessionID("FIX.4.4", "SENDER", "TARGET", "FIRST");
+		SessionID secondSessionID = new SessionID("FIX.4.4", "SENDER", "TARGET", "SECOND");
+		Session firstSession = mock(Session.class);
+		Session secondSession = mock(Session.class);
+		given(connector.getSessions()).willReturn(new ArrayList<>(List.of(firstSessionID, secondSessionID)));
+		AtomicBoolean firstLoggedOn = new AtomicBoolean(true);
+		AtomicBoolean secondLoggedOn = new AtomicBoolean(true);
+		given(firstSession.isLoggedOn()).willAnswer(invocation -> firstLoggedOn.get());
+		given(secondSession.isLoggedOn()).willAnswer(invocation -> secondLoggedOn.get());
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		connectorManager.setSessionLookupHandler(Map.of(firstSessionID, firstSession, secondSessionID, secondSession)::get);
+		connectorManager.setStopTimeout(Duration.ofSeconds(5));
+		connectorManager.start();
+		CountDownLatch stopped = new CountDownLatch(1);
+
+		// When
+		connectorManager.stop(stopped::countDown);
+		verify(firstSession, timeout(1000)).logout();
+		verify(secondSession, timeout(1000)).logout();
+		firstLoggedOn.set(false);
+
+		// Then
+		assertThat(stopped.await(300, TimeUnit.MILLISECONDS)).isFalse();
+		verify(connector, never()).stop(true);
+
+		secondLoggedOn.set(false);
+		assertThat(stopped.await(1, TimeUnit.SECONDS)).isTrue();
+		verify(connector).stop(true);
+		assertThat(connectorManager.isRunning()).isFalse();
+	}
+
+	@Test
+	public void shouldNotWaitForSessionsToLogoutOnForcedStopWithCallback() throws Exception {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		connectorManager.setForceDisconnect(true);
+		connectorManager.start();
+		CountDownLatch stopped = new CountDownLatch(1);
+
+		// When
+		connectorManager.stop(stopped::countDown);
+
+		// Then
+		assertThat(stopped.await(1, TimeUnit.SECONDS)).isTrue();
+		verify(connector).stop(true);
+		verify(connector, never()).getSessions();
+	}
+
+	@Test
+	public void shouldRunCallbackWhenStoppingConnectorNotRunning() {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		Runnable callback = mock(Runnable.class);
+
+		// When
+		connectorManager.stop(callback);
+
+		// Then
 		verify(callback).run();
+		verifyNoInteractions(connector);
 	}
 
 	@Test
@@ -120,6 +237,62 @@ public class ConnectorManagerTest {
 		verify(connector).start();
 	}
 
+	@Test
+	public void shouldInitializeSessionsBeforeStartingConnector() throws Exception {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		ParallelSessionInitializer sessionInitializer = mock(ParallelSessionInitializer.class);
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		connectorManager.setSessionInitializer(sessionInitializer);
+
+		// When
+		connectorManager.start();
+
+		// Then
+		InOrder inOrder = inOrder(sessionInitializer, connector);
+		inOrder.verify(sessionInitializer).initialize();
+		inOrder.verify(connector).start();
+		assertThat(connectorManager.isRunning()).isTrue();
+	}
+
+	@Test
+	public void shouldThrowConfigurationExceptionUponSessionInitializationFailure() throws Exception {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		ParallelSessionInitializer sessionInitializer = mock(ParallelSessionInitializer.class);
+		willThrow(RuntimeError.class).given(sessionInitializer).initialize();
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		connectorManager.setSessionInitializer(sessionInitializer);
+
+		// When/Then
+		assertThatThrownBy(connectorManager::start)
+				.isInstanceOf(ConfigurationException.class);
+		verify(connector, never()).start();
+		assertThat(connectorManager.isRunning()).isFalse();
+	}
+
+	@Test
+	public void shouldCloseSessionInitializerUponConnectorStartFailure() throws Exception {
+
+		// Given
+		Connector connector = mock(Connector.class);
+		willThrow(RuntimeError.class).given(connector).start();
+		ParallelSessionInitializer sessionInitializer = mock(ParallelSessionInitializer.class);
+		ConnectorManager connectorManager = new ConnectorManager(connector);
+		connectorManager.setSessionInitializer(sessionInitializer);
+
+		// When/Then
+		assertThatThrownBy(connectorManager::start)
+				.isInstanceOf(ConfigurationException.class);
+		InOrder inOrder = inOrder(sessionInitializer, connector);
+		inOrder.verify(sessionInitializer).initialize();
+		inOrder.verify(connector).start();
+		inOrder.verify(sessionInitializer).close();
+		assertThat(connectorManager.isRunning()).isFalse();
+	}
+
 	@Test
 	void testIsAutoStartupDefaultTrue() {
 		Connector connector = mock(Connector.class);
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.connection;
+
+import org.junit.jupiter.api.Test;
+import quickfix.Acceptor;
+import quickfix.ConfigError;
+import quickfix.Dictionary;
+import quickfix.Log;
+import quickfix.LogFactory;
+import quickfix.MessageStore;
+import quickfix.MessageStoreFactory;
+import quickfix.RuntimeError;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.Closeable;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class ParallelSessionInitializerTest {
+
+	private static final SessionID SESSION_1 = new SessionID("FIX.4.4", "BANZAI", "EXEC1");
+
+	private static final SessionID SESSION_2 = new SessionID("FIX.4.4", "BANZAI", "EXEC2");
+
+	private static final SessionID TEMPLATE = new SessionID("FIX.4.4", "EXEC", "*");
+
+	@Test
+	public void shouldHandOverPreInitializedStoresAndLogs() throws Exception {
+		// Given
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		MessageStoreFactory messageStoreFactory = sessionID -> {
+			threads.add(Thread.currentThread());
+			return mock(MessageStore.class);
+		};
+		LogFactory logFactory = sessionID -> mock(Log.class);
+		ParallelSessionInitializer initializer = new ParallelSessionInitializer(sessionSettings(), messageStoreFactory, logFactory);
+		initializer.setParallelism(2);
+
+		// When
+		initializer.initialize();
+
+		// Then
+		assertThat(initializer.isInitialized()).isTrue();
+		assertThat(threads).doesNotContain(Thread.currentThread());
+		MessageStore store = initializer.getMessageStoreFactory().create(SESSION_1);
+		Log log = initializer.getLogFactory().create(SESSION_1);
+		assertThat(initializer.getMessageStoreFactory().create(SESSION_1)).isNotSameAs(store);
+		assertThat(initializer.getLogFactory().create(SESSION_1)).isNotSameAs(log);
+	}
+
+	@Test
+	public void shouldNotInitializeAcceptorTemplates() throws Exception {
+		// Given
+		Set<SessionID> sessionIDs = ConcurrentHashMap.newKeySet();
+		MessageStoreFactory messageStoreFactory = sessionID -> {
+			sessionIDs.add(sessionID);
+			return mock(MessageStore.class);
+		};
+		ParallelSessionInitializer initializer = new ParallelSessionInitializer(sessionSettings(), messageStoreFactory, null);
+
+		// When
+		initializer.initialize();
+		initializer.initialize();
+
+		// Then
+		assertThat(sessionIDs).containsExactlyInAnyOrder(SESSION_1, SESSION_2);
+		assertThat(initializer.getLogFactory()).isNull();
+	}
+
+	@Test
+	public void shouldPropagateStoreCreationFailure() throws Exception {
+		// Given
+		MessageStoreFactory messageStoreFactory = sessionID -> {
+			throw new RuntimeError("Cannot open store of " + sessionID);
+		};
+		ParallelSessionInitializer initializer = new ParallelSessionInitializer(sessionSettings(), messageStoreFactory, null);
+
+		// When/Then
+		assertThatThrownBy(initializer::initialize)
+				.isInstanceOf(RuntimeError.class)
+				.hasStackTraceContaining("Cannot open store of");
+		assertThat(initializer.isInitialized()).isFalse();
+	}
+
+	@Test
+	public void shouldCloseStoresAndLogsNotHandedOver() throws Exception {
+		// Given
+		MessageStore store1 = mock(MessageStore.class, withSettings().extraInterfaces(Closeable.class));
+		MessageStore store2 = mock(MessageStore.class, withSettings().extraInterfaces(Closeable.class));
+		Log log1 = mock(Log.class, withSettings().extraInterfaces(Closeable.class));
+		Log log2 = mock(Log.class, withSettings().extraInterfaces(Closeable.class));
+		MessageStoreFactory messageStoreFactory = sessionID -> sessionID.equals(SESSION_1) ? store1 : store2;
+		LogFactory logFactory = sessionID -> sessionID.equals(SESSION_1) ? log1 : log2;
+		ParallelSessionInitializer initializer = new ParallelSessionInitializer(sessionSettings(), messageStoreFactory, logFactory);
+		initializer.initialize();
+		initializer.getMessageStoreFactory().create(SESSION_1);
+		initializer.getLogFactory().create(SESSION_1);
+
+		// When
+		initializer.close();
+
+		// Then
+		verify((Closeable) store1, never()).close();
+		verify((Closeable) log1, never()).close();
+		verify((Closeable) store2).close();
+		verify((Closeable) log2).close();
+		assertThat(initializer.isInitialized()).isFalse();
+	}
+
+	@Test
+	public void shouldCloseStoresGivenLogCreationFailure() throws Exception {
+		// Given
+		MessageStore store = mock(MessageStore.class, withSettings().extraInterfaces(Closeable.class));
+		LogFactory logFactory = sessionID -> {
+			throw new RuntimeError("Cannot open log of " + sessionID);
+		};
+		ParallelSessionInitializer initializer = new ParallelSessionInitializer(sessionSettings(), sessionID -> store, logFactory);
+
+		// When
+		assertThatThrownBy(initializer::initialize).isInstanceOf(RuntimeError.class);
+
+		// Then
+		verify((Closeable) store, times(2)).close();
+		assertThat(initializer.isInitialized()).isFalse();
+	}
+
+	private static SessionSettings sessionSettings() throws ConfigError {
+		SessionSettings sessionSettings = new SessionSettings();
+		sessionSettings.set(SESSION_1, new Dictionary());
+		sessionSettings.set(SESSION_2, new Dictionary());
+		sessionSettings.setBool(TEMPLATE, Acceptor.SETTING_ACCEPTOR_TEMPLATE, true);
+		return sessionSettings;
+	}
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.log;
+
+import io.allune.quickfixj.spring.boot.starter.application.OverflowPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quickfix.Log;
+import quickfix.SessionID;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class AsyncLogFactoryTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldWriteEntriesInOrderOnBackgroundThread() throws Exception {
+		// Given
+		RecordingLog delegate = new RecordingLog();
+		AsyncLogFactory logFactory = new AsyncLogFactory(sessionID -> delegate);
+		Log log = logFactory.create(SESSION_ID);
+
+		// When
+		log.onIncoming("incoming");
+		log.onOutgoing("outgoing");
+		log.onEvent("event");
+		log.onErrorEvent("error");
+		log.clear();
+		logFactory.close();
+
+		// Then
+		assertThat(delegate.entries).containsExactly("in:incoming", "out:outgoing", "event:event", "error:error", "clear");
+		assertThat(delegate.threads).containsOnly("QuickFixJ-async-log");
+		assertThat(logFactory.getQueuedEntries()).isZero();
+	}
+
+	@Test
+	public void shouldDropEntriesGivenQueueIsFullAndDropPolicy() throws Exception {
+		// Given
+		BlockingLog delegate = new BlockingLog();
+		AsyncLogFactory logFactory = new AsyncLogFactory(sessionID -> delegate);
+		logFactory.setQueueSize(2);
+		logFactory.setOverflowPolicy(OverflowPolicy.DROP);
+		Log log = logFactory.create(SESSION_ID);
+		log.onIncoming("message1");
+		delegate.awaitBlocked();
+
+		// When
+		log.onIncoming("message2");
+		log.onIncoming("message3");
+
+		// Then
+		assertThat(logFactory.getDroppedEntries()).isEqualTo(1);
+		delegate.release();
+		logFactory.close();
+		assertThat(delegate.entries).containsExactly("in:message1", "in:message2");
+	}
+
+	@Test
+	public void shouldBlockSessionThreadGivenQueueIsFullAndBlockPolicy() throws Exception {
+		// Given
+		BlockingLog delegate = new BlockingLog();
+		AsyncLogFactory logFactory = new AsyncLogFactory(sessionID -> delegate);
+		logFactory.setQueueSize(1);
+		Log log = logFactory.create(SESSION_ID);
+		log.onIncoming("message1");
+		delegate.awaitBlocked();
+
+		// When
+		AtomicBoolean appended = new AtomicBoolean();
+		Thread sessionThread = new Thread(() -> {
+			log.onIncoming("message2");
+			appended.set(true);
+		});
+		sessionThread.start();
+
+		// Then
+		sessionThread.join(100);
+		assertThat(appended).isFalse();
+		delegate.release();
+		await().atMost(5, TimeUnit.SECONDS).untilTrue(appended);
+		logFactory.close();
+		assertThat(delegate.entries).containsExactly("in:message1", "in:message2");
+		assertThat(logFactory.getDroppedEntries()).isZero();
+	}
+
+	@Test
+	public void shouldWriteOnCallingThreadGivenFactoryIsClosed() throws Exception {
+		// Given
+		RecordingLog delegate = new RecordingLog();
+		AsyncLogFactory logFactory = new AsyncLogFactory(sessionID -> delegate);
+		Log log = logFactory.create(SESSION_ID);
+		logFactory.close();
+
+		// When
+		log.onEvent("event");
+
+		// Then
+		assertThat(delegate.entries).containsExactly("event:event");
+		assertThat(delegate.threads).containsExactly(Thread.currentThread().getName());
+	}
+
+	@Test
+	public void shouldWriteQueuedEntriesThenCloseDelegateGivenLogClosed() throws Exception {
+		// Given
+		BlockingLog delegate = new BlockingLog();
+		AsyncLogFactory logFactory = new AsyncLogFactory(sessionID -> delegate);
+		Log log = logFactory.create(SESSION_ID);
+		log.onIncoming("message1");
+		log.onIncoming("message2");
+		delegate.awaitBlocked();
+
+		// When
+		Thread closingThread = new Thread(() -> {
+			try {
+				((Closeable) log).close();
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		closingThread.start();
+		closingThread.join(100);
+		assertThat(delegate.closed).isFalse();
+		delegate.release();
+		closingThread.join(5000);
+
+		// Then
+		assertThat(delegate.closed).isTrue();
+		assertThat(delegate.entries).containsExactly("in:message1", "in:message2", "closed");
+		logFactory.close();
+	}
+
+	@Test
+	public void shouldStampBinaryLogRecordsWhenLoggedGivenEntriesAreQueued() throws Exception {
+		// Given
+		SessionID otherSessionId = new SessionID("FIX.4.4", "BANZAI", "OTHER");
+		BlockingLog blockingDelegate = new BlockingLog();
+		BinaryLog binaryDelegate = new BinaryLog(directory, otherSessionId, 1024, false, 1000, false);
+		AsyncLogFactory logFactory = new AsyncLogFactory(
+				sessionID -> sessionID.equals(SESSION_ID) ? blockingDelegate : binaryDelegate);
+		Log blockingLog = logFactory.create(SESSION_ID);
+		Log binaryLog = logFactory.create(otherSessionId);
+		blockingLog.onEvent("blocking");
+		blockingDelegate.awaitBlocked();
+
+		// When
+		binaryLog.onEvent("queued");
+		long loggedBefore = System.currentTimeMillis();
+		Thread.sleep(200);
+		blockingDelegate.release();
+		logFactory.close();
+		((Closeable) binaryLog).close();
+
+		// Then
+		try (BinaryLogReader reader = new BinaryLogReader(binaryDelegate.getFile())) {
+			BinaryLogReader.Record record = reader.next();
+			assertThat(record.getText()).isEqualTo("queued");
+			assertThat(record.getTimestamp()).isLessThanOrEqualTo(loggedBefore);
+		}
+	}
+
+	private static class RecordingLog implements Log, Closeable {
+
+		volatile boolean closed;
+
+
+		final List<String> entries = new CopyOnWriteArrayList<>();
+
+		final List<String> threads = new CopyOnWriteArrayList<>();
+
+		void record(String entry) {
+			entries.add(entry);
+			threads.add(Thread.currentThread().getName());
+		}
+
+		@Override
+		public void clear() {
+			record("clear");
+		}
+
+		@Override
+		public void onIncoming(String message) {
+			record("in:" + message);
+		}
+
+		@Override
+		public void onOutgoing(String message) {
+			record("out:" + message);
+		}
+
+		@Override
+		public void onEvent(String text) {
+			record("event:" + text);
+		}
+
+		@Override
+		public void onErrorEvent(String text) {
+			record("error:" + text);
+		}
+
+		@Override
+		public void close() {
+			entries.add("closed");
+			closed = true;
+		}
+	}
+
+	private static class BlockingLog extends RecordingLog {
+
+		private final CountDownLatch blocked = new CountDownLatch(1);
+
+		private final CountDownLatch released = new CountDownLatch(1);
+
+		@Override
+		void record(String entry) {
+			super.record(entry);
+			blocked.countDown();
+			try {
+				released.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		void awaitBlocked() throws InterruptedException {
+			assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+		}
+
+		void release() {
+			released.countDown();
+		}
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.log;
+
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLog.RecordType;
+import io.allune.quickfixj.spring.boot.starter.log.BinaryLogReader.Record;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quickfix.FileLogFactory;
+import quickfix.Log;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class BinaryLogTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	private static final String ORDER = "8=FIX.4.4\0019=12\00135=D\00111=ORDER-1\00110=000\001";
+
+	private static final String HEARTBEAT = "8=FIX.4.4\0019=5\00135=0\00110=000\001";
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void shouldReadBackCompressedRecords() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, true, 1000, false);
+
+		// When
+		log.onIncoming(ORDER);
+		log.onOutgoing(ORDER.replace("ORDER-1", "ORDER-2"));
+		log.onEvent("Logon received");
+		log.onErrorEvent("Rejected");
+		log.close();
+
+		// Then
+		List<Record> records = read(log.getFile());
+		assertThat(records).extracting(Record::getType)
+				.containsExactly(RecordType.INCOMING, RecordType.OUTGOING, RecordType.EVENT, RecordType.ERROR_EVENT);
+		assertThat(records).extracting(Record::getText)
+				.containsExactly(ORDER, ORDER.replace("ORDER-1", "ORDER-2"), "Logon received", "Rejected");
+		assertThat(records.get(0).getTimestamp()).isPositive();
+	}
+
+	@Test
+	public void shouldReadBackRecordsSpanningSeveralBlocks() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, false, 1000, false);
+		String largeEvent = "x".repeat(4096);
+
+		// When
+		for (int i = 0; i < 100; i++) {
+			log.onIncoming(ORDER.replace("ORDER-1", "ORDER-" + i));
+		}
+		log.onEvent(largeEvent);
+		log.close();
+
+		// Then
+		List<Record> records = read(log.getFile());
+		assertThat(records).hasSize(101);
+		assertThat(records.get(99).getText()).isEqualTo(ORDER.replace("ORDER-1", "ORDER-99"));
+		assertThat(records.get(100).getText()).isEqualTo(largeEvent);
+	}
+
+	@Test
+	public void shouldSkipHeartbeatsGivenHeartbeatsAreNotLogged() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, true, 1000, false);
+
+		// When
+		log.onIncoming(HEARTBEAT);
+		log.onOutgoing(ORDER);
+		log.close();
+
+		// Then
+		assertThat(read(log.getFile())).extracting(Record::getText).containsExactly(ORDER);
+	}
+
+	@Test
+	public void shouldAppendToExistingLogGivenLogIsReopened() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, true, 1000, false);
+		log.onEvent("first");
+		log.close();
+
+		// When
+		log = new BinaryLog(directory, SESSION_ID, 1024, false, 1000, false);
+		log.onEvent("second");
+		log.close();
+
+		// Then
+		assertThat(read(log.getFile())).extracting(Record::getText).containsExactly("first", "second");
+	}
+
+	@Test
+	public void shouldDiscardRecordsGivenLogIsCleared() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, true, 0, false);
+		log.onEvent("first");
+
+		// When
+		log.clear();
+		log.onEvent("second");
+		log.close();
+
+		// Then
+		assertThat(read(log.getFile())).extracting(Record::getText).containsExactly("second");
+	}
+
+	@Test
+	public void shouldIgnoreTruncatedBlockAtEndOfLog() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, true, 0, false);
+		log.onEvent("first");
+		log.onEvent("second");
+		log.close();
+
+		// When
+		try (FileChannel channel = FileChannel.open(log.getFile(), StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 1);
+		}
+
+		// Then
+		assertThat(read(log.getFile())).extracting(Record::getText).containsExactly("first");
+	}
+
+	@Test
+	public void shouldFailGivenFileIsNotBinaryLog() throws IOException {
+		// Given
+		Path file = directory.resolve("messages.log");
+		Files.writeString(file, ORDER);
+
+		// When/Then
+		assertThatThrownBy(() -> new BinaryLogReader(file))
+				.isInstanceOf(IOException.class)
+				.hasMessageContaining("is not a binary log");
+	}
+
+	@Test
+	public void shouldCreateLogsInFileLogPath() throws Exception {
+		// Given
+		SessionSettings settings = new SessionSettings();
+		settings.setString(SESSION_ID, FileLogFactory.SETTING_FILE_LOG_PATH, directory.toString());
+		settings.setString(SESSION_ID, BinaryLogFactory.SETTING_BINARY_LOG_COMPRESSION, "N");
+		BinaryLogFactory logFactory = new BinaryLogFactory(settings);
+
+		// When
+		Log log = logFactory.create(SESSION_ID);
+		log.onOutgoing(ORDER);
+		logFactory.close();
+
+		// Then
+		Path file = directory.resolve("FIX.4.4-BANZAI-EXEC" + BinaryLog.FILE_SUFFIX);
+		assertThat(read(file)).extracting(Record::getText).containsExactly(ORDER);
+	}
+
+	@Test
+	public void shouldFlushIdleLogsInTheBackground() throws Exception {
+		// Given
+		SessionSettings settings = new SessionSettings();
+		settings.setString(SESSION_ID, FileLogFactory.SETTING_FILE_LOG_PATH, directory.toString());
+		settings.setString(SESSION_ID, BinaryLogFactory.SETTING_BINARY_LOG_FLUSH_INTERVAL, "10");
+		BinaryLogFactory logFactory = new BinaryLogFactory(settings);
+		BinaryLog log = (BinaryLog) logFactory.create(SESSION_ID);
+
+		// When
+		log.onOutgoing(ORDER);
+
+		// Then
+		await().atMost(5, TimeUnit.SECONDS)
+				.untilAsserted(() -> assertThat(read(log.getFile())).extracting(Record::getText).containsExactly(ORDER));
+		logFactory.close();
+	}
+
+	@Test
+	public void shouldStopTrackingLogGivenLogClosed() throws Exception {
+		// Given
+		SessionSettings settings = new SessionSettings();
+		settings.setString(SESSION_ID, FileLogFactory.SETTING_FILE_LOG_PATH, directory.toString());
+		BinaryLogFactory logFactory = new BinaryLogFactory(settings);
+		BinaryLog log = (BinaryLog) logFactory.create(SESSION_ID);
+		log.onOutgoing(ORDER);
+
+		// When
+		log.close();
+
+		// Then
+		assertThat(logFactory.getLogs()).isEmpty();
+		assertThat(read(log.getFile())).extracting(Record::getText).containsExactly(ORDER);
+		logFactory.close();
+	}
+
+	@Test
+	public void shouldDecodeMessagesToText() throws IOException {
+		// Given
+		BinaryLog log = new BinaryLog(directory, SESSION_ID, 1024, true, 1000, false);
+		log.onIncoming(ORDER);
+		log.onEvent("Logon received");
+		log.close();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		// When
+		int status = BinaryLogReader.run(new String[]{"--messages", "--delimiter", "|", log.getFile().toString()},
+				new PrintStream(out, true, StandardCharsets.UTF_8), System.err);
+
+		// Then
+		assertThat(status).isZero();
+		String text = out.toString(StandardCharsets.UTF_8);
+		assertThat(text).matches("\\d{8}-\\d{2}:\\d{2}:\\d{2}\\.\\d{3}: 8=FIX\\.4\\.4\\|9=12\\|35=D\\|11=ORDER-1\\|10=000\\|\\R");
+	}
+
+	@Test
+	public void shouldPrintUsageGivenNoFile() throws IOException {
+		// Given
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+		// When
+		int status = BinaryLogReader.run(new String[0], System.out, new PrintStream(err, true, StandardCharsets.UTF_8));
+
+		// Then
+		assertThat(status).isEqualTo(1);
+		assertThat(err.toString(StandardCharsets.UTF_8)).startsWith("Usage: BinaryLogReader");
+	}
+
+	private static List<Record> read(Path file) throws IOException {
+		List<Record> records = new ArrayList<>();
+		try (BinaryLogReader reader = new BinaryLogReader(file)) {
+			Record record;
+			while ((record = reader.next()) != null) {
+				records.add(record);
+			}
+		}
+		return records;
+	}
+}
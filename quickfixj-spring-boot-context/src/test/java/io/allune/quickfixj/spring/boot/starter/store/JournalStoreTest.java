@@ -0,0 +1,284 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quickfix.FileStoreFactory;
+import quickfix.MessageStore;
+import quickfix.SessionFactory;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class JournalStoreTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	private static final SessionID OTHER_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "OTHER");
+
+	@TempDir
+	Path directory;
+
+	private Journal journal;
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		if (journal != null) {
+			journal.close();
+		}
+	}
+
+	@Test
+	public void shouldShareJournalBetweenSessions() throws IOException {
+		// Given
+		journal = new Journal(directory, 1000, 1024);
+		MessageStore store = journal.store(SESSION_ID);
+		MessageStore otherStore = journal.store(OTHER_SESSION_ID);
+
+		// When
+		store.set(1, "message1");
+		otherStore.set(1, "other1");
+		store.set(2, "message2");
+		store.incrNextSenderMsgSeqNum();
+
+		// Then
+		assertThat(journal.store(SESSION_ID)).isSameAs(store);
+		assertThat(get(store, 1, 2)).containsExactly("message1", "message2");
+		assertThat(get(otherStore, 1, 2)).containsExactly("other1");
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(2);
+		assertThat(otherStore.getNextSenderMsgSeqNum()).isEqualTo(1);
+		assertThat(Files.list(directory)).hasSize(1);
+	}
+
+	@Test
+	public void shouldFlushJournalInTheBackground() throws IOException {
+		// Given
+		journal = new Journal(directory, 10, 1024 * 1024);
+		MessageStore store = journal.store(SESSION_ID);
+
+		// When
+		store.set(1, "message1");
+
+		// Then
+		await().atMost(5, TimeUnit.SECONDS)
+				.until(() -> Files.size(directory.resolve(Journal.FILE_NAME)) == journal.size());
+	}
+
+	@Test
+	public void shouldRecoverSessionsGivenJournalIsReopened() throws IOException {
+		// Given
+		journal = new Journal(directory, 1000, 64);
+		MessageStore store = journal.store(SESSION_ID);
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+			store.incrNextSenderMsgSeqNum();
+		}
+		store.setNextTargetMsgSeqNum(5);
+		journal.store(OTHER_SESSION_ID).set(1, "other1");
+		long creationTime = store.getCreationTime().getTime();
+		journal.close();
+
+		// When
+		journal = new Journal(directory, 1000, 64);
+		store = journal.store(SESSION_ID);
+
+		// Then
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(11);
+		assertThat(store.getNextTargetMsgSeqNum()).isEqualTo(5);
+		assertThat(store.getCreationTime().getTime()).isEqualTo(creationTime);
+		assertThat(get(store, 1, 10)).hasSize(10).startsWith("message1").endsWith("message10");
+		assertThat(get(journal.store(OTHER_SESSION_ID), 1, 1)).containsExactly("other1");
+	}
+
+	@Test
+	public void shouldCompactJournalGivenMostRecordsAreSuperseded() throws IOException {
+		// Given
+		journal = new Journal(directory, 1000, 1024);
+		MessageStore store = journal.store(SESSION_ID);
+		for (int sequence = 1; sequence <= 100; sequence++) {
+			store.set(sequence, "message" + sequence);
+			store.incrNextSenderMsgSeqNum();
+		}
+		store.reset();
+		store.set(1, "reset1");
+		store.incrNextSenderMsgSeqNum();
+		journal.close();
+		long size = Files.size(directory.resolve(Journal.FILE_NAME));
+
+		// When
+		journal = new Journal(directory, 1000, 1024);
+		store = journal.store(SESSION_ID);
+
+		// Then
+		assertThat(Files.size(directory.resolve(Journal.FILE_NAME))).isLessThan(size / 10);
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(2);
+		assertThat(get(store, 1, 100)).containsExactly("reset1");
+	}
+
+	@Test
+	public void shouldCompactJournalInTheBackgroundGivenCompactionSizeIsReached() throws IOException {
+		// Given
+		Path file = directory.resolve(Journal.FILE_NAME);
+		journal = new Journal(file, 10, 1024, 4096);
+		MessageStore store = journal.store(SESSION_ID);
+		for (int sequence = 1; sequence <= 100; sequence++) {
+			store.set(sequence, "message" + sequence);
+			store.incrNextSenderMsgSeqNum();
+		}
+		store.reset();
+
+		// When
+		store.set(1, "reset1");
+		store.incrNextSenderMsgSeqNum();
+
+		// Then
+		await().atMost(5, TimeUnit.SECONDS).until(() -> journal.size() < 1024);
+		assertThat(get(store, 1, 100)).containsExactly("reset1");
+		store.set(2, "reset2");
+		journal.close();
+		journal = new Journal(file, 1000, 1024, 4096);
+		store = journal.store(SESSION_ID);
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(2);
+		assertThat(get(store, 1, 100)).containsExactly("reset1", "reset2");
+	}
+
+	@Test
+	public void shouldKeepAppendingGivenJournalIsCompactedInTheBackground() throws IOException {
+		// Given
+		Path file = directory.resolve(Journal.FILE_NAME);
+		journal = new Journal(file, 1, 1024, 4096);
+		MessageStore store = journal.store(SESSION_ID);
+		List<String> expected = new ArrayList<>();
+		boolean compacted = false;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+		// When
+		for (int i = 0; !compacted && System.nanoTime() < deadline; i++) {
+			if (expected.size() == 50) {
+				store.reset();
+				expected.clear();
+			}
+			long size = journal.size();
+			store.set(expected.size() + 1, "message" + i);
+			store.incrNextSenderMsgSeqNum();
+			expected.add("message" + i);
+			compacted = journal.size() < size;
+		}
+
+		// Then
+		assertThat(compacted).isTrue();
+		assertThat(get(store, 1, 50)).isEqualTo(expected);
+		journal.close();
+		journal = new Journal(file, 1000, 1024, 4096);
+		store = journal.store(SESSION_ID);
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(expected.size() + 1);
+		assertThat(get(store, 1, 50)).isEqualTo(expected);
+	}
+
+	@Test
+	public void shouldKeepJournalGivenCompactionFails() throws IOException {
+		// Given
+		journal = new Journal(directory, 1000, 1024);
+		MessageStore store = journal.store(SESSION_ID);
+		for (int sequence = 1; sequence <= 100; sequence++) {
+			store.set(sequence, "message" + sequence);
+			store.incrNextSenderMsgSeqNum();
+		}
+		store.reset();
+		store.set(1, "reset1");
+		store.incrNextSenderMsgSeqNum();
+		journal.close();
+		long size = Files.size(directory.resolve(Journal.FILE_NAME));
+		// The compacted file cannot be created over a directory
+		Files.createDirectories(directory.resolve(Journal.FILE_NAME + ".compact").resolve("blocked"));
+
+		// When
+		journal = new Journal(directory, 1000, 1024);
+		store = journal.store(SESSION_ID);
+		store.set(2, "reset2");
+		store.incrNextSenderMsgSeqNum();
+
+		// Then
+		assertThat(Files.size(directory.resolve(Journal.FILE_NAME))).isGreaterThanOrEqualTo(size);
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(3);
+		assertThat(get(store, 1, 100)).containsExactly("reset1", "reset2");
+	}
+
+	@Test
+	public void shouldNameJournalAfterConnectionType() throws Exception {
+		// Given
+		SessionSettings clientSettings = new SessionSettings();
+		clientSettings.setString(FileStoreFactory.SETTING_FILE_STORE_PATH, directory.toString());
+		clientSettings.setString(SessionFactory.SETTING_CONNECTION_TYPE, SessionFactory.INITIATOR_CONNECTION_TYPE);
+		SessionSettings serverSettings = new SessionSettings();
+		serverSettings.setString(FileStoreFactory.SETTING_FILE_STORE_PATH, directory.toString());
+		serverSettings.setString(SessionFactory.SETTING_CONNECTION_TYPE, SessionFactory.ACCEPTOR_CONNECTION_TYPE);
+		JournalStoreFactory clientStoreFactory = new JournalStoreFactory(clientSettings);
+		JournalStoreFactory serverStoreFactory = new JournalStoreFactory(serverSettings);
+
+		// When
+		clientStoreFactory.create(SESSION_ID).set(1, "client1");
+		serverStoreFactory.create(SESSION_ID).set(1, "server1");
+		clientStoreFactory.close();
+		serverStoreFactory.close();
+
+		// Then
+		assertThat(directory.resolve("quickfixj-initiator.journal")).exists();
+		assertThat(directory.resolve("quickfixj-acceptor.journal")).exists();
+	}
+
+	@Test
+	public void shouldIgnoreIncompleteRecordGivenJournalIsTruncated() throws IOException {
+		// Given
+		journal = new Journal(directory, 1000, 1024);
+		MessageStore store = journal.store(SESSION_ID);
+		store.set(1, "message1");
+		store.set(2, "message2");
+		journal.close();
+		Path file = directory.resolve(Journal.FILE_NAME);
+		byte[] content = Files.readAllBytes(file);
+		Files.write(file, Arrays.copyOf(content, content.length - 3));
+
+		// When
+		journal = new Journal(directory, 1000, 1024);
+		store = journal.store(SESSION_ID);
+		store.set(2, "message2");
+
+		// Then
+		assertThat(get(store, 1, 2)).containsExactly("message1", "message2");
+	}
+
+	private static List<String> get(MessageStore store, int startSequence, int endSequence) throws IOException {
+		List<String> messages = new ArrayList<>();
+		store.get(startSequence, endSequence, messages);
+		return messages;
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quickfix.SessionID;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class MappedFileStoreTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	@TempDir
+	Path directory;
+
+	private MappedFileStore store;
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		if (store != null) {
+			store.close();
+		}
+	}
+
+	@Test
+	public void shouldStoreAndGetMessages() throws IOException {
+		// Given
+		store = new MappedFileStore(directory, SESSION_ID, 1024, false);
+
+		// When
+		store.set(1, "message1");
+		store.set(2, "message2");
+		store.set(3, "message3");
+
+		// Then
+		assertThat(get(2, 5)).containsExactly("message2", "message3");
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(1);
+		assertThat(store.getNextTargetMsgSeqNum()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldRollOverToNewSegmentGivenSegmentIsFull() throws IOException {
+		// Given
+		store = new MappedFileStore(directory, SESSION_ID, 64, false);
+		String largeMessage = "x".repeat(100);
+
+		// When
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+		store.set(11, largeMessage);
+
+		// Then
+		assertThat(store.getSegmentCount()).isGreaterThan(1);
+		assertThat(get(1, 11)).hasSize(11).startsWith("message1").endsWith(largeMessage);
+	}
+
+	@Test
+	public void shouldRecoverMessagesAndSequenceNumbersGivenStoreIsReopened() throws IOException {
+		// Given
+		store = new MappedFileStore(directory, SESSION_ID, 64, false);
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+		store.setNextSenderMsgSeqNum(11);
+		store.incrNextTargetMsgSeqNum();
+		long creationTime = store.getCreationTime().getTime();
+		store.close();
+
+		// When
+		store = new MappedFileStore(directory, SESSION_ID, 64, false);
+		store.set(11, "message11");
+
+		// Then
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(11);
+		assertThat(store.getNextTargetMsgSeqNum()).isEqualTo(2);
+		assertThat(store.getCreationTime().getTime()).isEqualTo(creationTime);
+		assertThat(get(1, 11)).hasSize(11).startsWith("message1").endsWith("message11");
+	}
+
+	@Test
+	public void shouldDiscardMessagesGivenStoreIsReset() throws IOException {
+		// Given
+		store = new MappedFileStore(directory, SESSION_ID, 64, false);
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+		store.setNextSenderMsgSeqNum(11);
+
+		// When
+		store.reset();
+		store.set(1, "reset1");
+		store.close();
+		store = new MappedFileStore(directory, SESSION_ID, 64, false);
+
+		// Then
+		assertThat(store.getSegmentCount()).isEqualTo(1);
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(1);
+		assertThat(get(1, 10)).containsExactly("reset1");
+	}
+
+	@Test
+	public void shouldReplaceMessageStoredTwiceWithSameSequence() throws IOException {
+		// Given
+		store = new MappedFileStore(directory, SESSION_ID, 1024, false);
+
+		// When
+		store.set(1, "original");
+		store.set(1, "replacement");
+		store.refresh();
+
+		// Then
+		assertThat(get(1, 1)).containsExactly("replacement");
+	}
+
+	private List<String> get(int startSequence, int endSequence) throws IOException {
+		List<String> messages = new ArrayList<>();
+		store.get(startSequence, endSequence, messages);
+		return messages;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.junit.jupiter.api.Test;
+import quickfix.MessageStore;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class OffHeapStoreTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	@Test
+	public void shouldStoreAndGetMessages() {
+		// Given
+		OffHeapStore store = new OffHeapStore(1024);
+
+		// When
+		store.set(1, "message1");
+		store.set(2, "message2");
+		store.set(3, "message3");
+
+		// Then
+		assertThat(get(store, 2, 5)).containsExactly("message2", "message3");
+		assertThat(store.getAllocatedBytes()).isEqualTo(1024);
+	}
+
+	@Test
+	public void shouldAllocateNewSlabGivenSlabIsFull() {
+		// Given
+		OffHeapStore store = new OffHeapStore(32);
+		String largeMessage = "x".repeat(100);
+
+		// When
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+		store.set(11, largeMessage);
+
+		// Then
+		assertThat(store.getSlabCount()).isEqualTo(6);
+		assertThat(get(store, 1, 11)).hasSize(11).startsWith("message1", "message2").endsWith("message10", largeMessage);
+	}
+
+	@Test
+	public void shouldReturnLatestMessageGivenSequenceNumberIsStoredAgain() {
+		// Given
+		OffHeapStore store = new OffHeapStore(1024);
+		store.set(1, "message1");
+
+		// When
+		store.set(1, "message1-again");
+
+		// Then
+		assertThat(get(store, 1, 1)).containsExactly("message1-again");
+	}
+
+	@Test
+	public void shouldReleaseSlabsGivenStoreIsReset() {
+		// Given
+		OffHeapStore store = new OffHeapStore(32);
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+		store.setNextSenderMsgSeqNum(11);
+		store.incrNextTargetMsgSeqNum();
+
+		// When
+		store.reset();
+
+		// Then
+		assertThat(get(store, 1, 10)).isEmpty();
+		assertThat(store.getAllocatedBytes()).isZero();
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(1);
+		assertThat(store.getNextTargetMsgSeqNum()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldCreateStoresWithConfiguredSlabSize() throws IOException {
+		// Given
+		SessionSettings settings = new SessionSettings();
+		settings.setLong(SESSION_ID, OffHeapStoreFactory.SETTING_OFF_HEAP_STORE_SLAB_SIZE, 2048);
+		OffHeapStoreFactory factory = new OffHeapStoreFactory(settings);
+
+		// When
+		MessageStore store = factory.create(SESSION_ID);
+		store.set(1, "message1");
+
+		// Then
+		assertThat(factory.getAllocatedBytes()).isEqualTo(2048);
+		factory.close();
+		assertThat(factory.getAllocatedBytes()).isZero();
+	}
+
+	@Test
+	public void shouldStopTrackingStoreGivenStoreIsClosed() throws IOException {
+		// Given
+		OffHeapStoreFactory factory = new OffHeapStoreFactory(new SessionSettings());
+		OffHeapStore store = (OffHeapStore) factory.create(SESSION_ID);
+		OffHeapStore otherStore = (OffHeapStore) factory.create(SESSION_ID);
+		store.set(1, "message1");
+		otherStore.set(1, "message1");
+
+		// When
+		store.close();
+
+		// Then
+		assertThat(factory.getStores()).containsExactly(otherStore);
+		assertThat(factory.getAllocatedBytes()).isEqualTo(OffHeapStoreFactory.DEFAULT_SLAB_SIZE);
+		factory.close();
+	}
+
+	private static List<String> get(OffHeapStore store, int start, int end) {
+		List<String> messages = new ArrayList<>();
+		store.get(start, end, messages);
+		return messages;
+	}
+}
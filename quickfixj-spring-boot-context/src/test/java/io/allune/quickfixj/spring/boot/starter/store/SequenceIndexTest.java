@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class SequenceIndexTest {
+
+	@Test
+	public void shouldGetLocationsAfterResize() {
+		// Given
+		SequenceIndex index = new SequenceIndex(8);
+
+		// When
+		for (int sequence = 1; sequence <= 10_000; sequence++) {
+			index.put(sequence, sequence * 10L);
+		}
+		index.put(5, 1L);
+
+		// Then
+		assertThat(index.size()).isEqualTo(10_000);
+		assertThat(index.get(1)).isEqualTo(10L);
+		assertThat(index.get(5)).isEqualTo(1L);
+		assertThat(index.get(10_000)).isEqualTo(100_000L);
+		assertThat(index.get(10_001)).isEqualTo(SequenceIndex.NOT_FOUND);
+	}
+
+	@Test
+	public void shouldBeEmptyGivenCleared() {
+		// Given
+		SequenceIndex index = new SequenceIndex();
+		index.put(1, 1L);
+
+		// When
+		index.clear();
+
+		// Then
+		assertThat(index.size()).isZero();
+		assertThat(index.get(1)).isEqualTo(SequenceIndex.NOT_FOUND);
+	}
+}
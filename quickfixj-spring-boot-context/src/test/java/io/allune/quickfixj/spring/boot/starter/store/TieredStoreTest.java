@@ -0,0 +1,169 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import quickfix.FileStoreFactory;
+import quickfix.MessageStore;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class TieredStoreTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	@TempDir
+	Path directory;
+
+	private TieredStore store;
+
+	@AfterEach
+	public void tearDown() throws IOException {
+		if (store != null) {
+			store.close();
+		}
+	}
+
+	@Test
+	public void shouldServeRecentMessagesFromMemory() throws IOException {
+		// Given
+		store = new TieredStore(directory, SESSION_ID, 10, 1024);
+
+		// When
+		store.set(1, "message1");
+		store.set(2, "message2");
+
+		// Then
+		assertThat(get(1, 2)).containsExactly("message1", "message2");
+		assertThat(store.getHits()).isEqualTo(2);
+		assertThat(store.getMisses()).isZero();
+		assertThat(Files.size(store.getSpillFile())).isZero();
+	}
+
+	@Test
+	public void shouldSpillOldestMessagesGivenMaxMessagesIsReached() throws IOException {
+		// Given
+		store = new TieredStore(directory, SESSION_ID, 3, 1024);
+
+		// When
+		for (int sequence = 1; sequence <= 10; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+
+		// Then
+		assertThat(store.getResidentMessages()).isEqualTo(3);
+		assertThat(get(1, 10)).containsExactly("message1", "message2", "message3", "message4", "message5",
+				"message6", "message7", "message8", "message9", "message10");
+		assertThat(store.getHits()).isEqualTo(3);
+		assertThat(store.getMisses()).isEqualTo(7);
+	}
+
+	@Test
+	public void shouldSpillOldestMessagesGivenMaxBytesIsReached() throws IOException {
+		// Given
+		store = new TieredStore(directory, SESSION_ID, 100, 20);
+
+		// When
+		store.set(1, "message1");
+		store.set(2, "message2");
+		store.set(3, "message3");
+
+		// Then
+		assertThat(store.getResidentMessages()).isEqualTo(2);
+		assertThat(store.getResidentBytes()).isEqualTo(16);
+		assertThat(get(1, 3)).containsExactly("message1", "message2", "message3");
+		assertThat(store.getMisses()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldKeepLatestMessageGivenSequenceNumberIsStoredAgain() throws IOException {
+		// Given
+		store = new TieredStore(directory, SESSION_ID, 2, 1024);
+		store.set(1, "message1");
+		store.set(1, "message1-again");
+
+		// When
+		store.set(2, "message2");
+		store.set(3, "message3");
+
+		// Then
+		assertThat(get(1, 3)).containsExactly("message1-again", "message2", "message3");
+	}
+
+	@Test
+	public void shouldDiscardBothTiersGivenStoreIsReset() throws IOException {
+		// Given
+		store = new TieredStore(directory, SESSION_ID, 2, 1024);
+		for (int sequence = 1; sequence <= 5; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+		store.setNextSenderMsgSeqNum(6);
+
+		// When
+		store.reset();
+		store.set(1, "new-message1");
+
+		// Then
+		assertThat(get(1, 5)).containsExactly("new-message1");
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(1);
+		assertThat(store.getResidentMessages()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldDeleteSpillFilesGivenFactoryIsClosed() throws IOException {
+		// Given
+		SessionSettings settings = new SessionSettings();
+		settings.setString(SESSION_ID, FileStoreFactory.SETTING_FILE_STORE_PATH, directory.toString());
+		settings.setLong(SESSION_ID, TieredStoreFactory.SETTING_TIERED_STORE_MAX_MESSAGES, 1);
+		TieredStoreFactory factory = new TieredStoreFactory(settings);
+		MessageStore messageStore = factory.create(SESSION_ID);
+		messageStore.set(1, "message1");
+		messageStore.set(2, "message2");
+		List<String> messages = new ArrayList<>();
+		messageStore.get(1, 2, messages);
+		assertThat(factory.getHits()).isEqualTo(1);
+		assertThat(factory.getMisses()).isEqualTo(1);
+
+		// When
+		factory.close();
+
+		// Then
+		assertThat(messages).containsExactly("message1", "message2");
+		try (Stream<Path> files = Files.list(directory)) {
+			assertThat(files).isEmpty();
+		}
+	}
+
+	private List<String> get(int start, int end) throws IOException {
+		List<String> messages = new ArrayList<>();
+		store.get(start, end, messages);
+		return messages;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.store;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import quickfix.MemoryStore;
+import quickfix.MemoryStoreFactory;
+import quickfix.MessageStore;
+import quickfix.SessionID;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class WriteBehindStoreTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	@Test
+	public void shouldWriteMessagesBeforeSequenceNumbers() throws IOException {
+		// Given
+		MessageStore delegate = spy(new MemoryStore());
+		WriteBehindStore store = new WriteBehindStore(delegate, 1024, 16);
+		store.set(1, "message1");
+		store.incrNextSenderMsgSeqNum();
+		store.set(2, "message2");
+		store.incrNextSenderMsgSeqNum();
+
+		// When
+		verify(delegate, never()).set(anyInt(), anyString());
+		store.flush();
+
+		// Then
+		InOrder inOrder = inOrder(delegate);
+		inOrder.verify(delegate).set(1, "message1");
+		inOrder.verify(delegate).set(2, "message2");
+		inOrder.verify(delegate).setNextSenderMsgSeqNum(3);
+		assertThat(store.getPendingMessages()).isZero();
+		assertThat(store.getPendingBytes()).isZero();
+		assertThat(store.getFlushedMessages()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldFlushOnSendingThreadGivenTooManyPendingBytes() throws IOException {
+		// Given
+		MessageStore delegate = spy(new MemoryStore());
+		WriteBehindStore store = new WriteBehindStore(delegate, 10, 16);
+
+		// When
+		store.set(1, "message1");
+		store.set(2, "message2");
+
+		// Then
+		verify(delegate).set(1, "message1");
+		verify(delegate).set(2, "message2");
+		assertThat(store.getPendingMessages()).isZero();
+	}
+
+	@Test
+	public void shouldServeResendFromRecentMessages() throws IOException {
+		// Given
+		MessageStore delegate = spy(new MemoryStore());
+		WriteBehindStore store = new WriteBehindStore(delegate, 1024, 4);
+		for (int sequence = 1; sequence <= 6; sequence++) {
+			store.set(sequence, "message" + sequence);
+		}
+
+		// When
+		List<String> recent = get(store, 3, 6);
+		List<String> older = get(store, 1, 6);
+
+		// Then
+		assertThat(recent).containsExactly("message3", "message4", "message5", "message6");
+		assertThat(older).containsExactly("message1", "message2", "message3", "message4", "message5", "message6");
+		verify(delegate).get(1, 6, older);
+	}
+
+	@Test
+	public void shouldRequeueMessagesGivenDelegateFails() throws IOException {
+		// Given
+		MessageStore delegate = spy(new MemoryStore());
+		WriteBehindStore store = new WriteBehindStore(delegate, 1024, 16);
+		store.set(1, "message1");
+		store.set(2, "message2");
+		willThrow(new IOException("unavailable")).given(delegate).set(2, "message2");
+
+		// When
+		assertThatThrownBy(store::flush).isInstanceOf(IOException.class);
+
+		// Then
+		assertThat(store.getPendingMessages()).isEqualTo(1);
+		assertThat(store.getFlushedMessages()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldFlushStoresInTheBackground() throws IOException {
+		// Given
+		MemoryStoreFactory delegate = new MemoryStoreFactory();
+		WriteBehindStoreFactory factory = new WriteBehindStoreFactory(delegate);
+		factory.setFlushInterval(Duration.ofMillis(5));
+		MessageStore store = factory.create(SESSION_ID);
+
+		// When
+		store.set(1, "message1");
+		store.incrNextSenderMsgSeqNum();
+
+		// Then
+		await().atMost(5, TimeUnit.SECONDS).until(() -> factory.getFlushedMessages() == 1);
+		assertThat(factory.getPendingMessages()).isZero();
+		assertThat(((WriteBehindStore) store).getDelegate().getNextSenderMsgSeqNum()).isEqualTo(2);
+		factory.close();
+	}
+
+	@Test
+	public void shouldFlushAndCloseDelegateGivenStoreClosed() throws IOException {
+		// Given
+		MessageStore delegate = mock(MessageStore.class, withSettings().extraInterfaces(Closeable.class));
+		WriteBehindStoreFactory factory = new WriteBehindStoreFactory(sessionID -> delegate);
+		factory.setFlushInterval(Duration.ofHours(1));
+		WriteBehindStore store = (WriteBehindStore) factory.create(SESSION_ID);
+		store.set(1, "message1");
+
+		// When
+		store.close();
+
+		// Then
+		InOrder inOrder = inOrder(delegate);
+		inOrder.verify(delegate).set(1, "message1");
+		inOrder.verify((Closeable) delegate).close();
+		assertThat(factory.getFlushedMessages()).isEqualTo(1);
+		assertThat(factory.getPendingMessages()).isZero();
+		factory.close();
+	}
+
+	@Test
+	public void shouldDiscardPendingMessagesGivenReset() throws IOException {
+		// Given
+		WriteBehindStore store = new WriteBehindStore(new MemoryStore(), 1024, 16);
+		store.set(1, "message1");
+		store.incrNextSenderMsgSeqNum();
+
+		// When
+		store.reset();
+		store.flush();
+
+		// Then
+		assertThat(store.getNextSenderMsgSeqNum()).isEqualTo(1);
+		assertThat(get(store, 1, 1)).isEmpty();
+		assertThat(store.getFlushedMessages()).isZero();
+	}
+
+	private static List<String> get(MessageStore store, int startSequence, int endSequence) throws IOException {
+		List<String> messages = new ArrayList<>();
+		store.get(startSequence, endSequence, messages);
+		return messages;
+	}
+}
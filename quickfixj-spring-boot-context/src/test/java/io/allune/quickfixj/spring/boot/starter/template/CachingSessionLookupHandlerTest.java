@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import io.allune.quickfixj.spring.boot.starter.model.Create;
+import io.allune.quickfixj.spring.boot.starter.model.Logon;
+import io.allune.quickfixj.spring.boot.starter.model.Logout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import quickfix.Session;
+import quickfix.SessionID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingSessionLookupHandlerTest {
+
+	private final SessionID sessionID = new SessionID("FIX.4.2", "SENDER", "TARGET");
+
+	@Mock
+	private SessionLookupHandler delegate;
+
+	@Mock
+	private Session session;
+
+	private CachingSessionLookupHandler cachingSessionLookupHandler;
+
+	@BeforeEach
+	public void setUp() {
+		cachingSessionLookupHandler = new CachingSessionLookupHandler(delegate);
+	}
+
+	@Test
+	public void shouldLookupSessionOnlyOnce() {
+		// Given
+		given(delegate.lookupBySessionID(sessionID)).willReturn(session);
+
+		// When
+		Session firstSession = cachingSessionLookupHandler.lookupBySessionID(sessionID);
+		Session secondSession = cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// Then
+		assertThat(firstSession).isSameAs(session);
+		assertThat(secondSession).isSameAs(session);
+		verify(delegate).lookupBySessionID(sessionID);
+	}
+
+	@Test
+	public void shouldNotCacheSessionNotFound() {
+		// Given
+		given(delegate.lookupBySessionID(sessionID)).willReturn(null, session);
+
+		// When
+		Session firstSession = cachingSessionLookupHandler.lookupBySessionID(sessionID);
+		Session secondSession = cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// Then
+		assertThat(firstSession).isNull();
+		assertThat(secondSession).isSameAs(session);
+		verify(delegate, times(2)).lookupBySessionID(sessionID);
+	}
+
+	@Test
+	public void shouldEvictSessionOnCreate() {
+		// Given
+		given(delegate.lookupBySessionID(sessionID)).willReturn(session);
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// When
+		cachingSessionLookupHandler.onCreate(Create.of(sessionID));
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// Then
+		verify(delegate, times(2)).lookupBySessionID(sessionID);
+	}
+
+	@Test
+	public void shouldEvictSessionOnLogon() {
+		// Given
+		given(delegate.lookupBySessionID(sessionID)).willReturn(session);
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// When
+		cachingSessionLookupHandler.onLogon(Logon.of(sessionID));
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// Then
+		verify(delegate, times(2)).lookupBySessionID(sessionID);
+	}
+
+	@Test
+	public void shouldEvictSessionOnLogout() {
+		// Given
+		given(delegate.lookupBySessionID(sessionID)).willReturn(session);
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// When
+		cachingSessionLookupHandler.onLogout(Logout.of(sessionID));
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// Then
+		verify(delegate, times(2)).lookupBySessionID(sessionID);
+	}
+
+	@Test
+	public void shouldEvictAllSessions() {
+		// Given
+		given(delegate.lookupBySessionID(sessionID)).willReturn(session);
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// When
+		cachingSessionLookupHandler.invalidateAll();
+		cachingSessionLookupHandler.lookupBySessionID(sessionID);
+
+		// Then
+		verify(delegate, times(2)).lookupBySessionID(sessionID);
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import quickfix.ConfigError;
+import quickfix.DataDictionary;
+import quickfix.FieldException;
+import quickfix.Group;
+import quickfix.IncorrectDataFormat;
+import quickfix.IncorrectTagValue;
+import quickfix.Message;
+import quickfix.field.ClOrdID;
+import quickfix.field.ExecInst;
+import quickfix.field.HandlInst;
+import quickfix.field.MDReqID;
+import quickfix.field.MsgType;
+import quickfix.field.NoPartyIDs;
+import quickfix.field.OrdType;
+import quickfix.field.OrderQty;
+import quickfix.field.PartyID;
+import quickfix.field.Price;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TransactTime;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class CompiledDataDictionaryTest {
+
+	private static DataDictionary fix44DataDictionary;
+
+	@BeforeAll
+	public static void loadDataDictionary() throws ConfigError {
+		fix44DataDictionary = new DataDictionary("FIX44.xml");
+	}
+
+	@Test
+	public void shouldValidateFlatMessageWithoutTheDataDictionary() throws Exception {
+		// Given
+		DataDictionary dataDictionary = spy(fix44DataDictionary);
+		CompiledDataDictionary compiledDataDictionary = new CompiledDataDictionary(dataDictionary);
+
+		// When
+		compiledDataDictionary.validate(newOrderSingle());
+		compiledDataDictionary.validate(newOrderSingle());
+
+		// Then
+		verify(dataDictionary, never()).validate(any(), anyBoolean());
+	}
+
+	@Test
+	public void shouldDelegateMessageWithGroupsToTheDataDictionary() throws Exception {
+		// Given
+		DataDictionary dataDictionary = spy(fix44DataDictionary);
+		CompiledDataDictionary compiledDataDictionary = new CompiledDataDictionary(dataDictionary);
+		Message message = newOrderSingle();
+		Group party = new Group(NoPartyIDs.FIELD, PartyID.FIELD);
+		party.setString(PartyID.FIELD, "PARTY");
+		message.addGroup(party);
+
+		// When
+		compiledDataDictionary.validate(message);
+
+		// Then
+		verify(dataDictionary).validate(message, true);
+	}
+
+	@Test
+	public void shouldThrowDataDictionaryExceptionGivenMissingRequiredField() {
+		Message message = newOrderSingle();
+		message.removeField(Side.FIELD);
+
+		assertSameOutcome(message, FieldException.class);
+	}
+
+	@Test
+	public void shouldThrowDataDictionaryExceptionGivenIncorrectEnumValue() {
+		Message message = newOrderSingle();
+		message.setChar(Side.FIELD, 'Z');
+
+		assertSameOutcome(message, IncorrectTagValue.class);
+	}
+
+	@Test
+	public void shouldThrowDataDictionaryExceptionGivenIncorrectDataFormat() {
+		Message message = newOrderSingle();
+		message.setString(OrderQty.FIELD, "one hundred");
+
+		assertSameOutcome(message, IncorrectDataFormat.class);
+	}
+
+	@Test
+	public void shouldThrowDataDictionaryExceptionGivenFieldNotDefinedForMsgType() {
+		Message message = newOrderSingle();
+		message.setString(MDReqID.FIELD, "MD-1");
+
+		assertSameOutcome(message, FieldException.class);
+	}
+
+	@Test
+	public void shouldThrowDataDictionaryExceptionGivenUnknownMsgType() {
+		Message message = newOrderSingle();
+		message.getHeader().setString(MsgType.FIELD, "ZZ");
+
+		assertSameOutcome(message, FieldException.class);
+	}
+
+	@Test
+	public void shouldThrowDataDictionaryExceptionGivenUserDefinedField() {
+		Message message = newOrderSingle();
+		message.setString(5001, "custom");
+
+		assertSameOutcome(message, FieldException.class);
+	}
+
+	@Test
+	public void shouldAcceptUserDefinedFieldGivenUserDefinedFieldsAreNotChecked() throws Exception {
+		DataDictionary dataDictionary = new DataDictionary(fix44DataDictionary);
+		dataDictionary.setCheckUserDefinedFields(false);
+		Message message = newOrderSingle();
+		message.setString(5001, "custom");
+
+		dataDictionary.validate(message, true);
+		assertThatCode(() -> new CompiledDataDictionary(dataDictionary).validate(message)).doesNotThrowAnyException();
+	}
+
+	@Test
+	public void shouldDelegateUndefinedFieldToTheDataDictionaryGivenUnknownMessageFieldsAllowed() throws Exception {
+		// Given
+		DataDictionary dataDictionary = spy(new DataDictionary(fix44DataDictionary));
+		dataDictionary.setAllowUnknownMessageFields(true);
+		Message message = newOrderSingle();
+		message.setString(4999, "undefined");
+		Throwable expected = catchThrowable(() -> new DataDictionary(dataDictionary).validate(message, true));
+
+		// When
+		Throwable actual = catchThrowable(() -> new CompiledDataDictionary(dataDictionary).validate(message));
+
+		// Then
+		verify(dataDictionary).validate(message, true);
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void shouldAcceptFieldNotDefinedForMsgTypeGivenUnknownMessageFieldsAllowed() throws Exception {
+		DataDictionary dataDictionary = new DataDictionary(fix44DataDictionary);
+		dataDictionary.setAllowUnknownMessageFields(true);
+		Message message = newOrderSingle();
+		message.setString(MDReqID.FIELD, "MD-1");
+
+		dataDictionary.validate(message, true);
+		assertThatCode(() -> new CompiledDataDictionary(dataDictionary).validate(message)).doesNotThrowAnyException();
+	}
+
+	@Test
+	public void shouldAcceptMultipleValueStringEnum() throws Exception {
+		Message message = newOrderSingle();
+		message.setString(ExecInst.FIELD, "1 2");
+
+		fix44DataDictionary.validate(message, true);
+		assertThatCode(() -> new CompiledDataDictionary(fix44DataDictionary).validate(message)).doesNotThrowAnyException();
+	}
+
+	private static void assertSameOutcome(Message message, Class<? extends Throwable> expectedException) {
+		assertThatExceptionOfType(expectedException).isThrownBy(() -> fix44DataDictionary.validate(message, true));
+		assertThatExceptionOfType(expectedException)
+				.isThrownBy(() -> new CompiledDataDictionary(fix44DataDictionary).validate(message));
+	}
+
+	private static Message newOrderSingle() {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, MsgType.ORDER_SINGLE);
+		message.setString(ClOrdID.FIELD, "ORDER-1");
+		message.setChar(HandlInst.FIELD, HandlInst.AUTOMATED_EXECUTION_ORDER_PRIVATE_NO_BROKER_INTERVENTION);
+		message.setString(Symbol.FIELD, "MSFT");
+		message.setChar(Side.FIELD, Side.BUY);
+		message.setUtcTimeStamp(TransactTime.FIELD, LocalDateTime.now());
+		message.setDecimal(OrderQty.FIELD, BigDecimal.valueOf(100));
+		message.setChar(OrdType.FIELD, OrdType.LIMIT);
+		message.setDouble(Price.FIELD, 415.25);
+		return message;
+	}
+}
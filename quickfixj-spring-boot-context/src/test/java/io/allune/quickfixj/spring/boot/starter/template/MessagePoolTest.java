@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.junit.jupiter.api.Test;
+import quickfix.FieldNotFound;
+import quickfix.StringField;
+import quickfix.field.BeginString;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
+import quickfix.field.OrderQty;
+import quickfix.field.Price;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.Text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class MessagePoolTest {
+
+	@Test
+	public void shouldReuseReturnedMessages() throws FieldNotFound {
+		// Given
+		MessagePool messagePool = new MessagePool();
+
+		// When
+		PooledMessage first;
+		try (PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE)) {
+			message.setString(ClOrdID.FIELD, "ORDER-1");
+			first = message;
+		}
+		PooledMessage second = messagePool.borrow(MsgType.ORDER_SINGLE);
+		PooledMessage third = messagePool.borrow(MsgType.ORDER_SINGLE);
+
+		// Then
+		assertThat(second).isSameAs(first);
+		assertThat(third).isNotSameAs(first);
+		assertThat(second.getHeader().getString(MsgType.FIELD)).isEqualTo(MsgType.ORDER_SINGLE);
+		assertThat(messagePool.getHits()).isEqualTo(1);
+		assertThat(messagePool.getMisses()).isEqualTo(2);
+		assertThat(messagePool.getPooledMessages()).isZero();
+	}
+
+	@Test
+	public void shouldReuseFieldsAndRemoveFieldsNotSetAgain() throws FieldNotFound {
+		// Given
+		MessagePool messagePool = new MessagePool();
+		PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.setString(ClOrdID.FIELD, "ORDER-1");
+		message.setString(Text.FIELD, "first");
+		message.setChar(Side.FIELD, Side.BUY);
+		StringField clOrdID = message.getField(new StringField(ClOrdID.FIELD));
+		message.close();
+
+		// When
+		message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.setString(ClOrdID.FIELD, "ORDER-2");
+		message.setChar(Side.FIELD, Side.SELL);
+		message.setInt(OrderQty.FIELD, 100);
+		String encoded = message.toString();
+
+		// Then
+		assertThat(encoded).contains("\00111=ORDER-2\001", "\00154=2\001", "\00138=100\001").doesNotContain("\00158=");
+		assertThat(message.isSetField(Text.FIELD)).isFalse();
+		assertThat(message.getString(ClOrdID.FIELD)).isEqualTo("ORDER-2");
+		assertThat(clOrdID.getValue()).isEqualTo("ORDER-1");
+	}
+
+	@Test
+	public void shouldClearFieldsNotSetThroughPooledSetters() {
+		// Given
+		MessagePool messagePool = new MessagePool();
+		PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.setString(Symbol.FIELD, "MSFT");
+		message.setField(new Price(415.25));
+
+		// When
+		message.close();
+		message = messagePool.borrow(MsgType.ORDER_SINGLE);
+
+		// Then
+		assertThat(message.isSetField(Symbol.FIELD)).isFalse();
+		assertThat(message.isSetField(Price.FIELD)).isFalse();
+	}
+
+	@Test
+	public void shouldKeepUpToSizeMessagesPerMsgType() {
+		// Given
+		MessagePool messagePool = new MessagePool();
+		messagePool.setDefaultSize(1);
+		messagePool.setSize(MsgType.QUOTE, 2);
+		PooledMessage order1 = messagePool.borrow(MsgType.ORDER_SINGLE);
+		PooledMessage order2 = messagePool.borrow(MsgType.ORDER_SINGLE);
+		PooledMessage quote1 = messagePool.borrow(MsgType.QUOTE);
+		PooledMessage quote2 = messagePool.borrow(MsgType.QUOTE);
+
+		// When
+		order1.close();
+		order2.close();
+		quote1.close();
+		quote2.close();
+
+		// Then
+		assertThat(messagePool.getPooledMessages()).isEqualTo(3);
+		assertThat(messagePool.borrow(MsgType.ORDER_SINGLE)).isSameAs(order1);
+	}
+
+	@Test
+	public void shouldRejectMessageReturnedTwice() {
+		// Given
+		MessagePool messagePool = new MessagePool();
+		PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.close();
+
+		// When/Then
+		assertThatIllegalStateException().isThrownBy(message::close);
+	}
+
+	@Test
+	public void shouldEncodeLikeNewMessage() {
+		// Given
+		MessagePool messagePool = new MessagePool();
+		PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.getHeader().setString(BeginString.FIELD, "FIX.4.4");
+		message.setString(ClOrdID.FIELD, "ORDER-1");
+		message.close();
+		message = messagePool.borrow(MsgType.ORDER_SINGLE);
+		message.setString(ClOrdID.FIELD, "ORDER-2");
+
+		// When
+		String encoded = message.toString();
+
+		// Then
+		quickfix.Message expected = new quickfix.Message();
+		expected.getHeader().setString(BeginString.FIELD, "FIX.4.4");
+		expected.getHeader().setString(MsgType.FIELD, MsgType.ORDER_SINGLE);
+		expected.setString(ClOrdID.FIELD, "ORDER-2");
+		assertThat(encoded).isEqualTo(expected.toString());
+	}
+}
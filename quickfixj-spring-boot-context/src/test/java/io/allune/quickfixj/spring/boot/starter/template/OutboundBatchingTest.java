@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.apache.mina.core.buffer.IoBuffer;
+import org.apache.mina.core.filterchain.IoFilterAdapter;
+import org.apache.mina.core.future.WriteFuture;
+import org.apache.mina.core.service.IoHandlerAdapter;
+import org.apache.mina.core.session.DummySession;
+import org.apache.mina.core.session.IoSession;
+import org.apache.mina.core.write.WriteRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import quickfix.Connector;
+import quickfix.Session;
+import quickfix.SessionID;
+import quickfix.mina.SessionConnector;
+import quickfix.mina.message.FIXProtocolCodecFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class OutboundBatchingTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	private static final String MESSAGE = "8=FIX.4.4\u00019=5\u000135=0\u000110=161\u0001";
+
+	private final OutboundBatching outboundBatching = new OutboundBatching();
+
+	private final List<String> written = new CopyOnWriteArrayList<>();
+
+	private final AtomicInteger sent = new AtomicInteger();
+
+	private DummySession ioSession;
+
+	@BeforeEach
+	public void setUp() {
+		outboundBatching.setMaxDelay(Duration.ofHours(1));
+	}
+
+	@AfterEach
+	public void tearDown() {
+		outboundBatching.close();
+	}
+
+	@Test
+	public void shouldInstallOnSessionConnector() {
+		// Given
+		SessionConnector connector = mock(SessionConnector.class);
+
+		// When
+		outboundBatching.install(connector);
+
+		// Then
+		verify(connector).setIoFilterChainBuilder(outboundBatching);
+		assertThatThrownBy(() -> outboundBatching.install(mock(Connector.class)))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	public void shouldWriteMessagesAtOnceWhenMaxBatchSizeIsReached() {
+		// Given
+		outboundBatching.setMaxBatchSize(3 * MESSAGE.length());
+		connect();
+
+		// When
+		WriteFuture first = ioSession.write(MESSAGE);
+		WriteFuture second = ioSession.write(MESSAGE);
+
+		// Then
+		assertThat(written).isEmpty();
+		assertThat(first.isWritten()).isFalse();
+
+		WriteFuture third = ioSession.write(MESSAGE);
+		assertThat(written).containsExactly(MESSAGE + MESSAGE + MESSAGE);
+		assertThat(first.isWritten()).isTrue();
+		assertThat(second.isWritten()).isTrue();
+		assertThat(third.isWritten()).isTrue();
+		assertThat(sent).hasValue(3);
+		assertThat(outboundBatching.getFlushes()).isEqualTo(1);
+		assertThat(outboundBatching.getFlushedMessages()).isEqualTo(3);
+	}
+
+	@Test
+	public void shouldWriteMessagesAfterMaxDelay() {
+		// Given
+		outboundBatching.setMaxDelay(Duration.ofMillis(50));
+		connect();
+
+		// When
+		ioSession.write(MESSAGE);
+		ioSession.write(MESSAGE);
+
+		// Then
+		await().atMost(Duration.ofSeconds(2)).until(() -> !written.isEmpty());
+		assertThat(written).containsExactly(MESSAGE + MESSAGE);
+		assertThat(sent).hasValue(2);
+	}
+
+	@Test
+	public void shouldWriteMessagesOfSessionOnFlush() {
+		// Given
+		connect();
+		Session session = mock(Session.class);
+		given(session.getSessionID()).willReturn(SESSION_ID);
+		ioSession.setAttribute(SessionConnector.QF_SESSION, session);
+		ioSession.write(MESSAGE);
+
+		// When
+		outboundBatching.flush(new SessionID("FIX.4.4", "BANZAI", "OTHER"));
+		assertThat(written).isEmpty();
+		outboundBatching.flush(SESSION_ID);
+
+		// Then
+		assertThat(written).containsExactly(MESSAGE);
+
+		ioSession.write(MESSAGE);
+		outboundBatching.flushAll();
+		assertThat(written).containsExactly(MESSAGE, MESSAGE);
+	}
+
+	@Test
+	public void shouldWriteMessagesBeforeClosingOnFlush() {
+		// Given
+		connect();
+		ioSession.write(MESSAGE);
+		ioSession.write(MESSAGE);
+
+		// When
+		ioSession.closeOnFlush();
+
+		// Then
+		assertThat(written).containsExactly(MESSAGE + MESSAGE);
+	}
+
+	@Test
+	public void shouldFailBufferedMessagesWhenConnectionIsClosed() {
+		// Given
+		connect();
+		WriteFuture future = ioSession.write(MESSAGE);
+
+		// When
+		ioSession.closeNow();
+
+		// Then
+		assertThat(future.isWritten()).isFalse();
+		assertThat(future.getException()).isNotNull();
+		outboundBatching.flushAll();
+		assertThat(written).isEmpty();
+	}
+
+	private void connect() {
+		ioSession = new DummySession();
+		ioSession.setHandler(new IoHandlerAdapter() {
+			@Override
+			public void messageSent(IoSession session, Object message) {
+				sent.incrementAndGet();
+			}
+		});
+		// Records what reaches the socket, the batching filter being added between it and the codec
+		ioSession.getFilterChain().addLast("socket", new IoFilterAdapter() {
+			@Override
+			public void filterWrite(NextFilter nextFilter, IoSession session, WriteRequest writeRequest) {
+				if (writeRequest.getMessage() instanceof IoBuffer) {
+					IoBuffer buffer = ((IoBuffer) writeRequest.getMessage()).duplicate();
+					byte[] bytes = new byte[buffer.remaining()];
+					buffer.get(bytes);
+					written.add(new String(bytes, StandardCharsets.US_ASCII));
+				}
+				nextFilter.filterWrite(session, writeRequest);
+			}
+		});
+		ioSession.getFilterChain().addLast(FIXProtocolCodecFactory.FILTER_NAME, new IoFilterAdapter() {
+			@Override
+			public void filterWrite(NextFilter nextFilter, IoSession session, WriteRequest writeRequest) {
+				writeRequest.setMessage(IoBuffer.wrap(((String) writeRequest.getMessage()).getBytes(StandardCharsets.US_ASCII)));
+				nextFilter.filterWrite(session, writeRequest);
+			}
+		});
+		outboundBatching.buildFilterChain(ioSession.getFilterChain());
+	}
+}
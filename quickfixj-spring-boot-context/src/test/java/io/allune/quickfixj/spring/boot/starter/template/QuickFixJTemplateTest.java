@@ -17,11 +17,14 @@ package io.allune.quickfixj.spring.boot.starter.template;
 
 import io.allune.quickfixj.spring.boot.starter.exception.FieldNotFoundException;
 import io.allune.quickfixj.spring.boot.starter.exception.MessageValidationException;
+import io.allune.quickfixj.spring.boot.starter.exception.SendRejectedException;
 import io.allune.quickfixj.spring.boot.starter.exception.SessionNotFoundException;
+import io.allune.quickfixj.spring.boot.starter.model.Logout;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import quickfix.DataDictionary;
@@ -34,18 +37,35 @@ import quickfix.Session;
 import quickfix.SessionID;
 import quickfix.field.ApplVerID;
 import quickfix.field.BeginString;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgType;
 import quickfix.field.SenderCompID;
 import quickfix.field.TargetCompID;
+import quickfix.field.Text;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 
@@ -112,6 +132,27 @@ public class QuickFixJTemplateTest {
 		assertMessageSent(expectedSender, expectedTarget);
 	}
 
+	@Test
+	public void shouldNotifySendListener() throws FieldNotFound {
+		// Given
+		Message.Header header = mock(Message.Header.class);
+		given(message.getHeader()).willReturn(header);
+		given(header.getString(SenderCompID.FIELD)).willReturn(expectedSender);
+		given(header.getString(TargetCompID.FIELD)).willReturn(expectedTarget);
+		given(header.getString(BeginString.FIELD)).willReturn(expectedBeginString);
+		given(sessionLookupHandler.lookupBySessionID(any())).willReturn(session);
+		given(session.send(message)).willReturn(false);
+		SendListener sendListener = mock(SendListener.class);
+		quickFixJTemplate.setSendListener(sendListener);
+
+		// When
+		boolean sent = quickFixJTemplate.send(message);
+
+		// Then
+		assertThat(sent).isFalse();
+		verify(sendListener).onSend(message, new SessionID(expectedBeginString, expectedSender, expectedTarget), false);
+	}
+
 	@Test
 	public void shouldSendMessageWithQualifier() throws FieldNotFound {
 		// Given
@@ -208,6 +249,7 @@ public class QuickFixJTemplateTest {
 		given(header.getString(TargetCompID.FIELD)).willReturn(expectedTarget);
 		given(header.getString(BeginString.FIELD)).willReturn(expectedBeginString);
 		given(sessionLookupHandler.lookupBySessionID(any())).willReturn(session);
+		given(session.getSessionID()).willReturn(new SessionID(expectedBeginString, expectedSender, expectedTarget));
 		given(session.getDataDictionaryProvider()).willReturn(dataDictionaryProvider);
 		given(dataDictionaryProvider.getApplicationDataDictionary(any())).willReturn(applicationDataDictionary);
 
@@ -225,6 +267,358 @@ public class QuickFixJTemplateTest {
 		verify(applicationDataDictionary).validate(messageCaptor.capture(), eq(true));
 	}
 
+	@Test
+	public void shouldSendRawMessage() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.send(any(RawMessage.class))).willReturn(true);
+		ByteBuffer body = ByteBuffer.wrap("11=ORDER-1\00155=MSFT\001".getBytes(StandardCharsets.US_ASCII));
+
+		// When
+		boolean sent = quickFixJTemplate.sendRaw(sessionID, "D", body);
+
+		// Then
+		assertThat(sent).isTrue();
+		ArgumentCaptor<RawMessage> messageCaptor = ArgumentCaptor.forClass(RawMessage.class);
+		verify(session).send(messageCaptor.capture());
+		assertThat(messageCaptor.getValue().getBody()).isEqualTo("11=ORDER-1\00155=MSFT\001");
+		verifyNoInteractions(applicationDataDictionary);
+	}
+
+	@Test
+	public void shouldThrowSessionNotFoundExceptionSendingRawMessage() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		ByteBuffer body = ByteBuffer.wrap("11=ORDER-1\001".getBytes(StandardCharsets.US_ASCII));
+
+		// When/Then
+		assertThatExceptionOfType(SessionNotFoundException.class)
+				.isThrownBy(() -> quickFixJTemplate.sendRaw(sessionID, "D", body));
+	}
+
+	@Test
+	public void shouldRemoveFieldsOfPreviousUseSendingPooledMessage() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		List<Boolean> textSet = new ArrayList<>();
+		given(session.send(any(PooledMessage.class))).willAnswer(invocation -> {
+			textSet.add(invocation.<PooledMessage>getArgument(0).isSetField(Text.FIELD));
+			return true;
+		});
+		quickFixJTemplate.setDoValidation(false);
+		MessagePool messagePool = new MessagePool();
+		try (PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE)) {
+			message.setString(ClOrdID.FIELD, "ORDER-1");
+			message.setString(Text.FIELD, "first");
+			quickFixJTemplate.send(message, sessionID);
+		}
+
+		// When
+		try (PooledMessage message = messagePool.borrow(MsgType.ORDER_SINGLE)) {
+			message.setString(ClOrdID.FIELD, "ORDER-2");
+			quickFixJTemplate.send(message, sessionID);
+		}
+
+		// Then
+		assertThat(textSet).containsExactly(true, false);
+	}
+
+	@Test
+	public void shouldSendToLoggedOnSessionsOfGroup() {
+		// Given
+		SessionID firstSessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget, "first");
+		SessionID secondSessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget, "second");
+		SessionID thirdSessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget, "third");
+		Session secondSession = mock(Session.class);
+		given(sessionLookupHandler.lookupBySessionID(firstSessionID)).willReturn(session);
+		given(sessionLookupHandler.lookupBySessionID(secondSessionID)).willReturn(secondSession);
+		given(session.isLoggedOn()).willReturn(true);
+		given(secondSession.isLoggedOn()).willReturn(false);
+		given(session.send(any())).willReturn(true);
+		SessionSelectionStrategy selectionStrategy = mock(SessionSelectionStrategy.class);
+		given(selectionStrategy.select(any(), eq(List.of(firstSessionID)))).willReturn(firstSessionID);
+		quickFixJTemplate.setDoValidation(false);
+		quickFixJTemplate.setSessionGroups(List.of(new SessionGroup("venue",
+				List.of(firstSessionID, secondSessionID, thirdSessionID), selectionStrategy)));
+		Message order = newMessage(expectedTarget);
+
+		// When
+		boolean sent = quickFixJTemplate.sendToGroup(order, "venue");
+
+		// Then
+		assertThat(sent).isTrue();
+		InOrder inOrder = inOrder(selectionStrategy, session);
+		inOrder.verify(selectionStrategy).onSendStarted(firstSessionID);
+		inOrder.verify(session).send(order);
+		inOrder.verify(selectionStrategy).onSendCompleted(eq(firstSessionID), anyLong());
+		verify(secondSession, never()).send(any());
+	}
+
+	@Test
+	public void shouldSendToExistingSessionsOfGroupGivenNoneLoggedOn() {
+		// Given
+		SessionID firstSessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget, "first");
+		SessionID secondSessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget, "second");
+		given(sessionLookupHandler.lookupBySessionID(firstSessionID)).willReturn(null);
+		given(sessionLookupHandler.lookupBySessionID(secondSessionID)).willReturn(session);
+		given(session.isLoggedOn()).willReturn(false);
+		given(session.send(any())).willReturn(false);
+		quickFixJTemplate.setDoValidation(false);
+		quickFixJTemplate.setSessionGroups(List.of(new SessionGroup("venue",
+				List.of(firstSessionID, secondSessionID), SessionSelectionStrategy.roundRobin())));
+
+		// When
+		boolean sent = quickFixJTemplate.sendToGroup(newMessage(expectedTarget), "venue");
+
+		// Then
+		assertThat(sent).isFalse();
+		verify(session).send(any());
+	}
+
+	@Test
+	public void shouldThrowSessionNotFoundExceptionSendingToUnknownGroup() {
+		// Given
+		Message order = newMessage(expectedTarget);
+
+		// When/Then
+		assertThatExceptionOfType(SessionNotFoundException.class)
+				.isThrownBy(() -> quickFixJTemplate.sendToGroup(order, "venue"));
+		assertThat(quickFixJTemplate.sendToGroupAsync(order, "venue"))
+				.failsWithin(Duration.ofSeconds(1))
+				.withThrowableOfType(ExecutionException.class)
+				.withCauseInstanceOf(SessionNotFoundException.class);
+	}
+
+	@Test
+	public void shouldSendToGroupAsynchronously() throws Exception {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget, "first");
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.isLoggedOn()).willReturn(true);
+		given(session.send(any())).willReturn(true);
+		SessionSelectionStrategy selectionStrategy = SessionSelectionStrategy.leastOutstanding();
+		quickFixJTemplate.setDoValidation(false);
+		quickFixJTemplate.setSessionGroups(List.of(new SessionGroup("venue", List.of(sessionID), selectionStrategy)));
+
+		// When
+		CompletableFuture<Boolean> sent = quickFixJTemplate.sendToGroupAsync(newMessage(expectedTarget), "venue");
+
+		// Then
+		assertThat(sent.get(1, TimeUnit.SECONDS)).isTrue();
+		verify(session).send(any());
+	}
+
+	@Test
+	public void shouldNotSendMessageRejectedByRateLimiter() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.send(any())).willReturn(true);
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.REJECT);
+		rateLimiter.setLimit(sessionID, RateLimit.of(1));
+		quickFixJTemplate.setSendRateLimiter(rateLimiter);
+		quickFixJTemplate.setDoValidation(false);
+		quickFixJTemplate.send(newMessage(expectedTarget), sessionID);
+
+		// When/Then
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> quickFixJTemplate.send(newMessage(expectedTarget), sessionID));
+		verify(session, times(1)).send(any());
+	}
+
+	@Test
+	public void shouldFlushOutboundBatching() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		OutboundBatching outboundBatching = mock(OutboundBatching.class);
+		quickFixJTemplate.setOutboundBatching(outboundBatching);
+
+		// When
+		quickFixJTemplate.flush(sessionID);
+		quickFixJTemplate.flush();
+
+		// Then
+		verify(outboundBatching).flush(sessionID);
+		verify(outboundBatching).flushAll();
+	}
+
+	@Test
+	public void shouldSendAllLookingUpEachSessionOnce() {
+		// Given
+		SessionID otherSessionID = new SessionID(expectedBeginString, expectedSender, "Other");
+		Session otherSession = mock(Session.class);
+		Message first = newMessage(expectedTarget);
+		Message second = newMessage("Other");
+		Message third = newMessage(expectedTarget);
+		SessionID expectedSessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(expectedSessionID)).willReturn(session);
+		given(sessionLookupHandler.lookupBySessionID(otherSessionID)).willReturn(otherSession);
+		given(session.send(any())).willReturn(true);
+		given(otherSession.send(second)).willReturn(false);
+
+		// When
+		int sent = quickFixJTemplate.sendAll(List.of(first, second, third));
+
+		// Then
+		assertThat(sent).isEqualTo(2);
+		verify(sessionLookupHandler).lookupBySessionID(expectedSessionID);
+		verify(sessionLookupHandler).lookupBySessionID(otherSessionID);
+		InOrder inOrder = inOrder(session);
+		inOrder.verify(session).send(first);
+		inOrder.verify(session).send(third);
+	}
+
+	@Test
+	public void shouldSendAllToSessionIDResolvingDataDictionaryOnce() throws IncorrectTagValue, FieldNotFound, IncorrectDataFormat {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		Message first = newMessage(expectedTarget);
+		Message second = newMessage(expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.getSessionID()).willReturn(sessionID);
+		given(session.getDataDictionaryProvider()).willReturn(dataDictionaryProvider);
+		given(dataDictionaryProvider.getApplicationDataDictionary(any())).willReturn(applicationDataDictionary);
+		given(session.send(any())).willReturn(true);
+
+		// When
+		int sent = quickFixJTemplate.sendAll(sessionID, List.of(first, second));
+
+		// Then
+		assertThat(sent).isEqualTo(2);
+		verify(dataDictionaryProvider).getApplicationDataDictionary(any());
+		verify(applicationDataDictionary).validate(first, true);
+		verify(applicationDataDictionary).validate(second, true);
+	}
+
+	@Test
+	public void shouldNotSendAnyMessageGivenOneFailsValidation() throws IncorrectTagValue, FieldNotFound, IncorrectDataFormat {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		Message valid = newMessage(expectedTarget);
+		Message invalid = newMessage(expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.getSessionID()).willReturn(sessionID);
+		given(session.getDataDictionaryProvider()).willReturn(dataDictionaryProvider);
+		given(dataDictionaryProvider.getApplicationDataDictionary(any())).willReturn(applicationDataDictionary);
+		willThrow(IncorrectDataFormat.class).given(applicationDataDictionary).validate(invalid, true);
+
+		// When/Then
+		assertThatExceptionOfType(MessageValidationException.class)
+				.isThrownBy(() -> quickFixJTemplate.sendAll(List.of(valid, invalid)));
+		verify(session, never()).send(any());
+	}
+
+	@Test
+	public void shouldSendMessageAsynchronously() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		Message message = newMessage(expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.send(message)).willReturn(true);
+		List<Runnable> tasks = new ArrayList<>();
+		quickFixJTemplate.setAsyncExecutor(tasks::add);
+
+		// When
+		CompletableFuture<Boolean> sent = quickFixJTemplate.sendAsync(message);
+
+		// Then
+		assertThat(sent).isNotDone();
+		verify(session, never()).send(any());
+		tasks.forEach(Runnable::run);
+		assertThat(sent).isCompletedWithValue(true);
+	}
+
+	@Test
+	public void shouldRejectAsyncSendGivenTooManyPendingSends() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		quickFixJTemplate.setAsyncExecutor(task -> {
+		});
+		quickFixJTemplate.setMaxPendingAsyncSends(1);
+
+		// When
+		CompletableFuture<Boolean> first = quickFixJTemplate.sendAsync(newMessage(expectedTarget), sessionID);
+		CompletableFuture<Boolean> second = quickFixJTemplate.sendAsync(newMessage(expectedTarget), sessionID);
+
+		// Then
+		assertThat(first).isNotDone();
+		assertThat(second).isCompletedExceptionally();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(second::get)
+				.withCauseInstanceOf(SendRejectedException.class);
+	}
+
+	@Test
+	public void shouldTimeOutAsyncSendAndSkipIt() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		List<Runnable> tasks = new ArrayList<>();
+		quickFixJTemplate.setAsyncExecutor(tasks::add);
+		quickFixJTemplate.setAsyncSendTimeout(Duration.ofMillis(10));
+
+		// When
+		CompletableFuture<Boolean> sent = quickFixJTemplate.sendAsync(newMessage(expectedTarget), sessionID);
+
+		// Then
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(sent::get)
+				.withCauseInstanceOf(TimeoutException.class);
+		tasks.forEach(Runnable::run);
+		verify(session, never()).send(any());
+	}
+
+	@Test
+	public void shouldDropIdleSendQueueGivenSessionLoggedOut() {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		List<Runnable> tasks = new ArrayList<>();
+		quickFixJTemplate.setAsyncExecutor(tasks::add);
+		quickFixJTemplate.sendAsync(newMessage(expectedTarget), sessionID);
+
+		// When
+		quickFixJTemplate.onLogout(Logout.of(sessionID));
+		assertThat(quickFixJTemplate.getSendQueues()).containsKey(sessionID);
+		tasks.forEach(Runnable::run);
+		quickFixJTemplate.onLogout(Logout.of(sessionID));
+
+		// Then
+		assertThat(quickFixJTemplate.getSendQueues()).isEmpty();
+	}
+
+	@Test
+	public void shouldShutDownDefaultAsyncExecutorGivenTemplateDestroyed() throws Exception {
+		// Given
+		SessionID sessionID = new SessionID(expectedBeginString, expectedSender, expectedTarget);
+		given(sessionLookupHandler.lookupBySessionID(sessionID)).willReturn(session);
+		given(session.send(any())).willReturn(true);
+		assertThat(quickFixJTemplate.sendAsync(newMessage(expectedTarget), sessionID).get(5, TimeUnit.SECONDS)).isTrue();
+
+		// When
+		quickFixJTemplate.destroy();
+		CompletableFuture<Boolean> sent = quickFixJTemplate.sendAsync(newMessage(expectedTarget), sessionID);
+
+		// Then
+		assertThat(quickFixJTemplate.getSendQueues()).isEmpty();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(sent::get)
+				.withCauseInstanceOf(RejectedExecutionException.class);
+	}
+
+	@Test
+	public void shouldCompleteAsyncSendExceptionallyGivenSessionNotFound() {
+		// Given
+		given(sessionLookupHandler.lookupBySessionID(any())).willReturn(null);
+
+		// When
+		CompletableFuture<Boolean> sent = quickFixJTemplate.sendAsync(newMessage(expectedTarget));
+
+		// Then
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(sent::get)
+				.withCauseInstanceOf(SessionNotFoundException.class);
+	}
+
 	@Test
 	public void shouldThrowSessionNotFoundException() throws FieldNotFound {
 		// Given
@@ -249,6 +643,7 @@ public class QuickFixJTemplateTest {
 		given(header.getString(TargetCompID.FIELD)).willReturn(expectedTarget);
 		given(header.getString(BeginString.FIELD)).willReturn(expectedBeginString);
 		given(sessionLookupHandler.lookupBySessionID(any())).willReturn(session);
+		given(session.getSessionID()).willReturn(new SessionID(expectedBeginString, expectedSender, expectedTarget));
 		given(session.getDataDictionaryProvider()).willReturn(dataDictionaryProvider);
 		given(dataDictionaryProvider.getApplicationDataDictionary(any())).willReturn(applicationDataDictionary);
 		willThrow(IncorrectDataFormat.class).given(applicationDataDictionary).validate(any(), eq(true));
@@ -340,11 +735,36 @@ public class QuickFixJTemplateTest {
 		verify(applicationDataDictionary, never()).validate(any());
 	}
 
+	@Test
+	public void shouldSkipValidationGivenValidationPolicyDoesNotSelectMessage() throws FieldNotFound, IncorrectTagValue, IncorrectDataFormat {
+		// Given
+		Message.Header header = mock(Message.Header.class);
+		given(message.getHeader()).willReturn(header);
+		given(header.getString(SenderCompID.FIELD)).willReturn(expectedSender);
+		given(header.getString(TargetCompID.FIELD)).willReturn(expectedTarget);
+		given(header.getString(BeginString.FIELD)).willReturn(expectedBeginString);
+		given(sessionLookupHandler.lookupBySessionID(any())).willReturn(session);
+		given(session.getSessionID()).willReturn(new SessionID(expectedBeginString, expectedSender, expectedTarget));
+		given(session.getDataDictionaryProvider()).willReturn(dataDictionaryProvider);
+		given(dataDictionaryProvider.getApplicationDataDictionary(any())).willReturn(applicationDataDictionary);
+		quickFixJTemplate.setValidationPolicy(ValidationPolicy.sampled(2));
+
+		// When
+		quickFixJTemplate.send(message);
+		quickFixJTemplate.send(message);
+		quickFixJTemplate.send(message);
+
+		// Then
+		verify(session, times(3)).send(message);
+		verify(applicationDataDictionary, times(2)).validate(any(), eq(true));
+	}
+
 	@Test
 	public void shouldDoValidationForSpecificVersion() throws FieldNotFound, IncorrectTagValue, IncorrectDataFormat {
 		// Given
 		Message.Header header = mock(Message.Header.class);
 		given(message.getHeader()).willReturn(header);
+		given(header.isSetField(ApplVerID.FIELD)).willReturn(true);
 		given(header.getString(ApplVerID.FIELD)).willReturn(ApplVerID.FIX43);
 		given(header.getString(SenderCompID.FIELD)).willReturn(expectedSender);
 		given(header.getString(TargetCompID.FIELD)).willReturn(expectedTarget);
@@ -362,6 +782,29 @@ public class QuickFixJTemplateTest {
 		verify(applicationDataDictionary).validate(any(), any(Boolean.class));
 	}
 
+	@Test
+	public void shouldReuseResolvedSessionID() throws FieldNotFound {
+		// Given
+		Message.Header header = mock(Message.Header.class);
+		given(message.getHeader()).willReturn(header);
+		given(header.getString(SenderCompID.FIELD)).willReturn(expectedSender);
+		given(header.getString(TargetCompID.FIELD)).willReturn(expectedTarget);
+		given(header.getString(BeginString.FIELD)).willReturn(expectedBeginString);
+		given(sessionLookupHandler.lookupBySessionID(any())).willReturn(session);
+		quickFixJTemplate.setDoValidation(false);
+
+		// When
+		quickFixJTemplate.send(message);
+		quickFixJTemplate.send(message);
+
+		// Then
+		ArgumentCaptor<SessionID> sessionIDCaptor = ArgumentCaptor.forClass(SessionID.class);
+		verify(sessionLookupHandler, times(2)).lookupBySessionID(sessionIDCaptor.capture());
+		assertThat(sessionIDCaptor.getAllValues().get(0))
+				.isEqualTo(new SessionID(expectedBeginString, expectedSender, expectedTarget))
+				.isSameAs(sessionIDCaptor.getAllValues().get(1));
+	}
+
 	private void assertSessionID(SessionID expectedSessionID) {
 		ArgumentCaptor<SessionID> sessionIDCaptor = ArgumentCaptor.forClass(SessionID.class);
 		verify(sessionLookupHandler).lookupBySessionID(sessionIDCaptor.capture());
@@ -374,4 +817,12 @@ public class QuickFixJTemplateTest {
 		assertThat(messageCaptor.getValue().getHeader().getString(SenderCompID.FIELD)).isEqualTo(expectedSender);
 		assertThat(messageCaptor.getValue().getHeader().getString(TargetCompID.FIELD)).isEqualTo(expectedTarget);
 	}
+
+	private Message newMessage(String targetCompID) {
+		Message message = new Message();
+		message.getHeader().setString(BeginString.FIELD, expectedBeginString);
+		message.getHeader().setString(SenderCompID.FIELD, expectedSender);
+		message.getHeader().setString(TargetCompID.FIELD, targetCompID);
+		return message;
+	}
 }
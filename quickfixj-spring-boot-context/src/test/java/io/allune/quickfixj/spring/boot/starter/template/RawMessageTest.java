@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.quickfixj.CharsetSupport;
+import quickfix.Message;
+import quickfix.field.BeginString;
+import quickfix.field.ClOrdID;
+import quickfix.field.MsgSeqNum;
+import quickfix.field.MsgType;
+import quickfix.field.SenderCompID;
+import quickfix.field.Side;
+import quickfix.field.Symbol;
+import quickfix.field.TargetCompID;
+import quickfix.field.Text;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class RawMessageTest {
+
+	@AfterEach
+	public void tearDown() throws UnsupportedEncodingException {
+		CharsetSupport.setDefaultCharset();
+	}
+
+	@Test
+	public void shouldEncodeLikeMessageWithSameFields() {
+		// Given
+		ByteBuffer body = ByteBuffer.allocateDirect(64);
+		body.put("11=ORDER-1\00154=1\00155=MSFT\001".getBytes(StandardCharsets.US_ASCII)).flip();
+
+		// When
+		RawMessage rawMessage = withHeader(new RawMessage(MsgType.ORDER_SINGLE, body));
+
+		// Then
+		Message message = withHeader(new Message());
+		message.getHeader().setString(MsgType.FIELD, MsgType.ORDER_SINGLE);
+		message.setString(ClOrdID.FIELD, "ORDER-1");
+		message.setString(Symbol.FIELD, "MSFT");
+		message.setChar(Side.FIELD, Side.BUY);
+		assertThat(rawMessage.toString()).isEqualTo(message.toString());
+		assertThat(rawMessage.isAdmin()).isFalse();
+		assertThat(body.position()).isZero();
+	}
+
+	@Test
+	public void shouldEncodeLikeMessageGivenMultiByteCharset() throws UnsupportedEncodingException {
+		// Given
+		CharsetSupport.setCharset("UTF-8");
+
+		// When
+		RawMessage rawMessage = withHeader(new RawMessage(MsgType.NEWS, "58=Zürich\001"));
+
+		// Then
+		Message message = withHeader(new Message());
+		message.getHeader().setString(MsgType.FIELD, MsgType.NEWS);
+		message.setString(Text.FIELD, "Zürich");
+		assertThat(rawMessage.toString()).isEqualTo(message.toString());
+	}
+
+	@Test
+	public void shouldRejectBodyNotEndingWithDelimiter() {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> new RawMessage(MsgType.ORDER_SINGLE, "11=ORDER-1"))
+				.withMessageContaining("SOH");
+	}
+
+	private static <T extends Message> T withHeader(T message) {
+		message.getHeader().setString(BeginString.FIELD, "FIX.4.4");
+		message.getHeader().setString(SenderCompID.FIELD, "BANZAI");
+		message.getHeader().setString(TargetCompID.FIELD, "EXEC");
+		message.getHeader().setInt(MsgSeqNum.FIELD, 42);
+		return message;
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import io.allune.quickfixj.spring.boot.starter.exception.SendRejectedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import quickfix.Message;
+import quickfix.SessionID;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+@ExtendWith(MockitoExtension.class)
+public class ReactiveQuickFixJTemplateTest {
+
+	private final SessionID sessionID = new SessionID("FIX.4.4", "SENDER", "TARGET");
+
+	@Mock
+	private QuickFixJOperations quickFixJOperations;
+
+	@InjectMocks
+	private ReactiveQuickFixJTemplate reactiveQuickFixJTemplate;
+
+	@Test
+	public void shouldSendOnSubscription() {
+		// Given
+		Message message = new Message();
+		given(quickFixJOperations.sendAsync(message, sessionID)).willReturn(CompletableFuture.completedFuture(true));
+
+		// When
+		Mono<Boolean> sent = reactiveQuickFixJTemplate.send(message, sessionID);
+
+		// Then
+		verifyNoInteractions(quickFixJOperations);
+		assertThat(sent.block()).isTrue();
+		verify(quickFixJOperations).sendAsync(message, sessionID);
+	}
+
+	@Test
+	public void shouldPropagateSendError() {
+		// Given
+		Message message = new Message();
+		given(quickFixJOperations.sendAsync(message))
+				.willReturn(CompletableFuture.failedFuture(new SendRejectedException("Too many pending sends")));
+
+		// When/Then
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> reactiveQuickFixJTemplate.send(message).block());
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import io.allune.quickfixj.spring.boot.starter.exception.SendRejectedException;
+import org.junit.jupiter.api.Test;
+import quickfix.Dictionary;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.SessionSettings;
+import quickfix.field.MsgType;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class SendRateLimiterTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	private static final SessionID OTHER_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "OTHER");
+
+	@Test
+	public void shouldRejectMessagesBeyondBurst() {
+		// Given
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.REJECT);
+		rateLimiter.setDefaultLimit(RateLimit.of(1, 2));
+
+		// When
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+
+		// Then
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID))
+				.withMessageContaining(SESSION_ID.toString());
+		assertThatCode(() -> rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), OTHER_SESSION_ID))
+				.doesNotThrowAnyException();
+		TokenBucket bucket = bucket(rateLimiter, SESSION_ID, null);
+		assertThat(bucket.getAvailableTokens()).isZero();
+		assertThat(bucket.getRejected()).isEqualTo(1);
+		assertThat(bucket.getThrottled()).isZero();
+	}
+
+	@Test
+	public void shouldBlockUntilTokenIsAvailable() {
+		// Given
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.BLOCK);
+		rateLimiter.setDefaultLimit(RateLimit.of(20, 1));
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+
+		// When
+		long start = System.nanoTime();
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		long elapsed = System.nanoTime() - start;
+
+		// Then
+		assertThat(elapsed).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(90));
+		assertThat(bucket(rateLimiter, SESSION_ID, null).getThrottled()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldQueueUpToMaxWait() {
+		// Given
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.QUEUE);
+		rateLimiter.setDefaultLimit(RateLimit.of(20, 1));
+		rateLimiter.setLimit(OTHER_SESSION_ID, RateLimit.of(1));
+		rateLimiter.setMaxWait(Duration.ofMillis(60));
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), OTHER_SESSION_ID);
+
+		// When
+		long start = System.nanoTime();
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		long queued = System.nanoTime() - start;
+
+		// Then
+		assertThat(queued).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(40));
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), OTHER_SESSION_ID));
+		assertThat(bucket(rateLimiter, OTHER_SESSION_ID, null).getRejected()).isEqualTo(1);
+	}
+
+	@Test
+	public void shouldLimitMsgTypesOfEachSession() {
+		// Given
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.REJECT);
+		rateLimiter.setMsgTypeLimit(MsgType.ORDER_SINGLE, RateLimit.of(1));
+
+		// When
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), OTHER_SESSION_ID);
+
+		// Then
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID))
+				.withMessageContaining("MsgType D");
+		assertThat(rateLimiter.getBuckets()).hasSize(2)
+				.allSatisfy(bucket -> assertThat(bucket.getMsgType()).isEqualTo(MsgType.ORDER_SINGLE));
+	}
+
+	@Test
+	public void shouldGiveBackMsgTypeTokenGivenSessionLimitReached() {
+		// Given
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.REJECT);
+		rateLimiter.setLimit(SESSION_ID, RateLimit.of(1));
+		rateLimiter.setMsgTypeLimit(MsgType.ORDER_SINGLE, RateLimit.of(5));
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+
+		// When
+		assertThatExceptionOfType(SendRejectedException.class)
+				.isThrownBy(() -> rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID));
+
+		// Then
+		assertThat(bucket(rateLimiter, SESSION_ID, null).getRejected()).isEqualTo(1);
+		assertThat(bucket(rateLimiter, SESSION_ID, MsgType.ORDER_SINGLE).getAvailableTokens()).isEqualTo(4);
+	}
+
+	@Test
+	public void shouldReadLimitsFromSessionSettings() throws Exception {
+		// Given
+		SessionSettings sessionSettings = new SessionSettings();
+		sessionSettings.setLong(SendRateLimiter.SETTING_SEND_RATE_LIMIT, 10);
+		sessionSettings.set(SESSION_ID, new Dictionary());
+		sessionSettings.setLong(OTHER_SESSION_ID, SendRateLimiter.SETTING_SEND_RATE_LIMIT, 5);
+		sessionSettings.setLong(OTHER_SESSION_ID, SendRateLimiter.SETTING_SEND_RATE_LIMIT_BURST, 1);
+		SendRateLimiter rateLimiter = new SendRateLimiter(ThrottlePolicy.REJECT);
+		List<TokenBucket> created = new ArrayList<>();
+		rateLimiter.setBucketListener(created::add);
+
+		// When
+		rateLimiter.configure(sessionSettings);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), OTHER_SESSION_ID);
+		rateLimiter.acquire(newMessage(MsgType.ORDER_SINGLE), new SessionID("FIX.4.4", "BANZAI", "UNLIMITED"));
+
+		// Then
+		assertThat(created).extracting(TokenBucket::getRateLimit)
+				.containsExactlyInAnyOrder(RateLimit.of(10), RateLimit.of(5, 1));
+		assertThat(bucket(rateLimiter, OTHER_SESSION_ID, null).getAvailableTokens()).isZero();
+	}
+
+	private static TokenBucket bucket(SendRateLimiter rateLimiter, SessionID sessionID, String msgType) {
+		return rateLimiter.getBuckets().stream()
+				.filter(bucket -> bucket.getSessionID().equals(sessionID))
+				.filter(bucket -> msgType == null ? bucket.getMsgType() == null : msgType.equals(bucket.getMsgType()))
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private static Message newMessage(String msgType) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		return message;
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.junit.jupiter.api.Test;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.Symbol;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class SessionSelectionStrategyTest {
+
+	private static final SessionID FIRST_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC", "first");
+
+	private static final SessionID SECOND_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC", "second");
+
+	private static final SessionID THIRD_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC", "third");
+
+	private static final List<SessionID> SESSION_IDS = List.of(FIRST_SESSION_ID, SECOND_SESSION_ID, THIRD_SESSION_ID);
+
+	@Test
+	public void shouldSelectSessionsInTurn() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.roundRobin();
+
+		// When
+		List<SessionID> selected = IntStream.range(0, 4)
+				.mapToObj(i -> strategy.select(new Message(), SESSION_IDS))
+				.toList();
+
+		// Then
+		assertThat(selected).containsExactly(FIRST_SESSION_ID, SECOND_SESSION_ID, THIRD_SESSION_ID, FIRST_SESSION_ID);
+	}
+
+	@Test
+	public void shouldSelectSessionWithFewestOutstandingMessages() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.leastOutstanding();
+		strategy.onSendStarted(FIRST_SESSION_ID);
+		strategy.onSendStarted(FIRST_SESSION_ID);
+		strategy.onSendStarted(SECOND_SESSION_ID);
+		strategy.onSendStarted(THIRD_SESSION_ID);
+
+		// When
+		SessionID whileBusy = strategy.select(new Message(), SESSION_IDS);
+		strategy.onSendCompleted(SECOND_SESSION_ID, 0);
+		SessionID afterCompletion = strategy.select(new Message(), SESSION_IDS);
+
+		// Then
+		assertThat(whileBusy).isIn(SECOND_SESSION_ID, THIRD_SESSION_ID);
+		assertThat(afterCompletion).isEqualTo(SECOND_SESSION_ID);
+	}
+
+	@Test
+	public void shouldSpreadIdleSessionsWithLeastOutstanding() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.leastOutstanding();
+
+		// When
+		List<SessionID> selected = IntStream.range(0, 3)
+				.mapToObj(i -> strategy.select(new Message(), SESSION_IDS))
+				.toList();
+
+		// Then
+		assertThat(selected).containsExactlyInAnyOrder(FIRST_SESSION_ID, SECOND_SESSION_ID, THIRD_SESSION_ID);
+	}
+
+	@Test
+	public void shouldSelectSessionWithLowestLatency() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.lowestLatency();
+		strategy.onSendCompleted(FIRST_SESSION_ID, 3_000);
+		strategy.onSendCompleted(SECOND_SESSION_ID, 1_000);
+
+		// When
+		SessionID unmeasured = strategy.select(new Message(), SESSION_IDS);
+		strategy.onSendCompleted(THIRD_SESSION_ID, 2_000);
+		SessionID lowest = strategy.select(new Message(), SESSION_IDS);
+		for (int i = 0; i < 20; i++) {
+			strategy.onSendCompleted(SECOND_SESSION_ID, 5_000);
+		}
+		SessionID afterSlowdown = strategy.select(new Message(), SESSION_IDS);
+
+		// Then
+		assertThat(unmeasured).isEqualTo(THIRD_SESSION_ID);
+		assertThat(lowest).isEqualTo(SECOND_SESSION_ID);
+		assertThat(afterSlowdown).isEqualTo(THIRD_SESSION_ID);
+		assertThat(((LowestLatencySessionSelectionStrategy) strategy).getLatency(SECOND_SESSION_ID)).isBetween(4_000L, 5_000L);
+	}
+
+	@Test
+	public void shouldProbeOtherSessionsWithLowestLatency() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.lowestLatency();
+		strategy.onSendCompleted(FIRST_SESSION_ID, 1_000);
+		strategy.onSendCompleted(SECOND_SESSION_ID, 2_000);
+		strategy.onSendCompleted(THIRD_SESSION_ID, 3_000);
+
+		// When
+		List<SessionID> selected = IntStream.range(0, 3 * LowestLatencySessionSelectionStrategy.PROBE_INTERVAL)
+				.mapToObj(i -> strategy.select(new Message(), SESSION_IDS))
+				.toList();
+
+		// Then
+		assertThat(selected).contains(SECOND_SESSION_ID, THIRD_SESSION_ID);
+		assertThat(selected.stream().filter(FIRST_SESSION_ID::equals).count())
+				.isGreaterThan(3L * LowestLatencySessionSelectionStrategy.PROBE_INTERVAL - 3);
+	}
+
+	@Test
+	public void shouldSelectSameSessionForSameKey() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.stickyByKey(Symbol.FIELD);
+
+		// When
+		List<SessionID> msft = IntStream.range(0, 5)
+				.mapToObj(i -> strategy.select(newMessage("MSFT"), SESSION_IDS))
+				.toList();
+		List<SessionID> symbols = IntStream.range(0, 100)
+				.mapToObj(i -> strategy.select(newMessage("SYM" + i), SESSION_IDS))
+				.distinct()
+				.toList();
+
+		// Then
+		assertThat(msft).containsOnly(msft.get(0));
+		assertThat(symbols).containsExactlyInAnyOrderElementsOf(SESSION_IDS);
+	}
+
+	@Test
+	public void shouldOnlyMoveKeysOfSessionNotLoggedOn() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.stickyByKey(Symbol.FIELD);
+		List<SessionID> loggedOn = List.of(FIRST_SESSION_ID, THIRD_SESSION_ID);
+		List<String> keys = IntStream.range(0, 1000).mapToObj(i -> "SYM" + i).toList();
+		List<SessionID> before = keys.stream().map(key -> strategy.select(newMessage(key), SESSION_IDS)).toList();
+
+		// When
+		List<SessionID> after = keys.stream().map(key -> strategy.select(newMessage(key), loggedOn)).toList();
+
+		// Then
+		for (int i = 0; i < keys.size(); i++) {
+			if (!before.get(i).equals(SECOND_SESSION_ID)) {
+				assertThat(after.get(i)).as(keys.get(i)).isEqualTo(before.get(i));
+			}
+		}
+		assertThat(after).contains(FIRST_SESSION_ID, THIRD_SESSION_ID).doesNotContain(SECOND_SESSION_ID);
+		assertThat(before.stream().filter(SECOND_SESSION_ID::equals).count()).isBetween(200L, 450L);
+	}
+
+	@Test
+	public void shouldSelectSessionsInTurnWithoutKey() {
+		// Given
+		SessionSelectionStrategy strategy = SessionSelectionStrategy.stickyByKey(Symbol.FIELD);
+
+		// When
+		List<SessionID> selected = IntStream.range(0, 3)
+				.mapToObj(i -> strategy.select(new Message(), SESSION_IDS))
+				.toList();
+
+		// Then
+		assertThat(selected).containsExactly(FIRST_SESSION_ID, SECOND_SESSION_ID, THIRD_SESSION_ID);
+	}
+
+	private static Message newMessage(String symbol) {
+		Message message = new Message();
+		message.setString(Symbol.FIELD, symbol);
+		return message;
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class SessionSendQueueTest {
+
+	@Test
+	public void shouldRunTasksInOrderOnASingleThreadAtATime() throws InterruptedException {
+		// Given
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		SessionSendQueue sendQueue = new SessionSendQueue(executor, 1000);
+		List<Integer> order = new ArrayList<>();
+		CountDownLatch latch = new CountDownLatch(500);
+
+		// When
+		for (int i = 0; i < 500; i++) {
+			int task = i;
+			sendQueue.offer(() -> {
+				order.add(task);
+				latch.countDown();
+			});
+		}
+
+		// Then
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		executor.shutdown();
+		assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(order).hasSize(500).isSorted();
+	}
+
+	@Test
+	public void shouldRejectTasksGivenQueueIsFull() {
+		// Given
+		List<Runnable> scheduled = new ArrayList<>();
+		SessionSendQueue sendQueue = new SessionSendQueue(scheduled::add, 2);
+
+		// When
+		boolean first = sendQueue.offer(() -> {
+		});
+		boolean second = sendQueue.offer(() -> {
+		});
+		boolean third = sendQueue.offer(() -> {
+		});
+
+		// Then
+		assertThat(first).isTrue();
+		assertThat(second).isTrue();
+		assertThat(third).isFalse();
+		assertThat(scheduled).hasSize(1);
+		assertThat(sendQueue.size()).isEqualTo(2);
+	}
+
+	@Test
+	public void shouldRescheduleAfterDrainingMaxTasks() {
+		// Given
+		List<Runnable> scheduled = new ArrayList<>();
+		SessionSendQueue sendQueue = new SessionSendQueue(scheduled::add, 1000);
+		for (int i = 0; i < SessionSendQueue.MAX_DRAIN + 1; i++) {
+			sendQueue.offer(() -> {
+			});
+		}
+
+		// When
+		scheduled.remove(0).run();
+
+		// Then
+		assertThat(sendQueue.size()).isEqualTo(1);
+		assertThat(scheduled).hasSize(1);
+	}
+}
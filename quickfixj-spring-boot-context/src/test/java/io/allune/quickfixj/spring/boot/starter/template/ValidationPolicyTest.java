@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.allune.quickfixj.spring.boot.starter.template;
+
+import org.junit.jupiter.api.Test;
+import quickfix.Message;
+import quickfix.SessionID;
+import quickfix.field.MsgType;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author Eduardo Sanchez-Ros
+ */
+public class ValidationPolicyTest {
+
+	private static final SessionID SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "EXEC");
+
+	private static final SessionID OTHER_SESSION_ID = new SessionID("FIX.4.4", "BANZAI", "OTHER");
+
+	@Test
+	public void shouldValidateOneMessageOutOfSampleRatePerSession() {
+		// Given
+		ValidationPolicy policy = ValidationPolicy.sampled(3);
+
+		// When
+		List<Boolean> session = IntStream.range(0, 7)
+				.mapToObj(i -> policy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID))
+				.toList();
+		boolean otherSession = policy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), OTHER_SESSION_ID);
+
+		// Then
+		assertThat(session).containsExactly(true, false, false, true, false, false, true);
+		assertThat(otherSession).isTrue();
+	}
+
+	@Test
+	public void shouldValidateFirstMessagesOfEachMsgTypeAfterLogon() {
+		// Given
+		ValidationPolicy policy = ValidationPolicy.firstMessages(2);
+
+		// When
+		List<Boolean> orders = IntStream.range(0, 4)
+				.mapToObj(i -> policy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID))
+				.toList();
+		boolean cancel = policy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID);
+		policy.onLogon(SESSION_ID);
+		boolean orderAfterLogon = policy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+
+		// Then
+		assertThat(orders).containsExactly(true, true, false, false);
+		assertThat(cancel).isTrue();
+		assertThat(orderAfterLogon).isTrue();
+	}
+
+	@Test
+	public void shouldValidateSelectedMsgTypesOnly() {
+		// Given
+		ValidationPolicy policy = ValidationPolicy.msgTypes(Set.of(MsgType.ORDER_SINGLE));
+
+		// When/Then
+		assertThat(policy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID)).isTrue();
+		assertThat(policy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID)).isFalse();
+		assertThat(policy.shouldValidate(new Message(), SESSION_ID)).isTrue();
+	}
+
+	@Test
+	public void shouldValidateGivenAnyPolicyValidates() {
+		// Given
+		ValidationPolicy firstMessages = ValidationPolicy.firstMessages(1);
+		ValidationPolicy policy = ValidationPolicy.anyOf(
+				ValidationPolicy.msgTypes(Set.of(MsgType.ORDER_SINGLE)), firstMessages);
+
+		// When
+		boolean firstCancel = policy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID);
+		boolean secondCancel = policy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID);
+		boolean order = policy.shouldValidate(newMessage(MsgType.ORDER_SINGLE), SESSION_ID);
+		policy.onLogon(SESSION_ID);
+		boolean cancelAfterLogon = policy.shouldValidate(newMessage(MsgType.ORDER_CANCEL_REQUEST), SESSION_ID);
+
+		// Then
+		assertThat(firstCancel).isTrue();
+		assertThat(secondCancel).isFalse();
+		assertThat(order).isTrue();
+		assertThat(cancelAfterLogon).isTrue();
+	}
+
+	@Test
+	public void shouldRejectInvalidSampleRate() {
+		assertThatThrownBy(() -> ValidationPolicy.sampled(0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static Message newMessage(String msgType) {
+		Message message = new Message();
+		message.getHeader().setString(MsgType.FIELD, msgType);
+		return message;
+	}
+}